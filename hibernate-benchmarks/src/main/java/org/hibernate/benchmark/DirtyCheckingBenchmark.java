@@ -0,0 +1,78 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Customer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures flushing a session holding {@link #managedEntities} managed entities, which is
+ * dominated by {@code AbstractFlushingEventListener.flushEntities} walking every entry and
+ * dirty checking it.  When {@link #dirtyEvery} is greater than zero, every n-th entity is
+ * modified before each flush so that update actions get scheduled as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DirtyCheckingBenchmark extends SessionFactoryState {
+
+	@Param({ "1000", "10000" })
+	public int managedEntities;
+
+	@Param({ "0", "100" })
+	public int dirtyEvery;
+
+	private Session session;
+	private List<Customer> customers;
+	private int round;
+
+	@Override
+	protected void populate(Session session) {
+		persistCustomers( session, managedEntities );
+	}
+
+	@Setup(Level.Iteration)
+	public void openSession() {
+		session = sessionFactory.openSession();
+		session.getTransaction().begin();
+		customers = session.createQuery( "from Customer", Customer.class ).list();
+	}
+
+	@TearDown(Level.Iteration)
+	public void closeSession() {
+		session.getTransaction().rollback();
+		session.close();
+		session = null;
+		customers = null;
+	}
+
+	@Benchmark
+	public int flush() {
+		if ( dirtyEvery > 0 ) {
+			round++;
+			for ( int i = 0; i < customers.size(); i += dirtyEvery ) {
+				customers.get( i ).setLoyaltyPoints( round );
+			}
+		}
+		session.flush();
+		return round;
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.benchmark.model.Customer;
+import org.hibernate.engine.internal.EntityKeyMap;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContextStorage;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the maps backing each {@link PersistenceContextStorage} in isolation: filling a map with
+ * {@link #entries} entity keys, as done when loading entities into a session, and looking all of them up.
+ * <p/>
+ * Run with {@code -prof gc}: {@code gc.alloc.rate.norm} gives the bytes allocated per fill, which is an upper bound
+ * of the memory retained by the map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityKeyMapBenchmark extends SessionFactoryState {
+
+	@Param({ "1000", "500000" })
+	public int entries;
+
+	@Param({ "HASH", "OPEN_ADDRESSING" })
+	public PersistenceContextStorage storage;
+
+	private EntityKey[] keys;
+	private EntityKey[] lookupKeys;
+	private Map<EntityKey, Object> filled;
+
+	@Setup(Level.Iteration)
+	public void createKeys() {
+		final EntityPersister persister = sessionFactory.getMetamodel().entityPersister( Customer.class );
+		keys = new EntityKey[entries];
+		lookupKeys = new EntityKey[entries];
+		for ( int i = 0; i < entries; i++ ) {
+			keys[i] = new EntityKey( (long) i, persister );
+			// distinct instances, as lookups do not use the keys the entities were stored with
+			lookupKeys[i] = new EntityKey( (long) i, persister );
+		}
+		filled = fill();
+	}
+
+	private Map<EntityKey, Object> newMap() {
+		return storage == PersistenceContextStorage.OPEN_ADDRESSING ? new EntityKeyMap<>() : new HashMap<>( 8 );
+	}
+
+	@Benchmark
+	public Map<EntityKey, Object> fill() {
+		final Map<EntityKey, Object> map = newMap();
+		for ( EntityKey key : keys ) {
+			map.put( key, key );
+		}
+		return map;
+	}
+
+	@Benchmark
+	public int lookupAll() {
+		int found = 0;
+		for ( EntityKey key : lookupKeys ) {
+			if ( filled.get( key ) != null ) {
+				found++;
+			}
+		}
+		return found;
+	}
+}
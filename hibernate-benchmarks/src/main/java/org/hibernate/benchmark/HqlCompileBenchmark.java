@@ -0,0 +1,50 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures {@link QueryPlanCache#getHQLQueryPlan}: the {@code cold} benchmark clears the
+ * cache before every lookup and so measures the full HQL parse and translation, whereas
+ * {@code warm} measures the cost of a cache hit.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HqlCompileBenchmark extends SessionFactoryState {
+
+	@Param({
+			"select c from Customer c where c.name = :name",
+			"select o.reference, c.name from PurchaseOrder o join o.customer c where c.active = true and o.total > :min order by c.name"
+	})
+	public String hql;
+
+	@Benchmark
+	public HQLQueryPlan cold() {
+		final QueryPlanCache queryPlanCache = sessionFactory.getQueryPlanCache();
+		queryPlanCache.cleanup();
+		return queryPlanCache.getHQLQueryPlan( hql, false, Collections.emptyMap() );
+	}
+
+	@Benchmark
+	public HQLQueryPlan warm() {
+		return sessionFactory.getQueryPlanCache().getHQLQueryPlan( hql, false, Collections.emptyMap() );
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Customer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures hydrating {@link #rows} entities from a {@link java.sql.ResultSet}, i.e.
+ * {@code Loader.getRowFromResultSet} and the two-phase load, as well as a scalar
+ * projection of the same rows for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class HydrationBenchmark extends SessionFactoryState {
+
+	@Param({ "100", "1000" })
+	public int rows;
+
+	@Override
+	protected void populate(Session session) {
+		persistCustomers( session, rows );
+	}
+
+	@Benchmark
+	public List<Customer> entities() {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.createQuery( "from Customer", Customer.class ).list();
+		}
+	}
+
+	@Benchmark
+	public List<Customer> readOnlyEntities() {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.createQuery( "from Customer", Customer.class ).setReadOnly( true ).list();
+		}
+	}
+
+	@Benchmark
+	public List<Object[]> scalars() {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.createQuery( "select c.id, c.name, c.email from Customer c", Object[].class ).list();
+		}
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Customer;
+import org.hibernate.benchmark.model.PurchaseOrder;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures persisting {@link #entityCount} new entities followed by a flush, which covers
+ * id generation, the insert action queue and JDBC batching.  The transaction is rolled back
+ * so that the database does not grow between invocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PersistFlushBenchmark extends SessionFactoryState {
+
+	@Param({ "100", "1000" })
+	public int entityCount;
+
+	@Benchmark
+	public int persistAndFlush() {
+		try ( Session session = sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			for ( int i = 0; i < entityCount; i++ ) {
+				session.persist( new Customer( "customer #" + i, "customer" + i + "@example.com", i ) );
+			}
+			session.flush();
+			final int managed = session.getStatistics().getEntityCount();
+			session.getTransaction().rollback();
+			return managed;
+		}
+	}
+
+	@Benchmark
+	public int persistAggregateAndFlush() {
+		try ( Session session = sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			for ( int i = 0; i < entityCount; i++ ) {
+				final Customer customer = new Customer( "customer #" + i, "customer" + i + "@example.com", i );
+				session.persist( customer );
+				session.persist( new PurchaseOrder( customer, "order #" + i, BigDecimal.valueOf( i ) ) );
+			}
+			session.flush();
+			final int managed = session.getStatistics().getEntityCount();
+			session.getTransaction().rollback();
+			return managed;
+		}
+	}
+}
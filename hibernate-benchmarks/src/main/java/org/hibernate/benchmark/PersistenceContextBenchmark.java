@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Customer;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistenceContextStorage;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures lookups of managed entities in the {@link PersistenceContext} of a session
+ * holding {@link #managedEntities} entities, both directly by {@link EntityKey} and through
+ * {@link Session#get}, as well as filling a persistence context from scratch, for each
+ * {@link PersistenceContextStorage}.
+ * <p/>
+ * Run with {@code -prof gc} to compare the allocation rate of the storages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PersistenceContextBenchmark extends SessionFactoryState {
+
+	@Param({ "1000", "100000" })
+	public int managedEntities;
+
+	@Param({ "HASH", "OPEN_ADDRESSING" })
+	public PersistenceContextStorage storage;
+
+	private SessionImplementor session;
+	private EntityPersister persister;
+	private Long[] ids;
+	private int next;
+
+	@Override
+	protected void applySettings(Map<String, Object> settings) {
+		settings.put( AvailableSettings.PERSISTENCE_CONTEXT_STORAGE, storage );
+	}
+
+	@Override
+	protected void populate(Session session) {
+		persistCustomers( session, managedEntities );
+	}
+
+	@Setup(Level.Iteration)
+	public void openSession() {
+		session = (SessionImplementor) sessionFactory.openSession();
+		persister = sessionFactory.getMetamodel().entityPersister( Customer.class );
+		ids = session.createQuery( "select c.id from Customer c", Long.class ).list().toArray( new Long[0] );
+		session.createQuery( "from Customer", Customer.class ).list();
+	}
+
+	@TearDown(Level.Iteration)
+	public void closeSession() {
+		session.close();
+	}
+
+	private Long nextId() {
+		if ( next == ids.length ) {
+			next = 0;
+		}
+		return ids[next++];
+	}
+
+	@Benchmark
+	public Object getEntityByKey() {
+		return session.getPersistenceContext().getEntity( session.generateEntityKey( nextId(), persister ) );
+	}
+
+	@Benchmark
+	public Customer sessionGetManaged() {
+		return session.get( Customer.class, nextId() );
+	}
+
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MILLISECONDS)
+	public int loadIntoFreshSession() {
+		try ( Session fresh = sessionFactory.openSession() ) {
+			fresh.createQuery( "from Customer", Customer.class ).setReadOnly( true ).list();
+			return ( (SessionImplementor) fresh ).getPersistenceContext().getNumberOfManagedEntities();
+		}
+	}
+}
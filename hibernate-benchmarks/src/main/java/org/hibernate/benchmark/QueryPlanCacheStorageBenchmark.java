@@ -0,0 +1,68 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.query.internal.LirsQueryPlanCacheStorageFactory;
+import org.hibernate.engine.query.internal.TinyLfuQueryPlanCacheStorageFactory;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorage;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Compares the query plan cache storages under concurrent lookups, as happen on every query creation.  The
+ * cache holds its default maximum of 2048 plans and most lookups are for a small set of popular queries.
+ * <p/>
+ * Run with {@code -t} to vary the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class QueryPlanCacheStorageBenchmark {
+	private static final int MAX_SIZE = 2048;
+
+	@Param({ "tinylfu", "lirs" })
+	public String storage;
+
+	private QueryPlanCacheStorage<String, Object> cache;
+	private String[] queries;
+
+	@Setup
+	public void fill() {
+		final QueryPlanCacheStorageFactory factory = "lirs".equals( storage )
+				? LirsQueryPlanCacheStorageFactory.INSTANCE
+				: TinyLfuQueryPlanCacheStorageFactory.INSTANCE;
+		cache = factory.buildStorage( MAX_SIZE, key -> {} );
+		queries = new String[MAX_SIZE];
+		for ( int i = 0; i < MAX_SIZE; i++ ) {
+			queries[i] = "select e from Entity" + i + " e where e.id = :id";
+			cache.putIfAbsent( queries[i], new Object() );
+		}
+	}
+
+	@Benchmark
+	public Object lookup() {
+		final ThreadLocalRandom random = ThreadLocalRandom.current();
+		// 90% of the lookups are for 5% of the queries
+		final int index = random.nextInt( 10 ) == 0
+				? random.nextInt( MAX_SIZE )
+				: random.nextInt( MAX_SIZE / 20 );
+		return cache.get( queries[index] );
+	}
+}
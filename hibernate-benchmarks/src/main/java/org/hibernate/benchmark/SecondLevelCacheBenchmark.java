@@ -0,0 +1,78 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Customer;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures second-level cache hits, both end-to-end through {@link Session#get} (which
+ * includes assembling the cached state into a new instance) and directly against the
+ * {@link EntityDataAccess} of the entity region.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SecondLevelCacheBenchmark extends SessionFactoryState {
+	private Long customerId;
+
+	private EntityDataAccess entityDataAccess;
+	private Object cacheKey;
+	private Session accessSession;
+
+	@Override
+	protected void populate(Session session) {
+		final Customer customer = new Customer( "cached", "cached@example.com", 1 );
+		session.persist( customer );
+		customerId = customer.getId();
+	}
+
+	@Setup(Level.Iteration)
+	public void prepareDataAccess() {
+		final EntityPersister persister = sessionFactory.getMetamodel().entityPersister( Customer.class );
+		entityDataAccess = persister.getCacheAccessStrategy();
+		cacheKey = entityDataAccess.generateCacheKey( customerId, persister, sessionFactory, null );
+		accessSession = sessionFactory.openSession();
+
+		// make sure the entry is in the region
+		try ( Session session = sessionFactory.openSession() ) {
+			session.get( Customer.class, customerId );
+		}
+	}
+
+	@TearDown(Level.Iteration)
+	public void closeSession() {
+		accessSession.close();
+	}
+
+	@Benchmark
+	public Customer sessionGet() {
+		try ( Session session = sessionFactory.openSession() ) {
+			return session.get( Customer.class, customerId );
+		}
+	}
+
+	@Benchmark
+	public Object entityDataAccessGet() {
+		return entityDataAccess.get( (SharedSessionContractImplementor) accessSession, cacheKey );
+	}
+}
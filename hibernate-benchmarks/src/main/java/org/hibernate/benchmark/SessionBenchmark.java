@@ -0,0 +1,45 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.Session;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the fixed cost of opening and closing a {@link Session}, with and without
+ * running an (empty) transaction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SessionBenchmark extends SessionFactoryState {
+
+	@Benchmark
+	public boolean openClose() {
+		final Session session = sessionFactory.openSession();
+		final boolean open = session.isOpen();
+		session.close();
+		return open;
+	}
+
+	@Benchmark
+	public boolean openTransactionClose() {
+		try ( Session session = sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			session.getTransaction().commit();
+			return session.isOpen();
+		}
+	}
+}
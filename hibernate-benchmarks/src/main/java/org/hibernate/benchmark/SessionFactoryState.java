@@ -0,0 +1,104 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.hibernate.Session;
+import org.hibernate.benchmark.model.Customer;
+import org.hibernate.benchmark.model.PurchaseOrder;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.testing.cache.CachingRegionFactory;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Base JMH state managing a {@link SessionFactoryImplementor} bound to an in-memory H2
+ * database which lives for the whole trial.  Subclasses can contribute settings through
+ * {@link #applySettings} and populate the database through {@link #populate}.
+ */
+@State(Scope.Benchmark)
+public abstract class SessionFactoryState {
+	protected SessionFactoryImplementor sessionFactory;
+
+	@Setup
+	public void setUpSessionFactory() {
+		final StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.DIALECT, H2Dialect.class.getName() )
+				.applySetting( AvailableSettings.DRIVER, "org.h2.Driver" )
+				.applySetting( AvailableSettings.URL, "jdbc:h2:mem:" + getClass().getSimpleName() + ";DB_CLOSE_DELAY=-1" )
+				.applySetting( AvailableSettings.USER, "sa" )
+				.applySetting( AvailableSettings.PASS, "" )
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, "create-drop" )
+				.applySetting( AvailableSettings.STATEMENT_BATCH_SIZE, "50" )
+				.applySetting( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" )
+				.applySetting( AvailableSettings.CACHE_REGION_FACTORY, CachingRegionFactory.class.getName() );
+		final Map<String, Object> settings = new HashMap<>();
+		applySettings( settings );
+		registryBuilder.applySettings( settings );
+
+		final StandardServiceRegistry registry = registryBuilder.build();
+		try {
+			sessionFactory = (SessionFactoryImplementor) new MetadataSources( registry )
+					.addAnnotatedClass( Customer.class )
+					.addAnnotatedClass( PurchaseOrder.class )
+					.buildMetadata()
+					.buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( registry );
+			throw e;
+		}
+
+		try ( Session session = sessionFactory.openSession() ) {
+			session.getTransaction().begin();
+			populate( session );
+			session.getTransaction().commit();
+		}
+	}
+
+	@TearDown
+	public void tearDownSessionFactory() {
+		if ( sessionFactory != null ) {
+			sessionFactory.close();
+			sessionFactory = null;
+		}
+	}
+
+	/**
+	 * Hook for subclasses to add or override configuration settings.
+	 */
+	@SuppressWarnings("unused")
+	protected void applySettings(Map<String, Object> settings) {
+	}
+
+	/**
+	 * Hook for subclasses to insert the data they need, called within a transaction.
+	 */
+	@SuppressWarnings("unused")
+	protected void populate(Session session) {
+	}
+
+	protected static void persistCustomers(Session session, int count) {
+		for ( int i = 0; i < count; i++ ) {
+			session.persist( new Customer( "customer #" + i, "customer" + i + "@example.com", i ) );
+			if ( i % 50 == 49 ) {
+				session.flush();
+				session.clear();
+			}
+		}
+	}
+}
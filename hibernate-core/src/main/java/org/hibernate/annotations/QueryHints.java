@@ -144,4 +144,15 @@ public class QueryHints {
 	 */
 	public static final String PASS_DISTINCT_THROUGH = "hibernate.query.passDistinctThrough";
 
+	/**
+	 * Hint to detach the entities loaded by each row of a {@link org.hibernate.query.Query#stream() stream} from
+	 * the persistence context once the stream has moved past the row, so that streaming many rows runs in constant
+	 * memory.  A value of {@code true} detaches them, whereas the default, {@code false}, keeps them managed.
+	 * The entities which were already managed when the stream was created are never detached, nor are the ones
+	 * modified or removed while their row was processed.
+	 *
+	 * @since 5.4
+	 */
+	public static final String DETACH_STREAMED = "hibernate.query.detachStreamed";
+
 }
@@ -8,10 +8,13 @@ package org.hibernate.boot.internal;
 
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.function.Supplier;
 
@@ -45,6 +48,9 @@ import org.hibernate.engine.config.internal.ConfigurationServiceImpl;
 import org.hibernate.engine.config.spi.ConfigurationService;
 import org.hibernate.engine.jdbc.env.spi.ExtractedDatabaseMetaData;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.query.internal.TinyLfuQueryPlanCacheStorageFactory;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
+import org.hibernate.engine.spi.PersistenceContextStorage;
 import org.hibernate.hql.spi.id.MultiTableBulkIdStrategy;
 import org.hibernate.id.uuid.LocalObjectUuidHelper;
 import org.hibernate.internal.CoreMessageLogger;
@@ -74,6 +80,11 @@ import static org.hibernate.cfg.AvailableSettings.AUTO_SESSION_EVENTS_LISTENER;
 import static org.hibernate.cfg.AvailableSettings.BATCH_FETCH_STYLE;
 import static org.hibernate.cfg.AvailableSettings.BATCH_VERSIONED_DATA;
 import static org.hibernate.cfg.AvailableSettings.CACHE_REGION_PREFIX;
+import static org.hibernate.cfg.AvailableSettings.CACHE_SINGLE_FLIGHT_TIMEOUT;
+import static org.hibernate.cfg.AvailableSettings.CACHE_WARMUP_COLLECTIONS;
+import static org.hibernate.cfg.AvailableSettings.CACHE_WARMUP_ENTITIES;
+import static org.hibernate.cfg.AvailableSettings.CACHE_WARMUP_ROWS_PER_SECOND;
+import static org.hibernate.cfg.AvailableSettings.CACHE_WARMUP_THREADS;
 import static org.hibernate.cfg.AvailableSettings.CHECK_NULLABILITY;
 import static org.hibernate.cfg.AvailableSettings.COLLECTION_JOIN_SUBQUERY;
 import static org.hibernate.cfg.AvailableSettings.CONNECTION_HANDLING;
@@ -89,6 +100,7 @@ import static org.hibernate.cfg.AvailableSettings.FLUSH_BEFORE_COMPLETION;
 import static org.hibernate.cfg.AvailableSettings.GENERATE_STATISTICS;
 import static org.hibernate.cfg.AvailableSettings.HQL_BULK_ID_STRATEGY;
 import static org.hibernate.cfg.AvailableSettings.IMMUTABLE_ENTITY_UPDATE_QUERY_HANDLING_MODE;
+import static org.hibernate.cfg.AvailableSettings.INDEXED_ROW_READERS;
 import static org.hibernate.cfg.AvailableSettings.INTERCEPTOR;
 import static org.hibernate.cfg.AvailableSettings.IN_CLAUSE_PARAMETER_PADDING;
 import static org.hibernate.cfg.AvailableSettings.JDBC_TIME_ZONE;
@@ -96,15 +108,27 @@ import static org.hibernate.cfg.AvailableSettings.JDBC_TYLE_PARAMS_ZERO_BASE;
 import static org.hibernate.cfg.AvailableSettings.JTA_TRACK_BY_THREAD;
 import static org.hibernate.cfg.AvailableSettings.LOG_SESSION_METRICS;
 import static org.hibernate.cfg.AvailableSettings.MAX_FETCH_DEPTH;
+import static org.hibernate.cfg.AvailableSettings.MULTI_LOAD_PIPELINING;
+import static org.hibernate.cfg.AvailableSettings.MULTI_LOAD_PIPELINING_TIMEOUT;
 import static org.hibernate.cfg.AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER;
 import static org.hibernate.cfg.AvailableSettings.NATIVE_EXCEPTION_HANDLING_51_COMPLIANCE;
 import static org.hibernate.cfg.AvailableSettings.ORDER_INSERTS;
 import static org.hibernate.cfg.AvailableSettings.JPA_CALLBACKS_ENABLED;
 import static org.hibernate.cfg.AvailableSettings.ORDER_UPDATES;
+import static org.hibernate.cfg.AvailableSettings.PARALLEL_DIRTY_CHECKING_THRESHOLD;
+import static org.hibernate.cfg.AvailableSettings.PERSISTENCE_CONTEXT_STORAGE;
 import static org.hibernate.cfg.AvailableSettings.PREFER_USER_TRANSACTION;
 import static org.hibernate.cfg.AvailableSettings.PROCEDURE_NULL_PARAM_PASSING;
+import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_COMPACT_RESULTS;
 import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_FACTORY;
+import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_ROW_INVALIDATION_MAX_ROWS;
+import static org.hibernate.cfg.AvailableSettings.QUERY_CACHE_ROW_INVALIDATION_REGIONS;
+import static org.hibernate.cfg.AvailableSettings.QUERY_PLAN_CACHE_STORAGE;
+import static org.hibernate.cfg.AvailableSettings.QUERY_PLAN_CACHE_WARMUP_FILE;
+import static org.hibernate.cfg.AvailableSettings.QUERY_PLAN_CACHE_WARMUP_THREADS;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECKING;
+import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECK_ASYNC;
+import static org.hibernate.cfg.AvailableSettings.QUERY_STARTUP_CHECK_THREADS;
 import static org.hibernate.cfg.AvailableSettings.QUERY_SUBSTITUTIONS;
 import static org.hibernate.cfg.AvailableSettings.RELEASE_CONNECTIONS;
 import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME;
@@ -112,9 +136,11 @@ import static org.hibernate.cfg.AvailableSettings.SESSION_FACTORY_NAME_IS_JNDI;
 import static org.hibernate.cfg.AvailableSettings.SESSION_SCOPED_INTERCEPTOR;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_BATCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_FETCH_SIZE;
+import static org.hibernate.cfg.AvailableSettings.STREAM_FETCH_SIZE;
 import static org.hibernate.cfg.AvailableSettings.STATEMENT_INSPECTOR;
 import static org.hibernate.cfg.AvailableSettings.QUERY_STATISTICS_MAX_SIZE;
 import static org.hibernate.cfg.AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES;
+import static org.hibernate.cfg.AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES_FOR_ASSOCIATIONS;
 import static org.hibernate.cfg.AvailableSettings.USE_GET_GENERATED_KEYS;
 import static org.hibernate.cfg.AvailableSettings.USE_IDENTIFIER_ROLLBACK;
 import static org.hibernate.cfg.AvailableSettings.USE_MINIMAL_PUTS;
@@ -190,6 +216,8 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private BatchFetchStyle batchFetchStyle;
 	private boolean delayBatchFetchLoaderCreations;
 	private int defaultBatchFetchSize;
+	private boolean multiLoadPipelining;
+	private long multiLoadPipeliningTimeout;
 	private Integer maximumFetchDepth;
 	private NullPrecedence defaultNullPrecedence;
 	private boolean orderUpdatesEnabled;
@@ -206,6 +234,8 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	// Queries
 	private Map querySubstitutions;
 	private boolean namedQueryStartupCheckingEnabled;
+	private int namedQueryStartupCheckThreads;
+	private boolean namedQueryStartupCheckAsync;
 	private boolean conventionalJavaConstants;
 	private final boolean procedureParameterNullPassingEnabled;
 	private final boolean collectionJoinSubqueryRewriteEnabled;
@@ -219,6 +249,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private boolean minimalPutsEnabled;
 	private boolean structuredCacheEntriesEnabled;
 	private boolean directReferenceCacheEntriesEnabled;
+	private boolean directReferenceCacheEntriesForAssociationsEnabled;
 	private boolean autoEvictCollectionCache;
 
 	// Schema tooling
@@ -229,11 +260,13 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 	private int jdbcBatchSize;
 	private boolean jdbcBatchVersionedData;
 	private Integer jdbcFetchSize;
+	private Integer streamFetchSize;
 	private boolean scrollableResultSetsEnabled;
 	private boolean commentsEnabled;
 	private PhysicalConnectionHandlingMode connectionHandlingMode;
 	private boolean connectionProviderDisablesAutoCommit;
 	private boolean wrapResultSetsEnabled;
+	private boolean indexedRowReadersEnabled;
 	private TimeZone jdbcTimeZone;
 	private boolean queryParametersValidationEnabled;
 	private LiteralHandlingMode criteriaLiteralHandlingMode;
@@ -248,6 +281,19 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 
 	private boolean nativeExceptionHandling51Compliance;
 	private int queryStatisticsMaxSize;
+	private PersistenceContextStorage persistenceContextStorage;
+	private int parallelDirtyCheckingThreshold;
+	private boolean queryCacheCompactResultsEnabled;
+	private Set<String> queryCacheRowInvalidationRegions;
+	private int queryCacheRowInvalidationMaxRows;
+	private long cacheSingleFlightTimeout;
+	private List<String> cacheWarmupEntityNames;
+	private List<String> cacheWarmupCollectionRoles;
+	private int cacheWarmupThreads;
+	private int cacheWarmupRowsPerSecond;
+	private QueryPlanCacheStorageFactory queryPlanCacheStorageFactory;
+	private String queryPlanCacheWarmupFile;
+	private int queryPlanCacheWarmupThreads;
 
 	@SuppressWarnings({"WeakerAccess", "deprecation"})
 	public SessionFactoryOptionsBuilder(StandardServiceRegistry serviceRegistry, BootstrapContext context) {
@@ -338,6 +384,12 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		this.batchFetchStyle = BatchFetchStyle.interpret( configurationSettings.get( BATCH_FETCH_STYLE ) );
 		this.delayBatchFetchLoaderCreations = cfgService.getSetting( DELAY_ENTITY_LOADER_CREATIONS, BOOLEAN, true );
 		this.defaultBatchFetchSize = ConfigurationHelper.getInt( DEFAULT_BATCH_FETCH_SIZE, configurationSettings, -1 );
+		this.multiLoadPipelining = cfgService.getSetting( MULTI_LOAD_PIPELINING, BOOLEAN, false );
+		this.multiLoadPipeliningTimeout = ConfigurationHelper.getLong(
+				MULTI_LOAD_PIPELINING_TIMEOUT,
+				configurationSettings,
+				30000
+		);
 		this.maximumFetchDepth = ConfigurationHelper.getInteger( MAX_FETCH_DEPTH, configurationSettings );
 		final String defaultNullPrecedence = ConfigurationHelper.getString(
 				AvailableSettings.DEFAULT_NULL_ORDERING, configurationSettings, "none", "first", "last"
@@ -352,6 +404,8 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 
 		this.querySubstitutions = ConfigurationHelper.toMap( QUERY_SUBSTITUTIONS, " ,=;:\n\t\r\f", configurationSettings );
 		this.namedQueryStartupCheckingEnabled = cfgService.getSetting( QUERY_STARTUP_CHECKING, BOOLEAN, true );
+		this.namedQueryStartupCheckThreads = ConfigurationHelper.getInt( QUERY_STARTUP_CHECK_THREADS, configurationSettings, 1 );
+		this.namedQueryStartupCheckAsync = cfgService.getSetting( QUERY_STARTUP_CHECK_ASYNC, BOOLEAN, false );
 		this.conventionalJavaConstants = cfgService.getSetting(
 				CONVENTIONAL_JAVA_CONSTANTS, BOOLEAN, true );
 		this.procedureParameterNullPassingEnabled = cfgService.getSetting( PROCEDURE_NULL_PARAM_PASSING, BOOLEAN, false );
@@ -381,6 +435,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 					BOOLEAN,
 					false
 			);
+			this.directReferenceCacheEntriesForAssociationsEnabled = cfgService.getSetting(
+					USE_DIRECT_REFERENCE_CACHE_ENTRIES_FOR_ASSOCIATIONS,
+					BOOLEAN,
+					false
+			);
 			this.autoEvictCollectionCache = cfgService.getSetting( AUTO_EVICT_COLLECTION_CACHE, BOOLEAN, false );
 		}
 		else {
@@ -391,6 +450,7 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 			this.minimalPutsEnabled = false;
 			this.structuredCacheEntriesEnabled = false;
 			this.directReferenceCacheEntriesEnabled = false;
+			this.directReferenceCacheEntriesForAssociationsEnabled = false;
 			this.autoEvictCollectionCache = false;
 		}
 
@@ -430,12 +490,18 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 				configurationSettings,
 				false
 		);
+		this.indexedRowReadersEnabled = ConfigurationHelper.getBoolean(
+				INDEXED_ROW_READERS,
+				configurationSettings,
+				false
+		);
 		this.getGeneratedKeysEnabled = ConfigurationHelper.getBoolean(
 				USE_GET_GENERATED_KEYS,
 				configurationSettings,
 				meta.supportsGetGeneratedKeys()
 		);
 		this.jdbcFetchSize = ConfigurationHelper.getInteger( STATEMENT_FETCH_SIZE, configurationSettings );
+		this.streamFetchSize = ConfigurationHelper.getInteger( STREAM_FETCH_SIZE, configurationSettings );
 
 		this.connectionHandlingMode = interpretConnectionHandlingMode( configurationSettings, serviceRegistry );
 		this.connectionProviderDisablesAutoCommit = ConfigurationHelper.getBoolean(
@@ -523,6 +589,65 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 				Statistics.DEFAULT_QUERY_STATISTICS_MAX_SIZE
 		);
 
+		this.persistenceContextStorage = PersistenceContextStorage.interpret(
+				configurationSettings.get( PERSISTENCE_CONTEXT_STORAGE )
+		);
+		this.parallelDirtyCheckingThreshold = ConfigurationHelper.getInt(
+				PARALLEL_DIRTY_CHECKING_THRESHOLD,
+				configurationSettings,
+				0
+		);
+		this.queryCacheCompactResultsEnabled = ConfigurationHelper.getBoolean(
+				QUERY_CACHE_COMPACT_RESULTS,
+				configurationSettings,
+				false
+		);
+		this.queryCacheRowInvalidationRegions = new HashSet<>( Arrays.asList( ConfigurationHelper.toStringArray(
+				ConfigurationHelper.getString( QUERY_CACHE_ROW_INVALIDATION_REGIONS, configurationSettings ),
+				" ,\t\n\r"
+		) ) );
+		this.queryCacheRowInvalidationMaxRows = Math.max(
+				ConfigurationHelper.getInt( QUERY_CACHE_ROW_INVALIDATION_MAX_ROWS, configurationSettings, 4096 ),
+				1
+		);
+		this.cacheSingleFlightTimeout = ConfigurationHelper.getLong(
+				CACHE_SINGLE_FLIGHT_TIMEOUT,
+				configurationSettings,
+				0
+		);
+		this.cacheWarmupEntityNames = Arrays.asList( ConfigurationHelper.toStringArray(
+				ConfigurationHelper.getString( CACHE_WARMUP_ENTITIES, configurationSettings ),
+				" ,\t\n\r"
+		) );
+		this.cacheWarmupCollectionRoles = Arrays.asList( ConfigurationHelper.toStringArray(
+				ConfigurationHelper.getString( CACHE_WARMUP_COLLECTIONS, configurationSettings ),
+				" ,\t\n\r"
+		) );
+		this.cacheWarmupThreads = ConfigurationHelper.getInt(
+				CACHE_WARMUP_THREADS,
+				configurationSettings,
+				1
+		);
+		this.cacheWarmupRowsPerSecond = ConfigurationHelper.getInt(
+				CACHE_WARMUP_ROWS_PER_SECOND,
+				configurationSettings,
+				0
+		);
+		this.queryPlanCacheStorageFactory = strategySelector.resolveDefaultableStrategy(
+				QueryPlanCacheStorageFactory.class,
+				configurationSettings.get( QUERY_PLAN_CACHE_STORAGE ),
+				TinyLfuQueryPlanCacheStorageFactory.INSTANCE
+		);
+		this.queryPlanCacheWarmupFile = ConfigurationHelper.extractPropertyValue(
+				QUERY_PLAN_CACHE_WARMUP_FILE,
+				configurationSettings
+		);
+		this.queryPlanCacheWarmupThreads = ConfigurationHelper.getInt(
+				QUERY_PLAN_CACHE_WARMUP_THREADS,
+				configurationSettings,
+				1
+		);
+
 		if ( context.isJpaBootstrap() && nativeExceptionHandling51Compliance ) {
 			log.nativeExceptionHandling51ComplianceJpaBootstrapping();
 			this.nativeExceptionHandling51Compliance = false;
@@ -815,6 +940,16 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return defaultBatchFetchSize;
 	}
 
+	@Override
+	public boolean isMultiLoadPipeliningEnabled() {
+		return multiLoadPipelining;
+	}
+
+	@Override
+	public long getMultiLoadPipeliningTimeout() {
+		return multiLoadPipeliningTimeout;
+	}
+
 	@Override
 	public Integer getMaximumFetchDepth() {
 		return maximumFetchDepth;
@@ -860,6 +995,16 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return namedQueryStartupCheckingEnabled;
 	}
 
+	@Override
+	public int getNamedQueryStartupCheckThreads() {
+		return namedQueryStartupCheckThreads;
+	}
+
+	@Override
+	public boolean isNamedQueryStartupCheckAsync() {
+		return namedQueryStartupCheckAsync;
+	}
+
 	@Override
 	public boolean isConventionalJavaConstants() {
 		return conventionalJavaConstants;
@@ -910,6 +1055,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return directReferenceCacheEntriesEnabled;
 	}
 
+	@Override
+	public boolean isDirectReferenceCacheEntriesForAssociationsEnabled() {
+		return directReferenceCacheEntriesForAssociationsEnabled;
+	}
+
 	@Override
 	public boolean isAutoEvictCollectionCache() {
 		return autoEvictCollectionCache;
@@ -940,6 +1090,11 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return wrapResultSetsEnabled;
 	}
 
+	@Override
+	public boolean isIndexedRowReadersEnabled() {
+		return indexedRowReadersEnabled;
+	}
+
 	@Override
 	public boolean isGetGeneratedKeysEnabled() {
 		return getGeneratedKeysEnabled;
@@ -950,6 +1105,14 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return jdbcFetchSize;
 	}
 
+	@Override
+	public Integer getStreamFetchSize() {
+		if ( streamFetchSize != null ) {
+			return streamFetchSize > 0 ? streamFetchSize : null;
+		}
+		return jdbcFetchSize != null ? jdbcFetchSize : 100;
+	}
+
 	@Override
 	public PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode() {
 		return connectionHandlingMode;
@@ -1050,6 +1213,71 @@ public class SessionFactoryOptionsBuilder implements SessionFactoryOptions {
 		return queryStatisticsMaxSize;
 	}
 
+	@Override
+	public PersistenceContextStorage getPersistenceContextStorage() {
+		return persistenceContextStorage;
+	}
+
+	@Override
+	public int getParallelDirtyCheckingThreshold() {
+		return parallelDirtyCheckingThreshold;
+	}
+
+	@Override
+	public boolean isQueryCacheCompactResultsEnabled() {
+		return queryCacheCompactResultsEnabled;
+	}
+
+	@Override
+	public Set<String> getQueryCacheRowInvalidationRegions() {
+		return queryCacheRowInvalidationRegions;
+	}
+
+	@Override
+	public int getQueryCacheRowInvalidationMaxRows() {
+		return queryCacheRowInvalidationMaxRows;
+	}
+
+	@Override
+	public long getCacheSingleFlightTimeout() {
+		return cacheSingleFlightTimeout;
+	}
+
+	@Override
+	public List<String> getCacheWarmupEntityNames() {
+		return cacheWarmupEntityNames;
+	}
+
+	@Override
+	public List<String> getCacheWarmupCollectionRoles() {
+		return cacheWarmupCollectionRoles;
+	}
+
+	@Override
+	public int getCacheWarmupThreads() {
+		return cacheWarmupThreads;
+	}
+
+	@Override
+	public int getCacheWarmupRowsPerSecond() {
+		return cacheWarmupRowsPerSecond;
+	}
+
+	@Override
+	public QueryPlanCacheStorageFactory getQueryPlanCacheStorageFactory() {
+		return queryPlanCacheStorageFactory;
+	}
+
+	@Override
+	public String getQueryPlanCacheWarmupFile() {
+		return queryPlanCacheWarmupFile;
+	}
+
+	@Override
+	public int getQueryPlanCacheWarmupThreads() {
+		return queryPlanCacheWarmupThreads;
+	}
+
 	@Override
 	public boolean areJPACallbacksEnabled() {
 		return callbacksEnabled;
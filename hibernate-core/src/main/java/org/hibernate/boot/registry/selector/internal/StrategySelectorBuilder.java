@@ -71,6 +71,9 @@ import org.hibernate.dialect.SybaseASE15Dialect;
 import org.hibernate.dialect.SybaseAnywhereDialect;
 import org.hibernate.dialect.TeradataDialect;
 import org.hibernate.dialect.TimesTenDialect;
+import org.hibernate.engine.query.internal.LirsQueryPlanCacheStorageFactory;
+import org.hibernate.engine.query.internal.TinyLfuQueryPlanCacheStorageFactory;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
 import org.hibernate.engine.transaction.jta.platform.internal.AtomikosJtaPlatform;
 import org.hibernate.engine.transaction.jta.platform.internal.BitronixJtaPlatform;
 import org.hibernate.engine.transaction.jta.platform.internal.BorlandEnterpriseServerJtaPlatform;
@@ -168,6 +171,7 @@ public class StrategySelectorBuilder {
 		addMultiTableBulkIdStrategies( strategySelector );
 		addImplicitNamingStrategies( strategySelector );
 		addCacheKeysFactories( strategySelector );
+		addQueryPlanCacheStorageFactories( strategySelector );
 
 		// apply auto-discovered registrations
 		for ( StrategyRegistrationProvider provider : classLoaderService.loadJavaServices( StrategyRegistrationProvider.class ) ) {
@@ -456,6 +460,19 @@ public class StrategySelectorBuilder {
 		);
 	}
 
+	private void addQueryPlanCacheStorageFactories(StrategySelectorImpl strategySelector) {
+		strategySelector.registerStrategyImplementor(
+			QueryPlanCacheStorageFactory.class,
+			TinyLfuQueryPlanCacheStorageFactory.SHORT_NAME,
+			TinyLfuQueryPlanCacheStorageFactory.class
+		);
+		strategySelector.registerStrategyImplementor(
+			QueryPlanCacheStorageFactory.class,
+			LirsQueryPlanCacheStorageFactory.SHORT_NAME,
+			LirsQueryPlanCacheStorageFactory.class
+		);
+	}
+
 	private void addCacheKeysFactories(StrategySelectorImpl strategySelector) {
 		strategySelector.registerStrategyImplementor(
 			CacheKeysFactory.class,
@@ -6,7 +6,9 @@
  */
 package org.hibernate.boot.spi;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.function.Supplier;
 
@@ -25,6 +27,8 @@ import org.hibernate.cache.spi.TimestampsCacheFactory;
 import org.hibernate.cfg.BaselineSessionEventsListenerBuilder;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.dialect.function.SQLFunction;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
+import org.hibernate.engine.spi.PersistenceContextStorage;
 import org.hibernate.hql.spi.id.MultiTableBulkIdStrategy;
 import org.hibernate.jpa.spi.JpaCompliance;
 import org.hibernate.loader.BatchFetchStyle;
@@ -182,6 +186,16 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.getDefaultBatchFetchSize();
 	}
 
+	@Override
+	public boolean isMultiLoadPipeliningEnabled() {
+		return delegate.isMultiLoadPipeliningEnabled();
+	}
+
+	@Override
+	public long getMultiLoadPipeliningTimeout() {
+		return delegate.getMultiLoadPipeliningTimeout();
+	}
+
 	@Override
 	public Integer getMaximumFetchDepth() {
 		return delegate.getMaximumFetchDepth();
@@ -227,6 +241,16 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isNamedQueryStartupCheckingEnabled();
 	}
 
+	@Override
+	public int getNamedQueryStartupCheckThreads() {
+		return delegate.getNamedQueryStartupCheckThreads();
+	}
+
+	@Override
+	public boolean isNamedQueryStartupCheckAsync() {
+		return delegate.isNamedQueryStartupCheckAsync();
+	}
+
 	@Override
 	public boolean isConventionalJavaConstants() {
 		return delegate.isConventionalJavaConstants();
@@ -287,6 +311,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isDirectReferenceCacheEntriesEnabled();
 	}
 
+	@Override
+	public boolean isDirectReferenceCacheEntriesForAssociationsEnabled() {
+		return delegate.isDirectReferenceCacheEntriesForAssociationsEnabled();
+	}
+
 	@Override
 	public boolean isAutoEvictCollectionCache() {
 		return delegate.isAutoEvictCollectionCache();
@@ -317,6 +346,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.isWrapResultSetsEnabled();
 	}
 
+	@Override
+	public boolean isIndexedRowReadersEnabled() {
+		return delegate.isIndexedRowReadersEnabled();
+	}
+
 	@Override
 	public boolean isGetGeneratedKeysEnabled() {
 		return delegate.isGetGeneratedKeysEnabled();
@@ -327,6 +361,11 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.getJdbcFetchSize();
 	}
 
+	@Override
+	public Integer getStreamFetchSize() {
+		return delegate.getStreamFetchSize();
+	}
+
 	@Override
 	public PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode() {
 		return delegate.getPhysicalConnectionHandlingMode();
@@ -438,6 +477,71 @@ public class AbstractDelegatingSessionFactoryOptions implements SessionFactoryOp
 		return delegate.getQueryStatisticsMaxSize();
 	}
 
+	@Override
+	public PersistenceContextStorage getPersistenceContextStorage() {
+		return delegate.getPersistenceContextStorage();
+	}
+
+	@Override
+	public boolean isQueryCacheCompactResultsEnabled() {
+		return delegate.isQueryCacheCompactResultsEnabled();
+	}
+
+	@Override
+	public Set<String> getQueryCacheRowInvalidationRegions() {
+		return delegate.getQueryCacheRowInvalidationRegions();
+	}
+
+	@Override
+	public int getQueryCacheRowInvalidationMaxRows() {
+		return delegate.getQueryCacheRowInvalidationMaxRows();
+	}
+
+	@Override
+	public long getCacheSingleFlightTimeout() {
+		return delegate.getCacheSingleFlightTimeout();
+	}
+
+	@Override
+	public List<String> getCacheWarmupEntityNames() {
+		return delegate.getCacheWarmupEntityNames();
+	}
+
+	@Override
+	public List<String> getCacheWarmupCollectionRoles() {
+		return delegate.getCacheWarmupCollectionRoles();
+	}
+
+	@Override
+	public int getCacheWarmupThreads() {
+		return delegate.getCacheWarmupThreads();
+	}
+
+	@Override
+	public int getCacheWarmupRowsPerSecond() {
+		return delegate.getCacheWarmupRowsPerSecond();
+	}
+
+	@Override
+	public int getParallelDirtyCheckingThreshold() {
+		return delegate.getParallelDirtyCheckingThreshold();
+	}
+
+	@Override
+	public QueryPlanCacheStorageFactory getQueryPlanCacheStorageFactory() {
+		return delegate.getQueryPlanCacheStorageFactory();
+	}
+
+	@Override
+	public String getQueryPlanCacheWarmupFile() {
+		return delegate.getQueryPlanCacheWarmupFile();
+	}
+
+	@Override
+	public int getQueryPlanCacheWarmupThreads() {
+		return delegate.getQueryPlanCacheWarmupThreads();
+	}
+
 	@Override
 	public boolean areJPACallbacksEnabled() {
 		return delegate.areJPACallbacksEnabled();
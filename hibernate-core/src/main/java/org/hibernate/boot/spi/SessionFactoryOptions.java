@@ -6,7 +6,10 @@
  */
 package org.hibernate.boot.spi;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 import java.util.function.Supplier;
 
@@ -26,6 +29,8 @@ import org.hibernate.cache.spi.TimestampsCacheFactory;
 import org.hibernate.cfg.BaselineSessionEventsListenerBuilder;
 import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
 import org.hibernate.dialect.function.SQLFunction;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
+import org.hibernate.engine.spi.PersistenceContextStorage;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.hql.spi.id.MultiTableBulkIdStrategy;
 import org.hibernate.jpa.spi.JpaCompliance;
@@ -166,6 +171,20 @@ public interface SessionFactoryOptions {
 
 	int getDefaultBatchFetchSize();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#MULTI_LOAD_PIPELINING
+	 */
+	default boolean isMultiLoadPipeliningEnabled() {
+		return false;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#MULTI_LOAD_PIPELINING_TIMEOUT
+	 */
+	default long getMultiLoadPipeliningTimeout() {
+		return 30000;
+	}
+
 	Integer getMaximumFetchDepth();
 
 	NullPrecedence getDefaultNullPrecedence();
@@ -193,6 +212,20 @@ public interface SessionFactoryOptions {
 
 	boolean isNamedQueryStartupCheckingEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_STARTUP_CHECK_THREADS
+	 */
+	default int getNamedQueryStartupCheckThreads() {
+		return 1;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_STARTUP_CHECK_ASYNC
+	 */
+	default boolean isNamedQueryStartupCheckAsync() {
+		return false;
+	}
+
 	boolean isConventionalJavaConstants();
 
 	boolean isSecondLevelCacheEnabled();
@@ -201,6 +234,71 @@ public interface SessionFactoryOptions {
 
 	TimestampsCacheFactory getTimestampsCacheFactory();
 
+	/**
+	 * Whether the query cache stores the results column by column.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_COMPACT_RESULTS
+	 */
+	default boolean isQueryCacheCompactResultsEnabled() {
+		return false;
+	}
+
+	/**
+	 * The names of the query cache regions whose results are invalidated row by row.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_ROW_INVALIDATION_REGIONS
+	 */
+	default Set<String> getQueryCacheRowInvalidationRegions() {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * The maximum number of row timestamps kept per table when some query cache regions are invalidated row by row.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_ROW_INVALIDATION_MAX_ROWS
+	 */
+	default int getQueryCacheRowInvalidationMaxRows() {
+		return 4096;
+	}
+
+	/**
+	 * The maximum time, in milliseconds, a session waits for another session loading the value it missed in the
+	 * second-level cache, or {@code 0} if the sessions do not wait for each other.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_SINGLE_FLIGHT_TIMEOUT
+	 */
+	default long getCacheSingleFlightTimeout() {
+		return 0;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_WARMUP_ENTITIES
+	 */
+	default List<String> getCacheWarmupEntityNames() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_WARMUP_COLLECTIONS
+	 */
+	default List<String> getCacheWarmupCollectionRoles() {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_WARMUP_THREADS
+	 */
+	default int getCacheWarmupThreads() {
+		return 1;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_WARMUP_ROWS_PER_SECOND
+	 */
+	default int getCacheWarmupRowsPerSecond() {
+		return 0;
+	}
+
 	String getCacheRegionPrefix();
 
 	boolean isMinimalPutsEnabled();
@@ -209,6 +307,13 @@ public interface SessionFactoryOptions {
 
 	boolean isDirectReferenceCacheEntriesEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#USE_DIRECT_REFERENCE_CACHE_ENTRIES_FOR_ASSOCIATIONS
+	 */
+	default boolean isDirectReferenceCacheEntriesForAssociationsEnabled() {
+		return false;
+	}
+
 	boolean isAutoEvictCollectionCache();
 
 	SchemaAutoTooling getSchemaAutoTooling();
@@ -221,10 +326,24 @@ public interface SessionFactoryOptions {
 
 	boolean isWrapResultSetsEnabled();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#INDEXED_ROW_READERS
+	 */
+	default boolean isIndexedRowReadersEnabled() {
+		return false;
+	}
+
 	boolean isGetGeneratedKeysEnabled();
 
 	Integer getJdbcFetchSize();
 
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#STREAM_FETCH_SIZE
+	 */
+	default Integer getStreamFetchSize() {
+		return getJdbcFetchSize();
+	}
+
 	PhysicalConnectionHandlingMode getPhysicalConnectionHandlingMode();
 
 	default boolean doesConnectionProviderDisableAutoCommit() {
@@ -296,6 +415,45 @@ public interface SessionFactoryOptions {
 		return Statistics.DEFAULT_QUERY_STATISTICS_MAX_SIZE;
 	}
 
+	default PersistenceContextStorage getPersistenceContextStorage() {
+		return PersistenceContextStorage.HASH;
+	}
+
+	/**
+	 * The number of managed entities from which a flush dirty checks them in parallel, or {@code 0} if it
+	 * never does.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#PARALLEL_DIRTY_CHECKING_THRESHOLD
+	 */
+	default int getParallelDirtyCheckingThreshold() {
+		return 0;
+	}
+
+	/**
+	 * The factory of the storages of the query plan cache, or {@code null} to use the default storages.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_STORAGE
+	 */
+	default QueryPlanCacheStorageFactory getQueryPlanCacheStorageFactory() {
+		return null;
+	}
+
+	/**
+	 * The file recording the queries of the query plan cache across restarts, or {@code null}.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_WARMUP_FILE
+	 */
+	default String getQueryPlanCacheWarmupFile() {
+		return null;
+	}
+
+	/**
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_WARMUP_THREADS
+	 */
+	default int getQueryPlanCacheWarmupThreads() {
+		return 1;
+	}
+
 	/**
 	 * @deprecated Since 5.4.1, this is no longer used.
 	 */
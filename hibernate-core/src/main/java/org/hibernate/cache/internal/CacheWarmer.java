@@ -0,0 +1,204 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.HibernateException;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Loads all the instances of entities, or all the collections of given roles, into their second-level cache
+ * regions.
+ * <p/>
+ * Each region is warmed up in a session of its own, reading the rows through a forward-only
+ * {@link ScrollableResults} with the {@link CacheMode#REFRESH REFRESH} cache mode, so that every instance is put
+ * into the cache as it is loaded, whatever the minimal puts setting.  The session is cleared every
+ * {@value #BATCH_SIZE} rows.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#CACHE_WARMUP_ENTITIES
+ */
+final class CacheWarmer {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( CacheWarmer.class );
+
+	private static final int BATCH_SIZE = 100;
+
+	private final SessionFactoryImplementor sessionFactory;
+	private final int threads;
+	private final int rowsPerSecond;
+
+	CacheWarmer(SessionFactoryImplementor sessionFactory) {
+		this.sessionFactory = sessionFactory;
+		this.threads = sessionFactory.getSessionFactoryOptions().getCacheWarmupThreads();
+		this.rowsPerSecond = sessionFactory.getSessionFactoryOptions().getCacheWarmupRowsPerSecond();
+	}
+
+	void warmEntityData(String entityName) {
+		final EntityPersister persister = sessionFactory.getMetamodel().entityPersister(
+				sessionFactory.getMetamodel().getImportedClassName( entityName )
+		);
+		if ( !persister.canWriteToCache() ) {
+			LOG.debugf( "Not warming up the cache of entity [%s], which is not cached", entityName );
+			return;
+		}
+
+		LOG.debugf( "Warming up the cache of entity [%s]", entityName );
+		final long rows = scroll( persister.getEntityName(), entity -> {
+		} );
+		LOG.debugf( "Loaded %s instances of entity [%s] into the cache", rows, entityName );
+	}
+
+	void warmCollectionData(String role) {
+		final CollectionPersister persister = sessionFactory.getMetamodel().collectionPersister( role );
+		if ( !persister.hasCache() ) {
+			LOG.debugf( "Not warming up the cache of collection [%s], which is not cached", role );
+			return;
+		}
+
+		final EntityPersister owner = persister.getOwnerEntityPersister();
+		if ( !role.startsWith( owner.getEntityName() + '.' ) ) {
+			throw new HibernateException( "Unable to determine the path of collection [" + role + "] in its owner" );
+		}
+		final String path = role.substring( owner.getEntityName().length() + 1 );
+
+		LOG.debugf( "Warming up the cache of collection [%s]", role );
+		final long rows = scroll(
+				owner.getEntityName(),
+				entity -> Hibernate.initialize( owner.getPropertyValue( entity, path ) )
+		);
+		LOG.debugf( "Loaded the collections [%s] of %s owners into the cache", role, rows );
+	}
+
+	/**
+	 * Warms up the given regions, concurrently if allowed, and waits for them.  A region failing to warm up is
+	 * logged, and does not stop the others.
+	 */
+	void warm(Collection<String> entityNames, Collection<String> collectionRoles) {
+		final List<Runnable> warmups = new ArrayList<>();
+		for ( String entityName : entityNames ) {
+			warmups.add( warmup( entityName, () -> warmEntityData( entityName ) ) );
+		}
+		for ( String role : collectionRoles ) {
+			warmups.add( warmup( role, () -> warmCollectionData( role ) ) );
+		}
+
+		if ( threads <= 1 || warmups.size() <= 1 ) {
+			warmups.forEach( Runnable::run );
+			return;
+		}
+
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.min( threads, warmups.size() ),
+				runnable -> {
+					final Thread thread = new Thread(
+							runnable,
+							"hibernate-cache-warmup-" + threadCount.incrementAndGet()
+					);
+					thread.setDaemon( true );
+					return thread;
+				}
+		);
+		final List<Callable<Object>> tasks = new ArrayList<>();
+		for ( Runnable warmup : warmups ) {
+			tasks.add( Executors.callable( warmup ) );
+		}
+		try {
+			executor.invokeAll( tasks );
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static Runnable warmup(String name, Runnable warmup) {
+		return () -> {
+			try {
+				warmup.run();
+			}
+			catch (RuntimeException e) {
+				LOG.warnf( "Unable to warm up the cache of [%s]: %s", name, e.getMessage() );
+			}
+		};
+	}
+
+	/**
+	 * Loads all the instances of the given entity, passing each one to the given action.
+	 *
+	 * @return The number of instances loaded
+	 */
+	private long scroll(String entityName, Consumer<Object> action) {
+		try ( Session session = sessionFactory.openSession() ) {
+			session.setCacheMode( CacheMode.REFRESH );
+			session.setDefaultReadOnly( true );
+			final Transaction transaction = session.beginTransaction();
+			try {
+				long rows = 0;
+				try ( ScrollableResults results = session.createQuery( "from " + entityName )
+						.setFetchSize( BATCH_SIZE )
+						.scroll( ScrollMode.FORWARD_ONLY ) ) {
+					final long start = System.nanoTime();
+					while ( !Thread.currentThread().isInterrupted() && results.next() ) {
+						action.accept( results.get( 0 ) );
+						if ( ++rows % BATCH_SIZE == 0 ) {
+							session.clear();
+							throttle( start, rows );
+						}
+					}
+				}
+				transaction.commit();
+				return rows;
+			}
+			catch (RuntimeException e) {
+				if ( transaction.isActive() ) {
+					transaction.rollback();
+				}
+				throw e;
+			}
+		}
+	}
+
+	/**
+	 * Waits until the given number of rows may have been read since the given start, if the rows per second are
+	 * limited.
+	 */
+	private void throttle(long start, long rows) {
+		if ( rowsPerSecond <= 0 ) {
+			return;
+		}
+		final long wait = start + rows * TimeUnit.SECONDS.toNanos( 1 ) / rowsPerSecond - System.nanoTime();
+		if ( wait > 0 ) {
+			try {
+				TimeUnit.NANOSECONDS.sleep( wait );
+			}
+			catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
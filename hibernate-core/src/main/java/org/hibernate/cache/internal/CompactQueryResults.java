@@ -0,0 +1,339 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * The disassembled rows of cached query results, stored column by column.
+ * <p/>
+ * The values of a column are packed in an array of primitives when they are all {@link Long}s, {@link Integer}s,
+ * or dates and timestamps of the same class, which is the case of the identifiers of entities and of most scalar
+ * columns, as disassembled by their {@link org.hibernate.type.Type}; the strings of a column are dictionary
+ * encoded when they repeat.  The other columns keep their values as they are.
+ * <p/>
+ * The rows are rebuilt from the columns when read, so this list can be assembled like the list it replaces.  It is
+ * immutable.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_COMPACT_RESULTS
+ */
+final class CompactQueryResults extends AbstractList<Serializable> implements RandomAccess, Serializable {
+	private static final long serialVersionUID = 1L;
+
+	private final int size;
+	private final boolean singleResult;
+	private final Column[] columns;
+
+	private CompactQueryResults(int size, boolean singleResult, Column[] columns) {
+		this.size = size;
+		this.singleResult = singleResult;
+		this.columns = columns;
+	}
+
+	/**
+	 * Stores the given disassembled rows column by column, if it takes less memory.
+	 *
+	 * @param rows The disassembled rows: {@code Serializable} values if {@code singleResult}, {@code Serializable[]}
+	 * otherwise
+	 * @param singleResult Whether the query returns a single value per row
+	 * @param columnCount The number of values of each row
+	 *
+	 * @return The compact rows, or the given rows if no column can be compacted
+	 */
+	static List compact(List rows, boolean singleResult, int columnCount) {
+		if ( rows.size() < 2 ) {
+			return rows;
+		}
+		final Column[] columns = new Column[columnCount];
+		boolean compacted = false;
+		for ( int j = 0; j < columnCount; j++ ) {
+			final Serializable[] values = new Serializable[rows.size()];
+			for ( int i = 0; i < values.length; i++ ) {
+				final Object row = rows.get( i );
+				if ( singleResult ) {
+					values[i] = (Serializable) row;
+				}
+				else {
+					final Serializable[] tuple = (Serializable[]) row;
+					if ( tuple.length != columnCount ) {
+						// unexpected, better leave such rows alone
+						return rows;
+					}
+					values[i] = tuple[j];
+				}
+			}
+			columns[j] = compactColumn( values );
+			compacted |= !( columns[j] instanceof ObjectColumn );
+		}
+		return compacted ? new CompactQueryResults( rows.size(), singleResult, columns ) : rows;
+	}
+
+	private static Column compactColumn(Serializable[] values) {
+		Class<?> type = null;
+		BitSet nulls = null;
+		for ( int i = 0; i < values.length; i++ ) {
+			final Serializable value = values[i];
+			if ( value == null ) {
+				if ( nulls == null ) {
+					nulls = new BitSet( values.length );
+				}
+				nulls.set( i );
+			}
+			else if ( type == null ) {
+				type = value.getClass();
+			}
+			else if ( type != value.getClass() ) {
+				return new ObjectColumn( values );
+			}
+		}
+		if ( type == Long.class ) {
+			final long[] longs = new long[values.length];
+			for ( int i = 0; i < values.length; i++ ) {
+				longs[i] = values[i] == null ? 0L : (Long) values[i];
+			}
+			return new LongColumn( longs, nulls );
+		}
+		if ( type == Integer.class ) {
+			final int[] ints = new int[values.length];
+			for ( int i = 0; i < values.length; i++ ) {
+				ints[i] = values[i] == null ? 0 : (Integer) values[i];
+			}
+			return new IntegerColumn( ints, nulls );
+		}
+		if ( type == java.util.Date.class || type == java.sql.Date.class || type == java.sql.Time.class ) {
+			final long[] times = new long[values.length];
+			for ( int i = 0; i < values.length; i++ ) {
+				times[i] = values[i] == null ? 0L : ( (java.util.Date) values[i] ).getTime();
+			}
+			return new DateColumn( type, times, nulls );
+		}
+		if ( type == java.sql.Timestamp.class ) {
+			final long[] times = new long[values.length];
+			final int[] nanos = new int[values.length];
+			for ( int i = 0; i < values.length; i++ ) {
+				if ( values[i] != null ) {
+					times[i] = ( (java.sql.Timestamp) values[i] ).getTime();
+					nanos[i] = ( (java.sql.Timestamp) values[i] ).getNanos();
+				}
+			}
+			return new TimestampColumn( times, nanos, nulls );
+		}
+		if ( type == String.class ) {
+			return dictionaryEncode( values );
+		}
+		return new ObjectColumn( values );
+	}
+
+	private static Column dictionaryEncode(Serializable[] values) {
+		final Map<String,Integer> codesByString = new HashMap<>();
+		final int[] codes = new int[values.length];
+		for ( int i = 0; i < values.length; i++ ) {
+			if ( values[i] == null ) {
+				codes[i] = -1;
+			}
+			else {
+				codes[i] = codesByString.computeIfAbsent( (String) values[i], string -> codesByString.size() );
+				if ( codesByString.size() > values.length / 2 ) {
+					// the strings do not repeat enough to be worth it
+					return new ObjectColumn( values );
+				}
+			}
+		}
+		final String[] dictionary = new String[codesByString.size()];
+		for ( Map.Entry<String,Integer> entry : codesByString.entrySet() ) {
+			dictionary[entry.getValue()] = entry.getKey();
+		}
+		return new StringDictionaryColumn( dictionary, codes );
+	}
+
+	@Override
+	public Serializable get(int index) {
+		if ( index < 0 || index >= size ) {
+			throw new IndexOutOfBoundsException( "Index: " + index + ", Size: " + size );
+		}
+		if ( singleResult ) {
+			return columns[0].get( index );
+		}
+		final Serializable[] row = new Serializable[columns.length];
+		for ( int j = 0; j < columns.length; j++ ) {
+			row[j] = columns[j].get( index );
+		}
+		return row;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * A rough estimate of the memory taken by these results, in bytes.
+	 */
+	long estimateWeight() {
+		long weight = 16;
+		for ( Column column : columns ) {
+			weight += column.estimateWeight();
+		}
+		return weight;
+	}
+
+	private abstract static class Column implements Serializable {
+		private final BitSet nulls;
+
+		private Column(BitSet nulls) {
+			this.nulls = nulls;
+		}
+
+		Serializable get(int index) {
+			return nulls != null && nulls.get( index ) ? null : getValue( index );
+		}
+
+		abstract Serializable getValue(int index);
+
+		abstract long estimateWeight();
+
+		long estimateNullsWeight() {
+			return nulls == null ? 0 : 16 + nulls.size() / 8;
+		}
+	}
+
+	private static final class LongColumn extends Column {
+		private final long[] values;
+
+		private LongColumn(long[] values, BitSet nulls) {
+			super( nulls );
+			this.values = values;
+		}
+
+		@Override
+		Serializable getValue(int index) {
+			return values[index];
+		}
+
+		@Override
+		long estimateWeight() {
+			return 16 + 8L * values.length + estimateNullsWeight();
+		}
+	}
+
+	private static final class IntegerColumn extends Column {
+		private final int[] values;
+
+		private IntegerColumn(int[] values, BitSet nulls) {
+			super( nulls );
+			this.values = values;
+		}
+
+		@Override
+		Serializable getValue(int index) {
+			return values[index];
+		}
+
+		@Override
+		long estimateWeight() {
+			return 16 + 4L * values.length + estimateNullsWeight();
+		}
+	}
+
+	private static final class DateColumn extends Column {
+		private final Class<?> type;
+		private final long[] times;
+
+		private DateColumn(Class<?> type, long[] times, BitSet nulls) {
+			super( nulls );
+			this.type = type;
+			this.times = times;
+		}
+
+		@Override
+		Serializable getValue(int index) {
+			if ( type == java.sql.Date.class ) {
+				return new java.sql.Date( times[index] );
+			}
+			if ( type == java.sql.Time.class ) {
+				return new java.sql.Time( times[index] );
+			}
+			return new java.util.Date( times[index] );
+		}
+
+		@Override
+		long estimateWeight() {
+			return 16 + 8L * times.length + estimateNullsWeight();
+		}
+	}
+
+	private static final class TimestampColumn extends Column {
+		private final long[] times;
+		private final int[] nanos;
+
+		private TimestampColumn(long[] times, int[] nanos, BitSet nulls) {
+			super( nulls );
+			this.times = times;
+			this.nanos = nanos;
+		}
+
+		@Override
+		Serializable getValue(int index) {
+			final java.sql.Timestamp timestamp = new java.sql.Timestamp( times[index] );
+			timestamp.setNanos( nanos[index] );
+			return timestamp;
+		}
+
+		@Override
+		long estimateWeight() {
+			return 32 + 12L * times.length + estimateNullsWeight();
+		}
+	}
+
+	private static final class StringDictionaryColumn extends Column {
+		private final String[] dictionary;
+		// -1 for null
+		private final int[] codes;
+
+		private StringDictionaryColumn(String[] dictionary, int[] codes) {
+			super( null );
+			this.dictionary = dictionary;
+			this.codes = codes;
+		}
+
+		@Override
+		Serializable getValue(int index) {
+			final int code = codes[index];
+			return code < 0 ? null : dictionary[code];
+		}
+
+		@Override
+		long estimateWeight() {
+			return 16 + 4L * codes.length + LocalStorageAccess.estimateWeight( dictionary, 1 );
+		}
+	}
+
+	private static final class ObjectColumn extends Column {
+		private final Serializable[] values;
+
+		private ObjectColumn(Serializable[] values) {
+			super( null );
+			this.values = values;
+		}
+
+		@Override
+		Serializable getValue(int index) {
+			return values[index];
+		}
+
+		@Override
+		long estimateWeight() {
+			return LocalStorageAccess.estimateWeight( values, 1 );
+		}
+	}
+}
@@ -0,0 +1,392 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.UUID;
+
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.cache.spi.entry.CacheEntry;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.hibernate.internal.util.SerializationHelper;
+import org.hibernate.property.access.internal.PropertyAccessStrategyBackRefImpl;
+import org.hibernate.type.SerializationException;
+
+/**
+ * A compact binary encoding of the values Hibernate stores in the second-level cache, used to keep them outside
+ * of the heap.
+ * <p/>
+ * The entity and collection cache entries, and the read-write items wrapping them, are encoded field by field, and
+ * so is their disassembled state: every value is written as a one-byte tag followed by its content, e.g. a
+ * variable-length integer or the UTF-8 bytes of a string.  The values of types unknown to this encoding are written
+ * with Java serialization.  Values which are not serializable, such as soft locks and the entries referencing
+ * entities directly, cannot be encoded.
+ */
+final class CompactValueEncoding {
+	private static final byte NULL = 0;
+	private static final byte TRUE = 1;
+	private static final byte FALSE = 2;
+	private static final byte INTEGER = 3;
+	private static final byte LONG = 4;
+	private static final byte SHORT = 5;
+	private static final byte BYTE = 6;
+	private static final byte CHARACTER = 7;
+	private static final byte FLOAT = 8;
+	private static final byte DOUBLE = 9;
+	private static final byte STRING = 10;
+	private static final byte BIG_DECIMAL = 11;
+	private static final byte BIG_INTEGER = 12;
+	private static final byte DATE = 13;
+	private static final byte SQL_DATE = 14;
+	private static final byte SQL_TIME = 15;
+	private static final byte SQL_TIMESTAMP = 16;
+	private static final byte UUID_VALUE = 17;
+	private static final byte BYTE_ARRAY = 18;
+	private static final byte SERIALIZABLE_ARRAY = 19;
+	private static final byte OBJECT_ARRAY = 20;
+	private static final byte UNFETCHED_PROPERTY = 21;
+	private static final byte UNKNOWN_BACK_REFERENCE = 22;
+	private static final byte ENTITY_ENTRY = 23;
+	private static final byte COLLECTION_ENTRY = 24;
+	private static final byte READ_WRITE_ITEM = 25;
+	private static final byte SERIALIZED = 26;
+
+	private CompactValueEncoding() {
+	}
+
+	/**
+	 * Encodes the given value.
+	 *
+	 * @return The encoded value, or {@code null} if it cannot be encoded
+	 */
+	static byte[] encode(Object value) {
+		if ( !isEncodable( value ) ) {
+			return null;
+		}
+		final Output output = new Output();
+		try {
+			write( value, output );
+		}
+		catch (NotEncodableException | SerializationException e) {
+			// some part of the state is not serializable
+			return null;
+		}
+		return output.toByteArray();
+	}
+
+	/**
+	 * Decodes the value encoded in the remaining bytes of the given buffer.
+	 */
+	static Object decode(ByteBuffer buffer) {
+		return read( buffer );
+	}
+
+	private static boolean isEncodable(Object value) {
+		if ( value instanceof AbstractReadWriteAccess.Item ) {
+			return isEncodable( ( (AbstractReadWriteAccess.Item) value ).getValue() );
+		}
+		if ( value instanceof CacheEntry ) {
+			// the reference entries hold the entity itself
+			return !( (CacheEntry) value ).isReferenceEntry();
+		}
+		return value instanceof Serializable && !( value instanceof AbstractReadWriteAccess.Lockable );
+	}
+
+	private static void write(Object value, Output output) {
+		if ( value == null ) {
+			output.writeByte( NULL );
+		}
+		else if ( value == LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+			output.writeByte( UNFETCHED_PROPERTY );
+		}
+		else if ( value == PropertyAccessStrategyBackRefImpl.UNKNOWN ) {
+			output.writeByte( UNKNOWN_BACK_REFERENCE );
+		}
+		else {
+			final Class<?> type = value.getClass();
+			if ( type == Boolean.class ) {
+				output.writeByte( (Boolean) value ? TRUE : FALSE );
+			}
+			else if ( type == Integer.class ) {
+				output.writeByte( INTEGER );
+				output.writeSignedVarLong( (Integer) value );
+			}
+			else if ( type == Long.class ) {
+				output.writeByte( LONG );
+				output.writeSignedVarLong( (Long) value );
+			}
+			else if ( type == Short.class ) {
+				output.writeByte( SHORT );
+				output.writeSignedVarLong( (Short) value );
+			}
+			else if ( type == Byte.class ) {
+				output.writeByte( BYTE );
+				output.writeByte( (Byte) value );
+			}
+			else if ( type == Character.class ) {
+				output.writeByte( CHARACTER );
+				output.writeVarLong( (Character) value );
+			}
+			else if ( type == Float.class ) {
+				output.writeByte( FLOAT );
+				output.writeFixedLong( Float.floatToIntBits( (Float) value ), 4 );
+			}
+			else if ( type == Double.class ) {
+				output.writeByte( DOUBLE );
+				output.writeFixedLong( Double.doubleToLongBits( (Double) value ), 8 );
+			}
+			else if ( type == String.class ) {
+				output.writeByte( STRING );
+				output.writeBytes( ( (String) value ).getBytes( StandardCharsets.UTF_8 ) );
+			}
+			else if ( type == BigDecimal.class ) {
+				output.writeByte( BIG_DECIMAL );
+				output.writeSignedVarLong( ( (BigDecimal) value ).scale() );
+				output.writeBytes( ( (BigDecimal) value ).unscaledValue().toByteArray() );
+			}
+			else if ( type == BigInteger.class ) {
+				output.writeByte( BIG_INTEGER );
+				output.writeBytes( ( (BigInteger) value ).toByteArray() );
+			}
+			else if ( type == java.util.Date.class ) {
+				output.writeByte( DATE );
+				output.writeSignedVarLong( ( (java.util.Date) value ).getTime() );
+			}
+			else if ( type == java.sql.Date.class ) {
+				output.writeByte( SQL_DATE );
+				output.writeSignedVarLong( ( (java.sql.Date) value ).getTime() );
+			}
+			else if ( type == java.sql.Time.class ) {
+				output.writeByte( SQL_TIME );
+				output.writeSignedVarLong( ( (java.sql.Time) value ).getTime() );
+			}
+			else if ( type == java.sql.Timestamp.class ) {
+				output.writeByte( SQL_TIMESTAMP );
+				// the milliseconds of getTime() include the fraction of a second already held by the nanoseconds
+				output.writeSignedVarLong( Math.floorDiv( ( (java.sql.Timestamp) value ).getTime(), 1000L ) );
+				output.writeVarLong( ( (java.sql.Timestamp) value ).getNanos() );
+			}
+			else if ( type == UUID.class ) {
+				output.writeByte( UUID_VALUE );
+				output.writeFixedLong( ( (UUID) value ).getMostSignificantBits(), 8 );
+				output.writeFixedLong( ( (UUID) value ).getLeastSignificantBits(), 8 );
+			}
+			else if ( type == byte[].class ) {
+				output.writeByte( BYTE_ARRAY );
+				output.writeBytes( (byte[]) value );
+			}
+			else if ( type == Serializable[].class || type == Object[].class ) {
+				output.writeByte( type == Serializable[].class ? SERIALIZABLE_ARRAY : OBJECT_ARRAY );
+				writeElements( (Object[]) value, output );
+			}
+			else if ( type == StandardCacheEntryImpl.class ) {
+				final StandardCacheEntryImpl entry = (StandardCacheEntryImpl) value;
+				output.writeByte( ENTITY_ENTRY );
+				write( entry.getSubclass(), output );
+				write( entry.getVersion(), output );
+				writeElements( entry.getDisassembledState(), output );
+			}
+			else if ( type == CollectionCacheEntry.class ) {
+				output.writeByte( COLLECTION_ENTRY );
+				write( ( (CollectionCacheEntry) value ).getState(), output );
+			}
+			else if ( type == AbstractReadWriteAccess.Item.class ) {
+				final AbstractReadWriteAccess.Item item = (AbstractReadWriteAccess.Item) value;
+				output.writeByte( READ_WRITE_ITEM );
+				output.writeSignedVarLong( item.getTimestamp() );
+				write( item.getVersion(), output );
+				write( item.getValue(), output );
+			}
+			else if ( !( value instanceof Serializable ) ) {
+				throw new NotEncodableException();
+			}
+			else {
+				output.writeByte( SERIALIZED );
+				output.writeBytes( SerializationHelper.serialize( (Serializable) value ) );
+			}
+		}
+	}
+
+	private static void writeElements(Object[] elements, Output output) {
+		output.writeVarLong( elements.length );
+		for ( Object element : elements ) {
+			write( element, output );
+		}
+	}
+
+	private static Object read(ByteBuffer buffer) {
+		final byte tag = buffer.get();
+		switch ( tag ) {
+			case NULL:
+				return null;
+			case TRUE:
+				return Boolean.TRUE;
+			case FALSE:
+				return Boolean.FALSE;
+			case INTEGER:
+				return (int) readSignedVarLong( buffer );
+			case LONG:
+				return readSignedVarLong( buffer );
+			case SHORT:
+				return (short) readSignedVarLong( buffer );
+			case BYTE:
+				return buffer.get();
+			case CHARACTER:
+				return (char) readVarLong( buffer );
+			case FLOAT:
+				return buffer.getFloat();
+			case DOUBLE:
+				return buffer.getDouble();
+			case STRING:
+				return new String( readBytes( buffer ), StandardCharsets.UTF_8 );
+			case BIG_DECIMAL: {
+				final int scale = (int) readSignedVarLong( buffer );
+				return new BigDecimal( new BigInteger( readBytes( buffer ) ), scale );
+			}
+			case BIG_INTEGER:
+				return new BigInteger( readBytes( buffer ) );
+			case DATE:
+				return new java.util.Date( readSignedVarLong( buffer ) );
+			case SQL_DATE:
+				return new java.sql.Date( readSignedVarLong( buffer ) );
+			case SQL_TIME:
+				return new java.sql.Time( readSignedVarLong( buffer ) );
+			case SQL_TIMESTAMP: {
+				final java.sql.Timestamp timestamp = new java.sql.Timestamp( readSignedVarLong( buffer ) * 1000L );
+				timestamp.setNanos( (int) readVarLong( buffer ) );
+				return timestamp;
+			}
+			case UUID_VALUE:
+				return new UUID( buffer.getLong(), buffer.getLong() );
+			case BYTE_ARRAY:
+				return readBytes( buffer );
+			case SERIALIZABLE_ARRAY: {
+				final Serializable[] elements = new Serializable[(int) readVarLong( buffer )];
+				readElements( elements, buffer );
+				return elements;
+			}
+			case OBJECT_ARRAY: {
+				final Object[] elements = new Object[(int) readVarLong( buffer )];
+				readElements( elements, buffer );
+				return elements;
+			}
+			case UNFETCHED_PROPERTY:
+				return LazyPropertyInitializer.UNFETCHED_PROPERTY;
+			case UNKNOWN_BACK_REFERENCE:
+				return PropertyAccessStrategyBackRefImpl.UNKNOWN;
+			case ENTITY_ENTRY: {
+				final String subclass = (String) read( buffer );
+				final Object version = read( buffer );
+				final Serializable[] disassembledState = new Serializable[(int) readVarLong( buffer )];
+				readElements( disassembledState, buffer );
+				return new StandardCacheEntryImpl( disassembledState, subclass, version );
+			}
+			case COLLECTION_ENTRY:
+				return new CollectionCacheEntry( (Serializable) read( buffer ) );
+			case READ_WRITE_ITEM: {
+				final long timestamp = readSignedVarLong( buffer );
+				final Object version = read( buffer );
+				return new AbstractReadWriteAccess.Item( read( buffer ), version, timestamp );
+			}
+			case SERIALIZED:
+				return SerializationHelper.deserialize( readBytes( buffer ) );
+			default:
+				throw new IllegalStateException( "Unexpected tag in encoded cache value: " + tag );
+		}
+	}
+
+	private static void readElements(Object[] elements, ByteBuffer buffer) {
+		for ( int i = 0; i < elements.length; i++ ) {
+			elements[i] = read( buffer );
+		}
+	}
+
+	private static byte[] readBytes(ByteBuffer buffer) {
+		final byte[] bytes = new byte[(int) readVarLong( buffer )];
+		buffer.get( bytes );
+		return bytes;
+	}
+
+	private static long readVarLong(ByteBuffer buffer) {
+		long result = 0;
+		for ( int shift = 0; ; shift += 7 ) {
+			final byte b = buffer.get();
+			result |= (long) ( b & 0x7F ) << shift;
+			if ( b >= 0 ) {
+				return result;
+			}
+		}
+	}
+
+	private static long readSignedVarLong(ByteBuffer buffer) {
+		final long zigZag = readVarLong( buffer );
+		return ( zigZag >>> 1 ) ^ -( zigZag & 1 );
+	}
+
+	private static final class NotEncodableException extends RuntimeException {
+		private NotEncodableException() {
+			super( null, null, false, false );
+		}
+	}
+
+	/**
+	 * A growable byte array, writing numbers in big-endian order like {@link ByteBuffer} reads them by default.
+	 */
+	private static final class Output {
+		private byte[] bytes = new byte[128];
+		private int size;
+
+		private void writeByte(int value) {
+			ensureCapacity( 1 );
+			bytes[size++] = (byte) value;
+		}
+
+		private void writeFixedLong(long value, int length) {
+			ensureCapacity( length );
+			for ( int shift = 8 * ( length - 1 ); shift >= 0; shift -= 8 ) {
+				bytes[size++] = (byte) ( value >>> shift );
+			}
+		}
+
+		private void writeVarLong(long value) {
+			ensureCapacity( 10 );
+			while ( ( value & ~0x7FL ) != 0 ) {
+				bytes[size++] = (byte) ( ( value & 0x7F ) | 0x80 );
+				value >>>= 7;
+			}
+			bytes[size++] = (byte) value;
+		}
+
+		private void writeSignedVarLong(long value) {
+			writeVarLong( ( value << 1 ) ^ ( value >> 63 ) );
+		}
+
+		private void writeBytes(byte[] value) {
+			writeVarLong( value.length );
+			ensureCapacity( value.length );
+			System.arraycopy( value, 0, bytes, size, value.length );
+			size += value.length;
+		}
+
+		private void ensureCapacity(int length) {
+			if ( size + length > bytes.length ) {
+				bytes = Arrays.copyOf( bytes, Math.max( 2 * bytes.length, size + length ) );
+			}
+		}
+
+		private byte[] toByteArray() {
+			return Arrays.copyOf( bytes, size );
+		}
+	}
+}
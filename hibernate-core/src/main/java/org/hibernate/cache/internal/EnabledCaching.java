@@ -7,6 +7,7 @@
 package org.hibernate.cache.internal;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -93,7 +94,10 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 			regionsByName.put( queryResultsRegion.getName(), queryResultsRegion );
 			defaultQueryResultsCache = new QueryResultsCacheImpl(
 					queryResultsRegion,
-					timestampsCache
+					timestampsCache,
+					sessionFactory.getSessionFactoryOptions().isQueryCacheCompactResultsEnabled(),
+					sessionFactory.getSessionFactoryOptions().getQueryCacheRowInvalidationRegions()
+							.contains( RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME )
 			);
 		}
 		else {
@@ -494,7 +498,10 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 		);
 		final QueryResultsCacheImpl regionAccess = new QueryResultsCacheImpl(
 				region,
-				timestampsCache
+				timestampsCache,
+				getSessionFactory().getSessionFactoryOptions().isQueryCacheCompactResultsEnabled(),
+				getSessionFactory().getSessionFactoryOptions().getQueryCacheRowInvalidationRegions()
+						.contains( regionName )
 		);
 		namedQueryResultsCacheMap.put( regionName, regionAccess );
 		legacySecondLevelCacheNames.add( regionName );
@@ -540,6 +547,21 @@ public class EnabledCaching implements CacheImplementor, DomainDataRegionBuildin
 		throw new PersistenceException( "Hibernate cannot unwrap Cache as " + cls.getName() );
 	}
 
+	@Override
+	public void warmEntityData(String entityName) {
+		new CacheWarmer( sessionFactory ).warmEntityData( entityName );
+	}
+
+	@Override
+	public void warmCollectionData(String role) {
+		new CacheWarmer( sessionFactory ).warmCollectionData( role );
+	}
+
+	@Override
+	public void warm(Collection<String> entityNames, Collection<String> collectionRoles) {
+		new CacheWarmer( sessionFactory ).warm( entityNames, collectionRoles );
+	}
+
 	@Override
 	public void close() {
 		for ( Region region : regionsByName.values() ) {
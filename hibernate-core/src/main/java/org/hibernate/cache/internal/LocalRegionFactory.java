@@ -0,0 +1,250 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.DomainDataRegion;
+import org.hibernate.cache.spi.ExtendedStatisticsSupport;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.cache.spi.support.DomainDataRegionTemplate;
+import org.hibernate.cache.spi.support.QueryResultsRegionTemplate;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.cache.spi.support.TimestampsRegionTemplate;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+import static org.hibernate.cfg.AvailableSettings.CACHE_LOCAL_MAX_ENTRIES;
+import static org.hibernate.cfg.AvailableSettings.CACHE_LOCAL_MAX_WEIGHT;
+import static org.hibernate.cfg.AvailableSettings.CACHE_LOCAL_OFF_HEAP;
+import static org.hibernate.cfg.AvailableSettings.CACHE_LOCAL_REFRESH_AHEAD_TIME;
+import static org.hibernate.cfg.AvailableSettings.CACHE_LOCAL_REGION_PREFIX;
+import static org.hibernate.cfg.AvailableSettings.CACHE_LOCAL_TIME_TO_LIVE;
+
+/**
+ * A {@link RegionFactory} keeping the cached data in the memory of the JVM, with no dependency on a caching
+ * provider: a second-level cache for applications running on a single node.
+ * <p/>
+ * Each region is bounded in number of entries and, optionally, in weight, and its entries may expire; see
+ * {@link org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_MAX_ENTRIES},
+ * {@link org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_MAX_WEIGHT} and
+ * {@link org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_TIME_TO_LIVE}.  Reads take no lock.  The regions support
+ * the extended statistics, including the number of evictions.
+ * <p/>
+ * The entity, collection and natural id regions may keep their values off the heap, in a compact encoding; see
+ * {@link org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_OFF_HEAP}.
+ * <p/>
+ * The entries of entity regions read shortly before their expiry may be reloaded in the background, by a couple of
+ * daemon threads; see {@link org.hibernate.cfg.AvailableSettings#CACHE_LOCAL_REFRESH_AHEAD_TIME}.
+ */
+public class LocalRegionFactory extends RegionFactoryTemplate {
+	/**
+	 * The short name of this RegionFactory, for {@link org.hibernate.cfg.AvailableSettings#CACHE_REGION_FACTORY}
+	 */
+	public static final String SHORT_NAME = "local";
+
+	private static final int DEFAULT_MAX_ENTRIES = 10_000;
+	private static final int REFRESH_THREADS = 2;
+
+	private Map configValues;
+	private ExecutorService refreshExecutor;
+
+	@Override
+	protected void prepareForUse(SessionFactoryOptions settings, Map configValues) {
+		this.configValues = configValues;
+	}
+
+	@Override
+	protected void releaseFromUse() {
+		this.configValues = null;
+		synchronized ( this ) {
+			if ( refreshExecutor != null ) {
+				refreshExecutor.shutdownNow();
+				refreshExecutor = null;
+			}
+		}
+	}
+
+	@Override
+	public DomainDataRegion buildDomainDataRegion(
+			DomainDataRegionConfig regionConfig,
+			DomainDataRegionBuildingContext buildingContext) {
+		verifyStarted();
+		final String regionName = regionConfig.getRegionName();
+		final long refreshAheadTime = getRegionSetting(
+				regionName,
+				CACHE_LOCAL_REFRESH_AHEAD_TIME,
+				".refresh_ahead_time",
+				0
+		);
+		final LocalStorageAccess storageAccess = new LocalStorageAccess(
+				getRegionSetting( regionName, CACHE_LOCAL_MAX_ENTRIES, ".max_entries", DEFAULT_MAX_ENTRIES ),
+				getRegionSetting( regionName, CACHE_LOCAL_MAX_WEIGHT, ".max_weight", 0 ),
+				getRegionSetting( regionName, CACHE_LOCAL_TIME_TO_LIVE, ".time_to_live", 0 ),
+				isOffHeap( regionName ),
+				refreshAheadTime,
+				refreshAheadTime > 0 ? getRefreshExecutor() : null
+		);
+		return new LocalDomainDataRegion( regionConfig, this, storageAccess, buildingContext );
+	}
+
+	@Override
+	public QueryResultsRegion buildQueryResultsRegion(String regionName, SessionFactoryImplementor sessionFactory) {
+		verifyStarted();
+		final LocalStorageAccess storageAccess = createStorageAccess( regionName );
+		return new LocalQueryResultsRegion( regionName, this, storageAccess );
+	}
+
+	@Override
+	public TimestampsRegion buildTimestampsRegion(String regionName, SessionFactoryImplementor sessionFactory) {
+		verifyStarted();
+		// evicting timestamps would let the query cache return stale results
+		final LocalStorageAccess storageAccess = new LocalStorageAccess( 0, 0, 0 );
+		return new LocalTimestampsRegion( regionName, this, storageAccess );
+	}
+
+	@Override
+	protected StorageAccess createQueryResultsRegionStorageAccess(
+			String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return createStorageAccess( regionName );
+	}
+
+	@Override
+	protected StorageAccess createTimestampsRegionStorageAccess(
+			String regionName,
+			SessionFactoryImplementor sessionFactory) {
+		return new LocalStorageAccess( 0, 0, 0 );
+	}
+
+	private LocalStorageAccess createStorageAccess(String regionName) {
+		return new LocalStorageAccess(
+				getRegionSetting( regionName, CACHE_LOCAL_MAX_ENTRIES, ".max_entries", DEFAULT_MAX_ENTRIES ),
+				getRegionSetting( regionName, CACHE_LOCAL_MAX_WEIGHT, ".max_weight", 0 ),
+				getRegionSetting( regionName, CACHE_LOCAL_TIME_TO_LIVE, ".time_to_live", 0 )
+		);
+	}
+
+	private long getRegionSetting(String regionName, String setting, String regionSettingSuffix, int defaultValue) {
+		final String regionSetting = CACHE_LOCAL_REGION_PREFIX + regionName + regionSettingSuffix;
+		final long value = ConfigurationHelper.getLong(
+				configValues.containsKey( regionSetting ) ? regionSetting : setting,
+				configValues,
+				defaultValue
+		);
+		return Math.max( value, 0 );
+	}
+
+	private synchronized ExecutorService getRefreshExecutor() {
+		if ( refreshExecutor == null ) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			refreshExecutor = Executors.newFixedThreadPool(
+					REFRESH_THREADS,
+					runnable -> {
+						final Thread thread = new Thread(
+								runnable,
+								"hibernate-cache-refresh-" + threadCount.incrementAndGet()
+						);
+						thread.setDaemon( true );
+						return thread;
+					}
+			);
+		}
+		return refreshExecutor;
+	}
+
+	private boolean isOffHeap(String regionName) {
+		final String regionSetting = CACHE_LOCAL_REGION_PREFIX + regionName + ".off_heap";
+		return ConfigurationHelper.getBoolean(
+				configValues.containsKey( regionSetting ) ? regionSetting : CACHE_LOCAL_OFF_HEAP,
+				configValues,
+				false
+		);
+	}
+
+	/**
+	 * The extended statistics of a region, read from its storage.
+	 */
+	private interface LocalRegion extends ExtendedStatisticsSupport {
+		LocalStorageAccess getLocalStorageAccess();
+
+		@Override
+		default long getElementCountInMemory() {
+			return getLocalStorageAccess().getElementCount();
+		}
+
+		@Override
+		default long getElementCountOnDisk() {
+			return 0;
+		}
+
+		@Override
+		default long getSizeInMemory() {
+			return getLocalStorageAccess().getWeight();
+		}
+
+		@Override
+		default long getEvictionCount() {
+			return getLocalStorageAccess().getEvictionCount();
+		}
+	}
+
+	private static class LocalDomainDataRegion extends DomainDataRegionTemplate implements LocalRegion {
+		private final LocalStorageAccess storageAccess;
+
+		private LocalDomainDataRegion(
+				DomainDataRegionConfig regionConfig,
+				RegionFactory regionFactory,
+				LocalStorageAccess storageAccess,
+				DomainDataRegionBuildingContext buildingContext) {
+			super( regionConfig, regionFactory, storageAccess, DefaultCacheKeysFactory.INSTANCE, buildingContext );
+			this.storageAccess = storageAccess;
+		}
+
+		@Override
+		public LocalStorageAccess getLocalStorageAccess() {
+			return storageAccess;
+		}
+	}
+
+	private static class LocalQueryResultsRegion extends QueryResultsRegionTemplate implements LocalRegion {
+		private final LocalStorageAccess storageAccess;
+
+		private LocalQueryResultsRegion(String name, RegionFactory regionFactory, LocalStorageAccess storageAccess) {
+			super( name, regionFactory, storageAccess );
+			this.storageAccess = storageAccess;
+		}
+
+		@Override
+		public LocalStorageAccess getLocalStorageAccess() {
+			return storageAccess;
+		}
+	}
+
+	private static class LocalTimestampsRegion extends TimestampsRegionTemplate implements LocalRegion {
+		private final LocalStorageAccess storageAccess;
+
+		private LocalTimestampsRegion(String name, RegionFactory regionFactory, LocalStorageAccess storageAccess) {
+			super( name, regionFactory, storageAccess );
+			this.storageAccess = storageAccess;
+		}
+
+		@Override
+		public LocalStorageAccess getLocalStorageAccess() {
+			return storageAccess;
+		}
+	}
+}
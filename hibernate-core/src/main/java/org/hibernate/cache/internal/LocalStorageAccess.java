@@ -0,0 +1,440 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * The storage of a region of the {@link LocalRegionFactory}: a {@link ConcurrentHashMap}, bounded in number of
+ * entries and in weight, whose entries may expire.
+ * <p/>
+ * Reads take no lock: they only mark the entry they find as referenced.  The entries are also kept in a queue, in
+ * insertion order; when the storage exceeds one of its bounds, the thread which added the last entry sweeps the
+ * queue, CLOCK-style, evicting the first entries which were not referenced since the last sweep and giving the
+ * others a second chance.  Sweeps are serialized by a lock, which writers only try to take: a writer finding a
+ * sweep in progress leaves the work to it, so the storage may briefly exceed its bounds.
+ * <p/>
+ * The weight of an entry is an estimate of the memory it takes, in bytes.  When the storage keeps its values off
+ * the heap, in an {@link OffHeapArena}, the weight of an entry is the size of its encoded value; the values which
+ * cannot be encoded stay on the heap, and are weighed as usual.  Soft locks of read-write regions are
+ * neither evicted nor expired, since losing them would allow stale data to be cached; they are short-lived anyway.
+ * <p/>
+ * An entry read shortly before its expiry may be reported {@linkplain #isDueForRefresh due for refresh}, once; its
+ * reload then runs in the executor of the region factory.
+ */
+final class LocalStorageAccess implements DomainDataStorageAccess {
+	private static final int ENTRY_OVERHEAD = 64;
+	private static final int OBJECT_WEIGHT = 16;
+	private static final int REFERENCE_WEIGHT = 8;
+	private static final int MAX_WEIGHT_DEPTH = 4;
+
+	private final long maxEntries;
+	private final long maxWeight;
+	private final long timeToLiveNanos;
+	private final long refreshAheadNanos;
+	private final Executor refreshExecutor;
+
+	private final ConcurrentHashMap<Object,Entry> data = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<Entry> insertionQueue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger insertionQueueSize = new AtomicInteger();
+	private final AtomicLong weight = new AtomicLong();
+	private final LongAdder evictionCount = new LongAdder();
+	private final ReentrantLock sweepLock = new ReentrantLock();
+	private final OffHeapArena arena;
+
+	/**
+	 * @param maxEntries The maximum number of entries, or 0 for no limit
+	 * @param maxWeight The maximum total weight of the entries, in bytes, or 0 for no limit
+	 * @param timeToLive The time after which entries expire, in seconds, or 0 if they do not expire
+	 */
+	LocalStorageAccess(long maxEntries, long maxWeight, long timeToLive) {
+		this( maxEntries, maxWeight, timeToLive, false );
+	}
+
+	/**
+	 * @param maxEntries The maximum number of entries, or 0 for no limit
+	 * @param maxWeight The maximum total weight of the entries, in bytes, or 0 for no limit
+	 * @param timeToLive The time after which entries expire, in seconds, or 0 if they do not expire
+	 * @param offHeap Whether to keep the values off the heap
+	 */
+	LocalStorageAccess(long maxEntries, long maxWeight, long timeToLive, boolean offHeap) {
+		this( maxEntries, maxWeight, timeToLive, offHeap, 0, null );
+	}
+
+	/**
+	 * @param maxEntries The maximum number of entries, or 0 for no limit
+	 * @param maxWeight The maximum total weight of the entries, in bytes, or 0 for no limit
+	 * @param timeToLive The time after which entries expire, in seconds, or 0 if they do not expire
+	 * @param offHeap Whether to keep the values off the heap
+	 * @param refreshAheadTime The time before their expiry, in seconds, during which the entries read are due for
+	 * refresh, or 0 if they are not refreshed
+	 * @param refreshExecutor The executor running the reloads of the entries due for refresh
+	 */
+	LocalStorageAccess(
+			long maxEntries,
+			long maxWeight,
+			long timeToLive,
+			boolean offHeap,
+			long refreshAheadTime,
+			Executor refreshExecutor) {
+		this.maxEntries = maxEntries;
+		this.maxWeight = maxWeight;
+		this.timeToLiveNanos = TimeUnit.SECONDS.toNanos( timeToLive );
+		this.refreshAheadNanos = timeToLive > 0 && refreshExecutor != null
+				? TimeUnit.SECONDS.toNanos( Math.min( refreshAheadTime, timeToLive ) )
+				: 0;
+		this.refreshExecutor = refreshExecutor;
+		this.arena = offHeap ? new OffHeapArena() : null;
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		final Entry entry = getLiveEntry( key );
+		if ( entry == null ) {
+			return null;
+		}
+		if ( !entry.referenced ) {
+			entry.referenced = true;
+		}
+		if ( entry.value instanceof OffHeapArena.Block ) {
+			return arena.load( (OffHeapArena.Block) entry.value );
+		}
+		return entry.value;
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		final long expirationTime = timeToLiveNanos > 0 ? System.nanoTime() + timeToLiveNanos : 0;
+		final OffHeapArena.Block block = arena == null ? null : arena.store( value );
+		final Entry entry = block == null
+				? new Entry( key, value, ENTRY_OVERHEAD + estimateWeight( value, 0 ), expirationTime )
+				: new Entry( key, block, block.getLength(), expirationTime );
+		weight.addAndGet( entry.weight );
+		final Entry replaced = data.put( key, entry );
+		if ( replaced != null ) {
+			discard( replaced );
+		}
+		insertionQueue.offer( entry );
+		insertionQueueSize.incrementAndGet();
+		sweepIfNeeded();
+	}
+
+	@Override
+	public boolean isDueForRefresh(Object key) {
+		if ( refreshAheadNanos <= 0 ) {
+			return false;
+		}
+		final Entry entry = data.get( key );
+		return entry != null && entry.claimRefresh( System.nanoTime(), refreshAheadNanos );
+	}
+
+	@Override
+	public void scheduleRefresh(Runnable reload) {
+		try {
+			refreshExecutor.execute( reload );
+		}
+		catch (RejectedExecutionException e) {
+			// the region factory is stopping, the entry expires as usual
+		}
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return getLiveEntry( key ) != null;
+	}
+
+	@Override
+	public void evictData() {
+		for ( Entry entry : data.values() ) {
+			remove( entry );
+		}
+	}
+
+	@Override
+	public void evictData(Object key) {
+		final Entry entry = data.remove( key );
+		if ( entry != null ) {
+			discard( entry );
+		}
+	}
+
+	@Override
+	public void release() {
+		evictData();
+		sweepLock.lock();
+		try {
+			insertionQueue.clear();
+			insertionQueueSize.set( 0 );
+		}
+		finally {
+			sweepLock.unlock();
+		}
+	}
+
+	long getElementCount() {
+		return data.size();
+	}
+
+	long getWeight() {
+		return weight.get();
+	}
+
+	long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * The memory allocated off the heap, in bytes
+	 */
+	long getOffHeapSize() {
+		return arena == null ? 0 : arena.getAllocatedBytes();
+	}
+
+	private Entry getLiveEntry(Object key) {
+		final Entry entry = data.get( key );
+		if ( entry == null ) {
+			return null;
+		}
+		if ( timeToLiveNanos > 0 && entry.isExpired( System.nanoTime() ) ) {
+			if ( remove( entry ) ) {
+				evictionCount.increment();
+			}
+			return null;
+		}
+		return entry;
+	}
+
+	private boolean remove(Entry entry) {
+		if ( data.remove( entry.key, entry ) ) {
+			discard( entry );
+			return true;
+		}
+		return false;
+	}
+
+	private void discard(Entry entry) {
+		// the entry stays in the insertion queue until the next sweep reaches it
+		entry.discarded = true;
+		weight.addAndGet( -entry.weight );
+		if ( entry.value instanceof OffHeapArena.Block ) {
+			arena.free( (OffHeapArena.Block) entry.value );
+		}
+	}
+
+	private boolean needsSweep() {
+		return ( maxEntries > 0 && data.size() > maxEntries )
+				|| ( maxWeight > 0 && weight.get() > maxWeight )
+				// the queue holds too many discarded entries
+				|| insertionQueueSize.get() > 2 * data.size() + 64
+				// the segments of the arena hold too many freed values
+				|| ( arena != null && arena.isFragmented() );
+	}
+
+	private boolean isOverBounds() {
+		return ( maxEntries > 0 && data.size() > maxEntries )
+				|| ( maxWeight > 0 && weight.get() > maxWeight );
+	}
+
+	private void sweepIfNeeded() {
+		if ( needsSweep() && sweepLock.tryLock() ) {
+			try {
+				sweep();
+			}
+			finally {
+				sweepLock.unlock();
+			}
+		}
+	}
+
+	private void sweep() {
+		final long now = timeToLiveNanos > 0 ? System.nanoTime() : 0;
+		// every live entry may need a second chance, so two rounds
+		int budget = 2 * insertionQueueSize.get();
+		while ( budget-- > 0 && needsSweep() ) {
+			final Entry entry = insertionQueue.poll();
+			if ( entry == null ) {
+				break;
+			}
+			insertionQueueSize.decrementAndGet();
+			if ( entry.discarded ) {
+				continue;
+			}
+			if ( entry.value instanceof SoftLock ) {
+				requeue( entry );
+			}
+			else if ( entry.isExpired( now ) || ( isOverBounds() && !entry.referenced ) ) {
+				if ( remove( entry ) ) {
+					evictionCount.increment();
+				}
+			}
+			else {
+				if ( isOverBounds() ) {
+					entry.referenced = false;
+				}
+				final Entry relocated = relocateIfInSparseSegment( entry );
+				if ( relocated != null ) {
+					requeue( relocated );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Moves the value of the given entry out of a segment of the arena mostly freed, so that the segment can be
+	 * released.
+	 *
+	 * @return The entry to keep in the queue, or {@code null} if the entry was concurrently replaced or removed
+	 */
+	private Entry relocateIfInSparseSegment(Entry entry) {
+		if ( !( entry.value instanceof OffHeapArena.Block )
+				|| !arena.isInSparseSegment( (OffHeapArena.Block) entry.value ) ) {
+			return entry;
+		}
+		final Entry relocated = new Entry(
+				entry.key,
+				arena.relocate( (OffHeapArena.Block) entry.value ),
+				entry.weight,
+				entry.expirationTime
+		);
+		relocated.referenced = entry.referenced;
+		weight.addAndGet( relocated.weight );
+		if ( data.replace( entry.key, entry, relocated ) ) {
+			discard( entry );
+			return relocated;
+		}
+		discard( relocated );
+		return null;
+	}
+
+	private void requeue(Entry entry) {
+		insertionQueue.offer( entry );
+		insertionQueueSize.incrementAndGet();
+	}
+
+	/**
+	 * A rough estimate of the memory taken by the given cached value, in bytes, following the structures Hibernate
+	 * caches down to a few levels.
+	 */
+	static long estimateWeight(Object value, int depth) {
+		if ( value == null ) {
+			return 0;
+		}
+		if ( depth >= MAX_WEIGHT_DEPTH ) {
+			return OBJECT_WEIGHT;
+		}
+		if ( value instanceof AbstractReadWriteAccess.Lockable ) {
+			return OBJECT_WEIGHT + estimateWeight( ( (AbstractReadWriteAccess.Lockable) value ).getValue(), depth + 1 );
+		}
+		if ( value instanceof StandardCacheEntryImpl ) {
+			return OBJECT_WEIGHT + estimateWeight( ( (StandardCacheEntryImpl) value ).getDisassembledState(), depth + 1 );
+		}
+		if ( value instanceof CollectionCacheEntry ) {
+			return OBJECT_WEIGHT + estimateWeight( ( (CollectionCacheEntry) value ).getState(), depth + 1 );
+		}
+		if ( value instanceof QueryResultsCacheImpl.CacheItem ) {
+			return OBJECT_WEIGHT + estimateWeight( ( (QueryResultsCacheImpl.CacheItem) value ).getResults(), depth + 1 );
+		}
+		if ( value instanceof CompactQueryResults ) {
+			return ( (CompactQueryResults) value ).estimateWeight();
+		}
+		if ( value instanceof CharSequence ) {
+			return 2 * OBJECT_WEIGHT + 2L * ( (CharSequence) value ).length();
+		}
+		if ( value instanceof Object[] ) {
+			long result = OBJECT_WEIGHT;
+			for ( Object element : (Object[]) value ) {
+				result += REFERENCE_WEIGHT + estimateWeight( element, depth + 1 );
+			}
+			return result;
+		}
+		if ( value.getClass().isArray() ) {
+			// arrays of primitives, counting 8 bytes per element at most
+			return OBJECT_WEIGHT + 8L * Array.getLength( value );
+		}
+		if ( value instanceof Collection ) {
+			long result = 2 * OBJECT_WEIGHT;
+			for ( Object element : (Collection) value ) {
+				result += REFERENCE_WEIGHT + estimateWeight( element, depth + 1 );
+			}
+			return result;
+		}
+		if ( value instanceof Map ) {
+			long result = 2 * OBJECT_WEIGHT;
+			for ( Map.Entry element : ( (Map<?,?>) value ).entrySet() ) {
+				result += OBJECT_WEIGHT
+						+ estimateWeight( element.getKey(), depth + 1 )
+						+ estimateWeight( element.getValue(), depth + 1 );
+			}
+			return result;
+		}
+		// numbers, dates, enums, timestamps...
+		return OBJECT_WEIGHT + REFERENCE_WEIGHT;
+	}
+
+	private static final class Entry {
+		private final Object key;
+		private final Object value;
+		private final long weight;
+		// 0 if the entry does not expire
+		private final long expirationTime;
+
+		private volatile boolean referenced;
+		private volatile boolean discarded;
+		// guarded by this
+		private boolean refreshClaimed;
+
+		private Entry(Object key, Object value, long weight, long expirationTime) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+			this.expirationTime = expirationTime;
+		}
+
+		private boolean isExpired(long now) {
+			return expirationTime != 0
+					&& now - expirationTime >= 0
+					&& !( value instanceof SoftLock );
+		}
+
+		/**
+		 * Whether this entry entered the given time window before its expiry and was not claimed for refresh yet,
+		 * in which case it is now.
+		 */
+		private boolean claimRefresh(long now, long refreshAheadNanos) {
+			if ( expirationTime == 0
+					|| now - ( expirationTime - refreshAheadNanos ) < 0
+					|| value instanceof SoftLock ) {
+				return false;
+			}
+			synchronized ( this ) {
+				if ( refreshClaimed ) {
+					return false;
+				}
+				refreshClaimed = true;
+				return true;
+			}
+		}
+	}
+}
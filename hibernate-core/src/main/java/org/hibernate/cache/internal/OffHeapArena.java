@@ -0,0 +1,163 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The memory outside of the heap where a region of the {@link LocalRegionFactory} keeps its values, encoded with
+ * {@link CompactValueEncoding}.
+ * <p/>
+ * The values are appended to segments, which are direct {@link ByteBuffer}s.  A segment is never written again once
+ * full, and it is released, its memory being reclaimed by the garbage collector, once all its values were freed: a
+ * reader never sees the bytes of a value being overwritten.  The storage relocates the values still live in the
+ * segments mostly freed, see {@link #isFragmented()}.
+ */
+final class OffHeapArena {
+	static final int SEGMENT_SIZE = 1024 * 1024;
+
+	private final AtomicLong allocatedBytes = new AtomicLong();
+	private final AtomicLong liveBytes = new AtomicLong();
+
+	// guarded by this
+	private Segment currentSegment;
+
+	/**
+	 * Encodes and stores the given value.
+	 *
+	 * @return The block holding the value, or {@code null} if it cannot be encoded
+	 */
+	Block store(Object value) {
+		final byte[] bytes = CompactValueEncoding.encode( value );
+		return bytes == null ? null : store( bytes );
+	}
+
+	/**
+	 * Decodes the value held by the given block.
+	 */
+	Object load(Block block) {
+		final ByteBuffer buffer = block.segment.buffer.duplicate();
+		buffer.limit( block.offset + block.length );
+		buffer.position( block.offset );
+		return CompactValueEncoding.decode( buffer );
+	}
+
+	/**
+	 * Stores the value held by the given block again, in the current segment.  The given block is not freed.
+	 */
+	Block relocate(Block block) {
+		final ByteBuffer buffer = block.segment.buffer.duplicate();
+		buffer.limit( block.offset + block.length );
+		buffer.position( block.offset );
+		final byte[] bytes = new byte[block.length];
+		buffer.get( bytes );
+		return store( bytes );
+	}
+
+	/**
+	 * Frees the given block, which must not be read any more, except by the readers which already hold it.
+	 */
+	void free(Block block) {
+		liveBytes.addAndGet( -block.length );
+		final Segment segment = block.segment;
+		if ( segment.liveBytes.addAndGet( -block.length ) == 0 && segment.full ) {
+			release( segment );
+		}
+	}
+
+	/**
+	 * Whether the given block lies in a full segment of which most values were freed.
+	 */
+	boolean isInSparseSegment(Block block) {
+		final Segment segment = block.segment;
+		return segment.full && segment.liveBytes.get() < segment.buffer.capacity() / 2;
+	}
+
+	/**
+	 * Whether the memory allocated exceeds twice the size of the live values, and at least a few segments.
+	 */
+	boolean isFragmented() {
+		return allocatedBytes.get() > 2 * liveBytes.get() + 4L * SEGMENT_SIZE;
+	}
+
+	long getAllocatedBytes() {
+		return allocatedBytes.get();
+	}
+
+	private Block store(byte[] bytes) {
+		final Segment segment;
+		final int offset;
+		synchronized ( this ) {
+			if ( currentSegment == null || currentSegment.position + bytes.length > currentSegment.buffer.capacity() ) {
+				if ( currentSegment != null ) {
+					seal( currentSegment );
+				}
+				currentSegment = new Segment( Math.max( SEGMENT_SIZE, bytes.length ) );
+				allocatedBytes.addAndGet( currentSegment.buffer.capacity() );
+			}
+			segment = currentSegment;
+			offset = segment.position;
+			segment.position += bytes.length;
+			segment.liveBytes.addAndGet( bytes.length );
+		}
+		liveBytes.addAndGet( bytes.length );
+		// the block is published to the readers through the map of the storage
+		final ByteBuffer buffer = segment.buffer.duplicate();
+		buffer.position( offset );
+		buffer.put( bytes );
+		return new Block( segment, offset, bytes.length );
+	}
+
+	private void seal(Segment segment) {
+		segment.full = true;
+		if ( segment.liveBytes.get() == 0 ) {
+			release( segment );
+		}
+	}
+
+	private void release(Segment segment) {
+		if ( segment.released.compareAndSet( false, true ) ) {
+			allocatedBytes.addAndGet( -segment.buffer.capacity() );
+		}
+	}
+
+	/**
+	 * A value stored in the arena.
+	 */
+	static final class Block {
+		private final Segment segment;
+		private final int offset;
+		private final int length;
+
+		private Block(Segment segment, int offset, int length) {
+			this.segment = segment;
+			this.offset = offset;
+			this.length = length;
+		}
+
+		int getLength() {
+			return length;
+		}
+	}
+
+	private static final class Segment {
+		private final ByteBuffer buffer;
+		private final AtomicInteger liveBytes = new AtomicInteger();
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		// guarded by the arena
+		private int position;
+		private volatile boolean full;
+
+		private Segment(int capacity) {
+			this.buffer = ByteBuffer.allocateDirect( capacity );
+		}
+	}
+}
@@ -8,6 +8,7 @@ package org.hibernate.cache.internal;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
@@ -21,6 +22,8 @@ import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.EntityType;
 import org.hibernate.type.Type;
 import org.hibernate.type.TypeHelper;
 
@@ -40,12 +43,19 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 
 	private final QueryResultsRegion cacheRegion;
 	private final TimestampsCache timestampsCache;
+	private final boolean compactResults;
+	private final boolean rowInvalidation;
+	private final SingleFlightLoading loading = new SingleFlightLoading();
 
 	QueryResultsCacheImpl(
 			QueryResultsRegion cacheRegion,
-			TimestampsCache timestampsCache) {
+			TimestampsCache timestampsCache,
+			boolean compactResults,
+			boolean rowInvalidation) {
 		this.cacheRegion = cacheRegion;
 		this.timestampsCache = timestampsCache;
+		this.compactResults = compactResults;
+		this.rowInvalidation = rowInvalidation;
 	}
 
 	@Override
@@ -87,7 +97,9 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 
 		final CacheItem cacheItem = new CacheItem(
 				session.getTransactionStartTimestamp(),
-				resultsCopy
+				compactResults
+						? CompactQueryResults.compact( resultsCopy, isSingleResult, returnTypes.length )
+						: resultsCopy
 		);
 
 		try {
@@ -160,7 +172,7 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			return null;
 		}
 
-		if ( !timestampsCache.isUpToDate( spaces, cacheItem.timestamp, session ) ) {
+		if ( !isUpToDate( cacheItem, spaces, returnTypes, session ) ) {
 			if ( DEBUGGING ) {
 				LOG.debug( "Cached query results were not up-to-date" );
 			}
@@ -184,6 +196,54 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 		return assembleCachedResult( key, cacheItem.results, singleResult, returnTypes, session );
 	}
 
+	@Override
+	public boolean beginLoading(QueryKey key, SharedSessionContractImplementor session) {
+		final long timeout = session.getFactory().getSessionFactoryOptions().getCacheSingleFlightTimeout();
+		return timeout <= 0 || loading.begin( key, timeout );
+	}
+
+	@Override
+	public void endLoading(QueryKey key) {
+		loading.end( key );
+	}
+
+	private boolean isUpToDate(
+			CacheItem cacheItem,
+			String[] spaces,
+			Type[] returnTypes,
+			SharedSessionContractImplementor session) {
+		if ( rowInvalidation && isMadeOfIdentifiedRows( spaces, returnTypes, session ) ) {
+			// the results are the identifiers of the rows
+			return timestampsCache.isUpToDate( spaces, cacheItem.results, cacheItem.timestamp, session );
+		}
+		return timestampsCache.isUpToDate( spaces, cacheItem.timestamp, session );
+	}
+
+	/**
+	 * Whether the results are entities of a single type, read from the tables of that entity only, whose
+	 * identifiers can be compared with the identifiers of the updated and deleted rows.
+	 */
+	private static boolean isMadeOfIdentifiedRows(
+			String[] spaces,
+			Type[] returnTypes,
+			SharedSessionContractImplementor session) {
+		if ( returnTypes.length != 1 || !returnTypes[0].isEntityType() ) {
+			return false;
+		}
+		final EntityType entityType = (EntityType) returnTypes[0];
+		if ( !entityType.isReferenceToPrimaryKey() ) {
+			return false;
+		}
+		final EntityPersister persister = session.getFactory().getMetamodel()
+				.entityPersister( entityType.getAssociatedEntityName() );
+		final Type identifierType = persister.getIdentifierType();
+		if ( identifierType.isComponentType() || identifierType.getReturnedClass().isArray() ) {
+			// the disassembled identifiers would not be equal to the identifiers of the rows
+			return false;
+		}
+		return Arrays.asList( persister.getQuerySpaces() ).containsAll( Arrays.asList( spaces ) );
+	}
+
 	private CacheItem getCachedData(QueryKey key, SharedSessionContractImplementor session) {
 		CacheItem cachedItem = null;
 		try {
@@ -293,5 +353,9 @@ public class QueryResultsCacheImpl implements QueryResultsCache {
 			this.timestamp = timestamp;
 			this.results = results;
 		}
+
+		List getResults() {
+			return results;
+		}
 	}
 }
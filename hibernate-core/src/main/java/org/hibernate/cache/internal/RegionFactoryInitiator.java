@@ -90,6 +90,11 @@ public class RegionFactoryInitiator implements StandardServiceInitiator<RegionFa
 			}
 		}
 
+		if ( LocalRegionFactory.SHORT_NAME.equals( setting ) ) {
+			// not registered with the StrategySelector, which would prevent defaulting to a single registered provider
+			return new LocalRegionFactory();
+		}
+
 		final RegionFactory regionFactory = registry.getService( StrategySelector.class ).resolveStrategy(
 				RegionFactory.class,
 				setting,
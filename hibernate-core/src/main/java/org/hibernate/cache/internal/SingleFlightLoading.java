@@ -0,0 +1,85 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Keeps track of the values being loaded after a cache miss, so that a single thread loads a given value while the
+ * other threads missing it wait for it to be cached.
+ * <p/>
+ * A thread which {@linkplain #begin begins} loading a value must {@linkplain #end end} it once the value is cached,
+ * or failed to load, whatever happens.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#CACHE_SINGLE_FLIGHT_TIMEOUT
+ */
+public final class SingleFlightLoading {
+	private static final Logger log = Logger.getLogger( SingleFlightLoading.class );
+
+	private final ConcurrentMap<Object, Loading> loadings = new ConcurrentHashMap<>();
+
+	/**
+	 * Registers the current thread as loading the value of the given key, unless another thread already is, in
+	 * which case waits for that thread to end loading it.
+	 *
+	 * @param key The key of the value missed in the cache
+	 * @param timeout The maximum time to wait, in milliseconds
+	 *
+	 * @return {@code true} if the current thread must load the value then {@link #end} loading it; {@code false}
+	 * if the value was loaded by another thread meanwhile, or the wait timed out, or the current thread is already
+	 * loading it: the cache should then be checked again, and the value loaded without ending anything
+	 */
+	public boolean begin(Object key, long timeout) {
+		final Loading loading = new Loading();
+		final Loading current = loadings.putIfAbsent( key, loading );
+		if ( current == null ) {
+			return true;
+		}
+		if ( current.owner == Thread.currentThread() ) {
+			// loading it again, e.g. through an association of the value being loaded
+			return false;
+		}
+		try {
+			if ( !current.loaded.await( timeout, TimeUnit.MILLISECONDS ) ) {
+				log.debugf( "Timed out waiting for another thread to load [%s]", key );
+			}
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return false;
+	}
+
+	/**
+	 * Ends the loading of the value of the given key by the current thread, releasing the threads waiting for it.
+	 * Does nothing if the current thread is not loading this value.
+	 */
+	public void end(Object key) {
+		final Loading loading = loadings.get( key );
+		if ( loading != null && loading.owner == Thread.currentThread() ) {
+			loadings.remove( key, loading );
+			loading.loaded.countDown();
+		}
+	}
+
+	/**
+	 * The number of values being loaded.
+	 */
+	int size() {
+		return loadings.size();
+	}
+
+	private static final class Loading {
+		private final Thread owner = Thread.currentThread();
+		private final CountDownLatch loaded = new CountDownLatch( 1 );
+	}
+}
@@ -7,6 +7,7 @@
 package org.hibernate.cache.internal;
 
 import java.io.Serializable;
+import java.util.Collection;
 
 import org.hibernate.cache.spi.RegionFactory;
 import org.hibernate.cache.spi.TimestampsRegion;
@@ -18,6 +19,15 @@ import org.jboss.logging.Logger;
 
 /**
  * Standard implementation of TimestampsCache
+ * <p/>
+ * When tracking rows, this cache also records the last time each space was changed other than by updates or
+ * deletions of identified rows, e.g. by insertions or bulk operations, and the last time each of these rows was
+ * updated or deleted, so that the query results made of identified rows can ignore the changes to other rows.
+ * The rows of a space are hashed into a bounded number of slots sharing a timestamp, so that the number of
+ * timestamps kept per space does not grow with the number of rows changed: a change to a row then also invalidates
+ * the results containing the other rows of its slot.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_ROW_INVALIDATION_REGIONS
  *
  * @author Steve Ebersole
  */
@@ -26,9 +36,24 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 	private static final boolean DEBUG_ENABLED = log.isDebugEnabled();
 
 	private final TimestampsRegion timestampsRegion;
+	private final boolean trackingRows;
+	private final int rowSlots;
 
 	public TimestampsCacheEnabledImpl(TimestampsRegion timestampsRegion) {
+		this( timestampsRegion, false, 1 );
+	}
+
+	/**
+	 * @param trackingRows Whether to record the updates and deletions of identified rows
+	 * @param rowSlots The maximum number of row timestamps kept per space
+	 */
+	public TimestampsCacheEnabledImpl(TimestampsRegion timestampsRegion, boolean trackingRows, int rowSlots) {
+		if ( rowSlots < 1 ) {
+			throw new IllegalArgumentException( "The number of row timestamps kept per space must be positive" );
+		}
 		this.timestampsRegion = timestampsRegion;
+		this.trackingRows = trackingRows;
+		this.rowSlots = rowSlots;
 	}
 
 	@Override
@@ -52,19 +77,9 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 				log.debugf( "Pre-invalidating space [%s], timestamp: %s", space, ts );
 			}
 
-			try {
-				session.getEventListenerManager().cachePutStart();
-
-				//put() has nowait semantics, is this really appropriate?
-				//note that it needs to be async replication, never local or sync
-				timestampsRegion.putIntoCache( space, ts, session );
-			}
-			finally {
-				session.getEventListenerManager().cachePutEnd();
-			}
-
-			if ( stats ) {
-				factory.getStatistics().updateTimestampsCachePut();
+			put( space, ts, stats, session );
+			if ( trackingRows ) {
+				put( new RowsKey( (String) space, RowsKey.OTHER_CHANGES ), ts, stats, session );
 			}
 		}
 	}
@@ -82,16 +97,73 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 				log.debugf( "Invalidating space [%s], timestamp: %s", space, ts );
 			}
 
-			try {
-				session.getEventListenerManager().cachePutStart();
-				timestampsRegion.putIntoCache( space, ts, session );
+			put( space, ts, stats, session );
+			if ( trackingRows ) {
+				put( new RowsKey( (String) space, RowsKey.OTHER_CHANGES ), ts, stats, session );
 			}
-			finally {
-				session.getEventListenerManager().cachePutEnd();
+		}
+	}
 
-				if ( stats ) {
-					session.getFactory().getStatistics().updateTimestampsCachePut();
-				}
+	@Override
+	public void preInvalidateRows(
+			String space,
+			Collection<Serializable> ids,
+			SharedSessionContractImplementor session) {
+		if ( !trackingRows ) {
+			preInvalidate( new String[] { space }, session );
+			return;
+		}
+
+		final RegionFactory regionFactory = session.getFactory().getCache().getRegionFactory();
+		final boolean stats = session.getFactory().getStatistics().isStatisticsEnabled();
+		final Long ts = regionFactory.nextTimestamp() + regionFactory.getTimeout();
+
+		if ( DEBUG_ENABLED ) {
+			log.debugf( "Pre-invalidating %s rows of space [%s], timestamp: %s", ids.size(), space, ts );
+		}
+
+		put( space, ts, stats, session );
+		for ( Serializable id : ids ) {
+			put( rowsKey( space, id ), ts, stats, session );
+		}
+	}
+
+	@Override
+	public void invalidateRows(
+			String space,
+			Collection<Serializable> ids,
+			SharedSessionContractImplementor session) {
+		if ( !trackingRows ) {
+			invalidate( new String[] { space }, session );
+			return;
+		}
+
+		final boolean stats = session.getFactory().getStatistics().isStatisticsEnabled();
+		final Long ts = session.getFactory().getCache().getRegionFactory().nextTimestamp();
+
+		if ( DEBUG_ENABLED ) {
+			log.debugf( "Invalidating %s rows of space [%s], timestamp: %s", ids.size(), space, ts );
+		}
+
+		put( space, ts, stats, session );
+		for ( Serializable id : ids ) {
+			put( rowsKey( space, id ), ts, stats, session );
+		}
+	}
+
+	private void put(Object key, Long ts, boolean stats, SharedSessionContractImplementor session) {
+		try {
+			session.getEventListenerManager().cachePutStart();
+
+			//put() has nowait semantics, is this really appropriate?
+			//note that it needs to be async replication, never local or sync
+			timestampsRegion.putIntoCache( key, ts, session );
+		}
+		finally {
+			session.getEventListenerManager().cachePutEnd();
+
+			if ( stats ) {
+				session.getFactory().getStatistics().updateTimestampsCachePut();
 			}
 		}
 	}
@@ -131,6 +203,42 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		return true;
 	}
 
+	@Override
+	public boolean isUpToDate(
+			String[] spaces,
+			Collection<?> ids,
+			Long timestamp,
+			SharedSessionContractImplementor session) {
+		if ( !trackingRows ) {
+			return isUpToDate( spaces, timestamp, session );
+		}
+
+		for ( String space : spaces ) {
+			// the changes which are not updates or deletions of identified rows, e.g. insertions
+			if ( !isUpToDate( new RowsKey( space, RowsKey.OTHER_CHANGES ), timestamp, session ) ) {
+				return false;
+			}
+			for ( Object id : ids ) {
+				if ( id != null && !isUpToDate( rowsKey( space, id ), timestamp, session ) ) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	private boolean isUpToDate(RowsKey key, Long timestamp, SharedSessionContractImplementor session) {
+		final Long lastUpdate = getLastUpdateTimestampForSpace( key, session );
+		if ( lastUpdate == null ) {
+			// the rows were not changed since startup, or the timestamp was evicted
+			return true;
+		}
+		if ( DEBUG_ENABLED ) {
+			log.debugf( "[%s] last update timestamp: %s, result set timestamp: %s", key, lastUpdate, timestamp );
+		}
+		return lastUpdate < timestamp;
+	}
+
 	private Long getLastUpdateTimestampForSpace(Serializable space, SharedSessionContractImplementor session) {
 		Long ts = null;
 		try {
@@ -143,4 +251,45 @@ public class TimestampsCacheEnabledImpl implements TimestampsCache {
 		return ts;
 	}
 
+	private RowsKey rowsKey(String space, Object id) {
+		return new RowsKey( space, Math.floorMod( id.hashCode(), rowSlots ) );
+	}
+
+	/**
+	 * The key of the timestamp of the last update or deletion of a row of a slot of a space, or of the last other
+	 * change to the space.
+	 */
+	private static final class RowsKey implements Serializable {
+		private static final int OTHER_CHANGES = -1;
+
+		private final String space;
+		private final int slot;
+
+		private RowsKey(String space, int slot) {
+			this.space = space;
+			this.slot = slot;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			final RowsKey that = (RowsKey) o;
+			return slot == that.slot && space.equals( that.space );
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * space.hashCode() + slot;
+		}
+
+		@Override
+		public String toString() {
+			return slot == OTHER_CHANGES ? space + "#*" : space + "#" + slot;
+		}
+	}
 }
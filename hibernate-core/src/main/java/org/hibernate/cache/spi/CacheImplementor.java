@@ -7,6 +7,7 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Locale;
 import java.util.Set;
 
@@ -113,6 +114,41 @@ public interface CacheImplementor extends Service, Cache, org.hibernate.engine.s
 		}
 	}
 
+	/**
+	 * Load all the instances of the given entity into its region, e.g. so that the database is not hit by every
+	 * lookup of a second-level cache left empty by a restart.  Does nothing if the entity is not cached.
+	 *
+	 * @implSpec The default implementation does nothing.
+	 *
+	 * @since 5.4
+	 */
+	default void warmEntityData(String entityName) {
+	}
+
+	/**
+	 * Load all the collections of the given role into its region, along with their owners.  Does nothing if the
+	 * collection is not cached.
+	 *
+	 * @implSpec The default implementation does nothing.
+	 *
+	 * @since 5.4
+	 */
+	default void warmCollectionData(String role) {
+	}
+
+	/**
+	 * Warm up the regions of the given entities and collections, returning once they are all warm.
+	 *
+	 * @implSpec The default implementation warms them one after the other.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_WARMUP_ENTITIES
+	 * @since 5.4
+	 */
+	default void warm(Collection<String> entityNames, Collection<String> collectionRoles) {
+		entityNames.forEach( this::warmEntityData );
+		collectionRoles.forEach( this::warmCollectionData );
+	}
+
 	/**
 	 * Close this "cache", releasing all underlying resources.
 	 */
@@ -6,6 +6,8 @@
  */
 package org.hibernate.cache.spi;
 
+import org.hibernate.stat.CacheRegionStatistics;
+
 /**
  * Optional Region contract defining support for extra statistic information
  *
@@ -17,4 +19,40 @@ public interface ExtendedStatisticsSupport {
 	long getElementCountOnDisk();
 
 	long getSizeInMemory();
+
+	/**
+	 * The number of entries evicted, or expired, since the region was built.
+	 *
+	 * @since 5.4
+	 */
+	default long getEvictionCount() {
+		return CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	/**
+	 * The number of lookups served by the near cache kept by this node in front of the region.
+	 *
+	 * @since 5.4
+	 */
+	default long getNearCacheHitCount() {
+		return CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	/**
+	 * The number of lookups which missed the near cache kept by this node in front of the region.
+	 *
+	 * @since 5.4
+	 */
+	default long getNearCacheMissCount() {
+		return CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	/**
+	 * The number of entries of the near cache kept by this node in front of the region.
+	 *
+	 * @since 5.4
+	 */
+	default long getNearCacheElementCount() {
+		return CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
 }
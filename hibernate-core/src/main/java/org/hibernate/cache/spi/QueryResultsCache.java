@@ -90,6 +90,38 @@ public interface QueryResultsCache extends QueryCache {
 			Type[] returnTypes,
 			SharedSessionContractImplementor session) throws HibernateException;
 
+	/**
+	 * Called after missing the results of a query in the cache, before running it: either registers the
+	 * originating session as loading them, or waits for the session already loading them.
+	 *
+	 * @param key The cache key
+	 * @param session The originating session
+	 *
+	 * @return {@code true} if the originating session must run the query, cache its results, then call
+	 * {@link #endLoading}; {@code false} if it must check the cache again, then run the query if still missing
+	 * its results, without calling {@link #endLoading}.
+	 *
+	 * @implSpec The default implementation returns {@code true}: the sessions do not wait for each other.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_SINGLE_FLIGHT_TIMEOUT
+	 *
+	 * @since 5.4
+	 */
+	default boolean beginLoading(QueryKey key, SharedSessionContractImplementor session) {
+		return true;
+	}
+
+	/**
+	 * Called after caching the results of a query, or failing to, when {@link #beginLoading} returned
+	 * {@code true}: releases the sessions waiting for them.
+	 *
+	 * @param key The cache key
+	 *
+	 * @since 5.4
+	 */
+	default void endLoading(QueryKey key) {
+	}
+
 
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Deprecations
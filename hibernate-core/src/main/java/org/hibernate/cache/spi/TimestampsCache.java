@@ -7,6 +7,7 @@
 package org.hibernate.cache.spi;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Set;
 import java.util.function.Consumer;
 
@@ -55,6 +56,63 @@ public interface TimestampsCache extends UpdateTimestampsCache {
 			Long timestamp,
 			SharedSessionContractImplementor session);
 
+	/**
+	 * Perform pre-invalidation of the passed space (table name), where only
+	 * the rows of the given identifiers were updated or deleted.
+	 * <p/>
+	 * By default, the whole space is pre-invalidated.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_ROW_INVALIDATION_REGIONS
+	 * @since 5.4
+	 */
+	default void preInvalidateRows(
+			String space,
+			Collection<Serializable> ids,
+			SharedSessionContractImplementor session) {
+		preInvalidate( new String[] { space }, session );
+	}
+
+	/**
+	 * Perform invalidation of the passed space (table name), where only
+	 * the rows of the given identifiers were updated or deleted.
+	 * <p/>
+	 * By default, the whole space is invalidated.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_ROW_INVALIDATION_REGIONS
+	 * @since 5.4
+	 */
+	default void invalidateRows(
+			String space,
+			Collection<Serializable> ids,
+			SharedSessionContractImplementor session) {
+		invalidate( new String[] { space }, session );
+	}
+
+	/**
+	 * Perform an up-to-date check of cached query results made of the rows
+	 * of the given identifiers in the given spaces, ignoring the updates
+	 * and deletions of other rows.
+	 * <p/>
+	 * By default, all the changes to the spaces are checked.
+	 *
+	 * @param spaces The spaces to check
+	 * @param ids The identifiers of the rows of the cached results
+	 * @param timestamp The timestamp from the transaction when the query results were cached.
+	 * @param session The session whether this check originated.
+	 *
+	 * @return Whether the results are up-to-date
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_ROW_INVALIDATION_REGIONS
+	 * @since 5.4
+	 */
+	default boolean isUpToDate(
+			String[] spaces,
+			Collection<?> ids,
+			Long timestamp,
+			SharedSessionContractImplementor session) {
+		return isUpToDate( spaces, timestamp, session );
+	}
+
 
 	// ~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~~
 	// Deprecations
@@ -7,6 +7,9 @@
 package org.hibernate.cache.spi.access;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import javax.persistence.Cache;
 
 import org.hibernate.cache.CacheException;
@@ -58,6 +61,64 @@ public interface CachedDomainDataAccess {
 	 */
 	Object get(SharedSessionContractImplementor session, Object key);
 
+	/**
+	 * Attempt to retrieve several objects from the cache at once, as when
+	 * resolving a batch of entities/collections from the second level cache.
+	 *
+	 * @param session Current session.
+	 * @param keys The keys of the items to be retrieved.
+	 *
+	 * @return the cached data, by key; keys with no (readable) cached data are absent
+	 *
+	 * @throws CacheException Propagated from underlying cache provider
+	 *
+	 * @implSpec The default implementation calls {@link #get} for each key.
+	 *
+	 * @since 5.4
+	 */
+	default Map<Object,Object> getAll(SharedSessionContractImplementor session, Collection<?> keys) {
+		final Map<Object,Object> items = new HashMap<>();
+		for ( Object key : keys ) {
+			final Object item = get( session, key );
+			if ( item != null ) {
+				items.put( key, item );
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Called after missing an item in the cache, before loading it from the database: either registers the
+	 * current session as loading it, or waits for the session already loading it.
+	 *
+	 * @param session Current session.
+	 * @param key The item key
+	 *
+	 * @return {@code true} if the current session must load the item, cache it, then call {@link #endLoading};
+	 * {@code false} if it must check the cache again, then load the item if still missing, without calling
+	 * {@link #endLoading}.
+	 *
+	 * @implSpec The default implementation returns {@code true}: the sessions do not wait for each other.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_SINGLE_FLIGHT_TIMEOUT
+	 *
+	 * @since 5.4
+	 */
+	default boolean beginLoading(SharedSessionContractImplementor session, Object key) {
+		return true;
+	}
+
+	/**
+	 * Called after loading an item, or failing to, when {@link #beginLoading} returned {@code true}: releases
+	 * the sessions waiting for it.
+	 *
+	 * @param key The item key
+	 *
+	 * @since 5.4
+	 */
+	default void endLoading(Object key) {
+	}
+
 	/**
 	 * Attempt to cache an object, afterQuery loading from the database.
 	 *
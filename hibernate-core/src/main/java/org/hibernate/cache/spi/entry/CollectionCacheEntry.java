@@ -30,7 +30,15 @@ public class CollectionCacheEntry implements Serializable {
 		this.state = collection.disassemble( persister );
 	}
 
-	CollectionCacheEntry(Serializable state) {
+	/**
+	 * Constructs a CollectionCacheEntry from an already disassembled state, e.g. when reading it back from a cache
+	 * storing it in another form.
+	 *
+	 * @param state The disassembled state of the collection
+	 *
+	 * @since 5.4
+	 */
+	public CollectionCacheEntry(Serializable state) {
 		this.state = state;
 	}
 
@@ -61,7 +61,17 @@ public class StandardCacheEntryImpl implements CacheEntry {
 		this.version = version;
 	}
 
-	StandardCacheEntryImpl(Serializable[] disassembledState, String subclass, Object version) {
+	/**
+	 * Constructs a StandardCacheEntryImpl from an already disassembled state, e.g. when reading it back from a cache
+	 * storing it in another form.
+	 *
+	 * @param disassembledState The disassembled state
+	 * @param subclass The name of the entity
+	 * @param version The version (if versioned)
+	 *
+	 * @since 5.4
+	 */
+	public StandardCacheEntryImpl(Serializable[] disassembledState, String subclass, Object version) {
 		this.disassembledState = disassembledState;
 		this.subclass = subclass;
 		this.version = version;
@@ -6,6 +6,10 @@
  */
 package org.hibernate.cache.spi.support;
 
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.cache.internal.SingleFlightLoading;
 import org.hibernate.cache.spi.DomainDataRegion;
 import org.hibernate.cache.spi.access.CachedDomainDataAccess;
 import org.hibernate.cache.spi.access.SoftLock;
@@ -21,6 +25,7 @@ public abstract class AbstractCachedDomainDataAccess implements CachedDomainData
 
 	private final DomainDataRegion region;
 	private final DomainDataStorageAccess storageAccess;
+	private final SingleFlightLoading loading = new SingleFlightLoading();
 
 	protected AbstractCachedDomainDataAccess(
 			DomainDataRegion region,
@@ -53,6 +58,22 @@ public abstract class AbstractCachedDomainDataAccess implements CachedDomainData
 		return getStorageAccess().getFromCache( key, session );
 	}
 
+	@Override
+	public Map<Object,Object> getAll(SharedSessionContractImplementor session, Collection<?> keys) {
+		return getStorageAccess().getAllFromCache( keys, session );
+	}
+
+	@Override
+	public boolean beginLoading(SharedSessionContractImplementor session, Object key) {
+		final long timeout = session.getFactory().getSessionFactoryOptions().getCacheSingleFlightTimeout();
+		return timeout <= 0 || loading.begin( key, timeout );
+	}
+
+	@Override
+	public void endLoading(Object key) {
+		loading.end( key );
+	}
+
 	@Override
 	public boolean putFromLoad(
 			SharedSessionContractImplementor session,
@@ -6,6 +6,14 @@
  */
 package org.hibernate.cache.spi.support;
 
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+import org.hibernate.cache.cfg.spi.EntityDataCachingConfig;
 import org.hibernate.cache.spi.CacheKeysFactory;
 import org.hibernate.cache.spi.DomainDataRegion;
 import org.hibernate.cache.spi.access.EntityDataAccess;
@@ -14,14 +22,18 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.persister.entity.EntityPersister;
 
+import org.jboss.logging.Logger;
+
 /**
  * @author Steve Ebersole
  */
 public abstract class AbstractEntityDataAccess
 		extends AbstractCachedDomainDataAccess
 		implements EntityDataAccess {
+	private static final Logger log = Logger.getLogger( AbstractEntityDataAccess.class );
 
 	private final CacheKeysFactory cacheKeysFactory;
+	private final String refreshedEntityName;
 
 	public AbstractEntityDataAccess(
 			DomainDataRegion region,
@@ -29,6 +41,74 @@ public abstract class AbstractEntityDataAccess
 			DomainDataStorageAccess storageAccess) {
 		super( region, storageAccess );
 		this.cacheKeysFactory = cacheKeysFactory;
+		this.refreshedEntityName = null;
+	}
+
+	/**
+	 * Creates an access whose entries are loaded again in the background, ahead of their expiry, when the
+	 * storage reports them {@linkplain DomainDataStorageAccess#isDueForRefresh due for refresh}.
+	 */
+	protected AbstractEntityDataAccess(
+			DomainDataRegion region,
+			CacheKeysFactory cacheKeysFactory,
+			DomainDataStorageAccess storageAccess,
+			EntityDataCachingConfig config) {
+		super( region, storageAccess );
+		this.cacheKeysFactory = cacheKeysFactory;
+		this.refreshedEntityName = config.getNavigableRole().getFullPath();
+	}
+
+	@Override
+	public Object get(SharedSessionContractImplementor session, Object key) {
+		final Object value = super.get( session, key );
+		if ( value != null ) {
+			refreshIfDue( session, key );
+		}
+		return value;
+	}
+
+	@Override
+	public Map<Object,Object> getAll(SharedSessionContractImplementor session, Collection<?> keys) {
+		final Map<Object,Object> values = super.getAll( session, keys );
+		for ( Object key : values.keySet() ) {
+			refreshIfDue( session, key );
+		}
+		return values;
+	}
+
+	private void refreshIfDue(SharedSessionContractImplementor session, Object key) {
+		if ( refreshedEntityName != null && getStorageAccess().isDueForRefresh( key ) ) {
+			final SessionFactoryImplementor factory = session.getFactory();
+			final Serializable id = (Serializable) getCacheKeyId( key );
+			getStorageAccess().scheduleRefresh( () -> refresh( factory, id ) );
+		}
+	}
+
+	/**
+	 * Loads the entity of the given id again, in a session of its own, which puts its current state into
+	 * the cache.
+	 */
+	private void refresh(SessionFactoryImplementor factory, Serializable id) {
+		log.debugf( "Refreshing cached entity ahead of its expiry [%s#%s]", refreshedEntityName, id );
+		try ( Session session = factory.openSession() ) {
+			session.setCacheMode( CacheMode.REFRESH );
+			session.setDefaultReadOnly( true );
+			final Transaction transaction = session.beginTransaction();
+			try {
+				session.get( refreshedEntityName, id );
+				transaction.commit();
+			}
+			catch (RuntimeException e) {
+				if ( transaction.isActive() ) {
+					transaction.rollback();
+				}
+				throw e;
+			}
+		}
+		catch (RuntimeException e) {
+			// the entry expires as usual
+			log.debugf( e, "Unable to refresh cached entity [%s#%s]", refreshedEntityName, id );
+		}
 	}
 
 	@Override
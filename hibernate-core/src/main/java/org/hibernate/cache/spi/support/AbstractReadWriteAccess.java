@@ -7,8 +7,11 @@
 package org.hibernate.cache.spi.support;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
@@ -89,6 +92,31 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 		}
 	}
 
+	/**
+	 * Bulk form of {@link #get}: unreadable items are left out, like missing ones.
+	 */
+	@Override
+	public Map<Object,Object> getAll(SharedSessionContractImplementor session, Collection<?> keys) {
+		log.debugf( "Getting %s cached data from region [`%s` (%s)]", keys.size(), getRegion().getName(), getAccessType() );
+		try {
+			readLock.lock();
+			final Map<Object,Object> items = new HashMap<>();
+			for ( Map.Entry<Object,Object> entry : getStorageAccess().getAllFromCache( keys, session ).entrySet() ) {
+				final Lockable item = (Lockable) entry.getValue();
+				if ( item.isReadable( session.getTransactionStartTimestamp() ) ) {
+					items.put( entry.getKey(), item.getValue() );
+				}
+				else {
+					log.debugf( "Cache hit, but item is unreadable/invalid : region = `%s`, key = `%s`", getRegion().getName(), entry.getKey() );
+				}
+			}
+			return items;
+		}
+		finally {
+			readLock.unlock();
+		}
+	}
+
 	@Override
 	public boolean putFromLoad(
 			SharedSessionContractImplementor session,
@@ -251,7 +279,7 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 		/**
 		 * Creates an unlocked item wrapping the given value with a version and creation timestamp.
 		 */
-		Item(Object value, Object version, long timestamp) {
+		public Item(Object value, Object version, long timestamp) {
 			this.value = value;
 			this.version = version;
 			this.timestamp = timestamp;
@@ -292,6 +320,24 @@ public abstract class AbstractReadWriteAccess extends AbstractCachedDomainDataAc
 			return value;
 		}
 
+		/**
+		 * The version of the wrapped value, if versioned.
+		 *
+		 * @since 5.4
+		 */
+		public Object getVersion() {
+			return version;
+		}
+
+		/**
+		 * The creation timestamp of this item.
+		 *
+		 * @since 5.4
+		 */
+		public long getTimestamp() {
+			return timestamp;
+		}
+
 		@Override
 		public boolean isUnlockable(SoftLock lock) {
 			return false;
@@ -24,4 +24,29 @@ public interface DomainDataStorageAccess extends StorageAccess {
 	default void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
 		putIntoCache( key, value, session );
 	}
+
+	/**
+	 * Whether the entry of the given key, just read, is close enough to its expiry to be loaded again
+	 * from the database ahead of it.  An entry is reported at most once, so that a single reload of it
+	 * is {@linkplain #scheduleRefresh scheduled}.
+	 *
+	 * @implNote the method default is to return {@code false}: entries are not refreshed ahead of their expiry
+	 *
+	 * @since 5.4
+	 */
+	default boolean isDueForRefresh(Object key) {
+		return false;
+	}
+
+	/**
+	 * Runs the given reload of an entry {@linkplain #isDueForRefresh due for refresh}, which puts the
+	 * fresh value into the cache, preferably in the background.
+	 *
+	 * @implNote the method default is to run the reload right away
+	 *
+	 * @since 5.4
+	 */
+	default void scheduleRefresh(Runnable reload) {
+		reload.run();
+	}
 }
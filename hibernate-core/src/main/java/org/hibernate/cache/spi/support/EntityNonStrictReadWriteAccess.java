@@ -26,7 +26,7 @@ public class EntityNonStrictReadWriteAccess extends AbstractEntityDataAccess {
 			CacheKeysFactory keysFactory,
 			DomainDataStorageAccess storageAccess,
 			EntityDataCachingConfig entityAccessConfig) {
-		super( domainDataRegion, keysFactory, storageAccess );
+		super( domainDataRegion, keysFactory, storageAccess, entityAccessConfig );
 	}
 
 	@Override
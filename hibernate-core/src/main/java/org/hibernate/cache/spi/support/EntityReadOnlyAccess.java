@@ -30,7 +30,7 @@ public class EntityReadOnlyAccess extends AbstractEntityDataAccess {
 			CacheKeysFactory cacheKeysFactory,
 			DomainDataStorageAccess storageAccess,
 			EntityDataCachingConfig config) {
-		super( region, cacheKeysFactory, storageAccess );
+		super( region, cacheKeysFactory, storageAccess, config );
 		if ( config.isMutable() ) {
 			SecondLevelCacheLogger.INSTANCE.readOnlyCachingMutableEntity( config.getNavigableRole() );
 		}
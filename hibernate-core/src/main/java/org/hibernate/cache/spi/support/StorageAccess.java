@@ -6,6 +6,10 @@
  */
 package org.hibernate.cache.spi.support;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 
 /**
@@ -28,6 +32,40 @@ public interface StorageAccess {
 	 */
 	void putIntoCache(Object key, Object value, SharedSessionContractImplementor session);
 
+	/**
+	 * Get several items from the cache at once.  Keys with no item in the cache
+	 * are absent from the returned Map.
+	 *
+	 * @implSpec The default implementation calls {@link #getFromCache} for each key;
+	 * providers able to read several items in a single operation should override it.
+	 *
+	 * @since 5.4
+	 */
+	default Map<Object,Object> getAllFromCache(Collection<?> keys, SharedSessionContractImplementor session) {
+		final Map<Object,Object> items = new HashMap<>();
+		for ( Object key : keys ) {
+			final Object item = getFromCache( key, session );
+			if ( item != null ) {
+				items.put( key, item );
+			}
+		}
+		return items;
+	}
+
+	/**
+	 * Put several items into the cache at once.
+	 *
+	 * @implSpec The default implementation calls {@link #putIntoCache} for each entry;
+	 * providers able to write several items in a single operation should override it.
+	 *
+	 * @since 5.4
+	 */
+	default void putAllIntoCache(Map<?,?> items, SharedSessionContractImplementor session) {
+		for ( Map.Entry<?,?> entry : items.entrySet() ) {
+			putIntoCache( entry.getKey(), entry.getValue(), session );
+		}
+	}
+
 	/**
 	 * Remove an item from the cache by key
 	 */
@@ -781,6 +781,18 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String STATEMENT_FETCH_SIZE = "hibernate.jdbc.fetch_size";
 
+	/**
+	 * The JDBC fetch size of the results of {@link org.hibernate.query.Query#stream()}, unless the query defines
+	 * its own.  Defaults to {@link #STATEMENT_FETCH_SIZE} if it is set, and to <tt>100</tt> otherwise, so that the
+	 * drivers which read the whole result set by default, such as the PostgreSQL one, fetch the rows of a stream
+	 * as they are consumed.  If <tt>0</tt>, streams do not set a fetch size of their own.
+	 * <p/>
+	 * See {@link org.hibernate.annotations.QueryHints#DETACH_STREAMED} to stream in constant memory.
+	 *
+	 * @since 5.4
+	 */
+	String STREAM_FETCH_SIZE = "hibernate.jdbc.stream_fetch_size";
+
 	/**
 	 * Maximum JDBC batch size. A nonzero value enables batch updates.
 	 */
@@ -795,6 +807,41 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String BATCH_VERSIONED_DATA = "hibernate.jdbc.batch_versioned_data";
 
+	/**
+	 * Should a JDBC batch hold the INSERT statements of several entities at once, rather than being executed
+	 * every time the entity being inserted changes?  Statements are still executed in an order respecting the
+	 * associations between the entities, so interleaved parent/child inserts are batched without having to
+	 * enable {@link #ORDER_INSERTS}.
+	 * <p/>
+	 * Default is {@code false}
+	 */
+	String BATCH_INTERLEAVED_INSERTS = "hibernate.jdbc.batch_interleaved_inserts";
+
+	/**
+	 * Should the JDBC batch size be adapted to the observed execution throughput, separately for each batched
+	 * statement?  {@link #STATEMENT_BATCH_SIZE} is then used as the initial size, and the size keeps being
+	 * adjusted within {@link #ADAPTIVE_BATCH_SIZE_MIN} and {@link #ADAPTIVE_BATCH_SIZE_MAX}.  With
+	 * {@link #BATCH_INTERLEAVED_INSERTS}, the size of the inserts of each entity is adapted separately.  A batch
+	 * size set on the Session is never adapted.
+	 * <p/>
+	 * Ignored if {@code hibernate.jdbc.batch.builder} is specified.  Default is {@code false}
+	 */
+	String ADAPTIVE_BATCH_SIZE = "hibernate.jdbc.adaptive_batch_size";
+
+	/**
+	 * The smallest JDBC batch size used when {@link #ADAPTIVE_BATCH_SIZE} is enabled.
+	 * <p/>
+	 * Default is {@code 2}
+	 */
+	String ADAPTIVE_BATCH_SIZE_MIN = "hibernate.jdbc.adaptive_batch_size.min";
+
+	/**
+	 * The largest JDBC batch size used when {@link #ADAPTIVE_BATCH_SIZE} is enabled.
+	 * <p/>
+	 * Default is four times {@link #STATEMENT_BATCH_SIZE}
+	 */
+	String ADAPTIVE_BATCH_SIZE_MAX = "hibernate.jdbc.adaptive_batch_size.max";
+
 	/**
 	 * Default JDBC TimeZone. Unless specified, the JVM default TimeZone is going to be used by the underlying JDBC Driver.
 	 *
@@ -885,6 +932,26 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String QUERY_STARTUP_CHECKING = "hibernate.query.startup_check";
 
+	/**
+	 * The number of threads compiling the named queries when {@link #QUERY_STARTUP_CHECKING} is enabled.
+	 * The default is {@code 1}, compiling them sequentially on the thread building the SessionFactory.
+	 *
+	 * @see #QUERY_STARTUP_CHECK_ASYNC
+	 * @since 5.4
+	 */
+	String QUERY_STARTUP_CHECK_THREADS = "hibernate.query.startup_check_threads";
+
+	/**
+	 * Should the named queries be checked in the background, after the SessionFactory is built, when
+	 * {@link #QUERY_STARTUP_CHECKING} is enabled?  The errors are then logged rather than failing the creation of
+	 * the SessionFactory.  Queries executed meanwhile wait for the compilation of their plan, if it is already
+	 * in progress.  The default is {@code false}.
+	 *
+	 * @see #QUERY_STARTUP_CHECK_THREADS
+	 * @since 5.4
+	 */
+	String QUERY_STARTUP_CHECK_ASYNC = "hibernate.query.startup_check_async";
+
 	/**
 	 * Setting which indicates whether or not Java constant follow the Java Naming conventions.
 	 * <p/>
@@ -909,6 +976,20 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String WRAP_RESULT_SETS = "hibernate.jdbc.wrap_result_sets";
 
+	/**
+	 * Read the columns of the rows of HQL, criteria and native queries at their index rather than by their label.
+	 * The column aliases of the entities and collections a query loads are resolved to column indexes the first
+	 * time each of its SQL statements is executed, and the rows are then read through those indexes, without
+	 * looking the aliases up in the JDBC driver or in a proxy.  Takes precedence over {@link #WRAP_RESULT_SETS} for
+	 * those queries.  The default is {@code false}.
+	 * <p/>
+	 * The hydrated values are set through the entity tuplizer, which uses the bytecode provider's reflection
+	 * optimizer when {@link #USE_REFLECTION_OPTIMIZER} is enabled.
+	 *
+	 * @since 5.4
+	 */
+	String INDEXED_ROW_READERS = "hibernate.jdbc.indexed_row_readers";
+
 	/**
 	 * Indicates if exception handling for a SessionFactory built via Hibernate's native bootstrapping
 	 * should behave the same as native exception handling in Hibernate ORM 5.1, When set to {@code true},
@@ -1059,6 +1140,7 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 *     <li>an Object implementing {@link org.hibernate.cache.spi.RegionFactory}</li>
 	 *     <li>a Class implementing {@link org.hibernate.cache.spi.RegionFactory}</li>
 	 *     <li>FQN of a Class implementing {@link org.hibernate.cache.spi.RegionFactory}</li>
+	 *     <li>'local' as a short name for {@link org.hibernate.cache.internal.LocalRegionFactory}</li>
 	 * </ul>
 	 */
 	String CACHE_REGION_FACTORY = "hibernate.cache.region.factory_class";
@@ -1100,6 +1182,108 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String QUERY_CACHE_FACTORY = "hibernate.cache.query_cache_factory";
 
+	/**
+	 * Whether the query cache stores the results column by column, packing identifiers, integers and dates in
+	 * arrays of primitives and dictionary encoding the strings which repeat, so that a region holds more and larger
+	 * results in the same memory.  The results are unpacked when read from the cache, which costs a little more CPU
+	 * time.
+	 * <p/>
+	 * The default value is {@code false}.
+	 *
+	 * @since 5.4
+	 */
+	String QUERY_CACHE_COMPACT_RESULTS = "hibernate.cache.query_cache_compact_results";
+
+	/**
+	 * A comma-separated list of the query cache regions whose results are invalidated row by row, rather than by
+	 * any change to the tables they were read from.
+	 * <p/>
+	 * The cached results of a query of such a region which returns a single entity, and only reads the tables of
+	 * that entity, stay valid when rows which are not part of them are updated or deleted.  The insertions into
+	 * these tables, bulk operations and native queries still invalidate all the results.  Only put in such a region
+	 * the queries whose results cannot gain a row by an update, e.g. because they filter on columns which updates
+	 * never change: an update moving a row into the results would go unnoticed.
+	 * <p/>
+	 * The timestamps of the updated and deleted rows are kept in the update timestamps region, which must not evict
+	 * them.  By default, no region is invalidated row by row, and no row is tracked.
+	 *
+	 * @see #QUERY_CACHE_ROW_INVALIDATION_MAX_ROWS
+	 * @since 5.4
+	 */
+	String QUERY_CACHE_ROW_INVALIDATION_REGIONS = "hibernate.cache.query_cache_row_invalidation_regions";
+
+	/**
+	 * The maximum number of row timestamps kept per table in the update timestamps region when some query cache
+	 * regions are invalidated row by row.
+	 * <p/>
+	 * The rows of a table are hashed into that many slots, each slot sharing the timestamp of the last update or
+	 * deletion of any of its rows, so a change to a row also invalidates the cached results containing the other
+	 * rows of its slot.  The default value is {@code 4096}.
+	 *
+	 * @see #QUERY_CACHE_ROW_INVALIDATION_REGIONS
+	 * @since 5.4
+	 */
+	String QUERY_CACHE_ROW_INVALIDATION_MAX_ROWS = "hibernate.cache.query_cache_row_invalidation_max_rows";
+
+	/**
+	 * The maximum time, in milliseconds, a session waits for another session loading the same query results, or the
+	 * same entity, after missing them in the second-level cache.
+	 * <p/>
+	 * When greater than zero, the first session missing a given query, or entity, in the cache loads it from the
+	 * database and caches it, while the other sessions missing it meanwhile wait for it, then read it from the cache
+	 * instead of running the same query.  A session which is still missing it once the wait is over, because it timed
+	 * out or because the loaded value is not readable by its transaction, loads it itself.
+	 * <p/>
+	 * The default value is {@code 0}: the sessions missing the same value all load it.
+	 *
+	 * @since 5.4
+	 */
+	String CACHE_SINGLE_FLIGHT_TIMEOUT = "hibernate.cache.single_flight_timeout";
+
+	/**
+	 * The names of the entities, e.g. {@code com.acme.Customer} or {@code Customer}, whose instances are all loaded
+	 * into the second-level cache while building the SessionFactory, separated by commas or whitespace.  The
+	 * entities which are not cached are ignored.
+	 * <p/>
+	 * The rows are read through a {@link org.hibernate.ScrollableResults}, in a session of their own per entity
+	 * or collection region, using the {@link org.hibernate.CacheMode#REFRESH REFRESH} cache mode.
+	 *
+	 * @see #CACHE_WARMUP_COLLECTIONS
+	 * @see #CACHE_WARMUP_THREADS
+	 * @see #CACHE_WARMUP_ROWS_PER_SECOND
+	 * @see org.hibernate.cache.spi.CacheImplementor#warm
+	 * @since 5.4
+	 */
+	String CACHE_WARMUP_ENTITIES = "hibernate.cache.warmup_entities";
+
+	/**
+	 * The roles of the collections, e.g. {@code com.acme.Order.lines}, whose elements are all loaded into the
+	 * second-level cache while building the SessionFactory, separated by commas or whitespace.  The collections are
+	 * loaded through their owners, which are loaded as well; mapping the collection with a batch size saves most
+	 * of the queries.  The collections which are not cached are ignored.
+	 *
+	 * @see #CACHE_WARMUP_ENTITIES
+	 * @since 5.4
+	 */
+	String CACHE_WARMUP_COLLECTIONS = "hibernate.cache.warmup_collections";
+
+	/**
+	 * The number of entity and collection regions warmed up concurrently, each by a thread of its own, see
+	 * {@link #CACHE_WARMUP_ENTITIES}.  The default value is {@code 1}.
+	 *
+	 * @since 5.4
+	 */
+	String CACHE_WARMUP_THREADS = "hibernate.cache.warmup_threads";
+
+	/**
+	 * The maximum number of rows read per second while warming up each entity or collection region, see
+	 * {@link #CACHE_WARMUP_ENTITIES}, which limits the load the warm-up puts on the database.  The default value is
+	 * {@code 0}, meaning the rows are read as fast as possible.
+	 *
+	 * @since 5.4
+	 */
+	String CACHE_WARMUP_ROWS_PER_SECOND = "hibernate.cache.warmup_rows_per_second";
+
 	/**
 	 * The <tt>CacheProvider</tt> region name prefix
 	 */
@@ -1127,6 +1311,96 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String USE_DIRECT_REFERENCE_CACHE_ENTRIES = "hibernate.cache.use_reference_entries";
 
+	/**
+	 * When direct reference entries are {@linkplain #USE_DIRECT_REFERENCE_CACHE_ENTRIES enabled}, also store
+	 * immutable entities having to-one associations as direct references, provided that every entity reachable
+	 * through these associations is itself immutable and cached, and that these associations do not cascade.
+	 * The associated entities are then stored as direct references as well, and are never proxied.
+	 * <p/>
+	 * Entities having collections are never stored as direct references.  Default is {@code false}.
+	 *
+	 * @since 5.4
+	 */
+	String USE_DIRECT_REFERENCE_CACHE_ENTRIES_FOR_ASSOCIATIONS = "hibernate.cache.use_reference_entries_for_associations";
+
+	/**
+	 * The maximum number of entries of each region of the {@link org.hibernate.cache.internal.LocalRegionFactory},
+	 * selected with the {@value org.hibernate.cache.internal.LocalRegionFactory#SHORT_NAME} short name.  Can be
+	 * overridden for a given region by appending the region name to {@value #CACHE_LOCAL_REGION_PREFIX}, followed by
+	 * {@code .max_entries}.
+	 * <p/>
+	 * The default value is {@code 10000}; {@code 0} means no limit.  The region of the update timestamps is never
+	 * bounded, since losing timestamps would make the query cache return stale results.
+	 *
+	 * @since 5.4
+	 */
+	String CACHE_LOCAL_MAX_ENTRIES = "hibernate.cache.local.max_entries";
+
+	/**
+	 * The maximum weight of each region of the {@link org.hibernate.cache.internal.LocalRegionFactory}, in bytes,
+	 * where the weight of an entry is an estimate of the memory it takes.  Can be overridden for a given region by
+	 * appending the region name to {@value #CACHE_LOCAL_REGION_PREFIX}, followed by {@code .max_weight}.
+	 * <p/>
+	 * The default value is {@code 0}, meaning no limit.
+	 *
+	 * @since 5.4
+	 */
+	String CACHE_LOCAL_MAX_WEIGHT = "hibernate.cache.local.max_weight";
+
+	/**
+	 * The time, in seconds, after which the entries of the regions of the
+	 * {@link org.hibernate.cache.internal.LocalRegionFactory} expire.  Can be overridden for a given region by
+	 * appending the region name to {@value #CACHE_LOCAL_REGION_PREFIX}, followed by {@code .time_to_live}.
+	 * <p/>
+	 * The default value is {@code 0}, meaning entries do not expire.
+	 *
+	 * @since 5.4
+	 */
+	String CACHE_LOCAL_TIME_TO_LIVE = "hibernate.cache.local.time_to_live";
+
+	/**
+	 * Whether the entity, collection and natural id regions of the
+	 * {@link org.hibernate.cache.internal.LocalRegionFactory} keep their values off the heap, in direct buffers, so
+	 * that they can grow beyond what the heap can hold without lengthening garbage collections.  The values are
+	 * stored in a compact binary encoding, and decoded on every read.  The weight of such a value, bounded by
+	 * {@link #CACHE_LOCAL_MAX_WEIGHT}, is the size of its encoded form.  Can be overridden for a given region by
+	 * appending the region name to {@value #CACHE_LOCAL_REGION_PREFIX}, followed by {@code .off_heap}.
+	 * <p/>
+	 * The default value is {@code false}.  The memory available outside of the heap is limited by the
+	 * {@code -XX:MaxDirectMemorySize} option of the JVM.
+	 *
+	 * @since 5.4
+	 */
+	String CACHE_LOCAL_OFF_HEAP = "hibernate.cache.local.off_heap";
+
+	/**
+	 * The time, in seconds, before the expiry of an entry of an entity region of the
+	 * {@link org.hibernate.cache.internal.LocalRegionFactory} during which reading this entry reloads the entity in
+	 * the background, in a session of its own, so that readers keep finding it in the cache.  Only the entities
+	 * cached with the {@code READ_ONLY} and {@code NONSTRICT_READ_WRITE} strategies are refreshed, at most once per
+	 * entry, and only in regions whose entries expire, see {@link #CACHE_LOCAL_TIME_TO_LIVE}.  Can be overridden
+	 * for a given region by appending the region name to {@value #CACHE_LOCAL_REGION_PREFIX}, followed by
+	 * {@code .refresh_ahead_time}.
+	 * <p/>
+	 * The default value is {@code 0}, meaning entries are not refreshed ahead of their expiry.
+	 *
+	 * @since 5.4
+	 */
+	String CACHE_LOCAL_REFRESH_AHEAD_TIME = "hibernate.cache.local.refresh_ahead_time";
+
+	/**
+	 * The prefix of the settings of a given region of the {@link org.hibernate.cache.internal.LocalRegionFactory},
+	 * e.g. {@code hibernate.cache.local.region.com.acme.Customer.max_entries}.
+	 *
+	 * @see #CACHE_LOCAL_MAX_ENTRIES
+	 * @see #CACHE_LOCAL_MAX_WEIGHT
+	 * @see #CACHE_LOCAL_TIME_TO_LIVE
+	 * @see #CACHE_LOCAL_OFF_HEAP
+	 * @see #CACHE_LOCAL_REFRESH_AHEAD_TIME
+	 * @since 5.4
+	 */
+	String CACHE_LOCAL_REGION_PREFIX = "hibernate.cache.local.region.";
+
 
 
 
@@ -1220,6 +1494,41 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String QUERY_PLAN_CACHE_PARAMETER_METADATA_MAX_SIZE = "hibernate.query.plan_parameter_metadata_max_size";
 
+	/**
+	 * Names the {@link org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory} building the storages of
+	 * the {@link org.hibernate.engine.query.spi.QueryPlanCache}.  Accepts:<ul>
+	 *     <li>{@code tinylfu} (the default), storing entries with lock-free lookups and a W-TinyLFU eviction policy</li>
+	 *     <li>{@code lirs}, storing entries in a {@link org.hibernate.internal.util.collections.BoundedConcurrentHashMap}
+	 *     with LIRS eviction, as in previous versions</li>
+	 *     <li>a {@link org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory} instance, class reference or
+	 *     fully-qualified class name</li>
+	 * </ul>
+	 *
+	 * @since 5.4
+	 */
+	String QUERY_PLAN_CACHE_STORAGE = "hibernate.query.plan_cache_storage";
+
+	/**
+	 * The path of a file recording the HQL queries whose plans are cached by the
+	 * {@link org.hibernate.engine.query.spi.QueryPlanCache}.  When set, the queries are written to the file when
+	 * the SessionFactory is closed, and compiled again when the next SessionFactory is built, so that its plan
+	 * cache is warm before the first queries are executed.
+	 * <p/>
+	 * The file also records a fingerprint of the mappings; it is ignored if they changed.
+	 *
+	 * @see #QUERY_PLAN_CACHE_WARMUP_THREADS
+	 * @since 5.4
+	 */
+	String QUERY_PLAN_CACHE_WARMUP_FILE = "hibernate.query.plan_cache_warmup_file";
+
+	/**
+	 * The number of background threads compiling the queries recorded by {@link #QUERY_PLAN_CACHE_WARMUP_FILE}.
+	 * {@code 0} compiles them while building the SessionFactory instead.  The default is {@code 1}.
+	 *
+	 * @since 5.4
+	 */
+	String QUERY_PLAN_CACHE_WARMUP_THREADS = "hibernate.query.plan_cache_warmup_threads";
+
 	/**
 	 * Should we not use contextual LOB creation (aka based on {@link java.sql.Connection#createBlob()} et al).
 	 */
@@ -1620,6 +1929,44 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 */
 	String DELAY_ENTITY_LOADER_CREATIONS = "hibernate.loader.delay_entity_loader_creations";
 
+	/**
+	 * Should a {@code multiLoad} loading its entities in several batches fetch the rows of the next batch on a
+	 * second connection, from a background thread, while those of the current batch are being loaded into the
+	 * Session?  The JDBC round trips then overlap with the hydration of the entities.
+	 * <p/>
+	 * The second connection runs in a transaction of its own, so it only sees committed data; it is only used
+	 * when the entities are loaded without a pessimistic lock, and as long as the current transaction has not
+	 * executed any statement which may write to the database.  A {@link org.hibernate.Session#doWork} or
+	 * {@link org.hibernate.Session#doReturningWork} counts as such a statement, as the work may write through the
+	 * connection it is given; the statements executed on a connection obtained any other way are not tracked.
+	 * <p/>
+	 * Each pipelined {@code multiLoad} holds a second pooled connection while it runs, so the connection pool has to
+	 * be sized for {@link #MULTI_LOAD_PIPELINING_MAX_CONCURRENCY} connections on top of those of the Sessions.
+	 * The default value is {@code false}.
+	 *
+	 * @since 5.4
+	 */
+	String MULTI_LOAD_PIPELINING = "hibernate.loader.multi_load_pipelining";
+
+	/**
+	 * The maximum number of pipelined {@code multiLoad}s fetching on a second connection at once, across all the
+	 * Sessions of the SessionFactory.  The {@code multiLoad}s started beyond that load their batches one after the
+	 * other, on the connection of their Session.  The default value is {@code 4}.
+	 *
+	 * @see #MULTI_LOAD_PIPELINING
+	 * @since 5.4
+	 */
+	String MULTI_LOAD_PIPELINING_MAX_CONCURRENCY = "hibernate.loader.multi_load_pipelining_max_concurrency";
+
+	/**
+	 * The number of milliseconds a pipelined {@code multiLoad} waits for the second connection to deliver the rows
+	 * of a batch before failing.  The default value is {@code 30000}.
+	 *
+	 * @see #MULTI_LOAD_PIPELINING
+	 * @since 5.4
+	 */
+	String MULTI_LOAD_PIPELINING_TIMEOUT = "hibernate.loader.multi_load_pipelining_timeout";
+
 	/**
 	 * A transaction can be rolled back by another thread ("tracking by thread")
 	 * -- not the original application. Examples of this include a JTA
@@ -2011,4 +2358,42 @@ public interface AvailableSettings extends org.hibernate.jpa.AvailableSettings {
 	 * @since 5.4
 	 */
 	String SEQUENCE_INCREMENT_SIZE_MISMATCH_STRATEGY = "hibernate.id.sequence.increment_size_mismatch_strategy";
+
+	/**
+	 * The number of values of each sequence used by the {@link org.hibernate.id.enhanced.SequenceStyleGenerator}
+	 * to read ahead of time, on a background thread and a separate connection, so that identifier generation does
+	 * not wait for the database when the values of the optimizer are exhausted.  Generators can override it with their
+	 * {@value org.hibernate.id.enhanced.SequenceStyleGenerator#READ_AHEAD_PARAM} parameter.
+	 * <p/>
+	 * The values read ahead but not used before the SessionFactory is closed are lost.  Read ahead is not applied
+	 * with multi-tenancy.  The default value is {@code 0}, disabling read ahead.
+	 *
+	 * @see org.hibernate.stat.Statistics#getSequenceReadAheadMissCount()
+	 * @since 5.4
+	 */
+	String SEQUENCE_READ_AHEAD = "hibernate.id.sequence.read_ahead";
+
+	/**
+	 * Names the {@link org.hibernate.engine.spi.PersistenceContextStorage} used by the persistence context of
+	 * each Session to store its managed entities, entity snapshots and collections.
+	 * </p>
+	 * {@code open_addressing} reduces the memory footprint of sessions managing very large numbers of entities,
+	 * typically batch jobs.
+	 * </p>
+	 * The default value is {@link org.hibernate.engine.spi.PersistenceContextStorage#HASH}
+	 */
+	String PERSISTENCE_CONTEXT_STORAGE = "hibernate.persistence_context.storage";
+
+	/**
+	 * The minimum number of entities the persistence context has to hold for their dirty checking to be
+	 * performed in parallel, in the common {@link java.util.concurrent.ForkJoinPool}, during a flush.  Only
+	 * reading the current state of the entities and comparing it to their loaded state is done in parallel;
+	 * updates are still scheduled by the flushing thread, in the usual order.  Since the state of all entities
+	 * is read upfront, interceptors and callbacks invoked while flushing an entity should not modify the others.
+	 * </p>
+	 * The default value is {@code 0}, which disables parallel dirty checking.
+	 *
+	 * @see org.hibernate.boot.spi.SessionFactoryOptions#getParallelDirtyCheckingThreshold()
+	 */
+	String PARALLEL_DIRTY_CHECKING_THRESHOLD = "hibernate.flush.parallel_dirty_checking_threshold";
 }
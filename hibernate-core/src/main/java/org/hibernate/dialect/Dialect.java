@@ -14,6 +14,7 @@ import java.sql.Clob;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.NClob;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
@@ -2880,6 +2881,61 @@ public abstract class Dialect implements ConversionContext {
 		return STANDARD_DEFAULT_BATCH_LOAD_SIZING_STRATEGY;
 	}
 
+	/**
+	 * Render a restriction of the given column to the elements of an array bound to a single JDBC parameter by
+	 * {@link #bindArrayParameter}, e.g. {@code col = any(?)}.
+	 * <p/>
+	 * Used by the {@link org.hibernate.loader.BatchFetchStyle#ARRAY ARRAY} batch fetch style, which then sends
+	 * the same SQL whatever the number of ids fetched at once.
+	 *
+	 * @param columnName The (qualified) column name
+	 * @param sqlType The {@link java.sql.Types} type code of the column
+	 *
+	 * @return The restriction, or {@code null} if arrays cannot be bound to a parameter, which is the default
+	 *
+	 * @since 5.4
+	 */
+	public String getArrayParameterRestriction(String columnName, int sqlType) {
+		return null;
+	}
+
+	/**
+	 * Bind the given elements as a single array parameter of a restriction rendered by
+	 * {@link #getArrayParameterRestriction}.
+	 * <p/>
+	 * The default implementation binds a {@link java.sql.Array} created by the connection of the statement, whose
+	 * elements are typed after {@link #getArrayElementTypeName}.
+	 *
+	 * @param statement The statement
+	 * @param index The index of the parameter
+	 * @param elements The elements of the array
+	 * @param sqlType The {@link java.sql.Types} type code of the elements
+	 *
+	 * @throws SQLException Indicates a problem binding the array
+	 *
+	 * @since 5.4
+	 */
+	public void bindArrayParameter(PreparedStatement statement, int index, Object[] elements, int sqlType)
+			throws SQLException {
+		statement.setArray( index, statement.getConnection().createArrayOf( getArrayElementTypeName( sqlType ), elements ) );
+	}
+
+	/**
+	 * The name of the type of the elements of an array parameter: the default type name of the given type code,
+	 * without length, precision or scale.
+	 *
+	 * @param sqlType The {@link java.sql.Types} type code of the elements
+	 *
+	 * @return The type name, e.g. {@code varchar}
+	 *
+	 * @since 5.4
+	 */
+	protected String getArrayElementTypeName(int sqlType) {
+		final String typeName = getTypeName( sqlType );
+		final int parenthesis = typeName.indexOf( '(' );
+		return parenthesis < 0 ? typeName : typeName.substring( 0, parenthesis ).trim();
+	}
+
 	/**
 	 * Does the fetching JDBC statement warning for logging is enabled by default
 	 *
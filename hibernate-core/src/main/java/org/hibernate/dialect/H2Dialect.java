@@ -450,4 +450,10 @@ public class H2Dialect extends Dialect {
 	public String getQueryHintString(String query, String hints) {
 		return IndexQueryHintHandler.INSTANCE.addQueryHints( query, hints );
 	}
+
+	@Override
+	public String getArrayParameterRestriction(String columnName, int sqlType) {
+		// H2 has no "= any(?)" form, but uses the index of the column for this one
+		return columnName + " in (select * from table(x " + getArrayElementTypeName( sqlType ) + " = ?))";
+	}
 }
@@ -590,6 +590,11 @@ public class PostgreSQL81Dialect extends Dialect {
 	public boolean supportsRowValueConstructorSyntax() {
 		return true;
 	}
+
+	@Override
+	public String getArrayParameterRestriction(String columnName, int sqlType) {
+		return columnName + " = any(?)";
+	}
 	
 	@Override
 	public String getForUpdateNowaitString() {
@@ -7,6 +7,9 @@
 package org.hibernate.engine.internal;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
 
 import org.hibernate.cache.spi.access.CachedDomainDataAccess;
 import org.hibernate.engine.spi.SessionEventListenerManager;
@@ -37,4 +40,20 @@ public final class CacheHelper {
 		return cachedValue;
 	}
 
+	public static Map<Object,Object> fromSharedCache(
+			SharedSessionContractImplementor session,
+			Collection<?> cacheKeys,
+			CachedDomainDataAccess cacheAccess) {
+		final SessionEventListenerManager eventListenerManager = session.getEventListenerManager();
+		Map<Object,Object> cachedValues = Collections.emptyMap();
+		eventListenerManager.cacheGetStart();
+		try {
+			cachedValues = cacheAccess.getAll( session, cacheKeys );
+		}
+		finally {
+			eventListenerManager.cacheGetEnd( !cachedValues.isEmpty() );
+		}
+		return cachedValues;
+	}
+
 }
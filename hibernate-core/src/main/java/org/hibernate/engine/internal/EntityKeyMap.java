@@ -0,0 +1,668 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.internal;
+
+import java.io.Serializable;
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+
+/**
+ * A <tt>Map</tt> keyed by {@link EntityKey}, used by {@link StatefulPersistenceContext} when
+ * {@link org.hibernate.engine.spi.PersistenceContextStorage#OPEN_ADDRESSING} is configured.
+ * <p/>
+ * Entries are partitioned into one open addressing table per entity hierarchy.  For hierarchies identified by a
+ * {@code long}, {@code int} or {@code short}, the table keeps the identifiers as primitive {@code long}s and
+ * compares them directly, without going through {@link EntityKey#equals} and the identifier
+ * {@link Type}, and does not retain the {@link EntityKey}s themselves (they are recreated when iterating over the
+ * keys).  No entry object is allocated when adding an entry.
+ * <p/>
+ * Not thread-safe; iterators are fail-fast.
+ */
+public final class EntityKeyMap<V> extends AbstractMap<EntityKey,V> {
+	private static final Object REMOVED = new Object();
+	private static final Object NULL_VALUE = new Object();
+	private static final int MIN_CAPACITY = 8;
+
+	private final Map<String,Partition> partitionsByRootEntityName = new HashMap<>();
+	private final IdentityHashMap<EntityPersister,Partition> partitionsByPersister = new IdentityHashMap<>();
+	private final List<Table> tables = new ArrayList<>();
+	private EntityPersister lastPersister;
+	private Partition lastPartition;
+
+	private int size;
+	private int modCount;
+
+	private transient Set<EntityKey> keySet;
+	private transient Collection<V> valueCollection;
+	private transient Set<Map.Entry<EntityKey,V>> entrySet;
+
+	private Table tableFor(EntityKey key, boolean create) {
+		final EntityPersister persister = key.getPersister();
+		Partition partition;
+		if ( persister == lastPersister ) {
+			partition = lastPartition;
+		}
+		else {
+			partition = partitionsByPersister.get( persister );
+			if ( partition == null ) {
+				partition = partitionsByRootEntityName.get( persister.getRootEntityName() );
+				if ( partition == null ) {
+					if ( !create ) {
+						return null;
+					}
+					partition = new Partition( persister );
+					partitionsByRootEntityName.put( persister.getRootEntityName(), partition );
+				}
+				partitionsByPersister.put( persister, partition );
+			}
+			lastPersister = persister;
+			lastPartition = partition;
+		}
+		return partition.tableFor( key, create );
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return false;
+		}
+		final Table table = tableFor( (EntityKey) key, false );
+		return table != null && table.slotOf( (EntityKey) key ) >= 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final Table table = tableFor( (EntityKey) key, false );
+		if ( table == null ) {
+			return null;
+		}
+		final int slot = table.slotOf( (EntityKey) key );
+		return slot < 0 ? null : (V) table.valueAt( slot );
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(EntityKey key, V value) {
+		Objects.requireNonNull( key, "null keys are not supported" );
+		return (V) tableFor( key, true ).put( key, value );
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if ( !( key instanceof EntityKey ) ) {
+			return null;
+		}
+		final Table table = tableFor( (EntityKey) key, false );
+		if ( table == null ) {
+			return null;
+		}
+		final int slot = table.slotOf( (EntityKey) key );
+		if ( slot < 0 ) {
+			return null;
+		}
+		final V previous = (V) table.valueAt( slot );
+		table.removeSlot( slot );
+		return previous;
+	}
+
+	@Override
+	public void clear() {
+		partitionsByRootEntityName.clear();
+		partitionsByPersister.clear();
+		tables.clear();
+		lastPersister = null;
+		lastPartition = null;
+		size = 0;
+		modCount++;
+	}
+
+	@Override
+	public Set<EntityKey> keySet() {
+		if ( keySet == null ) {
+			keySet = new AbstractSet<EntityKey>() {
+				@Override
+				public Iterator<EntityKey> iterator() {
+					return new SlotIterator<EntityKey>() {
+						@Override
+						protected EntityKey at(Table table, int slot) {
+							return table.keyAt( slot );
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					return containsKey( o );
+				}
+
+				@Override
+				public void clear() {
+					EntityKeyMap.this.clear();
+				}
+			};
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if ( valueCollection == null ) {
+			valueCollection = new AbstractCollection<V>() {
+				@Override
+				public Iterator<V> iterator() {
+					return new SlotIterator<V>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						protected V at(Table table, int slot) {
+							return (V) table.valueAt( slot );
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public void clear() {
+					EntityKeyMap.this.clear();
+				}
+			};
+		}
+		return valueCollection;
+	}
+
+	@Override
+	public Set<Map.Entry<EntityKey,V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new AbstractSet<Map.Entry<EntityKey,V>>() {
+				@Override
+				public Iterator<Map.Entry<EntityKey,V>> iterator() {
+					return new SlotIterator<Map.Entry<EntityKey,V>>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						protected Map.Entry<EntityKey,V> at(Table table, int slot) {
+							return new SimpleEntry<EntityKey,V>( table.keyAt( slot ), (V) table.valueAt( slot ) ) {
+								@Override
+								public V setValue(V value) {
+									super.setValue( value );
+									return put( getKey(), value );
+								}
+							};
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public void clear() {
+					EntityKeyMap.this.clear();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	/**
+	 * Determines whether an identifier type can be stored as a primitive {@code long}, returning the Java type
+	 * of the identifiers if so.
+	 */
+	private static Class<?> primitiveIdentifierClass(Type identifierType) {
+		if ( identifierType.isComponentType() ) {
+			return null;
+		}
+		final Class<?> returnedClass = identifierType.getReturnedClass();
+		if ( returnedClass == Long.class || returnedClass == Integer.class || returnedClass == Short.class ) {
+			return returnedClass;
+		}
+		return null;
+	}
+
+	/**
+	 * The tables of an entity hierarchy: one for identifiers of the expected primitive wrapper type, if any,
+	 * and one for any other identifier (e.g. mismatched numeric types, which are never equal to the expected
+	 * ones).
+	 */
+	private final class Partition {
+		private final Class<?> primitiveIdClass;
+		private Table primitiveIdTable;
+		private Table objectIdTable;
+
+		private Partition(EntityPersister persister) {
+			this.primitiveIdClass = primitiveIdentifierClass( persister.getIdentifierType() );
+		}
+
+		private Table tableFor(EntityKey key, boolean create) {
+			if ( primitiveIdClass != null && key.getIdentifier().getClass() == primitiveIdClass ) {
+				if ( primitiveIdTable == null && create ) {
+					primitiveIdTable = new PrimitiveIdTable( primitiveIdClass );
+					tables.add( primitiveIdTable );
+				}
+				return primitiveIdTable;
+			}
+			if ( objectIdTable == null && create ) {
+				objectIdTable = new ObjectIdTable();
+				tables.add( objectIdTable );
+			}
+			return objectIdTable;
+		}
+	}
+
+	/**
+	 * An open addressing table with linear probing.  The state of a slot is held by its value: empty, removed or
+	 * occupied.
+	 */
+	private abstract class Table {
+		protected Object[] values;
+		private int used;
+
+		protected Table() {
+			allocate( MIN_CAPACITY );
+		}
+
+		protected void allocate(int capacity) {
+			values = new Object[capacity];
+		}
+
+		protected boolean isOccupied(int slot) {
+			final Object value = values[slot];
+			return value != null && value != REMOVED;
+		}
+
+		protected Object valueAt(int slot) {
+			final Object value = values[slot];
+			return value == NULL_VALUE ? null : value;
+		}
+
+		protected abstract EntityKey keyAt(int slot);
+
+		/**
+		 * Finds the slot holding the given key, or if absent, the complement of the slot it should be added to.
+		 */
+		protected abstract int find(EntityKey key);
+
+		protected abstract void store(int slot, EntityKey key);
+
+		/**
+		 * Moves the key of a slot of the previous arrays to the current ones, in the first free slot from its hash.
+		 */
+		protected abstract void moveKey(int from, int to);
+
+		protected abstract int hashOf(int from);
+
+		protected abstract void release(int slot);
+
+		/**
+		 * Keeps the current key arrays aside while rehashing, or releases them once done when {@code keep} is false.
+		 */
+		protected abstract void keepPreviousArrays(boolean keep);
+
+		private int slotOf(EntityKey key) {
+			final int slot = find( key );
+			return slot < 0 ? -1 : slot;
+		}
+
+		private Object put(EntityKey key, Object value) {
+			final Object toStore = value == null ? NULL_VALUE : value;
+			int slot = find( key );
+			if ( slot >= 0 ) {
+				final Object previous = valueAt( slot );
+				values[slot] = toStore;
+				return previous;
+			}
+
+			slot = ~slot;
+			if ( values[slot] == null ) {
+				used++;
+			}
+			values[slot] = toStore;
+			store( slot, key );
+			size++;
+			modCount++;
+			if ( used * 4 > values.length * 3 ) {
+				rehash();
+			}
+			return null;
+		}
+
+		private void rehash() {
+			final Object[] oldValues = values;
+			int live = 0;
+			for ( Object value : oldValues ) {
+				if ( value != null && value != REMOVED ) {
+					live++;
+				}
+			}
+			keepPreviousArrays( true );
+			allocate( live * 2 > oldValues.length ? oldValues.length << 1 : oldValues.length );
+			used = live;
+
+			final int mask = values.length - 1;
+			for ( int i = 0; i < oldValues.length; i++ ) {
+				final Object value = oldValues[i];
+				if ( value != null && value != REMOVED ) {
+					int slot = hashOf( i ) & mask;
+					while ( values[slot] != null ) {
+						slot = ( slot + 1 ) & mask;
+					}
+					values[slot] = value;
+					moveKey( i, slot );
+				}
+			}
+			keepPreviousArrays( false );
+		}
+
+		private void removeSlot(int slot) {
+			values[slot] = REMOVED;
+			release( slot );
+			size--;
+			modCount++;
+		}
+	}
+
+	/**
+	 * A table matching slots on the {@code long} value of the identifiers, without keeping the {@link EntityKey}s:
+	 * lookups only read the identifier and value arrays, and keys are recreated when iterating.  The persister of
+	 * each key (the hierarchy may have subclasses) is kept as an index into the persisters seen by the table.
+	 * <p/>
+	 * Identifiers are not hashed beyond folding them to an {@code int}, so that sequential identifiers occupy
+	 * consecutive slots.
+	 */
+	private final class PrimitiveIdTable extends Table {
+		private final Class<?> idClass;
+		private final List<EntityPersister> persisters = new ArrayList<>();
+		private EntityPersister cachedPersister;
+		private char cachedPersisterIndex;
+
+		private long[] ids;
+		private char[] persisterIndexes;
+		private long[] previousIds;
+		private char[] previousPersisterIndexes;
+
+		private PrimitiveIdTable(Class<?> idClass) {
+			this.idClass = idClass;
+		}
+
+		@Override
+		protected void allocate(int capacity) {
+			super.allocate( capacity );
+			ids = new long[capacity];
+			persisterIndexes = new char[capacity];
+		}
+
+		private int hash(long id) {
+			final int h = (int) ( id ^ ( id >>> 32 ) );
+			return h ^ ( h >>> 16 );
+		}
+
+		@Override
+		protected int find(EntityKey key) {
+			final long id = ( (Number) key.getIdentifier() ).longValue();
+			final int mask = values.length - 1;
+			int slot = hash( id ) & mask;
+			int firstRemoved = -1;
+			Object value;
+			while ( ( value = values[slot] ) != null ) {
+				if ( value == REMOVED ) {
+					if ( firstRemoved < 0 ) {
+						firstRemoved = slot;
+					}
+				}
+				else if ( ids[slot] == id ) {
+					return slot;
+				}
+				slot = ( slot + 1 ) & mask;
+			}
+			return ~( firstRemoved < 0 ? slot : firstRemoved );
+		}
+
+		@Override
+		protected void store(int slot, EntityKey key) {
+			ids[slot] = ( (Number) key.getIdentifier() ).longValue();
+			persisterIndexes[slot] = persisterIndex( key.getPersister() );
+		}
+
+		private char persisterIndex(EntityPersister persister) {
+			if ( persister != cachedPersister ) {
+				int index = persisters.indexOf( persister );
+				if ( index < 0 ) {
+					index = persisters.size();
+					if ( index > Character.MAX_VALUE ) {
+						throw new IllegalStateException( "Too many entity persisters in hierarchy" );
+					}
+					persisters.add( persister );
+				}
+				cachedPersister = persister;
+				cachedPersisterIndex = (char) index;
+			}
+			return cachedPersisterIndex;
+		}
+
+		@Override
+		protected EntityKey keyAt(int slot) {
+			final long id = ids[slot];
+			final Object identifier;
+			if ( idClass == Long.class ) {
+				identifier = id;
+			}
+			else if ( idClass == Integer.class ) {
+				identifier = (int) id;
+			}
+			else {
+				identifier = (short) id;
+			}
+			return new EntityKey( (Serializable) identifier, persisters.get( persisterIndexes[slot] ) );
+		}
+
+		@Override
+		protected void keepPreviousArrays(boolean keep) {
+			previousIds = keep ? ids : null;
+			previousPersisterIndexes = keep ? persisterIndexes : null;
+		}
+
+		@Override
+		protected int hashOf(int from) {
+			return hash( previousIds[from] );
+		}
+
+		@Override
+		protected void moveKey(int from, int to) {
+			ids[to] = previousIds[from];
+			persisterIndexes[to] = previousPersisterIndexes[from];
+		}
+
+		@Override
+		protected void release(int slot) {
+		}
+	}
+
+	/**
+	 * A table matching slots on the hash code and equality of the {@link EntityKey}s.
+	 */
+	private final class ObjectIdTable extends Table {
+		private EntityKey[] keys;
+		private int[] hashes;
+		private EntityKey[] previousKeys;
+		private int[] previousHashes;
+
+		@Override
+		protected void allocate(int capacity) {
+			super.allocate( capacity );
+			keys = new EntityKey[capacity];
+			hashes = new int[capacity];
+		}
+
+		private int hash(EntityKey key) {
+			final int h = key.hashCode() * 0x9E3779B9;
+			return h ^ ( h >>> 16 );
+		}
+
+		@Override
+		protected int find(EntityKey key) {
+			final int hash = hash( key );
+			final int mask = values.length - 1;
+			int slot = hash & mask;
+			int firstRemoved = -1;
+			Object value;
+			while ( ( value = values[slot] ) != null ) {
+				if ( value == REMOVED ) {
+					if ( firstRemoved < 0 ) {
+						firstRemoved = slot;
+					}
+				}
+				else if ( hashes[slot] == hash && ( keys[slot] == key || keys[slot].equals( key ) ) ) {
+					return slot;
+				}
+				slot = ( slot + 1 ) & mask;
+			}
+			return ~( firstRemoved < 0 ? slot : firstRemoved );
+		}
+
+		@Override
+		protected void store(int slot, EntityKey key) {
+			keys[slot] = key;
+			hashes[slot] = hash( key );
+		}
+
+		@Override
+		protected EntityKey keyAt(int slot) {
+			return keys[slot];
+		}
+
+		@Override
+		protected void keepPreviousArrays(boolean keep) {
+			previousKeys = keep ? keys : null;
+			previousHashes = keep ? hashes : null;
+		}
+
+		@Override
+		protected int hashOf(int from) {
+			return previousHashes[from];
+		}
+
+		@Override
+		protected void moveKey(int from, int to) {
+			keys[to] = previousKeys[from];
+			hashes[to] = previousHashes[from];
+		}
+
+		@Override
+		protected void release(int slot) {
+			keys[slot] = null;
+		}
+	}
+
+	private abstract class SlotIterator<T> implements Iterator<T> {
+		private int expectedModCount = modCount;
+		private int tableIndex;
+		private Table table;
+		private int next = -1;
+
+		private Table current;
+		private int currentSlot = -1;
+
+		private SlotIterator() {
+			advance();
+		}
+
+		private void advance() {
+			next++;
+			while ( true ) {
+				if ( table != null ) {
+					while ( next < table.values.length && !table.isOccupied( next ) ) {
+						next++;
+					}
+					if ( next < table.values.length ) {
+						return;
+					}
+				}
+				if ( tableIndex >= tables.size() ) {
+					table = null;
+					return;
+				}
+				table = tables.get( tableIndex++ );
+				next = 0;
+			}
+		}
+
+		protected abstract T at(Table table, int slot);
+
+		@Override
+		public boolean hasNext() {
+			return table != null;
+		}
+
+		@Override
+		public T next() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( table == null ) {
+				throw new NoSuchElementException();
+			}
+			current = table;
+			currentSlot = next;
+			advance();
+			return at( current, currentSlot );
+		}
+
+		@Override
+		public void remove() {
+			if ( currentSlot < 0 ) {
+				throw new IllegalStateException();
+			}
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			// removal never rehashes, so the tables being iterated stay current
+			current.removeSlot( currentSlot );
+			expectedModCount = modCount;
+			currentSlot = -1;
+		}
+	}
+}
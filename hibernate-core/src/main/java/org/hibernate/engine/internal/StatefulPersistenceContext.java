@@ -46,6 +46,7 @@ import org.hibernate.engine.spi.EntityKey;
 import org.hibernate.engine.spi.EntityUniqueKey;
 import org.hibernate.engine.spi.ManagedEntity;
 import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistenceContextStorage;
 import org.hibernate.engine.spi.PersistentAttributeInterceptable;
 import org.hibernate.engine.spi.PersistentAttributeInterceptor;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
@@ -56,6 +57,7 @@ import org.hibernate.event.spi.EventSource;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.util.collections.ConcurrentReferenceHashMap;
 import org.hibernate.internal.util.collections.IdentityMap;
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
 import org.hibernate.pretty.MessageHelper;
@@ -86,6 +88,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	private static final int INIT_COLL_SIZE = 8;
 
 	private SharedSessionContractImplementor session;
+	private final PersistenceContextStorage storage;
 
 	// Loaded entity instances, by EntityKey
 	private Map<EntityKey, Object> entitiesByKey;
@@ -149,9 +152,10 @@ public class StatefulPersistenceContext implements PersistenceContext {
 	 */
 	public StatefulPersistenceContext(SharedSessionContractImplementor session) {
 		this.session = session;
+		this.storage = session.getFactory().getSessionFactoryOptions().getPersistenceContextStorage();
 
-		entitiesByKey = new HashMap<>( INIT_COLL_SIZE );
-		entitiesByUniqueKey = new HashMap<>( INIT_COLL_SIZE );
+		entitiesByKey = newEntityKeyMap( INIT_COLL_SIZE );
+		entitiesByUniqueKey = newKeyMap( INIT_COLL_SIZE );
 		//noinspection unchecked
 		proxiesByKey = new ConcurrentReferenceHashMap<>(
 				INIT_COLL_SIZE,
@@ -161,14 +165,14 @@ public class StatefulPersistenceContext implements PersistenceContext {
 				ConcurrentReferenceHashMap.ReferenceType.WEAK,
 				null
 		);
-		entitySnapshotsByKey = new HashMap<>( INIT_COLL_SIZE );
+		entitySnapshotsByKey = newEntityKeyMap( INIT_COLL_SIZE );
 
 		entityEntryContext = new EntityEntryContext( this );
 //		entityEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		collectionEntries = IdentityMap.instantiateSequenced( INIT_COLL_SIZE );
 		parentsByChild = new IdentityHashMap<>( INIT_COLL_SIZE );
 
-		collectionsByKey = new HashMap<>( INIT_COLL_SIZE );
+		collectionsByKey = newKeyMap( INIT_COLL_SIZE );
 		arrayHolders = new IdentityHashMap<>( INIT_COLL_SIZE );
 
 		nullifiableEntityKeys = new HashSet<>();
@@ -176,6 +180,18 @@ public class StatefulPersistenceContext implements PersistenceContext {
 		initTransientState();
 	}
 
+	private <V> Map<EntityKey, V> newEntityKeyMap(int expectedSize) {
+		return storage == PersistenceContextStorage.OPEN_ADDRESSING
+				? new EntityKeyMap<>()
+				: new HashMap<>( expectedSize );
+	}
+
+	private <K, V> Map<K, V> newKeyMap(int expectedSize) {
+		return storage == PersistenceContextStorage.OPEN_ADDRESSING
+				? new OpenAddressingHashMap<>( expectedSize )
+				: new HashMap<>( expectedSize );
+	}
+
 	private void initTransientState() {
 		nullAssociations = new HashSet<>( INIT_COLL_SIZE );
 		nonlazyCollections = new ArrayList<>( INIT_COLL_SIZE );
@@ -1553,7 +1569,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitiesByKey entries" );
 			}
-			rtn.entitiesByKey = new HashMap<>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitiesByKey = rtn.newEntityKeyMap( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitiesByKey.put( EntityKey.deserialize( ois, sfi ), ois.readObject() );
 			}
@@ -1562,7 +1578,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitiesByUniqueKey entries" );
 			}
-			rtn.entitiesByUniqueKey = new HashMap<>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitiesByUniqueKey = rtn.newKeyMap( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitiesByUniqueKey.put( EntityUniqueKey.deserialize( ois, session ), ois.readObject() );
 			}
@@ -1599,7 +1615,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] entitySnapshotsByKey entries" );
 			}
-			rtn.entitySnapshotsByKey = new HashMap<>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.entitySnapshotsByKey = rtn.newEntityKeyMap( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.entitySnapshotsByKey.put( EntityKey.deserialize( ois, sfi ), ois.readObject() );
 			}
@@ -1610,7 +1626,7 @@ public class StatefulPersistenceContext implements PersistenceContext {
 			if ( tracing ) {
 				LOG.trace( "Starting deserialization of [" + count + "] collectionsByKey entries" );
 			}
-			rtn.collectionsByKey = new HashMap<>( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
+			rtn.collectionsByKey = rtn.newKeyMap( count < INIT_COLL_SIZE ? INIT_COLL_SIZE : count );
 			for ( int i = 0; i < count; i++ ) {
 				rtn.collectionsByKey.put( CollectionKey.deserialize( ois, session ), (PersistentCollection) ois.readObject() );
 			}
@@ -8,17 +8,18 @@ package org.hibernate.engine.jdbc;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Cache of column-name -> column-index resolutions
+ * <p/>
+ * The resolutions are kept in an open addressing table of the names and their (unboxed) indexes, which is copied
+ * when a name is added.  Once all the columns of a query have been resolved, a lookup neither locks nor allocates,
+ * and the names, which are usually the very alias strings of the loader, are compared by identity first.
  *
  * @author Steve Ebersole
  */
 public final class ColumnNameCache {
-	private static final float LOAD_FACTOR = .75f;
-
-	private final ConcurrentHashMap<String, Integer> columnNameToIndexCache;
+	private volatile Table table;
 
 	/**
 	 * Constructs a ColumnNameCache
@@ -27,10 +28,7 @@ public final class ColumnNameCache {
 	 */
 	public ColumnNameCache(int columnCount) {
 		// should *not* need to grow beyond the size of the total number of columns in the rs
-		this.columnNameToIndexCache = new ConcurrentHashMap<String, Integer>(
-				columnCount + (int)( columnCount * LOAD_FACTOR ) + 1,
-				LOAD_FACTOR
-		);
+		this.table = new Table( columnCount );
 	}
 
 	/**
@@ -44,14 +42,99 @@ public final class ColumnNameCache {
 	 * @throws SQLException INdicates a problems accessing the underlying JDBC ResultSet
 	 */
 	public Integer getIndexForColumnName(String columnName, ResultSet rs) throws SQLException {
-		final Integer cached = columnNameToIndexCache.get( columnName );
-		if ( cached != null ) {
+		return getIndex( columnName, rs );
+	}
+
+	/**
+	 * Resolve the column name/alias to its index, without boxing it
+	 *
+	 * @param columnName The name/alias of the column
+	 * @param rs The ResultSet
+	 *
+	 * @return The index
+	 *
+	 * @throws SQLException Indicates a problems accessing the underlying JDBC ResultSet
+	 */
+	public int getIndex(String columnName, ResultSet rs) throws SQLException {
+		final int cached = table.get( columnName );
+		if ( cached > 0 ) {
 			return cached;
 		}
 		else {
-			final Integer index = Integer.valueOf( rs.findColumn( columnName ) );
-			columnNameToIndexCache.put( columnName, index);
+			final int index = rs.findColumn( columnName );
+			synchronized ( this ) {
+				table = table.with( columnName, index );
+			}
 			return index;
 		}
 	}
+
+	private static final class Table {
+		private final String[] names;
+		private final int[] indexes;
+		private int size;
+
+		private Table(int columnCount) {
+			int capacity = 8;
+			while ( capacity < columnCount * 2 ) {
+				capacity <<= 1;
+			}
+			this.names = new String[capacity];
+			this.indexes = new int[capacity];
+		}
+
+		private Table(String[] names, int[] indexes, int size) {
+			this.names = names;
+			this.indexes = indexes;
+			this.size = size;
+		}
+
+		/**
+		 * @return The index of the column, or 0 if it was not resolved yet
+		 */
+		private int get(String columnName) {
+			final int mask = names.length - 1;
+			for ( int slot = columnName.hashCode() & mask; ; slot = ( slot + 1 ) & mask ) {
+				final String name = names[slot];
+				if ( name == null ) {
+					return 0;
+				}
+				if ( name == columnName || name.equals( columnName ) ) {
+					return indexes[slot];
+				}
+			}
+		}
+
+		private Table with(String columnName, int index) {
+			if ( get( columnName ) > 0 ) {
+				return this;
+			}
+			final Table copy;
+			if ( ( size + 1 ) * 2 > names.length ) {
+				// grow, keeping at least half of the slots free
+				copy = new Table( names.length );
+				for ( int i = 0; i < names.length; i++ ) {
+					if ( names[i] != null ) {
+						copy.put( names[i], indexes[i] );
+					}
+				}
+			}
+			else {
+				copy = new Table( names.clone(), indexes.clone(), size );
+			}
+			copy.put( columnName, index );
+			return copy;
+		}
+
+		private void put(String columnName, int index) {
+			final int mask = names.length - 1;
+			int slot = columnName.hashCode() & mask;
+			while ( names[slot] != null ) {
+				slot = ( slot + 1 ) & mask;
+			}
+			names[slot] = columnName;
+			indexes[slot] = index;
+			size++;
+		}
+	}
 }
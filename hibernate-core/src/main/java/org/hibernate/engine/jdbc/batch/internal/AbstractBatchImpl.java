@@ -132,7 +132,7 @@ public abstract class AbstractBatchImpl implements Batch {
 		return statement;
 	}
 
-	private PreparedStatement buildBatchStatement(String sql, boolean callable) {
+	protected PreparedStatement buildBatchStatement(String sql, boolean callable) {
 		return jdbcCoordinator.getStatementPreparer().prepareStatement( sql, callable );
 	}
 
@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.cfg.Environment;
+import org.hibernate.engine.jdbc.batch.spi.Batch;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.DependentBatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+
+/**
+ * A builder for {@link Batch} instances adapting the JDBC batch size of each {@link BatchKey} to the observed
+ * execution throughput, within configured bounds.
+ * <p/>
+ * The configured {@code hibernate.jdbc.batch_size} is used as the initial size of every key.  A batch size
+ * explicitly set on the session takes precedence and is not adapted.
+ *
+ * @see AdaptiveBatchSize
+ */
+public class AdaptiveBatchBuilderImpl extends BatchBuilderImpl {
+	private final ConcurrentHashMap<BatchKey, AdaptiveBatchSize> batchSizes = new ConcurrentHashMap<>();
+
+	private int minBatchSize = 2;
+	private int maxBatchSize;
+
+	/**
+	 * Constructs a AdaptiveBatchBuilderImpl
+	 *
+	 * @param jdbcBatchSize The initial batch size to use.
+	 */
+	public AdaptiveBatchBuilderImpl(int jdbcBatchSize) {
+		super( jdbcBatchSize );
+	}
+
+	@Override
+	public void configure(Map configurationValues) {
+		super.configure( configurationValues );
+		minBatchSize = ConfigurationHelper.getInt( Environment.ADAPTIVE_BATCH_SIZE_MIN, configurationValues, minBatchSize );
+		maxBatchSize = ConfigurationHelper.getInt(
+				Environment.ADAPTIVE_BATCH_SIZE_MAX,
+				configurationValues,
+				Math.max( minBatchSize, getJdbcBatchSize() * 4 )
+		);
+	}
+
+	@Override
+	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
+		if ( jdbcCoordinator.getJdbcSessionOwner().getJdbcBatchSize() != null
+				|| getJdbcBatchSize() <= 1
+				|| !key.getExpectation().canBeBatched() ) {
+			return super.buildBatch( key, jdbcCoordinator );
+		}
+		if ( isInterleavedInserts() && key instanceof DependentBatchKey ) {
+			return new AdaptiveGroupedBatchingBatch( (DependentBatchKey) key, jdbcCoordinator, this::getBatchSize );
+		}
+		return new AdaptiveBatchingBatch( key, jdbcCoordinator, getBatchSize( key ) );
+	}
+
+	private AdaptiveBatchSize getBatchSize(BatchKey key) {
+		return batchSizes.computeIfAbsent(
+				key,
+				k -> new AdaptiveBatchSize( k.toString(), getJdbcBatchSize(), minBatchSize, maxBatchSize )
+		);
+	}
+
+	@Override
+	public Map<String, Integer> getAdaptiveJdbcBatchSizes() {
+		final Map<String, Integer> sizes = new TreeMap<>();
+		for ( Map.Entry<BatchKey, AdaptiveBatchSize> entry : batchSizes.entrySet() ) {
+			sizes.put( entry.getKey().toString(), entry.getValue().getSize() );
+		}
+		return sizes;
+	}
+
+	@Override
+	public Map<String, Long> getAdaptiveJdbcBatchExecutionNanos() {
+		final Map<String, Long> executionNanos = new TreeMap<>();
+		for ( Map.Entry<BatchKey, AdaptiveBatchSize> entry : batchSizes.entrySet() ) {
+			executionNanos.put( entry.getKey().toString(), entry.getValue().getLastExecutionNanos() );
+		}
+		return executionNanos;
+	}
+}
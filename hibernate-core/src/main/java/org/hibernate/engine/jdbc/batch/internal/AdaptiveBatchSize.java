@@ -0,0 +1,106 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+
+/**
+ * Tracks the JDBC batch size to use for one batch key, adjusting it by hill climbing on the observed
+ * throughput (rows per second) of full batch executions.
+ * <p/>
+ * After every {@link #SAMPLES_PER_ADJUSTMENT} full executions at the current size, the throughput is compared
+ * to that of the previous size: the size keeps moving in the same direction (growing or shrinking by a quarter)
+ * as long as throughput does not drop, and turns back otherwise, always staying within the configured bounds.
+ * Partial executions (at flush time) are ignored, their duration being dominated by fixed costs.
+ */
+public class AdaptiveBatchSize {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( AdaptiveBatchSize.class );
+
+	/**
+	 * The number of full batch executions measured before the size is adjusted
+	 */
+	public static final int SAMPLES_PER_ADJUSTMENT = 3;
+
+	/**
+	 * Relative throughput drop tolerated before turning back, to avoid reacting to noise
+	 */
+	private static final double TOLERANCE = 0.05;
+
+	private final String name;
+	private final int minSize;
+	private final int maxSize;
+
+	private int size;
+	private boolean growing = true;
+
+	private int samples;
+	private long sampledRows;
+	private long sampledNanos;
+	private double previousThroughput = -1;
+	private long lastExecutionNanos;
+
+	public AdaptiveBatchSize(String name, int initialSize, int minSize, int maxSize) {
+		this.name = name;
+		this.minSize = minSize;
+		this.maxSize = maxSize;
+		this.size = Math.min( maxSize, Math.max( minSize, initialSize ) );
+	}
+
+	public synchronized int getSize() {
+		return size;
+	}
+
+	/**
+	 * The average duration of the batch executions of the last adjustment window, in nanoseconds.
+	 */
+	public synchronized long getLastExecutionNanos() {
+		return lastExecutionNanos;
+	}
+
+	/**
+	 * Records a batch execution.
+	 *
+	 * @param rowCount The number of rows which were batched.
+	 * @param executionNanos The time spent executing the batch, in nanoseconds.
+	 */
+	public synchronized void executed(int rowCount, long executionNanos) {
+		if ( rowCount < size ) {
+			return;
+		}
+		samples++;
+		sampledRows += rowCount;
+		sampledNanos += executionNanos;
+		if ( samples < SAMPLES_PER_ADJUSTMENT ) {
+			return;
+		}
+
+		final double throughput = sampledRows * 1_000_000_000d / Math.max( 1L, sampledNanos );
+		lastExecutionNanos = sampledNanos / samples;
+		if ( previousThroughput >= 0 && throughput < previousThroughput * ( 1 - TOLERANCE ) ) {
+			growing = !growing;
+		}
+		previousThroughput = throughput;
+		samples = 0;
+		sampledRows = 0;
+		sampledNanos = 0;
+
+		final int step = Math.max( 1, size / 4 );
+		// at a bound the size stays put until the throughput drops and turns the direction back
+		final int newSize = Math.min( maxSize, Math.max( minSize, growing ? size + step : size - step ) );
+		if ( newSize != size ) {
+			LOG.debugf(
+					"Adjusting JDBC batch size of [%s] from %s to %s (%.0f rows/s)",
+					name,
+					size,
+					newSize,
+					throughput
+			);
+			size = newSize;
+		}
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+/**
+ * A {@link BatchingBatch} reporting its executions to the {@link AdaptiveBatchSize} of its key, and picking up
+ * the size it chooses.
+ */
+public class AdaptiveBatchingBatch extends BatchingBatch {
+	private final AdaptiveBatchSize adaptiveBatchSize;
+
+	/**
+	 * Constructs a AdaptiveBatchingBatch
+	 *
+	 * @param key The batch key
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param adaptiveBatchSize The adaptive batch size of the key
+	 */
+	public AdaptiveBatchingBatch(
+			BatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			AdaptiveBatchSize adaptiveBatchSize) {
+		super( key, jdbcCoordinator, adaptiveBatchSize.getSize() );
+		this.adaptiveBatchSize = adaptiveBatchSize;
+	}
+
+	@Override
+	protected void afterExecution(int rowCount, long executionNanos) {
+		adaptiveBatchSize.executed( rowCount, executionNanos );
+		setBatchSize( adaptiveBatchSize.getSize() );
+	}
+}
@@ -0,0 +1,46 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.function.Function;
+
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.DependentBatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+
+/**
+ * A {@link GroupedBatchingBatch} reporting the executions of each group to the {@link AdaptiveBatchSize} of its
+ * key, and picking up the size it chooses for the group.
+ */
+public class AdaptiveGroupedBatchingBatch extends GroupedBatchingBatch {
+	private final Function<BatchKey, AdaptiveBatchSize> adaptiveBatchSizes;
+
+	/**
+	 * Constructs a AdaptiveGroupedBatchingBatch
+	 *
+	 * @param key The batch key of the first group
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param adaptiveBatchSizes The adaptive batch size of each key
+	 */
+	public AdaptiveGroupedBatchingBatch(
+			DependentBatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			Function<BatchKey, AdaptiveBatchSize> adaptiveBatchSizes) {
+		super( key, jdbcCoordinator, adaptiveBatchSizes.apply( key ).getSize() );
+		this.adaptiveBatchSizes = adaptiveBatchSizes;
+	}
+
+	@Override
+	protected int getBatchSize(BatchKey key) {
+		return adaptiveBatchSizes.apply( key ).getSize();
+	}
+
+	@Override
+	protected void afterExecution(BatchKey key, int rowCount, long executionNanos) {
+		adaptiveBatchSizes.apply( key ).executed( rowCount, executionNanos );
+	}
+}
@@ -6,12 +6,14 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import java.util.Collections;
 import java.util.Map;
 
 import org.hibernate.cfg.Environment;
 import org.hibernate.engine.jdbc.batch.spi.Batch;
 import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
 import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.DependentBatchKey;
 import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
@@ -28,6 +30,7 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable, Manageable,
 	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( BatchBuilderImpl.class );
 
 	private int jdbcBatchSize;
+	private boolean interleavedInserts;
 
 	/**
 	 * Constructs a BatchBuilderImpl
@@ -47,6 +50,11 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable, Manageable,
 	@Override
 	public void configure(Map configurationValues) {
 		jdbcBatchSize = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, jdbcBatchSize );
+		interleavedInserts = ConfigurationHelper.getBoolean(
+				Environment.BATCH_INTERLEAVED_INSERTS,
+				configurationValues,
+				interleavedInserts
+		);
 	}
 
 	@Override
@@ -59,6 +67,26 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable, Manageable,
 		this.jdbcBatchSize = jdbcBatchSize;
 	}
 
+	@Override
+	public boolean isInterleavedInserts() {
+		return interleavedInserts;
+	}
+
+	@Override
+	public void setInterleavedInserts(boolean interleavedInserts) {
+		this.interleavedInserts = interleavedInserts;
+	}
+
+	@Override
+	public Map<String, Integer> getAdaptiveJdbcBatchSizes() {
+		return Collections.emptyMap();
+	}
+
+	@Override
+	public Map<String, Long> getAdaptiveJdbcBatchExecutionNanos() {
+		return Collections.emptyMap();
+	}
+
 	@Override
 	public Batch buildBatch(BatchKey key, JdbcCoordinator jdbcCoordinator) {
 		final Integer sessionJdbcBatchSize = jdbcCoordinator.getJdbcSessionOwner()
@@ -66,8 +94,12 @@ public class BatchBuilderImpl implements BatchBuilder, Configurable, Manageable,
 		final int jdbcBatchSizeToUse = sessionJdbcBatchSize == null ?
 				this.jdbcBatchSize :
 				sessionJdbcBatchSize;
-		return jdbcBatchSizeToUse > 1
-				? new BatchingBatch( key, jdbcCoordinator, jdbcBatchSizeToUse )
-				: new NonBatchingBatch( key, jdbcCoordinator );
+		if ( jdbcBatchSizeToUse <= 1 ) {
+			return new NonBatchingBatch( key, jdbcCoordinator );
+		}
+		if ( interleavedInserts && key instanceof DependentBatchKey ) {
+			return new GroupedBatchingBatch( (DependentBatchKey) key, jdbcCoordinator, jdbcBatchSizeToUse );
+		}
+		return new BatchingBatch( key, jdbcCoordinator, jdbcBatchSizeToUse );
 	}
 }
@@ -41,9 +41,11 @@ public class BatchBuilderInitiator implements StandardServiceInitiator<BatchBuil
 	public BatchBuilder initiateService(Map configurationValues, ServiceRegistryImplementor registry) {
 		final Object builder = configurationValues.get( BUILDER );
 		if ( builder == null ) {
-			return new BatchBuilderImpl(
-					ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 )
-			);
+			final int jdbcBatchSize = ConfigurationHelper.getInt( Environment.STATEMENT_BATCH_SIZE, configurationValues, 1 );
+			if ( ConfigurationHelper.getBoolean( Environment.ADAPTIVE_BATCH_SIZE, configurationValues, false ) ) {
+				return new AdaptiveBatchBuilderImpl( jdbcBatchSize );
+			}
+			return new BatchBuilderImpl( jdbcBatchSize );
 		}
 
 		if ( BatchBuilder.class.isInstance( builder ) ) {
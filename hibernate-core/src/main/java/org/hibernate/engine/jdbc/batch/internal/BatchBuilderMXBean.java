@@ -6,6 +6,8 @@
  */
 package org.hibernate.engine.jdbc.batch.internal;
 
+import java.util.Map;
+
 /**
  * The BatchBuilderImpl JMX management interface
  *
@@ -14,4 +16,8 @@ package org.hibernate.engine.jdbc.batch.internal;
 public interface BatchBuilderMXBean {
 	int getJdbcBatchSize();
 	void setJdbcBatchSize(int size);
+	boolean isInterleavedInserts();
+	void setInterleavedInserts(boolean interleavedInserts);
+	Map<String, Integer> getAdaptiveJdbcBatchSizes();
+	Map<String, Long> getAdaptiveJdbcBatchExecutionNanos();
 }
@@ -29,10 +29,12 @@ public class BatchingBatch extends AbstractBatchImpl {
 			BatchingBatch.class.getName()
 	);
 
-	// IMPL NOTE : Until HHH-5797 is fixed, there will only be 1 statement in a batch
+	// IMPL NOTE : this batch only ever holds the statements of a single BatchKey (one per table for entities
+	//		spanning several tables); GroupedBatchingBatch is used instead to hold the inserts of several entities
+	//		when hibernate.jdbc.batch_interleaved_inserts is enabled
 
 	private int batchSize;
-	private final int configuredBatchSize;
+	private int configuredBatchSize;
 	private int batchPosition;
 	private boolean batchExecuted;
 	private int statementPosition;
@@ -59,6 +61,25 @@ public class BatchingBatch extends AbstractBatchImpl {
 	private String currentStatementSql;
 	private PreparedStatement currentStatement;
 
+	/**
+	 * Changes the batch size, taking effect from the next row added to the batch.
+	 *
+	 * @param batchSize The new batch size.
+	 */
+	protected void setBatchSize(int batchSize) {
+		this.configuredBatchSize = batchSize;
+		this.batchSize = batchSize * Math.max( 1, getStatements().size() );
+	}
+
+	/**
+	 * Callback for subclasses, called after each successful execution of the batch.
+	 *
+	 * @param rowCount The number of rows which were batched.
+	 * @param executionNanos The time spent executing the batch, in nanoseconds.
+	 */
+	protected void afterExecution(int rowCount, long executionNanos) {
+	}
+
 	@Override
 	public PreparedStatement getBatchStatement(String sql, boolean callable) {
 		currentStatementSql = sql;
@@ -84,7 +105,7 @@ public class BatchingBatch extends AbstractBatchImpl {
 		statementPosition++;
 		if ( statementPosition >= getKey().getBatchedStatementCount() ) {
 			batchPosition++;
-			if ( batchPosition == batchSize ) {
+			if ( batchPosition >= batchSize ) {
 				notifyObserversImplicitExecution();
 				performExecution();
 				batchPosition = 0;
@@ -108,6 +129,8 @@ public class BatchingBatch extends AbstractBatchImpl {
 
 	private void performExecution() {
 		LOG.debugf( "Executing batch size: %s", batchPosition );
+		final int rowCount = batchPosition / Math.max( 1, getStatements().size() );
+		final long start = System.nanoTime();
 		try {
 			for ( Map.Entry<String,PreparedStatement> entry : getStatements().entrySet() ) {
 				String sql = entry.getKey();
@@ -115,6 +138,7 @@ public class BatchingBatch extends AbstractBatchImpl {
 					final PreparedStatement statement = entry.getValue();
 					final int[] rowCounts;
 					try {
+						getJdbcCoordinator().beforeWriteExecution();
 						getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver().jdbcExecuteBatchStart();
 						rowCounts = statement.executeBatch();
 					}
@@ -138,6 +162,7 @@ public class BatchingBatch extends AbstractBatchImpl {
 		finally {
 			batchPosition = 0;
 		}
+		afterExecution( rowCount, System.nanoTime() - start );
 	}
 
 	private void checkRowCounts(int[] rowCounts, PreparedStatement ps) throws SQLException, HibernateException {
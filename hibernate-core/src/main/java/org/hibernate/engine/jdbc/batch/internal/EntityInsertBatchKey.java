@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.util.Set;
+
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.DependentBatchKey;
+import org.hibernate.jdbc.Expectation;
+
+/**
+ * BatchKey for the INSERT statements of an entity, aware of the entity hierarchies its rows may reference.
+ * <p/>
+ * Hierarchies are identified by their root entity name, so that a reference to any entity of a hierarchy is
+ * considered a dependency on the inserts of every entity of that hierarchy.
+ */
+public class EntityInsertBatchKey extends BasicBatchKey implements DependentBatchKey {
+	private final String rootEntityName;
+	private final Set<String> referencedRootEntityNames;
+	private final boolean dependsOnAll;
+
+	/**
+	 * Constructs a EntityInsertBatchKey
+	 *
+	 * @param comparison A string used to compare batch keys.
+	 * @param expectation The expectation for the batch
+	 * @param rootEntityName The root entity name of the inserted entity
+	 * @param referencedRootEntityNames The root entity names of the hierarchies the inserted rows may reference
+	 * @param dependsOnAll Whether the inserted rows may reference rows of any other entity (e.g. through an
+	 * {@code any} mapping), in which case {@code referencedRootEntityNames} is ignored.
+	 */
+	public EntityInsertBatchKey(
+			String comparison,
+			Expectation expectation,
+			String rootEntityName,
+			Set<String> referencedRootEntityNames,
+			boolean dependsOnAll) {
+		super( comparison, expectation );
+		this.rootEntityName = rootEntityName;
+		this.referencedRootEntityNames = referencedRootEntityNames;
+		this.dependsOnAll = dependsOnAll;
+	}
+
+	public String getRootEntityName() {
+		return rootEntityName;
+	}
+
+	@Override
+	public boolean dependsOn(BatchKey other) {
+		if ( dependsOnAll || !( other instanceof EntityInsertBatchKey ) ) {
+			return true;
+		}
+		return referencedRootEntityNames.contains( ( (EntityInsertBatchKey) other ).rootEntityName );
+	}
+}
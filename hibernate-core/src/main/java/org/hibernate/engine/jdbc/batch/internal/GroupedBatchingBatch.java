@@ -0,0 +1,326 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.internal;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.jdbc.batch.spi.BatchKey;
+import org.hibernate.engine.jdbc.batch.spi.DependentBatchKey;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * A {@link org.hibernate.engine.jdbc.batch.spi.Batch} implementation which holds the statements of several
+ * {@link DependentBatchKey dependent batch keys} at once, grouped by key.
+ * <p/>
+ * Groups are executed in the order they were first used.  Statements for a key whose group was opened
+ * earlier are accepted only as long as they cannot depend on the rows of any group opened after it (they
+ * would otherwise be executed too early); when they can, the batch has to be executed first.  For the usual
+ * case of parent and child inserts interleaved by cascading, this keeps the batches as large as
+ * {@code hibernate.order_inserts} would, without having to sort the action queue.
+ * <p/>
+ * Once any group reaches the batch size, the whole batch is executed.
+ */
+public class GroupedBatchingBatch extends AbstractBatchImpl {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			GroupedBatchingBatch.class.getName()
+	);
+
+	private final int batchSize;
+
+	private final LinkedHashMap<BatchKey, Group> groups = new LinkedHashMap<>();
+	private final Map<String, GroupedStatement> statementsBySql = new HashMap<>();
+	private Group currentGroup;
+	private int pendingRows;
+	private boolean batchExecuted;
+
+	private GroupedStatement currentStatement;
+
+	/**
+	 * Constructs a GroupedBatchingBatch
+	 *
+	 * @param key The batch key of the first group
+	 * @param jdbcCoordinator The JDBC jdbcCoordinator
+	 * @param batchSize The batch size, applied to each group.
+	 */
+	public GroupedBatchingBatch(
+			DependentBatchKey key,
+			JdbcCoordinator jdbcCoordinator,
+			int batchSize) {
+		super( key, jdbcCoordinator );
+		if ( ! key.getExpectation().canBeBatched() ) {
+			throw new HibernateException( "attempting to batch an operation which cannot be batched" );
+		}
+		this.batchSize = batchSize;
+		this.currentGroup = openGroup( key );
+	}
+
+	@Override
+	public boolean accept(BatchKey key) {
+		if ( currentGroup.key.equals( key ) ) {
+			return true;
+		}
+		if ( !( key instanceof DependentBatchKey ) || !key.getExpectation().canBeBatched() ) {
+			return false;
+		}
+
+		final Group group = groups.get( key );
+		if ( group == null ) {
+			// a new group is executed after all the existing ones, which is always safe
+			currentGroup = openGroup( key );
+			return true;
+		}
+
+		// adding to an existing group moves the new rows ahead of those of all the groups opened after it
+		boolean later = false;
+		for ( Group other : groups.values() ) {
+			if ( later && ( (DependentBatchKey) key ).dependsOn( other.key ) ) {
+				LOG.debugf( "Batch key [%s] depends on [%s], which is batched after it", key, other.key );
+				return false;
+			}
+			later = later || other == group;
+		}
+		currentGroup = group;
+		return true;
+	}
+
+	private Group openGroup(BatchKey key) {
+		final Group group = new Group( key );
+		groups.put( key, group );
+		return group;
+	}
+
+	@Override
+	public PreparedStatement getBatchStatement(String sql, boolean callable) {
+		final PreparedStatement statement = super.getBatchStatement( sql, callable );
+		currentStatement = statementsBySql.get( sql );
+		if ( currentStatement == null ) {
+			currentStatement = new GroupedStatement( sql, statement );
+			statementsBySql.put( sql, currentStatement );
+			currentGroup.add( currentStatement );
+		}
+		else if ( currentStatement.group != currentGroup ) {
+			// the same SQL is used by another key (e.g. entities of a hierarchy mapped to the same table and
+			// columns); there is a single PreparedStatement per SQL, so it has to move to the current group
+			if ( pendingRows > 0 ) {
+				// the statements of the current row which were already added are executed as well
+				final int statementPosition = currentGroup.statementPosition;
+				notifyObserversImplicitExecution();
+				performExecution();
+				batchExecuted = true;
+				currentGroup.statementPosition = statementPosition;
+			}
+			currentStatement.group.statements.remove( currentStatement );
+			currentGroup.add( currentStatement );
+		}
+		return statement;
+	}
+
+	@Override
+	protected PreparedStatement buildBatchStatement(String sql, boolean callable) {
+		if ( callable ) {
+			return super.buildBatchStatement( sql, true );
+		}
+		// unlike the callable variant, this does not execute the current batch (this one) before preparing
+		return getJdbcCoordinator().getStatementPreparer().prepareStatement( sql );
+	}
+
+	@Override
+	public void addToBatch() {
+		try {
+			currentStatement.statement.addBatch();
+		}
+		catch ( SQLException e ) {
+			abortBatch();
+			LOG.debugf( "SQLException escaped proxy", e );
+			throw sqlExceptionHelper().convert( e, "could not perform addBatch", currentStatement.sql );
+		}
+		currentStatement.rowCount++;
+		currentGroup.statementPosition++;
+		if ( currentGroup.statementPosition >= currentGroup.key.getBatchedStatementCount() ) {
+			currentGroup.statementPosition = 0;
+			currentGroup.batchPosition++;
+			pendingRows++;
+			if ( currentGroup.batchPosition == batchSizeOf( currentGroup ) ) {
+				notifyObserversImplicitExecution();
+				performExecution();
+				batchExecuted = true;
+			}
+		}
+	}
+
+	private int batchSizeOf(Group group) {
+		if ( group.batchSize < 0 ) {
+			group.batchSize = getBatchSize( group.key );
+		}
+		return group.batchSize;
+	}
+
+	/**
+	 * The number of rows of the given key to batch before executing the batch; read again after each execution.
+	 *
+	 * @param key The batch key of a group
+	 *
+	 * @return The batch size of the group
+	 */
+	protected int getBatchSize(BatchKey key) {
+		return batchSize;
+	}
+
+	/**
+	 * Callback for subclasses, called for each group after each successful execution of the batch.
+	 *
+	 * @param key The batch key of the group
+	 * @param rowCount The number of rows of the group which were batched.
+	 * @param executionNanos The time spent executing the statements of the group, in nanoseconds.
+	 */
+	protected void afterExecution(BatchKey key, int rowCount, long executionNanos) {
+	}
+
+	@Override
+	protected void doExecuteBatch() {
+		if ( pendingRows == 0 ) {
+			if ( !batchExecuted ) {
+				LOG.debug( "No batched statements to execute" );
+			}
+		}
+		else {
+			performExecution();
+		}
+	}
+
+	private void performExecution() {
+		LOG.debugf( "Executing batch of %s rows in %s groups", pendingRows, groups.size() );
+		try {
+			for ( Group group : groups.values() ) {
+				final long start = System.nanoTime();
+				for ( GroupedStatement groupedStatement : group.statements ) {
+					if ( groupedStatement.rowCount > 0 ) {
+						executeStatement( groupedStatement );
+					}
+				}
+				group.executionNanos = System.nanoTime() - start;
+				group.executedRows = group.batchPosition;
+			}
+		}
+		finally {
+			for ( Group group : groups.values() ) {
+				group.reset();
+			}
+			pendingRows = 0;
+		}
+		for ( Group group : groups.values() ) {
+			if ( group.executedRows > 0 ) {
+				afterExecution( group.key, group.executedRows, group.executionNanos );
+			}
+		}
+	}
+
+	private void executeStatement(GroupedStatement groupedStatement) {
+		final PreparedStatement statement = groupedStatement.statement;
+		try {
+			final int[] rowCounts;
+			try {
+				getJdbcCoordinator().beforeWriteExecution();
+				getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver().jdbcExecuteBatchStart();
+				rowCounts = statement.executeBatch();
+			}
+			finally {
+				getJdbcCoordinator().getJdbcSessionOwner().getJdbcSessionContext().getObserver().jdbcExecuteBatchEnd();
+			}
+			if ( rowCounts.length != groupedStatement.rowCount ) {
+				LOG.unexpectedRowCounts();
+			}
+			for ( int i = 0; i < rowCounts.length; i++ ) {
+				groupedStatement.group.key.getExpectation().verifyOutcome( rowCounts[i], statement, i );
+			}
+		}
+		catch ( SQLException e ) {
+			abortBatch();
+			LOG.unableToExecuteBatch( e, groupedStatement.sql );
+			throw sqlExceptionHelper().convert( e, "could not execute batch", groupedStatement.sql );
+		}
+		catch ( RuntimeException re ) {
+			abortBatch();
+			LOG.unableToExecuteBatch( re, groupedStatement.sql );
+			throw re;
+		}
+	}
+
+	@Override
+	protected void releaseStatements() {
+		super.releaseStatements();
+		groups.clear();
+		statementsBySql.clear();
+		currentStatement = null;
+		pendingRows = 0;
+		// the batch is reused after being executed, so stay ready for statements of the current key
+		currentGroup = openGroup( currentGroup.key );
+	}
+
+	private static class Group {
+		private final BatchKey key;
+		private final List<GroupedStatement> statements = new ArrayList<>();
+		private int statementPosition;
+		private int batchPosition;
+		// the batch size of the group, or -1 if it has to be read again
+		private int batchSize = -1;
+		// the rows of the group executed by the last execution of the batch, and the time it took
+		private int executedRows;
+		private long executionNanos;
+
+		private Group(BatchKey key) {
+			this.key = key;
+		}
+
+		/**
+		 * Adds the statement at its position in the statement sequence of the key, so that a statement moved
+		 * back from another group is still executed before the statements of the following tables
+		 */
+		private void add(GroupedStatement statement) {
+			statement.group = this;
+			statement.index = statementPosition;
+			int position = statements.size();
+			while ( position > 0 && statements.get( position - 1 ).index > statement.index ) {
+				position--;
+			}
+			statements.add( position, statement );
+		}
+
+		private void reset() {
+			statementPosition = 0;
+			batchPosition = 0;
+			batchSize = -1;
+			for ( GroupedStatement statement : statements ) {
+				statement.rowCount = 0;
+			}
+		}
+	}
+
+	private static class GroupedStatement {
+		private final String sql;
+		private final PreparedStatement statement;
+		private Group group;
+		private int index;
+		private int rowCount;
+
+		private GroupedStatement(String sql, PreparedStatement statement) {
+			this.sql = sql;
+			this.statement = statement;
+		}
+	}
+}
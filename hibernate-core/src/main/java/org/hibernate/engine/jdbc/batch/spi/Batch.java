@@ -24,6 +24,21 @@ public interface Batch {
 	 */
 	BatchKey getKey();
 
+	/**
+	 * Prepare this batch to receive the statements for the given key, if it is able to.
+	 * <p/>
+	 * By default a batch only handles the statements for its own {@link #getKey() key}.  Implementations able to
+	 * hold the statements of several keys at once can instead switch to the given key, so that subsequent calls to
+	 * {@link #getBatchStatement} and {@link #addToBatch} apply to it, rather than forcing the batch to be executed.
+	 *
+	 * @param key The batch key.
+	 *
+	 * @return {@code true} if the statements for the key can be added to this batch.
+	 */
+	default boolean accept(BatchKey key) {
+		return getKey().equals( key );
+	}
+
 	/**
 	 * Adds an observer to this batch.
 	 *
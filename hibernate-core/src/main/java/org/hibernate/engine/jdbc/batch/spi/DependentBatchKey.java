@@ -0,0 +1,27 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.batch.spi;
+
+/**
+ * A {@link BatchKey} which knows whether the rows written by its statements may depend on (that is, reference
+ * through a foreign key) the rows written by the statements of another batch key.
+ * <p/>
+ * This allows a {@link Batch} to hold the statements of several keys at once and still execute them in an
+ * order which respects the foreign keys between them.
+ */
+public interface DependentBatchKey extends BatchKey {
+	/**
+	 * Might the rows written for this key reference rows written for the given key?
+	 * <p/>
+	 * Implementations should answer {@code true} whenever they cannot tell.
+	 *
+	 * @param other The other batch key
+	 *
+	 * @return {@code false} if statements for this key can safely be executed before those of the other key.
+	 */
+	boolean dependsOn(BatchKey other);
+}
@@ -0,0 +1,60 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc.internal;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.engine.jdbc.ColumnNameCache;
+
+/**
+ * The {@link ColumnNameCache column-name -> column-index caches} of a loader, one for each SQL string it executes,
+ * as the filters, the limit and the locks applied to a query may move its columns around.
+ * <p/>
+ * At most {@value #MAX_SQL_STRINGS} SQL strings are cached, so that a loader inlining the values of its limits, say,
+ * does not grow without bounds: the result sets of any other SQL string get a cache of their own.  The result sets
+ * whose SQL string is not known share a single cache.
+ */
+public final class ColumnNameCaches {
+	private static final int MAX_SQL_STRINGS = 32;
+
+	private final ConcurrentHashMap<String, ColumnNameCache> caches = new ConcurrentHashMap<>();
+	private volatile ColumnNameCache unknownSqlCache;
+
+	/**
+	 * Get the cache of the given SQL string, building it if needed.
+	 *
+	 * @param sql The SQL string executed, or {@code null} if it is not known
+	 * @param rs The ResultSet of the SQL string
+	 *
+	 * @return The cache of the SQL string
+	 *
+	 * @throws SQLException Indicates a problems accessing the underlying JDBC ResultSet
+	 */
+	public ColumnNameCache get(String sql, ResultSet rs) throws SQLException {
+		if ( sql == null ) {
+			final ColumnNameCache cache = unknownSqlCache;
+			if ( cache != null ) {
+				return cache;
+			}
+			unknownSqlCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+			return unknownSqlCache;
+		}
+		final ColumnNameCache cache = caches.get( sql );
+		if ( cache != null ) {
+			return cache;
+		}
+		//there is no need for an atomic put, as in worst case
+		//we'll have allocated an unnecessary ColumnNameCache
+		final ColumnNameCache newCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
+		if ( caches.size() < MAX_SQL_STRINGS ) {
+			caches.put( sql, newCache );
+		}
+		return newCache;
+	}
+}
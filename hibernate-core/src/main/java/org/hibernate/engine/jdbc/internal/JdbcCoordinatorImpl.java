@@ -65,6 +65,8 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 
 	private transient long transactionTimeOutInstant = -1;
 
+	private transient boolean executedWritesInTransaction;
+
 	/**
 	 * This is a marker value to insert instead of null values for when a Statement gets registered in xref
 	 * but has no associated ResultSets registered. This is useful to efficiently check against duplicate
@@ -194,7 +196,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 	@Override
 	public Batch getBatch(BatchKey key) {
 		if ( currentBatch != null ) {
-			if ( currentBatch.getKey().equals( key ) ) {
+			if ( currentBatch.accept( key ) ) {
 				return currentBatch;
 			}
 			else {
@@ -280,9 +282,20 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 		}
 	}
 
+	@Override
+	public void beforeWriteExecution() {
+		executedWritesInTransaction = true;
+	}
+
+	@Override
+	public boolean hasExecutedWritesInTransaction() {
+		return executedWritesInTransaction;
+	}
+
 	@Override
 	public void afterTransaction() {
 		transactionTimeOutInstant = -1;
+		executedWritesInTransaction = false;
 		if ( getConnectionReleaseMode() == ConnectionReleaseMode.AFTER_STATEMENT ||
 				getConnectionReleaseMode() == ConnectionReleaseMode.AFTER_TRANSACTION ) {
 			this.logicalConnection.afterTransaction();
@@ -465,6 +478,7 @@ public class JdbcCoordinatorImpl implements JdbcCoordinator {
 
 	@Override
 	public void afterTransactionBegin() {
+		executedWritesInTransaction = false;
 		owner.afterTransactionBegin();
 	}
 
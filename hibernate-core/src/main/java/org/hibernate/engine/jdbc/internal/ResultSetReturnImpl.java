@@ -124,6 +124,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		try {
 			final ResultSet rs;
 			try {
+				jdbcCoordinator.beforeWriteExecution();
 				jdbcExecuteStatementStart();
 				if ( !statement.execute() ) {
 					while ( !statement.getMoreResults() && statement.getUpdateCount() != -1 ) {
@@ -149,6 +150,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 		try {
 			final ResultSet rs;
 			try {
+				jdbcCoordinator.beforeWriteExecution();
 				jdbcExecuteStatementStart();
 				if ( !statement.execute( sql ) ) {
 					while ( !statement.getMoreResults() && statement.getUpdateCount() != -1 ) {
@@ -171,6 +173,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	@Override
 	public int executeUpdate(PreparedStatement statement) {
 		try {
+			jdbcCoordinator.beforeWriteExecution();
 			jdbcExecuteStatementStart();
 			return statement.executeUpdate();
 		}
@@ -186,6 +189,7 @@ public class ResultSetReturnImpl implements ResultSetReturn {
 	public int executeUpdate(Statement statement, String sql) {
 		sqlStatementLogger.logStatement( sql );
 		try {
+			jdbcCoordinator.beforeWriteExecution();
 			jdbcExecuteStatementStart();
 			return statement.executeUpdate( sql );
 		}
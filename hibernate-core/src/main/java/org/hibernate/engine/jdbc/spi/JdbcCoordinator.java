@@ -193,6 +193,23 @@ public interface JdbcCoordinator extends Serializable, TransactionCoordinatorOwn
 		return getLogicalConnection().getResourceRegistry();
 	}
 
+	/**
+	 * Callback to let us know that a statement which may write to the database, such as an insert, an update, a
+	 * delete or a call, is being executed.
+	 */
+	default void beforeWriteExecution() {
+	}
+
+	/**
+	 * Has a statement which may write to the database been executed through this coordinator since the current
+	 * transaction began?
+	 *
+	 * @return {@code true} if such a statement was executed, or if it is not known
+	 */
+	default boolean hasExecutedWritesInTransaction() {
+		return true;
+	}
+
 	void serialize(ObjectOutputStream objectOutputStream) throws IOException;
 
 }
@@ -0,0 +1,92 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.internal;
+
+/**
+ * A count-min sketch estimating how often keys were accessed recently, with 4-bit counters (so frequencies are
+ * capped at 15).  Once the number of increments reaches ten times the maximum size of the cache, all counters
+ * are halved, so that the estimates follow the recent popularity of the keys rather than their whole history.
+ * <p/>
+ * Not thread-safe.
+ */
+final class FrequencySketch {
+	private static final long[] SEEDS = {
+			0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+	};
+	private static final long RESET_MASK = 0x7777777777777777L;
+
+	private final long[] table;
+	private final int tableMask;
+	private final int sampleSize;
+	private int size;
+
+	FrequencySketch(int maximumSize) {
+		final int length = Integer.highestOneBit( Math.max( 16, maximumSize ) - 1 ) << 1;
+		this.table = new long[length];
+		this.tableMask = length - 1;
+		this.sampleSize = 10 * Math.max( 16, maximumSize );
+	}
+
+	/**
+	 * The estimated number of recent accesses to the given key, from 0 to 15.
+	 */
+	int frequency(Object key) {
+		final int hash = spread( key.hashCode() );
+		// each key uses one counter of each of 4 longs; which counter depends on the hash
+		final int start = ( hash & 3 ) << 2;
+		int frequency = Integer.MAX_VALUE;
+		for ( int i = 0; i < 4; i++ ) {
+			final int index = indexOf( hash, i );
+			final int count = (int) ( ( table[index] >>> ( ( start + i ) << 2 ) ) & 0xfL );
+			frequency = Math.min( frequency, count );
+		}
+		return frequency;
+	}
+
+	/**
+	 * Records an access to the given key.
+	 */
+	void increment(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int start = ( hash & 3 ) << 2;
+		boolean added = false;
+		for ( int i = 0; i < 4; i++ ) {
+			added |= incrementAt( indexOf( hash, i ), start + i );
+		}
+		if ( added && ++size == sampleSize ) {
+			reset();
+		}
+	}
+
+	private boolean incrementAt(int index, int counter) {
+		final int offset = counter << 2;
+		final long mask = 0xfL << offset;
+		if ( ( table[index] & mask ) != mask ) {
+			table[index] += 1L << offset;
+			return true;
+		}
+		return false;
+	}
+
+	private void reset() {
+		for ( int i = 0; i < table.length; i++ ) {
+			table[i] = ( table[i] >>> 1 ) & RESET_MASK;
+		}
+		size = size >>> 1;
+	}
+
+	private int indexOf(int hash, int i) {
+		long h = ( hash + SEEDS[i] ) * SEEDS[i];
+		h += h >>> 32;
+		return ( (int) h ) & tableMask;
+	}
+
+	private static int spread(int hashCode) {
+		final int h = hashCode * 0x9E3779B9;
+		return h ^ ( h >>> 16 );
+	}
+}
@@ -0,0 +1,79 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.internal;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.hibernate.engine.query.spi.QueryPlanCacheStorage;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
+import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
+
+/**
+ * Stores query plans in a {@link BoundedConcurrentHashMap} using {@link BoundedConcurrentHashMap.Eviction#LIRS},
+ * as the {@link org.hibernate.engine.query.spi.QueryPlanCache} always did before its storage became pluggable.
+ */
+public class LirsQueryPlanCacheStorageFactory implements QueryPlanCacheStorageFactory {
+	public static final String SHORT_NAME = "lirs";
+
+	public static final LirsQueryPlanCacheStorageFactory INSTANCE = new LirsQueryPlanCacheStorageFactory();
+
+	private static final int CONCURRENCY_LEVEL = 20;
+
+	@Override
+	public <K,V> QueryPlanCacheStorage<K,V> buildStorage(int maxSize, Consumer<K> evictionListener) {
+		return new LirsStorage<>( maxSize, evictionListener );
+	}
+
+	private static class LirsStorage<K,V> implements QueryPlanCacheStorage<K,V> {
+		private final BoundedConcurrentHashMap<K,V> map;
+
+		private LirsStorage(int maxSize, Consumer<K> evictionListener) {
+			this.map = new BoundedConcurrentHashMap<>(
+					maxSize,
+					CONCURRENCY_LEVEL,
+					BoundedConcurrentHashMap.Eviction.LIRS,
+					new BoundedConcurrentHashMap.EvictionListener<K,V>() {
+						@Override
+						public void onEntryEviction(Map<K,V> evicted) {
+							evicted.keySet().forEach( evictionListener );
+						}
+
+						@Override
+						public void onEntryChosenForEviction(V internalCacheEntry) {
+						}
+					}
+			);
+		}
+
+		@Override
+		public V get(K key) {
+			return map.get( key );
+		}
+
+		@Override
+		public V putIfAbsent(K key, V value) {
+			return map.putIfAbsent( key, value );
+		}
+
+		@Override
+		public void forEach(BiConsumer<? super K, ? super V> action) {
+			map.forEach( action );
+		}
+
+		@Override
+		public int size() {
+			return map.size();
+		}
+
+		@Override
+		public void clear() {
+			map.clear();
+		}
+	}
+}
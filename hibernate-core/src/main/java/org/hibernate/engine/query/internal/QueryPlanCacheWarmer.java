@@ -0,0 +1,291 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.engine.query.spi.QueryPlanCache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+
+/**
+ * Records the HQL queries of the {@link QueryPlanCache} to a file when the SessionFactory is closed, and compiles
+ * them again when the next SessionFactory is built.
+ * <p/>
+ * The plans themselves are not serializable, as they reference the persisters and the query ASTs, so only the
+ * query strings are recorded, along with a fingerprint of the mappings; a file recorded with other mappings is
+ * ignored.  Plans compiled with filters enabled are not recorded.  The recorded queries which were not compiled yet
+ * when the SessionFactory is closed are recorded again.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_WARMUP_FILE
+ */
+public final class QueryPlanCacheWarmer {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( QueryPlanCacheWarmer.class );
+
+	private static final int MAGIC = 0x48514C50;
+	private static final int VERSION = 1;
+
+	private final SessionFactoryImplementor factory;
+	private final QueryPlanCache queryPlanCache;
+	private final Path file;
+	private final int threads;
+	private final String fingerprint;
+	private final Set<RecordedQuery> pendingQueries = ConcurrentHashMap.newKeySet();
+
+	private ExecutorService executor;
+
+	/**
+	 * @param factory The SessionFactory
+	 * @param queryPlanCache Its query plan cache
+	 * @param file The file recording the queries
+	 * @param threads The number of threads compiling the queries; {@code 0} to compile them synchronously
+	 */
+	public QueryPlanCacheWarmer(
+			SessionFactoryImplementor factory,
+			QueryPlanCache queryPlanCache,
+			String file,
+			int threads) {
+		this.factory = factory;
+		this.queryPlanCache = queryPlanCache;
+		this.file = Paths.get( file );
+		this.threads = threads;
+		this.fingerprint = fingerprint( factory );
+	}
+
+	/**
+	 * Compile the queries recorded by the file, if any.
+	 */
+	public void start() {
+		final List<RecordedQuery> queries = read();
+		if ( queries.isEmpty() ) {
+			return;
+		}
+
+		LOG.debugf( "Warming up the query plan cache with %s queries from %s", queries.size(), file );
+		pendingQueries.addAll( queries );
+		if ( threads <= 0 ) {
+			queries.forEach( this::compile );
+			return;
+		}
+
+		final AtomicInteger threadCount = new AtomicInteger();
+		executor = Executors.newFixedThreadPool(
+				threads,
+				runnable -> {
+					final Thread thread = new Thread(
+							runnable,
+							"hibernate-query-plan-warmup-" + threadCount.incrementAndGet()
+					);
+					thread.setDaemon( true );
+					return thread;
+				}
+		);
+		for ( RecordedQuery query : queries ) {
+			executor.execute( () -> compile( query ) );
+		}
+		executor.shutdown();
+	}
+
+	/**
+	 * Stop compiling the recorded queries.
+	 */
+	public void stop() {
+		if ( executor != null ) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	/**
+	 * Record the queries currently cached, and the recorded ones which were not compiled yet, to the file,
+	 * replacing its content.
+	 */
+	public void save() {
+		final Set<RecordedQuery> queries = new LinkedHashSet<>();
+		queryPlanCache.visitCachedHQLQueries( (query, shallow) -> queries.add( new RecordedQuery( query, shallow ) ) );
+		// the warmup was stopped before their turn, so they are as relevant as when they were recorded
+		queries.addAll( pendingQueries );
+
+		try {
+			final Path directory = file.toAbsolutePath().getParent();
+			if ( directory != null ) {
+				Files.createDirectories( directory );
+			}
+			final Path temporary = Files.createTempFile( directory, file.getFileName().toString(), ".tmp" );
+			try {
+				try ( DataOutputStream output = new DataOutputStream(
+						new BufferedOutputStream( Files.newOutputStream( temporary ) ) ) ) {
+					output.writeInt( MAGIC );
+					output.writeInt( VERSION );
+					output.writeUTF( fingerprint );
+					output.writeInt( queries.size() );
+					for ( RecordedQuery query : queries ) {
+						final byte[] bytes = query.query.getBytes( StandardCharsets.UTF_8 );
+						output.writeBoolean( query.shallow );
+						output.writeInt( bytes.length );
+						output.write( bytes );
+					}
+				}
+				Files.move( temporary, file, StandardCopyOption.REPLACE_EXISTING );
+			}
+			finally {
+				Files.deleteIfExists( temporary );
+			}
+			LOG.debugf( "Recorded %s queries of the query plan cache to %s", queries.size(), file );
+		}
+		catch (IOException e) {
+			LOG.warnf( "Unable to record the queries of the query plan cache to %s: %s", file, e.getMessage() );
+		}
+	}
+
+	private List<RecordedQuery> read() {
+		if ( !Files.isRegularFile( file ) ) {
+			return Collections.emptyList();
+		}
+		try ( DataInputStream input = new DataInputStream(
+				new BufferedInputStream( Files.newInputStream( file ) ) ) ) {
+			if ( input.readInt() != MAGIC || input.readInt() != VERSION ) {
+				LOG.debugf( "Ignoring %s, which was not recorded by this version of Hibernate", file );
+				return Collections.emptyList();
+			}
+			if ( !fingerprint.equals( input.readUTF() ) ) {
+				LOG.debugf( "Ignoring %s, which was recorded with other mappings", file );
+				return Collections.emptyList();
+			}
+			// a record takes at least the shallow flag and the length of the query
+			final long size = Files.size( file );
+			final int count = input.readInt();
+			if ( count < 0 || count > size / 5 ) {
+				LOG.warnf( "Ignoring %s, which records an invalid number of queries: %s", file, count );
+				return Collections.emptyList();
+			}
+			final List<RecordedQuery> queries = new ArrayList<>( count );
+			for ( int i = 0; i < count; i++ ) {
+				final boolean shallow = input.readBoolean();
+				final int length = input.readInt();
+				if ( length < 0 || length > size ) {
+					LOG.warnf( "Ignoring %s, which records a query of invalid length: %s", file, length );
+					return Collections.emptyList();
+				}
+				final byte[] bytes = new byte[length];
+				input.readFully( bytes );
+				queries.add( new RecordedQuery( new String( bytes, StandardCharsets.UTF_8 ), shallow ) );
+			}
+			return queries;
+		}
+		catch (IOException | RuntimeException e) {
+			// like a file recorded with other mappings, a corrupt file must not prevent the SessionFactory from starting
+			LOG.warnf( "Unable to read the queries of the query plan cache from %s: %s", file, e.getMessage() );
+			return Collections.emptyList();
+		}
+	}
+
+	private void compile(RecordedQuery query) {
+		if ( factory.isClosed() ) {
+			return;
+		}
+		try {
+			queryPlanCache.getHQLQueryPlan( query.query, query.shallow, Collections.emptyMap() );
+		}
+		catch (RuntimeException e) {
+			LOG.debugf( "Unable to compile recorded query [%s]: %s", query.query, e.getMessage() );
+		}
+		pendingQueries.remove( query );
+	}
+
+	/**
+	 * Digests the dialect and the entity and collection mappings, as far as they affect the compiled queries
+	 */
+	private static String fingerprint(SessionFactoryImplementor factory) {
+		final StringBuilder mappings = new StringBuilder( factory.getJdbcServices().getDialect().getClass().getName() );
+
+		for ( EntityPersister persister : new TreeMap<>( factory.getMetamodel().entityPersisters() ).values() ) {
+			mappings.append( '\n' ).append( persister.getEntityName() );
+			for ( Serializable space : persister.getPropertySpaces() ) {
+				mappings.append( ' ' ).append( space );
+			}
+			final String[] names = persister.getPropertyNames();
+			final Type[] types = persister.getPropertyTypes();
+			for ( int i = 0; i < names.length; i++ ) {
+				mappings.append( ' ' ).append( names[i] ).append( ':' ).append( types[i].getName() );
+			}
+		}
+		for ( Map.Entry<String, CollectionPersister> entry :
+				new TreeMap<>( factory.getMetamodel().collectionPersisters() ).entrySet() ) {
+			mappings.append( '\n' ).append( entry.getKey() )
+					.append( ' ' ).append( entry.getValue().getElementType().getName() );
+		}
+
+		try {
+			final byte[] digest = MessageDigest.getInstance( "SHA-256" )
+					.digest( mappings.toString().getBytes( StandardCharsets.UTF_8 ) );
+			final StringBuilder hex = new StringBuilder( digest.length * 2 );
+			for ( byte b : digest ) {
+				hex.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+			}
+			return hex.toString();
+		}
+		catch (NoSuchAlgorithmException e) {
+			throw new HibernateException( "SHA-256 is not available", e );
+		}
+	}
+
+	private static final class RecordedQuery {
+		private final String query;
+		private final boolean shallow;
+
+		private RecordedQuery(String query, boolean shallow) {
+			this.query = query;
+			this.shallow = shallow;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( this == o ) {
+				return true;
+			}
+			if ( o == null || getClass() != o.getClass() ) {
+				return false;
+			}
+			final RecordedQuery that = (RecordedQuery) o;
+			return shallow == that.shallow && query.equals( that.query );
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * query.hashCode() + ( shallow ? 1 : 0 );
+		}
+	}
+}
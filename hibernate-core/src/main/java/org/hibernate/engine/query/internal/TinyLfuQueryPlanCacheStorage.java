@@ -0,0 +1,395 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import org.hibernate.engine.query.spi.QueryPlanCacheStorage;
+
+/**
+ * A {@link QueryPlanCacheStorage} evicting entries following the W-TinyLFU policy.
+ * <p/>
+ * New entries go to a small LRU "window".  Entries leaving the window are only admitted to the main space when a
+ * {@link FrequencySketch frequency sketch} estimates they were accessed more often than the entry they would
+ * replace, which protects the plans of the frequently executed queries from bursts of one-off queries.  The main
+ * space is a segmented LRU, whose protected segment holds the entries accessed again after their admission.
+ * <p/>
+ * Entries are held in a {@link ConcurrentHashMap}, so lookups take no lock.  Instead of reordering the LRU lists,
+ * they record the accessed entry in a lossy, striped buffer; the buffers are drained, and the lists reordered,
+ * by whichever thread then manages to take the eviction lock.  Adding an entry takes the lock.
+ */
+public final class TinyLfuQueryPlanCacheStorage<K,V> implements QueryPlanCacheStorage<K,V> {
+	private static final int NEW = 0;
+	private static final int WINDOW = 1;
+	private static final int PROBATION = 2;
+	private static final int PROTECTED = 3;
+	private static final int DEAD = 4;
+
+	private static final int READ_BUFFER_SIZE = 32;
+	private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+	private static final int READ_BUFFER_DRAIN_THRESHOLD = READ_BUFFER_SIZE / 2;
+	private static final int READ_BUFFER_STRIPES = Integer.highestOneBit(
+			Math.max( 1, Runtime.getRuntime().availableProcessors() ) * 2 - 1
+	);
+
+	private final int maxSize;
+	private final int maxWindowSize;
+	private final int maxProtectedSize;
+	private final Consumer<K> evictionListener;
+
+	private final ConcurrentHashMap<K,Node<K,V>> data;
+	private final ReadBuffer[] readBuffers;
+
+	private final ReentrantLock evictionLock = new ReentrantLock();
+
+	// guarded by the eviction lock
+	private final FrequencySketch sketch;
+	private final AccessOrderQueue<K,V> window = new AccessOrderQueue<>();
+	private final AccessOrderQueue<K,V> probation = new AccessOrderQueue<>();
+	private final AccessOrderQueue<K,V> protectedQueue = new AccessOrderQueue<>();
+
+	/**
+	 * @param maxSize The maximum number of entries
+	 * @param evictionListener Notified of the key of each evicted entry
+	 */
+	public TinyLfuQueryPlanCacheStorage(int maxSize, Consumer<K> evictionListener) {
+		if ( maxSize < 1 ) {
+			throw new IllegalArgumentException( "The maximum size of the query plan cache must be positive: " + maxSize );
+		}
+		this.maxSize = maxSize;
+		this.maxWindowSize = Math.max( 1, maxSize / 100 );
+		this.maxProtectedSize = (int) ( ( maxSize - maxWindowSize ) * 0.8 );
+		this.evictionListener = evictionListener;
+		this.data = new ConcurrentHashMap<>( Math.min( maxSize, 1024 ) );
+		this.readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+		for ( int i = 0; i < readBuffers.length; i++ ) {
+			readBuffers[i] = new ReadBuffer();
+		}
+		this.sketch = new FrequencySketch( maxSize );
+	}
+
+	@Override
+	public V get(K key) {
+		final Node<K,V> node = data.get( key );
+		if ( node == null ) {
+			return null;
+		}
+		afterRead( node );
+		return node.value;
+	}
+
+	@Override
+	public V putIfAbsent(K key, V value) {
+		Node<K,V> existing = data.get( key );
+		if ( existing == null ) {
+			final Node<K,V> node = new Node<>( key, value );
+			existing = data.putIfAbsent( key, node );
+			if ( existing == null ) {
+				afterWrite( node );
+				return null;
+			}
+		}
+		afterRead( existing );
+		return existing.value;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super K, ? super V> action) {
+		data.forEach( (key, node) -> action.accept( key, node.value ) );
+	}
+
+	@Override
+	public int size() {
+		return data.size();
+	}
+
+	@Override
+	public void clear() {
+		evictionLock.lock();
+		try {
+			drainReadBuffers();
+			for ( Node<K,V> node : data.values() ) {
+				unlink( node );
+			}
+			data.clear();
+		}
+		finally {
+			evictionLock.unlock();
+		}
+	}
+
+	private void afterRead(Node<K,V> node) {
+		final int stripe = (int) ( Thread.currentThread().getId() * 0x9E3779B9L ) & ( readBuffers.length - 1 );
+		if ( readBuffers[stripe].offer( node ) && evictionLock.tryLock() ) {
+			try {
+				drainReadBuffers();
+			}
+			finally {
+				evictionLock.unlock();
+			}
+		}
+	}
+
+	private void afterWrite(Node<K,V> node) {
+		List<K> evicted;
+		evictionLock.lock();
+		try {
+			drainReadBuffers();
+			if ( data.get( node.key ) != node ) {
+				// cleared meanwhile
+				return;
+			}
+			sketch.increment( node.key );
+			node.queue = WINDOW;
+			window.addLast( node );
+			evicted = evict();
+		}
+		finally {
+			evictionLock.unlock();
+		}
+		if ( evicted != null ) {
+			evicted.forEach( evictionListener );
+		}
+	}
+
+	private List<K> evict() {
+		List<K> evicted = null;
+		int size = window.size + probation.size + protectedQueue.size;
+
+		// entries leaving the window are admitted to the main space if they are more popular than its victim
+		while ( window.size > maxWindowSize ) {
+			final Node<K,V> candidate = window.pollFirst();
+			if ( size > maxSize ) {
+				final Node<K,V> victim = probation.size > 0 ? probation.peekFirst() : protectedQueue.peekFirst();
+				final Node<K,V> loser;
+				if ( victim == null || sketch.frequency( candidate.key ) > sketch.frequency( victim.key ) ) {
+					candidate.queue = PROBATION;
+					probation.addLast( candidate );
+					loser = victim;
+				}
+				else {
+					candidate.queue = DEAD;
+					loser = candidate;
+				}
+				if ( loser != null ) {
+					unlink( loser );
+					evicted = remove( loser, evicted );
+					size--;
+				}
+			}
+			else {
+				candidate.queue = PROBATION;
+				probation.addLast( candidate );
+			}
+		}
+
+		// only possible when most of the cache is the window, i.e. for tiny caches
+		while ( size > maxSize ) {
+			Node<K,V> victim = probation.peekFirst();
+			if ( victim == null ) {
+				victim = protectedQueue.peekFirst();
+			}
+			if ( victim == null ) {
+				victim = window.peekFirst();
+			}
+			unlink( victim );
+			evicted = remove( victim, evicted );
+			size--;
+		}
+		return evicted;
+	}
+
+	private List<K> remove(Node<K,V> node, List<K> evicted) {
+		List<K> result = evicted;
+		if ( data.remove( node.key, node ) ) {
+			if ( result == null ) {
+				result = new ArrayList<>();
+			}
+			result.add( node.key );
+		}
+		return result;
+	}
+
+	private void unlink(Node<K,V> node) {
+		switch ( node.queue ) {
+			case WINDOW:
+				window.remove( node );
+				break;
+			case PROBATION:
+				probation.remove( node );
+				break;
+			case PROTECTED:
+				protectedQueue.remove( node );
+				break;
+			default:
+				break;
+		}
+		node.queue = DEAD;
+	}
+
+	private void drainReadBuffers() {
+		for ( ReadBuffer readBuffer : readBuffers ) {
+			readBuffer.drain( this::onAccess );
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void onAccess(Node node) {
+		switch ( node.queue ) {
+			case WINDOW:
+				sketch.increment( node.key );
+				window.moveToEnd( node );
+				break;
+			case PROBATION:
+				sketch.increment( node.key );
+				probation.remove( node );
+				node.queue = PROTECTED;
+				protectedQueue.addLast( node );
+				if ( protectedQueue.size > maxProtectedSize ) {
+					final Node<K,V> demoted = protectedQueue.pollFirst();
+					demoted.queue = PROBATION;
+					probation.addLast( demoted );
+				}
+				break;
+			case PROTECTED:
+				sketch.increment( node.key );
+				protectedQueue.moveToEnd( node );
+				break;
+			case NEW:
+				// not added to the window yet
+				sketch.increment( node.key );
+				break;
+			default:
+				break;
+		}
+	}
+
+	private static final class Node<K,V> {
+		private final K key;
+		private final V value;
+
+		// guarded by the eviction lock
+		private int queue = NEW;
+		private Node<K,V> previous;
+		private Node<K,V> next;
+
+		private Node(K key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	/**
+	 * A doubly-linked list of nodes, from the least to the most recently accessed
+	 */
+	private static final class AccessOrderQueue<K,V> {
+		private Node<K,V> first;
+		private Node<K,V> last;
+		private int size;
+
+		private void addLast(Node<K,V> node) {
+			node.previous = last;
+			node.next = null;
+			if ( last == null ) {
+				first = node;
+			}
+			else {
+				last.next = node;
+			}
+			last = node;
+			size++;
+		}
+
+		private void remove(Node<K,V> node) {
+			if ( node.previous == null ) {
+				first = node.next;
+			}
+			else {
+				node.previous.next = node.next;
+			}
+			if ( node.next == null ) {
+				last = node.previous;
+			}
+			else {
+				node.next.previous = node.previous;
+			}
+			node.previous = null;
+			node.next = null;
+			size--;
+		}
+
+		private void moveToEnd(Node<K,V> node) {
+			if ( node != last ) {
+				remove( node );
+				addLast( node );
+			}
+		}
+
+		private Node<K,V> peekFirst() {
+			return first;
+		}
+
+		private Node<K,V> pollFirst() {
+			final Node<K,V> node = first;
+			if ( node != null ) {
+				remove( node );
+			}
+			return node;
+		}
+	}
+
+	/**
+	 * A bounded ring buffer of accessed nodes, written by any thread and drained under the eviction lock.
+	 * Accesses are dropped when the buffer is full or contended: losing some of them only makes the LRU order
+	 * and the frequencies slightly less accurate.
+	 */
+	private static final class ReadBuffer {
+		private final AtomicReferenceArray<Node> slots = new AtomicReferenceArray<>( READ_BUFFER_SIZE );
+		private final AtomicLong writeCount = new AtomicLong();
+		private volatile long readCount;
+
+		/**
+		 * @return {@code true} if the buffer should be drained
+		 */
+		private boolean offer(Node node) {
+			final long head = readCount;
+			final long tail = writeCount.get();
+			final long pending = tail - head;
+			if ( pending >= READ_BUFFER_SIZE ) {
+				return true;
+			}
+			if ( writeCount.compareAndSet( tail, tail + 1 ) ) {
+				slots.lazySet( (int) ( tail & READ_BUFFER_MASK ), node );
+				return pending + 1 >= READ_BUFFER_DRAIN_THRESHOLD;
+			}
+			return false;
+		}
+
+		private void drain(Consumer<Node> consumer) {
+			long head = readCount;
+			final long tail = writeCount.get();
+			for ( ; head < tail; head++ ) {
+				final int index = (int) ( head & READ_BUFFER_MASK );
+				final Node node = slots.get( index );
+				if ( node == null ) {
+					// not published yet
+					break;
+				}
+				slots.lazySet( index, null );
+				consumer.accept( node );
+			}
+			readCount = head;
+		}
+	}
+}
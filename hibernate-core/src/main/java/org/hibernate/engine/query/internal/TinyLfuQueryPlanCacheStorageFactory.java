@@ -0,0 +1,26 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.internal;
+
+import java.util.function.Consumer;
+
+import org.hibernate.engine.query.spi.QueryPlanCacheStorage;
+import org.hibernate.engine.query.spi.QueryPlanCacheStorageFactory;
+
+/**
+ * The default {@link QueryPlanCacheStorageFactory}, building {@link TinyLfuQueryPlanCacheStorage}s.
+ */
+public class TinyLfuQueryPlanCacheStorageFactory implements QueryPlanCacheStorageFactory {
+	public static final String SHORT_NAME = "tinylfu";
+
+	public static final TinyLfuQueryPlanCacheStorageFactory INSTANCE = new TinyLfuQueryPlanCacheStorageFactory();
+
+	@Override
+	public <K,V> QueryPlanCacheStorage<K,V> buildStorage(int maxSize, Consumer<K> evictionListener) {
+		return new TinyLfuQueryPlanCacheStorage<>( maxSize, evictionListener );
+	}
+}
@@ -13,18 +13,24 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
 
 import org.hibernate.Filter;
+import org.hibernate.HibernateException;
 import org.hibernate.MappingException;
 import org.hibernate.QueryException;
 import org.hibernate.cfg.Environment;
+import org.hibernate.engine.query.internal.TinyLfuQueryPlanCacheStorageFactory;
 import org.hibernate.engine.query.spi.sql.NativeSQLQuerySpecification;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.internal.CoreLogging;
 import org.hibernate.internal.CoreMessageLogger;
 import org.hibernate.internal.FilterImpl;
-import org.hibernate.internal.util.collections.BoundedConcurrentHashMap;
 import org.hibernate.internal.util.collections.CollectionHelper;
 import org.hibernate.internal.util.config.ConfigurationHelper;
 import org.hibernate.query.ParameterMetadata;
@@ -55,7 +61,7 @@ public class QueryPlanCache implements Serializable {
 	/**
 	 * the cache of the actual plans...
 	 */
-	private final BoundedConcurrentHashMap queryPlanCache;
+	private final QueryPlanCacheStorage<Object,Object> queryPlanCache;
 
 	/**
 	 * simple cache of param metadata based on query string.  Ideally, the original "user-supplied query"
@@ -65,9 +71,15 @@ public class QueryPlanCache implements Serializable {
 	 * Used solely for caching param metadata for native-sql queries, see {@link #getSQLParameterMetadata} for a
 	 * discussion as to why...
 	 */
-	private final BoundedConcurrentHashMap<ParameterMetadataKey,ParameterMetadataImpl> parameterMetadataCache;
+	private final QueryPlanCacheStorage<ParameterMetadataKey,ParameterMetadataImpl> parameterMetadataCache;
 
 
+	/**
+	 * the HQL query plans being generated, so that threads needing the same plan wait for it rather than
+	 * generating it again
+	 */
+	private final ConcurrentMap<HQLQueryPlanKey,FutureTask<HQLQueryPlan>> hqlQueryPlansInProgress = new ConcurrentHashMap<>();
+
 	private NativeQueryInterpreter nativeQueryInterpreter;
 
 	/**
@@ -102,12 +114,20 @@ public class QueryPlanCache implements Serializable {
 			);
 		}
 
-		queryPlanCache = new BoundedConcurrentHashMap( maxQueryPlanCount, 20, BoundedConcurrentHashMap.Eviction.LIRS );
-		parameterMetadataCache = new BoundedConcurrentHashMap<>(
-				maxParameterMetadataCount,
-				20,
-				BoundedConcurrentHashMap.Eviction.LIRS
+		QueryPlanCacheStorageFactory storageFactory = factory.getSessionFactoryOptions()
+				.getQueryPlanCacheStorageFactory();
+		if ( storageFactory == null ) {
+			storageFactory = TinyLfuQueryPlanCacheStorageFactory.INSTANCE;
+		}
+		queryPlanCache = storageFactory.buildStorage(
+				maxQueryPlanCount,
+				key -> {
+					if ( factory.getStatistics().isStatisticsEnabled() ) {
+						factory.getStatistics().queryPlanCacheEviction();
+					}
+				}
 		);
+		parameterMetadataCache = storageFactory.buildStorage( maxParameterMetadataCount, key -> {} );
 
 		nativeQueryInterpreter = factory.getServiceRegistry().getService( NativeQueryInterpreter.class );
 	}
@@ -152,18 +172,27 @@ public class QueryPlanCache implements Serializable {
 		boolean stats = factory.getStatistics().isStatisticsEnabled();
 
 		if ( value == null ) {
-			final long startTime = ( stats ) ? System.nanoTime() : 0L;
-
-			LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
-			value = new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
-
-			if ( stats ) {
-				final long endTime = System.nanoTime();
-				final long microseconds = TimeUnit.MICROSECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
-				factory.getStatistics().queryCompiled( queryString, microseconds );
+			final FutureTask<HQLQueryPlan> generation = new FutureTask<>(
+					() -> generateHQLQueryPlan( key, queryString, shallow, enabledFilters, stats )
+			);
+			final FutureTask<HQLQueryPlan> generationInProgress = hqlQueryPlansInProgress.putIfAbsent( key, generation );
+			if ( generationInProgress == null ) {
+				try {
+					generation.run();
+				}
+				finally {
+					hqlQueryPlansInProgress.remove( key, generation );
+				}
+				value = awaitHQLQueryPlan( generation );
 			}
+			else {
+				LOG.tracev( "Awaiting HQL query plan being generated by another thread ({0})", queryString );
+				value = awaitHQLQueryPlan( generationInProgress );
 
-			queryPlanCache.putIfAbsent( key, value );
+				if ( stats ) {
+					factory.getStatistics().queryPlanCacheHit( queryString );
+				}
+			}
 		}
 		else {
 			LOG.tracev( "Located HQL query plan in cache ({0})", queryString );
@@ -175,6 +204,66 @@ public class QueryPlanCache implements Serializable {
 		return value;
 	}
 
+	private HQLQueryPlan generateHQLQueryPlan(
+			HQLQueryPlanKey key,
+			String queryString,
+			boolean shallow,
+			Map<String, Filter> enabledFilters,
+			boolean stats) {
+		// the plan may have been cached since the lookup
+		final HQLQueryPlan cached = (HQLQueryPlan) queryPlanCache.get( key );
+		if ( cached != null ) {
+			return cached;
+		}
+
+		final long startTime = ( stats ) ? System.nanoTime() : 0L;
+
+		LOG.tracev( "Unable to locate HQL query plan in cache; generating ({0})", queryString );
+		final HQLQueryPlan value = new HQLQueryPlan( queryString, shallow, enabledFilters, factory );
+
+		if ( stats ) {
+			final long endTime = System.nanoTime();
+			final long microseconds = TimeUnit.MICROSECONDS.convert( endTime - startTime, TimeUnit.NANOSECONDS );
+			factory.getStatistics().queryCompiled( queryString, microseconds );
+		}
+
+		queryPlanCache.putIfAbsent( key, value );
+		return value;
+	}
+
+	/**
+	 * Waits for the generation of a plan, run either by the current thread or by another one.  Waiting is not
+	 * interruptible, just like generating the plan in the current thread.
+	 */
+	private static HQLQueryPlan awaitHQLQueryPlan(FutureTask<HQLQueryPlan> generation) {
+		boolean interrupted = false;
+		try {
+			while ( true ) {
+				try {
+					return generation.get();
+				}
+				catch (InterruptedException e) {
+					interrupted = true;
+				}
+				catch (ExecutionException e) {
+					final Throwable cause = e.getCause();
+					if ( cause instanceof RuntimeException ) {
+						throw (RuntimeException) cause;
+					}
+					if ( cause instanceof Error ) {
+						throw (Error) cause;
+					}
+					throw new HibernateException( "Unable to generate HQL query plan", cause );
+				}
+			}
+		}
+		finally {
+			if ( interrupted ) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
 	/**
 	 * Get the query plan for the given collection HQL filter fragment, creating it and caching it if not already cached
 	 *
@@ -241,7 +330,7 @@ public class QueryPlanCache implements Serializable {
 	 * Note that depending on the cache strategy implementation chosen, clearing the cache might not reclaim all the
 	 * memory.
 	 * <p>
-	 * Typically, when using LIRS, clearing the cache only invalidates the entries but the outdated entries are kept in
+	 * Typically, when using the LIRS storage, clearing the cache only invalidates the entries but the outdated entries are kept in
 	 * memory until they are replaced by others. It is not considered a memory leak as the cache is bounded.
 	 */
 	public void cleanup() {
@@ -250,6 +339,24 @@ public class QueryPlanCache implements Serializable {
 		parameterMetadataCache.clear();
 	}
 
+	/**
+	 * Visit the HQL queries whose plans are currently cached, excluding the plans compiled with filters enabled.
+	 *
+	 * @param visitor Receives each query string and whether its plan is shallow
+	 */
+	public void visitCachedHQLQueries(BiConsumer<String, Boolean> visitor) {
+		queryPlanCache.forEach(
+				(key, value) -> {
+					if ( key instanceof HQLQueryPlanKey ) {
+						final HQLQueryPlanKey hqlKey = (HQLQueryPlanKey) key;
+						if ( hqlKey.filterKeys.isEmpty() ) {
+							visitor.accept( hqlKey.query, hqlKey.shallow );
+						}
+					}
+				}
+		);
+	}
+
 	public NativeQueryInterpreter getNativeQueryInterpreter() {
 		return nativeQueryInterpreter;
 	}
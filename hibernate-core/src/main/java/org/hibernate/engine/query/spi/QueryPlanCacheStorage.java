@@ -0,0 +1,61 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.spi;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Bounded, thread-safe storage of the entries of a {@link QueryPlanCache}: the compiled query plans, or the
+ * parameter metadata of native queries.
+ * <p/>
+ * Storages are built by a {@link QueryPlanCacheStorageFactory}.  Lookups happen on every query creation, by any
+ * number of threads concurrently, so implementations should keep them cheap and avoid locking them.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the cached plans or metadata
+ */
+public interface QueryPlanCacheStorage<K,V> {
+	/**
+	 * Get the entry cached for the given key.
+	 *
+	 * @param key The key
+	 *
+	 * @return The cached entry, or {@code null} if none
+	 */
+	V get(K key);
+
+	/**
+	 * Cache the given entry, unless an entry is already cached for its key.
+	 * <p/>
+	 * This may evict other entries, which must then be reported to the eviction listener the storage was built
+	 * with.
+	 *
+	 * @param key The key
+	 * @param value The entry
+	 *
+	 * @return The entry already cached for the key, or {@code null} if the given entry was cached
+	 */
+	V putIfAbsent(K key, V value);
+
+	/**
+	 * Perform the given action for each cached entry.  Entries cached or evicted concurrently may or may not be
+	 * visited.
+	 *
+	 * @param action The action
+	 */
+	void forEach(BiConsumer<? super K, ? super V> action);
+
+	/**
+	 * The number of cached entries
+	 */
+	int size();
+
+	/**
+	 * Remove all the entries, without reporting them as evicted.
+	 */
+	void clear();
+}
@@ -0,0 +1,28 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.query.spi;
+
+import java.util.function.Consumer;
+
+/**
+ * Builds the {@link QueryPlanCacheStorage storages} of the {@link QueryPlanCache}.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#QUERY_PLAN_CACHE_STORAGE
+ */
+public interface QueryPlanCacheStorageFactory {
+	/**
+	 * Build a storage.
+	 *
+	 * @param maxSize The maximum number of entries to keep
+	 * @param evictionListener Notified of the key of each entry evicted to respect the maximum size
+	 * @param <K> The type of the keys
+	 * @param <V> The type of the entries
+	 *
+	 * @return The storage
+	 */
+	<K,V> QueryPlanCacheStorage<K,V> buildStorage(int maxSize, Consumer<K> evictionListener);
+}
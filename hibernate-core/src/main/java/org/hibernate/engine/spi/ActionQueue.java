@@ -30,6 +30,7 @@ import org.hibernate.action.internal.BulkOperationCleanupAction;
 import org.hibernate.action.internal.CollectionRecreateAction;
 import org.hibernate.action.internal.CollectionRemoveAction;
 import org.hibernate.action.internal.CollectionUpdateAction;
+import org.hibernate.action.internal.EntityAction;
 import org.hibernate.action.internal.EntityActionVetoException;
 import org.hibernate.action.internal.EntityDeleteAction;
 import org.hibernate.action.internal.EntityIdentityInsertAction;
@@ -624,8 +625,13 @@ public class ActionQueue {
 				// Strictly speaking, only a subset of the list may have been processed if a RuntimeException occurs.
 				// We still invalidate all spaces. I don't see this as a big deal - after all, RuntimeExceptions are
 				// unexpected.
-				Set propertySpaces = list.getQuerySpaces();
-				invalidateSpaces( convertTimestampSpaces( propertySpaces ) );
+				if ( session.getFactory().getSessionFactoryOptions().getQueryCacheRowInvalidationRegions().isEmpty() ) {
+					Set propertySpaces = list.getQuerySpaces();
+					invalidateSpaces( convertTimestampSpaces( propertySpaces ) );
+				}
+				else {
+					invalidateSpacesAndRows( list );
+				}
 			}
 		}
 
@@ -667,6 +673,45 @@ public class ActionQueue {
 		}
 	}
 
+	/**
+	 * Invalidates the spaces changed by the given actions, recording the identifiers of the rows they update or
+	 * delete, for the query cache regions invalidated row by row.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#QUERY_CACHE_ROW_INVALIDATION_REGIONS
+	 */
+	private void invalidateSpacesAndRows(ExecutableList<?> list) {
+		final Set<String> spaces = new HashSet<>();
+		final Map<String, Set<Serializable>> rowsBySpace = new HashMap<>();
+		for ( Executable executable : list ) {
+			if ( executable instanceof EntityUpdateAction || executable instanceof EntityDeleteAction ) {
+				final Serializable id = ( (EntityAction) executable ).getId();
+				for ( Serializable space : executable.getPropertySpaces() ) {
+					rowsBySpace.computeIfAbsent( (String) space, s -> new HashSet<>() ).add( id );
+				}
+			}
+			else {
+				for ( Serializable space : executable.getPropertySpaces() ) {
+					spaces.add( (String) space );
+				}
+			}
+		}
+		invalidateSpaces( convertTimestampSpaces( spaces ) );
+
+		if ( !rowsBySpace.isEmpty() ) {
+			if ( afterTransactionProcesses == null ) {
+				afterTransactionProcesses = new AfterTransactionCompletionProcessQueue( session );
+			}
+			for ( Map.Entry<String, Set<Serializable>> entry : rowsBySpace.entrySet() ) {
+				afterTransactionProcesses.addRowsToInvalidate( entry.getKey(), entry.getValue() );
+				session.getFactory().getCache().getTimestampsCache().preInvalidateRows(
+						entry.getKey(),
+						entry.getValue(),
+						session
+				);
+			}
+		}
+	}
+
 	/**
 	 * Returns a string representation of the object.
 	 *
@@ -968,6 +1013,7 @@ public class ActionQueue {
 	 */
 	private static class AfterTransactionCompletionProcessQueue extends AbstractTransactionCompletionProcessQueue<AfterTransactionCompletionProcess> {
 		private Set<String> querySpacesToInvalidate = new HashSet<String>();
+		private Map<String, Set<Serializable>> queryRowsToInvalidate = new HashMap<>();
 
 		private AfterTransactionCompletionProcessQueue(SessionImplementor session) {
 			super( session );
@@ -977,6 +1023,10 @@ public class ActionQueue {
 			querySpacesToInvalidate.add( space );
 		}
 
+		public void addRowsToInvalidate(String space, Set<Serializable> ids) {
+			queryRowsToInvalidate.computeIfAbsent( space, s -> new HashSet<>() ).addAll( ids );
+		}
+
 		public void afterTransactionCompletion(boolean success) {
 			while ( !processes.isEmpty() ) {
 				try {
@@ -996,8 +1046,16 @@ public class ActionQueue {
 						querySpacesToInvalidate.toArray( new String[querySpacesToInvalidate.size()] ),
 						session
 				);
+				for ( Map.Entry<String, Set<Serializable>> entry : queryRowsToInvalidate.entrySet() ) {
+					session.getFactory().getCache().getTimestampsCache().invalidateRows(
+							entry.getKey(),
+							entry.getValue(),
+							session
+					);
+				}
 			}
 			querySpacesToInvalidate.clear();
+			queryRowsToInvalidate.clear();
 		}
 	}
 
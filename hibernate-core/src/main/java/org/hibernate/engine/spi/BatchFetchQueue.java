@@ -8,12 +8,17 @@ package org.hibernate.engine.spi;
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.function.Function;
 
 import org.hibernate.EntityMode;
+import org.hibernate.cache.spi.access.CachedDomainDataAccess;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
 import org.hibernate.cache.spi.access.EntityDataAccess;
 import org.hibernate.collection.spi.PersistentCollection;
@@ -189,6 +194,7 @@ public class BatchFetchQueue {
 
 		LinkedHashSet<EntityKey> set =  batchLoadableEntityKeys.get( persister.getEntityName() );
 		if ( set != null ) {
+			final CacheLookahead<EntityKey> cacheLookahead = entityCacheLookahead( set, persister, batchSize );
 			for ( EntityKey key : set ) {
 				if ( checkForEnd && i == end ) {
 					//the first id found after the given id
@@ -198,7 +204,7 @@ public class BatchFetchQueue {
 					end = i;
 				}
 				else {
-					if ( !isCached( key, persister ) ) {
+					if ( cacheLookahead == null || !cacheLookahead.isCached( key ) ) {
 						ids[i++] = key.getIdentifier();
 					}
 				}
@@ -213,19 +219,27 @@ public class BatchFetchQueue {
 		return ids; //we ran out of ids to try
 	}
 
-	private boolean isCached(EntityKey entityKey, EntityPersister persister) {
+	private CacheLookahead<EntityKey> entityCacheLookahead(
+			LinkedHashSet<EntityKey> set,
+			EntityPersister persister,
+			int batchSize) {
 		final SharedSessionContractImplementor session = context.getSession();
-		if ( context.getSession().getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
+		if ( session.getCacheMode().isGetEnabled() && persister.canReadFromCache() ) {
 			final EntityDataAccess cache = persister.getCacheAccessStrategy();
-			final Object key = cache.generateCacheKey(
-					entityKey.getIdentifier(),
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
+			return new CacheLookahead<>(
+					session,
+					cache,
+					set.iterator(),
+					entityKey -> cache.generateCacheKey(
+							entityKey.getIdentifier(),
+							persister,
+							session.getFactory(),
+							session.getTenantIdentifier()
+					),
+					batchSize
 			);
-			return CacheHelper.fromSharedCache( session, key, cache ) != null;
 		}
-		return false;
+		return null;
 	}
 	
 
@@ -280,6 +294,7 @@ public class BatchFetchQueue {
 
 		final LinkedHashMap<CollectionEntry, PersistentCollection> map =  batchLoadableCollections.get( collectionPersister.getRole() );
 		if ( map != null ) {
+			final CacheLookahead<CollectionEntry> cacheLookahead = collectionCacheLookahead( map, collectionPersister, batchSize );
 			for ( Entry<CollectionEntry, PersistentCollection> me : map.entrySet() ) {
 				final CollectionEntry ce = me.getKey();
 				final PersistentCollection collection = me.getValue();
@@ -313,7 +328,7 @@ public class BatchFetchQueue {
 					end = i;
 					//checkForEnd = false;
 				}
-				else if ( !isCached( ce.getLoadedKey(), collectionPersister ) ) {
+				else if ( cacheLookahead == null || !cacheLookahead.isCached( ce ) ) {
 					keys[i++] = ce.getLoadedKey();
 					//count++;
 				}
@@ -329,19 +344,84 @@ public class BatchFetchQueue {
 		return keys; //we ran out of keys to try
 	}
 
-	private boolean isCached(Serializable collectionKey, CollectionPersister persister) {
-		SharedSessionContractImplementor session = context.getSession();
+	private CacheLookahead<CollectionEntry> collectionCacheLookahead(
+			LinkedHashMap<CollectionEntry, PersistentCollection> map,
+			CollectionPersister persister,
+			int batchSize) {
+		final SharedSessionContractImplementor session = context.getSession();
 		if ( session.getCacheMode().isGetEnabled() && persister.hasCache() ) {
-			CollectionDataAccess cache = persister.getCacheAccessStrategy();
-			Object cacheKey = cache.generateCacheKey(
-					collectionKey,
-					persister,
-					session.getFactory(),
-					session.getTenantIdentifier()
+			final CollectionDataAccess cache = persister.getCacheAccessStrategy();
+			return new CacheLookahead<>(
+					session,
+					cache,
+					map.keySet().iterator(),
+					ce -> ce.getLoadedKey() == null || map.get( ce ).wasInitialized()
+							? null
+							: cache.generateCacheKey(
+									ce.getLoadedKey(),
+									persister,
+									session.getFactory(),
+									session.getTenantIdentifier()
+							),
+					batchSize
 			);
-			return CacheHelper.fromSharedCache( session, cacheKey, cache ) != null;
 		}
-		return false;
+		return null;
+	}
+
+	/**
+	 * Checks the elements of a batch fetch queue against the second-level cache ahead of
+	 * the batch being assembled, {@code chunkSize} elements at a time, so that each chunk
+	 * takes a single {@link CachedDomainDataAccess#getAll bulk read} rather than one read
+	 * per element.
+	 */
+	private static final class CacheLookahead<T> {
+		private final SharedSessionContractImplementor session;
+		private final CachedDomainDataAccess cache;
+		private final Iterator<T> elements;
+		private final Function<T,Object> cacheKeyGenerator;
+		private final int chunkSize;
+
+		private final Set<T> checked = new HashSet<>();
+		private final Set<T> cached = new HashSet<>();
+
+		private CacheLookahead(
+				SharedSessionContractImplementor session,
+				CachedDomainDataAccess cache,
+				Iterator<T> elements,
+				Function<T,Object> cacheKeyGenerator,
+				int chunkSize) {
+			this.session = session;
+			this.cache = cache;
+			this.elements = elements;
+			this.cacheKeyGenerator = cacheKeyGenerator;
+			this.chunkSize = Math.max( chunkSize, 1 );
+		}
+
+		private boolean isCached(T element) {
+			while ( !checked.contains( element ) && elements.hasNext() ) {
+				lookAhead();
+			}
+			return cached.contains( element );
+		}
+
+		private void lookAhead() {
+			final Map<Object,T> elementsByCacheKey = new HashMap<>();
+			while ( elementsByCacheKey.size() < chunkSize && elements.hasNext() ) {
+				final T element = elements.next();
+				checked.add( element );
+				// elements which are not checked for caching have no cache key
+				final Object cacheKey = cacheKeyGenerator.apply( element );
+				if ( cacheKey != null ) {
+					elementsByCacheKey.put( cacheKey, element );
+				}
+			}
+			if ( !elementsByCacheKey.isEmpty() ) {
+				for ( Object cacheKey : CacheHelper.fromSharedCache( session, elementsByCacheKey.keySet(), cache ).keySet() ) {
+					cached.add( elementsByCacheKey.get( cacheKey ) );
+				}
+			}
+		}
 	}
 
 }
@@ -0,0 +1,58 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.spi;
+
+import org.hibernate.HibernateException;
+
+/**
+ * The data structures used by the persistence context of a Session to store its managed entities, snapshots and
+ * collections by key.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PERSISTENCE_CONTEXT_STORAGE
+ */
+public enum PersistenceContextStorage {
+	/**
+	 * Standard {@link java.util.HashMap}s.
+	 */
+	HASH,
+
+	/**
+	 * Open addressing tables which do not allocate an entry per stored element.  Entities are stored in one
+	 * table per entity hierarchy, comparing {@code long}, {@code int} and {@code short} identifiers as primitives.
+	 * This reduces the heap footprint and the GC pressure of sessions managing very large numbers of entities.
+	 */
+	OPEN_ADDRESSING;
+
+	/**
+	 * Interpret the configured {@link PersistenceContextStorage} value.
+	 * Valid values are either a {@link PersistenceContextStorage} object or its String representation.
+	 * For string values, the matching is case insensitive,
+	 * so you can use either {@code hash} or {@code open_addressing}.
+	 *
+	 * @param storage configured {@link PersistenceContextStorage} representation
+	 * @return associated {@link PersistenceContextStorage} object
+	 */
+	public static PersistenceContextStorage interpret(Object storage) {
+		if ( storage == null ) {
+			return HASH;
+		}
+		else if ( storage instanceof PersistenceContextStorage ) {
+			return (PersistenceContextStorage) storage;
+		}
+		else if ( storage instanceof String ) {
+			for ( PersistenceContextStorage value : values() ) {
+				if ( value.name().equalsIgnoreCase( ( (String) storage ).trim() ) ) {
+					return value;
+				}
+			}
+		}
+		throw new HibernateException(
+				"Unrecognized persistence_context.storage value : " + storage
+						+ ".  Supported values include 'hash' and 'open_addressing'."
+		);
+	}
+}
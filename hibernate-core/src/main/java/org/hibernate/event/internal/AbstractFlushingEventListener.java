@@ -222,7 +222,14 @@ public abstract class AbstractFlushingEventListener implements JpaBootstrapSensi
 		final Map.Entry<Object,EntityEntry>[] entityEntries = persistenceContext.reentrantSafeEntityEntries();
 		final int count = entityEntries.length;
 
-		for ( Map.Entry<Object,EntityEntry> me : entityEntries ) {
+		// Optionally, compare the state of the entities in parallel first
+		final int parallelThreshold = source.getFactory().getSessionFactoryOptions().getParallelDirtyCheckingThreshold();
+		final FlushEntityEvent[] precomputedEvents = parallelThreshold > 0 && count >= parallelThreshold
+				? ParallelDirtyChecking.precompute( source, entityEntries )
+				: null;
+
+		for ( int i = 0; i < count; i++ ) {
+			final Map.Entry<Object,EntityEntry> me = entityEntries[i];
 
 			// Update the status of the object and if necessary, schedule an update
 
@@ -230,7 +237,9 @@ public abstract class AbstractFlushingEventListener implements JpaBootstrapSensi
 			Status status = entry.getStatus();
 
 			if ( status != Status.LOADING && status != Status.GONE ) {
-				final FlushEntityEvent entityEvent = new FlushEntityEvent( source, me.getKey(), entry );
+				final FlushEntityEvent entityEvent = precomputedEvents != null && precomputedEvents[i] != null
+						? precomputedEvents[i]
+						: new FlushEntityEvent( source, me.getKey(), entry );
 				for ( FlushEntityEventListener listener : flushListeners ) {
 					listener.onFlushEntity( entityEvent );
 				}
@@ -143,7 +143,7 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 		final boolean mightBeDirty = entry.requiresDirtyCheck( entity );
 
-		final Object[] values = getValues( entity, entry, mightBeDirty, session );
+		final Object[] values = getValues( event, entity, entry, mightBeDirty, session );
 
 		event.setPropertyValues( values );
 
@@ -169,7 +169,12 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 
 	}
 
-	private Object[] getValues(Object entity, EntityEntry entry, boolean mightBeDirty, SessionImplementor session) {
+	private Object[] getValues(
+			FlushEntityEvent event,
+			Object entity,
+			EntityEntry entry,
+			boolean mightBeDirty,
+			SessionImplementor session) {
 		final Object[] loadedState = entry.getLoadedState();
 		final Status status = entry.getStatus();
 		final EntityPersister persister = entry.getPersister();
@@ -185,8 +190,10 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 		else {
 			checkId( entity, persister, entry.getId(), session );
 
-			// grab its current state
-			values = persister.getPropertyValues( entity );
+			// grab its current state, unless it was already read by parallel dirty checking
+			values = event.hasPrecomputedDirtyCheck()
+					? event.getPrecomputedPropertyValues()
+					: persister.getPropertyValues( entity );
 
 			checkNaturalId( persister, entry, values, loadedState, session );
 		}
@@ -566,7 +573,12 @@ public class DefaultFlushEntityEventListener implements FlushEntityEventListener
 				dirtyCheckPossible = loadedState != null;
 				if ( dirtyCheckPossible ) {
 					// dirty check against the usual snapshot of the entity
-					dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+					if ( event.hasPrecomputedDirtyCheck() && values == event.getPrecomputedPropertyValues() ) {
+						dirtyProperties = event.getPrecomputedDirtyProperties();
+					}
+					else {
+						dirtyProperties = persister.findDirty( values, loadedState, entity, session );
+					}
 				}
 				else if ( entry.getStatus() == Status.DELETED && !event.getEntityEntry().isModifiableEntity() ) {
 					// A non-modifiable (e.g., read-only or immutable) entity needs to be have
@@ -449,7 +449,7 @@ public class DefaultLoadEventListener implements LoadEventListener {
 						MessageHelper.infoString( persister, event.getEntityId(), event.getSession().getFactory() )
 				);
 			}
-			entity = loadFromDatasource( event, persister );
+			entity = loadFromDatasourceAfterCacheMiss( event, persister, keyToLoad );
 		}
 
 		if ( entity != null && persister.hasNaturalIdentifier() ) {
@@ -467,6 +467,46 @@ public class DefaultLoadEventListener implements LoadEventListener {
 		return entity;
 	}
 
+	/**
+	 * Loads an entity missed in the second-level cache from the datasource, unless another session is
+	 * already loading it, in which case waits for that session to cache it.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#CACHE_SINGLE_FLIGHT_TIMEOUT
+	 */
+	private Object loadFromDatasourceAfterCacheMiss(
+			final LoadEvent event,
+			final EntityPersister persister,
+			final EntityKey keyToLoad) {
+		final SessionImplementor source = event.getSession();
+		if ( !persister.canReadFromCache()
+				|| !persister.canWriteToCache()
+				|| !source.getCacheMode().isGetEnabled()
+				|| !source.getCacheMode().isPutEnabled()
+				|| !event.getLockMode().lessThan( LockMode.READ ) ) {
+			return loadFromDatasource( event, persister );
+		}
+
+		final EntityDataAccess cache = persister.getCacheAccessStrategy();
+		final Object ck = cache.generateCacheKey(
+				event.getEntityId(),
+				persister,
+				source.getFactory(),
+				source.getTenantIdentifier()
+		);
+		if ( cache.beginLoading( source, ck ) ) {
+			try {
+				return loadFromDatasource( event, persister );
+			}
+			finally {
+				cache.endLoading( ck );
+			}
+		}
+
+		// another session may have cached the entity meanwhile, the miss is already recorded
+		final Object entity = CacheEntityLoaderHelper.INSTANCE.reloadFromSecondLevelCache( event, persister, keyToLoad );
+		return entity != null ? entity : loadFromDatasource( event, persister );
+	}
+
 	/**
 	 * Performs the process of loading an entity from the configured
 	 * underlying datasource.
@@ -0,0 +1,140 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.event.internal;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistentAttributeInterceptable;
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.FlushEntityEvent;
+import org.hibernate.internal.CoreLogging;
+import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.CompositeType;
+import org.hibernate.type.Type;
+
+/**
+ * Reads the current state of the managed entities and compares it to their loaded state in parallel, in the
+ * common {@link java.util.concurrent.ForkJoinPool}, ahead of flushing them one by one.
+ * <p/>
+ * The results are handed to the {@link FlushEntityEvent}s, which are then processed by the flushing thread in
+ * the usual order, so that the actions are scheduled exactly as they are without parallel dirty checking.
+ * <p/>
+ * Comparing an association may require resolving the identifier of the associated entity, which involves the
+ * session and is not thread-safe.  So associations are only compared by reference here: when an association
+ * of an entity no longer references the loaded instance, the entity is left to the usual dirty checking.
+ * Entities tracking their own dirtiness or intercepting attribute access are left to it as well.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#PARALLEL_DIRTY_CHECKING_THRESHOLD
+ */
+final class ParallelDirtyChecking {
+	private static final CoreMessageLogger LOG = CoreLogging.messageLogger( ParallelDirtyChecking.class );
+
+	private ParallelDirtyChecking() {
+	}
+
+	/**
+	 * Builds the flush events of the given entries, with their dirty checking precomputed when possible.
+	 *
+	 * @param source The session being flushed
+	 * @param entityEntries The entries being flushed
+	 *
+	 * @return The events, by entry index; {@code null} for the entries which are not eligible.
+	 */
+	static FlushEntityEvent[] precompute(EventSource source, Map.Entry<Object,EntityEntry>[] entityEntries) {
+		final FlushEntityEvent[] events = new FlushEntityEvent[entityEntries.length];
+		final boolean[][] associations = new boolean[entityEntries.length][];
+		final Map<EntityPersister, boolean[]> associationsCache = new IdentityHashMap<>();
+
+		int eligible = 0;
+		for ( int i = 0; i < entityEntries.length; i++ ) {
+			final Object entity = entityEntries[i].getKey();
+			final EntityEntry entry = entityEntries[i].getValue();
+			if ( entry.getStatus() == Status.MANAGED
+					&& entry.getLoadedState() != null
+					&& entry.isModifiableEntity()
+					&& !( entity instanceof SelfDirtinessTracker )
+					&& !( entity instanceof PersistentAttributeInterceptable ) ) {
+				events[i] = new FlushEntityEvent( source, entity, entry );
+				associations[i] = associationsCache.computeIfAbsent(
+						entry.getPersister(),
+						ParallelDirtyChecking::associationProperties
+				);
+				eligible++;
+			}
+		}
+
+		if ( LOG.isDebugEnabled() ) {
+			LOG.debugf( "Dirty checking %s of %s entities in parallel", eligible, entityEntries.length );
+		}
+
+		IntStream.range( 0, events.length ).parallel().forEach(
+				i -> {
+					if ( events[i] != null ) {
+						precompute( events[i], associations[i] );
+					}
+				}
+		);
+		return events;
+	}
+
+	private static void precompute(FlushEntityEvent event, boolean[] associations) {
+		final Object entity = event.getEntity();
+		final EntityEntry entry = event.getEntityEntry();
+		final EntityPersister persister = entry.getPersister();
+		final Object[] loadedState = entry.getLoadedState();
+		try {
+			final Object[] values = persister.getPropertyValues( entity );
+			for ( int i = 0; i < associations.length; i++ ) {
+				if ( associations[i]
+						&& values[i] != loadedState[i]
+						&& values[i] != LazyPropertyInitializer.UNFETCHED_PROPERTY
+						&& loadedState[i] != LazyPropertyInitializer.UNFETCHED_PROPERTY ) {
+					// comparing the association needs the session
+					return;
+				}
+			}
+			event.setPrecomputedDirtyCheck(
+					values,
+					persister.findDirty( values, loadedState, entity, event.getSession() )
+			);
+		}
+		catch (RuntimeException e) {
+			// let the usual dirty checking report it, in order
+			LOG.tracef( e, "Unable to dirty check entity [%s] in parallel", persister.getEntityName() );
+		}
+	}
+
+	private static boolean[] associationProperties(EntityPersister persister) {
+		final Type[] types = persister.getPropertyTypes();
+		final boolean[] associations = new boolean[types.length];
+		for ( int i = 0; i < types.length; i++ ) {
+			associations[i] = containsAssociation( types[i] );
+		}
+		return associations;
+	}
+
+	private static boolean containsAssociation(Type type) {
+		if ( type.isAssociationType() ) {
+			return true;
+		}
+		if ( type.isComponentType() ) {
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				if ( containsAssociation( subtype ) ) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+}
@@ -20,7 +20,9 @@ public class FlushEntityEvent extends AbstractEvent {
 	private boolean dirtyCheckPossible;
 	private boolean dirtyCheckHandledByInterceptor;
 	private EntityEntry entityEntry;
-	
+	private Object[] precomputedPropertyValues;
+	private int[] precomputedDirtyProperties;
+
 	public FlushEntityEvent(EventSource source, Object entity, EntityEntry entry) {
 		super(source);
 		this.entity = entity;
@@ -72,4 +74,25 @@ public class FlushEntityEvent extends AbstractEvent {
 	public Object getEntity() {
 		return entity;
 	}
+
+	/**
+	 * Supplies the current state of the entity, and the properties found dirty comparing it to its loaded state,
+	 * when they were determined ahead of this event (see parallel dirty checking).
+	 *
+	 * @param propertyValues The current state of the entity
+	 * @param dirtyProperties The indexes of the dirty properties, or {@code null} if none is dirty
+	 */
+	public void setPrecomputedDirtyCheck(Object[] propertyValues, int[] dirtyProperties) {
+		this.precomputedPropertyValues = propertyValues;
+		this.precomputedDirtyProperties = dirtyProperties;
+	}
+	public boolean hasPrecomputedDirtyCheck() {
+		return precomputedPropertyValues != null;
+	}
+	public Object[] getPrecomputedPropertyValues() {
+		return precomputedPropertyValues;
+	}
+	public int[] getPrecomputedDirtyProperties() {
+		return precomputedDirtyProperties;
+	}
 }
@@ -0,0 +1,162 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hibernate.HibernateException;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Variation of {@link PooledLoOptimizer} which generates values without locking, for inserts running in many
+ * concurrent threads.
+ * <p/>
+ * All the threads share the current block of values, and take their values from it with an atomic increment, so
+ * the generated values stay dense, unlike with {@link PooledLoThreadLocalOptimizer}.  The thread taking the value
+ * in the middle of a block obtains the next block from the database, ahead of time, while the other threads keep
+ * taking values from the current one; the next block is installed with a compare-and-set once the current one is
+ * exhausted.  When the current block is exhausted and the next one is not available yet, a single thread obtains
+ * it from the database, while the other threads wait for it rather than obtaining blocks of their own.
+ * <p/>
+ * The database is always accessed by a thread generating a value, through its own {@link AccessCallback}, since
+ * the callback is bound to the session of that thread.  Blocks obtained concurrently are all used, in turn.
+ * <p/>
+ * Values are computed as {@code long}s, so the database values must fit in a {@code long}, whatever the Java type
+ * of the identifiers.
+ *
+ * @see PooledLoOptimizer
+ */
+public class PooledLoConcurrentOptimizer extends AbstractOptimizer {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			PooledLoConcurrentOptimizer.class.getName()
+	);
+
+	private static final class Block {
+		// the next generator value
+		private final AtomicLong next;
+		// the value at which the block is exhausted
+		private final long upperLimit;
+		// the value whose generation fetches the next block
+		private final long prefetchValue;
+
+		private Block(IntegralDataTypeHolder sourceValue, int incrementSize) {
+			final long lo = sourceValue.makeValue().longValue();
+			this.upperLimit = lo + incrementSize;
+			// handle cases where initial-value is less that one (hsqldb for instance).
+			final long first = Math.max( lo, 1 );
+			this.next = new AtomicLong( first );
+			this.prefetchValue = first + ( upperLimit - first ) / 2;
+		}
+	}
+
+	private static final class GenerationState {
+		private final AtomicReference<Block> current = new AtomicReference<>();
+		// the blocks fetched ahead of time, or concurrently, waiting to become current
+		private final ConcurrentLinkedQueue<Block> spares = new ConcurrentLinkedQueue<>();
+		private volatile IntegralDataTypeHolder lastSourceValue;
+	}
+
+	private final GenerationState noTenantState = new GenerationState();
+	private final Map<String,GenerationState> tenantSpecificState = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs a PooledLoConcurrentOptimizer.
+	 *
+	 * @param returnClass The Java type of the values to be generated
+	 * @param incrementSize The increment size.
+	 */
+	public PooledLoConcurrentOptimizer(Class returnClass, int incrementSize) {
+		super( returnClass, incrementSize );
+		if ( incrementSize < 1 ) {
+			throw new HibernateException( "increment size cannot be less than 1" );
+		}
+		LOG.creatingPooledLoOptimizer( incrementSize, returnClass.getName() );
+	}
+
+	@Override
+	public Serializable generate(AccessCallback callback) {
+		final GenerationState generationState = locateGenerationState( callback.getTenantIdentifier() );
+		while ( true ) {
+			final Block block = generationState.current.get();
+			if ( block != null ) {
+				final long value = block.next.getAndIncrement();
+				if ( value < block.upperLimit ) {
+					if ( value == block.prefetchValue ) {
+						generationState.spares.offer( fetch( generationState, callback ) );
+					}
+					return IdentifierGeneratorHelper.getIntegralDataTypeHolder( returnClass )
+							.initialize( value )
+							.makeValue();
+				}
+			}
+
+			Block successor = generationState.spares.poll();
+			if ( successor == null ) {
+				successor = fetchSuccessor( generationState, block, callback );
+				if ( successor == null ) {
+					// another thread installed a block meanwhile
+					continue;
+				}
+			}
+			if ( !generationState.current.compareAndSet( block, successor ) ) {
+				// another thread installed a block meanwhile, keep this one for later
+				generationState.spares.offer( successor );
+			}
+		}
+	}
+
+	/**
+	 * Fetches the successor of the exhausted block, unless another thread installed one while this one was waiting
+	 * for the threads fetching a block to complete, in which case {@code null} is returned
+	 */
+	private Block fetchSuccessor(GenerationState generationState, Block exhausted, AccessCallback callback) {
+		synchronized ( generationState ) {
+			if ( generationState.current.get() != exhausted ) {
+				return null;
+			}
+			final Block spare = generationState.spares.poll();
+			return spare != null ? spare : fetch( generationState, callback );
+		}
+	}
+
+	private Block fetch(GenerationState generationState, AccessCallback callback) {
+		final IntegralDataTypeHolder sourceValue = callback.getNextValue();
+		generationState.lastSourceValue = sourceValue;
+		return new Block( sourceValue, incrementSize );
+	}
+
+	private GenerationState locateGenerationState(String tenantIdentifier) {
+		if ( tenantIdentifier == null ) {
+			return noTenantState;
+		}
+		return tenantSpecificState.computeIfAbsent( tenantIdentifier, k -> new GenerationState() );
+	}
+
+	@Override
+	public IntegralDataTypeHolder getLastSourceValue() {
+		final IntegralDataTypeHolder lastSourceValue = noTenantState.lastSourceValue;
+		if ( lastSourceValue == null ) {
+			throw new IllegalStateException( "Could not locate previous generation state for no-tenant" );
+		}
+		return lastSourceValue;
+	}
+
+	@Override
+	public boolean applyIncrementSizeToSourceValues() {
+		return true;
+	}
+}
@@ -0,0 +1,137 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.id.enhanced;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.hibernate.engine.jdbc.connections.spi.JdbcConnectionAccess;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.internal.CoreMessageLogger;
+
+import org.jboss.logging.Logger;
+
+/**
+ * Keeps values of a sequence ready, reading them ahead of time on a background thread, with a connection of its
+ * own obtained from the {@link JdbcServices#getBootstrapJdbcConnectionAccess() bootstrap connection access}.
+ * <p/>
+ * The background thread is started whenever values are missing, and stops once they are all read again; it ends
+ * when idle for a minute, so no shutdown is needed.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#SEQUENCE_READ_AHEAD
+ */
+final class SequenceReadAhead {
+	private static final CoreMessageLogger LOG = Logger.getMessageLogger(
+			CoreMessageLogger.class,
+			SequenceReadAhead.class.getName()
+	);
+
+	private final String sequenceName;
+	private final String sql;
+	private final Class numberType;
+
+	private final BlockingQueue<IntegralDataTypeHolder> values;
+	private final AtomicBoolean reading = new AtomicBoolean();
+	private final ThreadPoolExecutor executor;
+
+	SequenceReadAhead(String sequenceName, String sql, Class numberType, int size) {
+		this.sequenceName = sequenceName;
+		this.sql = sql;
+		this.numberType = numberType;
+		this.values = new LinkedBlockingQueue<>( size );
+		this.executor = new ThreadPoolExecutor(
+				1,
+				1,
+				1,
+				TimeUnit.MINUTES,
+				new LinkedBlockingQueue<>(),
+				runnable -> {
+					final Thread thread = new Thread( runnable, "hibernate-sequence-read-ahead-" + sequenceName );
+					thread.setDaemon( true );
+					return thread;
+				}
+		);
+		this.executor.allowCoreThreadTimeOut( true );
+	}
+
+	/**
+	 * Take a value read ahead, and start reading the missing values.
+	 *
+	 * @param factory The SessionFactory
+	 *
+	 * @return The value, or {@code null} if none is ready
+	 */
+	IntegralDataTypeHolder poll(SessionFactoryImplementor factory) {
+		final IntegralDataTypeHolder value = values.poll();
+		readAheadIfNeeded( factory );
+		return value;
+	}
+
+	private void readAheadIfNeeded(SessionFactoryImplementor factory) {
+		if ( values.remainingCapacity() > 0 && reading.compareAndSet( false, true ) ) {
+			try {
+				executor.execute( () -> readAhead( factory ) );
+			}
+			catch (RejectedExecutionException e) {
+				reading.set( false );
+			}
+		}
+	}
+
+	private void readAhead(SessionFactoryImplementor factory) {
+		boolean failed = false;
+		try {
+			final JdbcServices jdbcServices = factory.getJdbcServices();
+			final JdbcConnectionAccess connectionAccess = jdbcServices.getBootstrapJdbcConnectionAccess();
+			final Connection connection = connectionAccess.obtainConnection();
+			try {
+				while ( values.remainingCapacity() > 0 && !factory.isClosed() ) {
+					jdbcServices.getSqlStatementLogger().logStatement( sql );
+					try ( PreparedStatement st = connection.prepareStatement( sql );
+							ResultSet rs = st.executeQuery() ) {
+						rs.next();
+						final IntegralDataTypeHolder value = IdentifierGeneratorHelper.getIntegralDataTypeHolder( numberType );
+						value.initialize( rs, 1 );
+						if ( LOG.isDebugEnabled() ) {
+							LOG.debugf( "Sequence value read ahead: %s", value.makeValue() );
+						}
+						values.offer( value );
+					}
+				}
+				if ( !connection.getAutoCommit() ) {
+					connection.commit();
+				}
+			}
+			finally {
+				connectionAccess.releaseConnection( connection );
+			}
+		}
+		catch (SQLException | RuntimeException e) {
+			failed = true;
+			LOG.warnf( "Unable to read values of sequence [%s] ahead: %s", sequenceName, e.getMessage() );
+		}
+		finally {
+			reading.set( false );
+		}
+
+		// values may have been taken since the last one was read
+		if ( !failed && !factory.isClosed() ) {
+			readAheadIfNeeded( factory );
+		}
+	}
+}
@@ -12,6 +12,7 @@ import java.sql.SQLException;
 
 import org.hibernate.AssertionFailure;
 import org.hibernate.HibernateException;
+import org.hibernate.MultiTenancyStrategy;
 import org.hibernate.boot.model.relational.Database;
 import org.hibernate.boot.model.relational.Namespace;
 import org.hibernate.boot.model.relational.QualifiedName;
@@ -22,6 +23,7 @@ import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.id.IdentifierGeneratorHelper;
 import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.internal.CoreMessageLogger;
+import org.hibernate.stat.spi.StatisticsImplementor;
 
 import org.jboss.logging.Logger;
 
@@ -40,8 +42,10 @@ public class SequenceStructure implements DatabaseStructure {
 	private final int initialValue;
 	private final int incrementSize;
 	private final Class numberType;
+	private final int readAhead;
 
 	private String sql;
+	private SequenceReadAhead readAheadValues;
 	private boolean applyIncrementSizeToSourceValues;
 	private int accessCounter;
 	protected String sequenceName;
@@ -52,11 +56,27 @@ public class SequenceStructure implements DatabaseStructure {
 			int initialValue,
 			int incrementSize,
 			Class numberType) {
+		this( jdbcEnvironment, qualifiedSequenceName, initialValue, incrementSize, numberType, 0 );
+	}
+
+	/**
+	 * @param readAhead The number of values to read ahead of time, in the background
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#SEQUENCE_READ_AHEAD
+	 */
+	public SequenceStructure(
+			JdbcEnvironment jdbcEnvironment,
+			QualifiedName qualifiedSequenceName,
+			int initialValue,
+			int incrementSize,
+			Class numberType,
+			int readAhead) {
 		this.logicalQualifiedSequenceName = qualifiedSequenceName;
 
 		this.initialValue = initialValue;
 		this.incrementSize = incrementSize;
 		this.numberType = numberType;
+		this.readAhead = readAhead;
 	}
 
 	@Override
@@ -89,6 +109,22 @@ public class SequenceStructure implements DatabaseStructure {
 			@Override
 			public IntegralDataTypeHolder getNextValue() {
 				accessCounter++;
+				if ( readAheadValues != null
+						&& session.getFactory().getSessionFactoryOptions().getMultiTenancyStrategy() == MultiTenancyStrategy.NONE ) {
+					final IntegralDataTypeHolder value = readAheadValues.poll( session.getFactory() );
+					final StatisticsImplementor statistics = session.getFactory().getStatistics();
+					if ( statistics.isStatisticsEnabled() ) {
+						if ( value != null ) {
+							statistics.sequenceReadAheadHit();
+						}
+						else {
+							statistics.sequenceReadAheadMiss();
+						}
+					}
+					if ( value != null ) {
+						return value;
+					}
+				}
 				try {
 					final PreparedStatement st = session.getJdbcCoordinator().getStatementPreparer().prepareStatement( sql );
 					try {
@@ -142,6 +178,9 @@ public class SequenceStructure implements DatabaseStructure {
 	public void registerExportables(Database database) {
 		buildSequence( database );
 		this.sql = database.getJdbcEnvironment().getDialect().getSequenceNextValString( sequenceName );
+		if ( readAhead > 0 ) {
+			this.readAheadValues = new SequenceReadAhead( sequenceName, sql, numberType, readAhead );
+		}
 	}
 
 	@Override
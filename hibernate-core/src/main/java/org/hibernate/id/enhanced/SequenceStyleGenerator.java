@@ -167,6 +167,12 @@ public class SequenceStyleGenerator
 	 */
 	public static final String OPT_PARAM = "optimizer";
 
+	/**
+	 * Indicates the number of sequence values to read ahead of time, in the background.  The default is given by
+	 * {@link AvailableSettings#SEQUENCE_READ_AHEAD}.
+	 */
+	public static final String READ_AHEAD_PARAM = "read_ahead";
+
 	/**
 	 * A flag to force using a table as the underlying structure rather than a sequence.
 	 */
@@ -192,6 +198,7 @@ public class SequenceStyleGenerator
 	private DatabaseStructure databaseStructure;
 	private Optimizer optimizer;
 	private Type identifierType;
+	private int readAhead;
 
 	/**
 	 * Getter for property 'databaseStructure'.
@@ -279,6 +286,7 @@ public class SequenceStyleGenerator
 			}
 		}
 
+		this.readAhead = determineReadAhead( params, configurationService );
 		this.databaseStructure = buildDatabaseStructure(
 				type,
 				params,
@@ -397,6 +405,25 @@ public class SequenceStyleGenerator
 		return ConfigurationHelper.getInt( INCREMENT_PARAM, params, DEFAULT_INCREMENT_SIZE );
 	}
 
+	/**
+	 * Determine the number of sequence values to read ahead of time, in the background.
+	 * <p/>
+	 * Called during {@link #configure configuration}.
+	 *
+	 * @param params The params supplied in the generator config (plus some standard useful extras).
+	 * @param configurationService The configuration service, giving the default value
+	 * @return The number of values to read ahead, or {@code 0}
+	 */
+	@SuppressWarnings("WeakerAccess")
+	protected int determineReadAhead(Properties params, ConfigurationService configurationService) {
+		final int defaultReadAhead = configurationService.getSetting(
+				AvailableSettings.SEQUENCE_READ_AHEAD,
+				value -> Integer.parseInt( value.toString().trim() ),
+				0
+		);
+		return ConfigurationHelper.getInt( READ_AHEAD_PARAM, params, defaultReadAhead );
+	}
+
 	/**
 	 * Determine the optimizer to use.
 	 * <p/>
@@ -497,7 +524,14 @@ public class SequenceStyleGenerator
 			QualifiedName sequenceName,
 			int initialValue,
 			int incrementSize) {
-		return new SequenceStructure( jdbcEnvironment, sequenceName, initialValue, incrementSize, type.getReturnedClass() );
+		return new SequenceStructure(
+				jdbcEnvironment,
+				sequenceName,
+				initialValue,
+				incrementSize,
+				type.getReturnedClass(),
+				readAhead
+		);
 	}
 
 	@SuppressWarnings("WeakerAccess")
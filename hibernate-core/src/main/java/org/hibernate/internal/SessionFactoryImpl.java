@@ -19,6 +19,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.naming.Reference;
 import javax.naming.StringRefAddr;
 import javax.persistence.EntityGraph;
@@ -71,6 +76,7 @@ import org.hibernate.engine.jndi.spi.JndiService;
 import org.hibernate.engine.profile.Association;
 import org.hibernate.engine.profile.Fetch;
 import org.hibernate.engine.profile.FetchProfile;
+import org.hibernate.engine.query.internal.QueryPlanCacheWarmer;
 import org.hibernate.engine.query.spi.QueryPlanCache;
 import org.hibernate.engine.query.spi.ReturnMetadata;
 import org.hibernate.engine.spi.FilterDefinition;
@@ -178,6 +184,8 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 	private final transient CacheImplementor cacheAccess;
 	private final transient org.hibernate.query.spi.NamedQueryRepository namedQueryRepository;
 	private final transient QueryPlanCache queryPlanCache;
+	private transient QueryPlanCacheWarmer queryPlanCacheWarmer;
+	private transient ExecutorService namedQueryCheckExecutor;
 
 	private final transient CurrentSessionContext currentSessionContext;
 
@@ -317,21 +325,17 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 
 			//checking for named queries
 			if ( settings.isNamedQueryStartupCheckingEnabled() ) {
-				final Map<String, HibernateException> errors = checkNamedQueries();
-				if ( !errors.isEmpty() ) {
-					StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
-					String separator = System.lineSeparator();
-
-					for ( Map.Entry<String, HibernateException> entry : errors.entrySet() ) {
-						LOG.namedQueryError( entry.getKey(), entry.getValue() );
-
-						failingQueries
-							.append( separator)
-							.append( entry.getKey() )
-							.append( " failed because of: " )
-							.append( entry.getValue() );
+				if ( options.getNamedQueryStartupCheckThreads() > 1 || options.isNamedQueryStartupCheckAsync() ) {
+					checkNamedQueriesInParallel(
+							options.getNamedQueryStartupCheckThreads(),
+							options.isNamedQueryStartupCheckAsync()
+					);
+				}
+				else {
+					final Map<String, HibernateException> errors = checkNamedQueries();
+					if ( !errors.isEmpty() ) {
+						throw new HibernateException( describeNamedQueryErrors( errors ) );
 					}
-					throw new HibernateException( failingQueries.toString() );
 				}
 			}
 
@@ -368,6 +372,20 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 				fetchProfiles.put( fetchProfile.getName(), fetchProfile );
 			}
 
+			if ( !options.getCacheWarmupEntityNames().isEmpty() || !options.getCacheWarmupCollectionRoles().isEmpty() ) {
+				cacheAccess.warm( options.getCacheWarmupEntityNames(), options.getCacheWarmupCollectionRoles() );
+			}
+
+			if ( options.getQueryPlanCacheWarmupFile() != null ) {
+				this.queryPlanCacheWarmer = new QueryPlanCacheWarmer(
+						this,
+						queryPlanCache,
+						options.getQueryPlanCacheWarmupFile(),
+						options.getQueryPlanCacheWarmupThreads()
+				);
+				this.queryPlanCacheWarmer.start();
+			}
+
 			this.observer.sessionFactoryCreated( this );
 
 			SessionFactoryRegistry.INSTANCE.addSessionFactory(
@@ -570,6 +588,73 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 		return namedQueryRepository.checkNamedQueries( queryPlanCache );
 	}
 
+	private void checkNamedQueriesInParallel(int threads, boolean async) {
+		final AtomicInteger threadCount = new AtomicInteger();
+		final ExecutorService executor = Executors.newFixedThreadPool(
+				Math.max( 1, threads ),
+				runnable -> {
+					final Thread thread = new Thread(
+							runnable,
+							"hibernate-named-query-check-" + threadCount.incrementAndGet()
+					);
+					thread.setDaemon( true );
+					return thread;
+				}
+		);
+		final CompletableFuture<Map<String, HibernateException>> check =
+				namedQueryRepository.checkNamedQueries( queryPlanCache, executor );
+		// the tasks are all submitted already
+		executor.shutdown();
+
+		if ( async ) {
+			this.namedQueryCheckExecutor = executor;
+			check.whenComplete(
+					(errors, failure) -> {
+						if ( isClosed() ) {
+							return;
+						}
+						if ( failure != null ) {
+							LOG.error( "Unable to check named queries", failure );
+						}
+						else if ( !errors.isEmpty() ) {
+							LOG.error( describeNamedQueryErrors( errors ) );
+						}
+					}
+			);
+			return;
+		}
+
+		final Map<String, HibernateException> errors;
+		try {
+			errors = check.join();
+		}
+		catch (CompletionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw e;
+		}
+		if ( !errors.isEmpty() ) {
+			throw new HibernateException( describeNamedQueryErrors( errors ) );
+		}
+	}
+
+	private static String describeNamedQueryErrors(Map<String, HibernateException> errors) {
+		StringBuilder failingQueries = new StringBuilder( "Errors in named queries: " );
+		String separator = System.lineSeparator();
+
+		for ( Map.Entry<String, HibernateException> entry : errors.entrySet() ) {
+			LOG.namedQueryError( entry.getKey(), entry.getValue() );
+
+			failingQueries
+				.append( separator)
+				.append( entry.getKey() )
+				.append( " failed because of: " )
+				.append( entry.getValue() );
+		}
+		return failingQueries.toString();
+	}
+
 	@Override
 	public DeserializationResolver getDeserializationResolver() {
 		return new DeserializationResolver() {
@@ -797,6 +882,15 @@ public final class SessionFactoryImpl implements SessionFactoryImplementor {
 		// NOTE : the null checks below handle cases where close is called from
 		//		a failed attempt to create the SessionFactory
 
+		if ( namedQueryCheckExecutor != null ) {
+			namedQueryCheckExecutor.shutdownNow();
+		}
+
+		if ( queryPlanCacheWarmer != null ) {
+			queryPlanCacheWarmer.stop();
+			queryPlanCacheWarmer.save();
+		}
+
 		if ( cacheAccess != null ) {
 			cacheAccess.close();
 		}
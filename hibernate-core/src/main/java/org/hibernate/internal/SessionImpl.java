@@ -2445,6 +2445,8 @@ public final class SessionImpl
 	}
 
 	private <T> T doWork(WorkExecutorVisitable<T> work) throws HibernateException {
+		// the work may write to the database through the connection
+		getJdbcCoordinator().beforeWriteExecution();
 		return getJdbcCoordinator().coordinateWork( work );
 	}
 
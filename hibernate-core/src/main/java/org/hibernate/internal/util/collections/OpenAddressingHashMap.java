@@ -0,0 +1,409 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.internal.util.collections;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A <tt>Map</tt> storing its keys, values and key hash codes in plain arrays, using open addressing with linear
+ * probing rather than chaining.  Unlike {@link java.util.HashMap}, adding an entry does not allocate anything
+ * (besides growing the arrays), which noticeably reduces the footprint of large maps.
+ * <p/>
+ * Null keys are not supported.  Not thread-safe; iterators are fail-fast.
+ */
+public final class OpenAddressingHashMap<K,V> extends AbstractMap<K,V> {
+	private static final Object REMOVED = new Object();
+	private static final int MIN_CAPACITY = 8;
+
+	private Object[] keys;
+	private Object[] values;
+	private int[] hashes;
+
+	private int size;
+	private int removed;
+	private int modCount;
+
+	private transient Set<K> keySet;
+	private transient Collection<V> valueCollection;
+	private transient Set<Map.Entry<K,V>> entrySet;
+
+	public OpenAddressingHashMap() {
+		this( MIN_CAPACITY );
+	}
+
+	/**
+	 * @param expectedSize The number of entries expected to be stored without resizing.
+	 */
+	public OpenAddressingHashMap(int expectedSize) {
+		allocate( capacityFor( expectedSize ) );
+	}
+
+	/**
+	 * The smallest power of two keeping the table at most two-thirds full with the given number of entries
+	 */
+	static int capacityFor(int expectedSize) {
+		final int minimum = Math.max( MIN_CAPACITY, expectedSize + ( expectedSize >> 1 ) + 1 );
+		return Integer.highestOneBit( minimum - 1 ) << 1;
+	}
+
+	/**
+	 * Spreads a hash code so that sequential values (typical of identifiers) do not form long probe sequences
+	 */
+	static int spread(int hashCode) {
+		final int h = hashCode * 0x9E3779B9;
+		return h ^ ( h >>> 16 );
+	}
+
+	private void allocate(int capacity) {
+		keys = new Object[capacity];
+		values = new Object[capacity];
+		hashes = new int[capacity];
+	}
+
+	private int slotOf(Object key) {
+		final int hash = spread( key.hashCode() );
+		final int mask = keys.length - 1;
+		int slot = hash & mask;
+		Object candidate;
+		while ( ( candidate = keys[slot] ) != null ) {
+			if ( candidate != REMOVED && hashes[slot] == hash && ( candidate == key || candidate.equals( key ) ) ) {
+				return slot;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+		return -1;
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return key != null && slotOf( key ) >= 0;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V get(Object key) {
+		if ( key == null ) {
+			return null;
+		}
+		final int slot = slotOf( key );
+		return slot < 0 ? null : (V) values[slot];
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V put(K key, V value) {
+		Objects.requireNonNull( key, "null keys are not supported" );
+		final int hash = spread( key.hashCode() );
+		final int mask = keys.length - 1;
+		int slot = hash & mask;
+		int firstRemoved = -1;
+		Object candidate;
+		while ( ( candidate = keys[slot] ) != null ) {
+			if ( candidate == REMOVED ) {
+				if ( firstRemoved < 0 ) {
+					firstRemoved = slot;
+				}
+			}
+			else if ( hashes[slot] == hash && ( candidate == key || candidate.equals( key ) ) ) {
+				final V previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			slot = ( slot + 1 ) & mask;
+		}
+
+		if ( firstRemoved >= 0 ) {
+			slot = firstRemoved;
+			removed--;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		hashes[slot] = hash;
+		size++;
+		modCount++;
+		if ( ( size + removed ) * 3 > keys.length * 2 ) {
+			rehash( size * 2 > keys.length ? keys.length << 1 : keys.length );
+		}
+		return null;
+	}
+
+	private void rehash(int capacity) {
+		final Object[] oldKeys = keys;
+		final Object[] oldValues = values;
+		final int[] oldHashes = hashes;
+		allocate( capacity );
+		removed = 0;
+		final int mask = capacity - 1;
+		for ( int i = 0; i < oldKeys.length; i++ ) {
+			final Object key = oldKeys[i];
+			if ( key != null && key != REMOVED ) {
+				int slot = oldHashes[i] & mask;
+				while ( keys[slot] != null ) {
+					slot = ( slot + 1 ) & mask;
+				}
+				keys[slot] = key;
+				values[slot] = oldValues[i];
+				hashes[slot] = oldHashes[i];
+			}
+		}
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V remove(Object key) {
+		if ( key == null ) {
+			return null;
+		}
+		final int slot = slotOf( key );
+		if ( slot < 0 ) {
+			return null;
+		}
+		final V previous = (V) values[slot];
+		removeSlot( slot );
+		return previous;
+	}
+
+	private void removeSlot(int slot) {
+		keys[slot] = REMOVED;
+		values[slot] = null;
+		size--;
+		removed++;
+		modCount++;
+	}
+
+	@Override
+	public void clear() {
+		if ( size > 0 || removed > 0 ) {
+			allocate( MIN_CAPACITY );
+			size = 0;
+			removed = 0;
+			modCount++;
+		}
+	}
+
+	@Override
+	public Set<K> keySet() {
+		if ( keySet == null ) {
+			keySet = new AbstractSet<K>() {
+				@Override
+				public Iterator<K> iterator() {
+					return new SlotIterator<K>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						protected K at(int slot) {
+							return (K) keys[slot];
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public boolean contains(Object o) {
+					return containsKey( o );
+				}
+
+				@Override
+				public boolean remove(Object o) {
+					final int slot = o == null ? -1 : slotOf( o );
+					if ( slot < 0 ) {
+						return false;
+					}
+					removeSlot( slot );
+					return true;
+				}
+
+				@Override
+				public void clear() {
+					OpenAddressingHashMap.this.clear();
+				}
+			};
+		}
+		return keySet;
+	}
+
+	@Override
+	public Collection<V> values() {
+		if ( valueCollection == null ) {
+			valueCollection = new AbstractCollection<V>() {
+				@Override
+				public Iterator<V> iterator() {
+					return new SlotIterator<V>() {
+						@Override
+						@SuppressWarnings("unchecked")
+						protected V at(int slot) {
+							return (V) values[slot];
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public void clear() {
+					OpenAddressingHashMap.this.clear();
+				}
+			};
+		}
+		return valueCollection;
+	}
+
+	@Override
+	public Set<Map.Entry<K,V>> entrySet() {
+		if ( entrySet == null ) {
+			entrySet = new AbstractSet<Map.Entry<K,V>>() {
+				@Override
+				public Iterator<Map.Entry<K,V>> iterator() {
+					return new SlotIterator<Map.Entry<K,V>>() {
+						@Override
+						protected Map.Entry<K,V> at(int slot) {
+							return new SlotEntry( slot );
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public void clear() {
+					OpenAddressingHashMap.this.clear();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	private final class SlotEntry implements Map.Entry<K,V> {
+		private final Object[] table = keys;
+		private final int slot;
+		private final K key;
+
+		@SuppressWarnings("unchecked")
+		private SlotEntry(int slot) {
+			this.slot = slot;
+			this.key = (K) keys[slot];
+		}
+
+		@Override
+		public K getKey() {
+			return key;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V getValue() {
+			return table == keys && keys[slot] == key ? (V) values[slot] : get( key );
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public V setValue(V value) {
+			if ( table == keys && keys[slot] == key ) {
+				final V previous = (V) values[slot];
+				values[slot] = value;
+				return previous;
+			}
+			return put( key, value );
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if ( !( o instanceof Map.Entry ) ) {
+				return false;
+			}
+			final Map.Entry<?,?> other = (Map.Entry<?,?>) o;
+			return key.equals( other.getKey() ) && Objects.equals( getValue(), other.getValue() );
+		}
+
+		@Override
+		public int hashCode() {
+			return key.hashCode() ^ Objects.hashCode( getValue() );
+		}
+
+		@Override
+		public String toString() {
+			return key + "=" + getValue();
+		}
+	}
+
+	private abstract class SlotIterator<T> implements Iterator<T> {
+		private final Object[] table = keys;
+		private int expectedModCount = modCount;
+		private int next = advance( 0 );
+		private int current = -1;
+
+		private int advance(int from) {
+			int slot = from;
+			while ( slot < table.length && ( table[slot] == null || table[slot] == REMOVED ) ) {
+				slot++;
+			}
+			return slot;
+		}
+
+		protected abstract T at(int slot);
+
+		@Override
+		public boolean hasNext() {
+			return next < table.length;
+		}
+
+		@Override
+		public T next() {
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			if ( next >= table.length ) {
+				throw new NoSuchElementException();
+			}
+			current = next;
+			next = advance( next + 1 );
+			return at( current );
+		}
+
+		@Override
+		public void remove() {
+			if ( current < 0 ) {
+				throw new IllegalStateException();
+			}
+			if ( modCount != expectedModCount ) {
+				throw new ConcurrentModificationException();
+			}
+			// removal never rehashes, so the table being iterated stays current
+			removeSlot( current );
+			expectedModCount = modCount;
+			current = -1;
+		}
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader;
+
+import java.io.Serializable;
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.hibernate.HibernateException;
+import org.hibernate.MappingException;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.jdbc.Size;
+import org.hibernate.engine.spi.Mapping;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.internal.util.StringHelper;
+import org.hibernate.type.AbstractType;
+import org.hibernate.type.IntegerType;
+import org.hibernate.type.LongType;
+import org.hibernate.type.ShortType;
+import org.hibernate.type.StringType;
+import org.hibernate.type.Type;
+
+/**
+ * The type of the single parameter binding all the ids, or collection keys, of a batch as an array, for the
+ * {@link BatchFetchStyle#ARRAY ARRAY} batch fetch style.  Its values are arrays of ids, read back as arrays of the
+ * Java type of the ids.
+ *
+ * @see Dialect#getArrayParameterRestriction
+ */
+public class ArrayParameterType extends AbstractType {
+	private final Type elementType;
+	private final int elementSqlType;
+
+	public ArrayParameterType(Type elementType, SessionFactoryImplementor factory) {
+		this.elementType = elementType;
+		this.elementSqlType = elementType.sqlTypes( factory )[0];
+	}
+
+	/**
+	 * Can ids, or collection keys, of the given type be bound as an array with the dialect of the given factory?
+	 */
+	public static boolean isSupported(Type elementType, SessionFactoryImplementor factory) {
+		if ( !( elementType instanceof IntegerType
+				|| elementType instanceof LongType
+				|| elementType instanceof ShortType
+				|| elementType instanceof StringType ) ) {
+			return false;
+		}
+		return factory.getDialect().getArrayParameterRestriction( "id", elementType.sqlTypes( factory )[0] ) != null;
+	}
+
+	/**
+	 * Render the restriction of the given column to the elements of the array.
+	 */
+	public String getRestriction(String alias, String columnName, Dialect dialect) {
+		return dialect.getArrayParameterRestriction( StringHelper.qualify( alias, columnName ), elementSqlType );
+	}
+
+	@Override
+	public void nullSafeSet(PreparedStatement st, Object value, int index, SharedSessionContractImplementor session)
+			throws HibernateException, SQLException {
+		session.getJdbcServices().getDialect().bindArrayParameter( st, index, (Object[]) value, elementSqlType );
+	}
+
+	@Override
+	public void nullSafeSet(
+			PreparedStatement st,
+			Object value,
+			int index,
+			boolean[] settable,
+			SharedSessionContractImplementor session) throws HibernateException, SQLException {
+		if ( settable[0] ) {
+			nullSafeSet( st, value, index, session );
+		}
+	}
+
+	@Override
+	public Object nullSafeGet(ResultSet rs, String[] names, SharedSessionContractImplementor session, Object owner)
+			throws HibernateException, SQLException {
+		return nullSafeGet( rs, names[0], session, owner );
+	}
+
+	@Override
+	public Object nullSafeGet(ResultSet rs, String name, SharedSessionContractImplementor session, Object owner)
+			throws HibernateException, SQLException {
+		final Array array = rs.getArray( name );
+		if ( array == null ) {
+			return null;
+		}
+		try {
+			final Object[] elements = (Object[]) array.getArray();
+			final Serializable[] ids = (Serializable[]) java.lang.reflect.Array.newInstance(
+					elementType.getReturnedClass(),
+					elements.length
+			);
+			for ( int i = 0; i < elements.length; i++ ) {
+				ids[i] = toId( elements[i] );
+			}
+			return ids;
+		}
+		finally {
+			try {
+				array.free();
+			}
+			catch (SQLFeatureNotSupportedException | AbstractMethodError e) {
+				// a JDBC 3 driver, the array is released along with the result set
+			}
+		}
+	}
+
+	/**
+	 * The driver may return the elements with a wider or narrower Java type than the one of the ids
+	 */
+	private Serializable toId(Object element) {
+		if ( element == null ) {
+			return null;
+		}
+		if ( elementType instanceof IntegerType ) {
+			return ( (Number) element ).intValue();
+		}
+		if ( elementType instanceof LongType ) {
+			return ( (Number) element ).longValue();
+		}
+		if ( elementType instanceof ShortType ) {
+			return ( (Number) element ).shortValue();
+		}
+		return element.toString();
+	}
+
+	@Override
+	public int[] sqlTypes(Mapping mapping) throws MappingException {
+		return new int[] { Types.ARRAY };
+	}
+
+	@Override
+	public Size[] dictatedSizes(Mapping mapping) throws MappingException {
+		return new Size[] { new Size() };
+	}
+
+	@Override
+	public Size[] defaultSizes(Mapping mapping) throws MappingException {
+		return new Size[] { new Size() };
+	}
+
+	@Override
+	public int getColumnSpan(Mapping mapping) throws MappingException {
+		return 1;
+	}
+
+	@Override
+	public Class getReturnedClass() {
+		return Object[].class;
+	}
+
+	@Override
+	public String getName() {
+		return elementType.getName() + "[]";
+	}
+
+	@Override
+	public boolean isDirty(Object old, Object current, boolean[] checkable, SharedSessionContractImplementor session) {
+		return !Arrays.equals( (Object[]) old, (Object[]) current );
+	}
+
+	@Override
+	public boolean isEqual(Object x, Object y) {
+		return Arrays.equals( (Object[]) x, (Object[]) y );
+	}
+
+	@Override
+	public int getHashCode(Object x) {
+		return Arrays.hashCode( (Object[]) x );
+	}
+
+	@Override
+	public String toLoggableString(Object value, SessionFactoryImplementor factory) throws HibernateException {
+		if ( value == null ) {
+			return "null";
+		}
+		final Object[] elements = (Object[]) value;
+		final StringBuilder loggable = new StringBuilder( "[" );
+		for ( int i = 0; i < elements.length; i++ ) {
+			if ( i > 0 ) {
+				loggable.append( ", " );
+			}
+			loggable.append( elementType.toLoggableString( elements[i], factory ) );
+		}
+		return loggable.append( ']' ).toString();
+	}
+
+	@Override
+	public Object deepCopy(Object value, SessionFactoryImplementor factory) throws HibernateException {
+		return value == null ? null : ( (Object[]) value ).clone();
+	}
+
+	@Override
+	public boolean isMutable() {
+		return false;
+	}
+
+	@Override
+	public Object replace(
+			Object original,
+			Object target,
+			SharedSessionContractImplementor session,
+			Object owner,
+			Map copyCache) throws HibernateException {
+		return original;
+	}
+
+	@Override
+	public boolean[] toColumnNullness(Object value, Mapping mapping) {
+		return new boolean[] { value != null };
+	}
+}
@@ -39,7 +39,18 @@ public enum BatchFetchStyle {
 	 * Dynamically builds its SQL based on the actual number of available ids.  Does still limit to the batch-size
 	 * defined on the entity/collection
 	 */
-	DYNAMIC;
+	DYNAMIC,
+	/**
+	 * Like {@link #DYNAMIC}, but binds all the ids of a batch as a single array parameter, e.g. {@code id = any(?)},
+	 * so that the same SQL, and the same cached {@link java.sql.PreparedStatement}, serves every batch whatever its
+	 * size.  Large batch sizes, in the thousands, then remain cheap.  {@code multiLoad} also loads all the ids at
+	 * once unless given a batch size.
+	 * <p/>
+	 * Only applies when the {@link org.hibernate.dialect.Dialect} can bind arrays, see
+	 * {@link org.hibernate.dialect.Dialect#getArrayParameterRestriction}, and the id, or the collection key, is a
+	 * single integer or string column; otherwise behaves like {@link #DYNAMIC}.
+	 */
+	ARRAY;
 
 	private static final Logger log = Logger.getLogger( BatchFetchStyle.class );
 
@@ -8,6 +8,7 @@ package org.hibernate.loader;
 
 import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.persister.entity.Loadable;
@@ -30,6 +31,8 @@ public class DefaultEntityAliases implements EntityAliases {
 	private final String suffix;
 	private final String rowIdAlias;
 	private final Map userProvidedAliases;
+	// the aliases of the subclasses, which are looked up for every row loaded
+	private final ConcurrentHashMap<String, String[][]> subclassSuffixedPropertyColumns = new ConcurrentHashMap<>();
 
 	/**
 	 * Calculate and cache select-clause aliases
@@ -74,7 +77,7 @@ public class DefaultEntityAliases implements EntityAliases {
 	}
 
 	private String[][] determinePropertyAliases(Loadable persister) {
-		return getSuffixedPropertyAliases( persister );
+		return buildSuffixedPropertyAliases( persister );
 	}
 
 	private String determineDiscriminatorAlias(Loadable persister, String suffix) {
@@ -122,6 +125,16 @@ public class DefaultEntityAliases implements EntityAliases {
 
 	@Override
 	public String[][] getSuffixedPropertyAliases(Loadable persister) {
+		final String[][] cached = subclassSuffixedPropertyColumns.get( persister.getEntityName() );
+		if ( cached != null ) {
+			return cached;
+		}
+		final String[][] suffixedPropertyAliases = buildSuffixedPropertyAliases( persister );
+		subclassSuffixedPropertyColumns.putIfAbsent( persister.getEntityName(), suffixedPropertyAliases );
+		return suffixedPropertyAliases;
+	}
+
+	private String[][] buildSuffixedPropertyAliases(Loadable persister) {
 		final int size = persister.getPropertyNames().length;
 		final String[][] suffixedPropertyAliases;
 		if (size > 0) {
@@ -23,6 +23,7 @@ import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 import org.hibernate.AssertionFailure;
+import org.hibernate.CacheMode;
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
@@ -44,7 +45,7 @@ import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.dialect.pagination.NoopLimitHandler;
 import org.hibernate.engine.internal.CacheHelper;
 import org.hibernate.engine.internal.TwoPhaseLoad;
-import org.hibernate.engine.jdbc.ColumnNameCache;
+import org.hibernate.engine.jdbc.internal.ColumnNameCaches;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.EntityEntry;
 import org.hibernate.engine.spi.EntityKey;
@@ -66,6 +67,9 @@ import org.hibernate.internal.FetchingScrollableResultsImpl;
 import org.hibernate.internal.ScrollableResultsImpl;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.loader.internal.IndexedRowReader;
+import org.hibernate.loader.internal.IndexedRowReaders;
+import org.hibernate.loader.internal.IndexedRowResultSet;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.collection.CollectionPersister;
 import org.hibernate.persister.entity.EntityPersister;
@@ -104,7 +108,8 @@ public abstract class Loader {
 	protected static final boolean DEBUG_ENABLED = LOG.isDebugEnabled();
 
 	private final SessionFactoryImplementor factory;
-	private volatile ColumnNameCache columnNameCache;
+	private final ColumnNameCaches columnNameCaches = new ColumnNameCaches();
+	private final IndexedRowReaders indexedRowReaders = new IndexedRowReaders();
 
 	private final boolean referenceCachingEnabled;
 
@@ -1718,7 +1723,9 @@ public abstract class Loader {
 		final Serializable id = key.getIdentifier();
 
 		// Get the persister for the _subclass_
-		final Loadable persister = (Loadable) getFactory().getEntityPersister( instanceEntityName );
+		final Loadable persister = instanceEntityName.equals( rootPersister.getEntityName() )
+				? rootPersister
+				: (Loadable) getFactory().getEntityPersister( instanceEntityName );
 
 		if ( LOG.isTraceEnabled() ) {
 			LOG.tracef(
@@ -1744,7 +1751,7 @@ public abstract class Loader {
 				session
 		);
 
-		//This is not very nice (and quite slow):
+		// the aliases of the subclasses are only computed once
 		final String[][] cols = persister == rootPersister ?
 				getEntityAliases()[i].getSuffixedPropertyAliases() :
 				getEntityAliases()[i].getSuffixedPropertyAliases( persister );
@@ -1925,6 +1932,7 @@ public abstract class Loader {
 			final CallableStatement cs = st.unwrap( CallableStatement.class );
 
 			rs = getResultSet(
+					sql,
 					cs,
 					queryParameters.getRowSelection(),
 					limitHandler,
@@ -1934,6 +1942,7 @@ public abstract class Loader {
 		}
 		else {
 			rs = getResultSet(
+				sql,
 				st,
 				queryParameters.getRowSelection(),
 				limitHandler,
@@ -2162,17 +2171,34 @@ public abstract class Loader {
 
 	/**
 	 * Execute given <tt>PreparedStatement</tt>, advance to the first result and return SQL <tt>ResultSet</tt>.
+	 *
+	 * @deprecated Use {@link #getResultSet(String, PreparedStatement, RowSelection, LimitHandler, boolean, SharedSessionContractImplementor)}
+	 * instead, so that the column names of each SQL statement are resolved once
 	 */
+	@Deprecated
 	protected final ResultSet getResultSet(
 			final PreparedStatement st,
 			final RowSelection selection,
 			final LimitHandler limitHandler,
 			final boolean autodiscovertypes,
 			final SharedSessionContractImplementor session) throws SQLException, HibernateException {
+		return getResultSet( null, st, selection, limitHandler, autodiscovertypes, session );
+	}
+
+	/**
+	 * Execute given <tt>PreparedStatement</tt>, advance to the first result and return SQL <tt>ResultSet</tt>.
+	 */
+	protected final ResultSet getResultSet(
+			final String sql,
+			final PreparedStatement st,
+			final RowSelection selection,
+			final LimitHandler limitHandler,
+			final boolean autodiscovertypes,
+			final SharedSessionContractImplementor session) throws SQLException, HibernateException {
 		try {
 			ResultSet rs = session.getJdbcCoordinator().getResultSetReturn().extract( st );
 
-			return processResultSet(rs, selection, limitHandler, autodiscovertypes, session);
+			return processResultSet( sql, rs, selection, limitHandler, autodiscovertypes, session );
 		}
 		catch (SQLException | HibernateException e) {
 			session.getJdbcCoordinator().getLogicalConnection().getResourceRegistry().release( st );
@@ -2181,10 +2207,27 @@ public abstract class Loader {
 		}
 	}
 
+	/**
+	 * Execute given <tt>CallableStatement</tt>, advance to the first result and return SQL <tt>ResultSet</tt>.
+	 *
+	 * @deprecated Use {@link #getResultSet(String, CallableStatement, RowSelection, LimitHandler, boolean, SharedSessionContractImplementor)}
+	 * instead, so that the column names of each SQL statement are resolved once
+	 */
+	@Deprecated
+	protected final ResultSet getResultSet(
+			final CallableStatement st,
+			final RowSelection selection,
+			final LimitHandler limitHandler,
+			final boolean autodiscovertypes,
+			final SharedSessionContractImplementor session) throws SQLException, HibernateException {
+		return getResultSet( null, st, selection, limitHandler, autodiscovertypes, session );
+	}
+
 	/**
 	 * Execute given <tt>CallableStatement</tt>, advance to the first result and return SQL <tt>ResultSet</tt>.
 	 */
 	protected final ResultSet getResultSet(
+			final String sql,
 			final CallableStatement st,
 			final RowSelection selection,
 			final LimitHandler limitHandler,
@@ -2193,7 +2236,7 @@ public abstract class Loader {
 		try {
 			ResultSet rs = session.getJdbcCoordinator().getResultSetReturn().extract( st );
 
-			return processResultSet(rs, selection, limitHandler, autodiscovertypes, session);
+			return processResultSet( sql, rs, selection, limitHandler, autodiscovertypes, session );
 		}
 		catch (SQLException | HibernateException e) {
 			session.getJdbcCoordinator().getLogicalConnection().getResourceRegistry().release( st );
@@ -2203,13 +2246,14 @@ public abstract class Loader {
 	}
 
 	private ResultSet processResultSet(
+			final String sql,
 			ResultSet rs,
 			final RowSelection selection,
 			final LimitHandler limitHandler,
 			final boolean autodiscovertypes,
 			final SharedSessionContractImplementor session
 	) throws SQLException, HibernateException {
-		rs = wrapResultSetIfEnabled( rs, session );
+		rs = wrapResultSetIfEnabled( sql, rs, session );
 
 		if ( !limitHandler.supportsLimitOffset() || !LimitHelper.useLimit( limitHandler, selection ) ) {
 			advance( rs, selection );
@@ -2226,14 +2270,34 @@ public abstract class Loader {
 
 	}
 
-	private ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SharedSessionContractImplementor session) {
-		if ( session.getFactory().getSessionFactoryOptions().isWrapResultSetsEnabled() ) {
+	private ResultSet wrapResultSetIfEnabled(
+			final String sql,
+			final ResultSet rs,
+			final SharedSessionContractImplementor session) {
+		if ( sql != null && session.getFactory().getSessionFactoryOptions().isIndexedRowReadersEnabled() ) {
+			try {
+				final IndexedRowReader reader = indexedRowReaders.get(
+						sql,
+						rs,
+						getEntityPersisters(),
+						getEntityAliases(),
+						getCollectionAliases(),
+						factory
+				);
+				return new IndexedRowResultSet( rs, reader, columnNameCaches.get( sql, rs ) );
+			}
+			catch (SQLException e) {
+				LOG.unableToWrapResultSet( e );
+				return rs;
+			}
+		}
+		else if ( session.getFactory().getSessionFactoryOptions().isWrapResultSetsEnabled() ) {
 			try {
 				LOG.debugf( "Wrapping result set [%s]", rs );
 				return session.getFactory()
 						.getServiceRegistry()
 						.getService( JdbcServices.class )
-						.getResultSetWrapper().wrap( rs, retrieveColumnNameToIndexCache( rs ) );
+						.getResultSetWrapper().wrap( rs, columnNameCaches.get( sql, rs ) );
 			}
 			catch (SQLException e) {
 				LOG.unableToWrapResultSet( e );
@@ -2245,20 +2309,6 @@ public abstract class Loader {
 		}
 	}
 
-	private ColumnNameCache retrieveColumnNameToIndexCache(final ResultSet rs) throws SQLException {
-		final ColumnNameCache cache = columnNameCache;
-		if ( cache == null ) {
-			//there is no need for a synchronized second check, as in worst case
-			//we'll have allocated an unnecessary ColumnNameCache
-			LOG.trace( "Building columnName -> columnIndex cache" );
-			columnNameCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
-			return columnNameCache;
-		}
-		else {
-			return cache;
-		}
-	}
-
 	/**
 	 * Called by subclasses that load entities
 	 */
@@ -2535,20 +2585,45 @@ public abstract class Loader {
 				querySpaces,
 				resultTypes,
 				queryCache,
-				key
+				key,
+				true
 		);
 
 		if ( result == null ) {
-			result = doList( session, queryParameters, key.getResultTransformer() );
+			final CacheMode cacheMode = session.getCacheMode();
+			final boolean singleFlight = cacheMode.isGetEnabled() && cacheMode.isPutEnabled();
+			final boolean loading = singleFlight && queryCache.beginLoading( key, session );
+			try {
+				if ( singleFlight && !loading ) {
+					// another session may have cached the results meanwhile, the miss is already recorded
+					result = getResultFromQueryCache(
+							session,
+							queryParameters,
+							querySpaces,
+							resultTypes,
+							queryCache,
+							key,
+							false
+					);
+				}
+				if ( result == null ) {
+					result = doList( session, queryParameters, key.getResultTransformer() );
 
-			putResultInQueryCache(
-					session,
-					queryParameters,
-					resultTypes,
-					queryCache,
-					key,
-					result
-			);
+					putResultInQueryCache(
+							session,
+							queryParameters,
+							resultTypes,
+							queryCache,
+							key,
+							result
+					);
+				}
+			}
+			finally {
+				if ( loading ) {
+					queryCache.endLoading( key );
+				}
+			}
 		}
 
 		ResultTransformer resolvedTransformer = resolveResultTransformer( queryParameters.getResultTransformer() );
@@ -2596,7 +2671,8 @@ public abstract class Loader {
 			final Set<Serializable> querySpaces,
 			final Type[] resultTypes,
 			final QueryResultsCache queryCache,
-			final QueryKey key) {
+			final QueryKey key,
+			final boolean recordStatistics) {
 		List result = null;
 
 		if ( session.getCacheMode().isGetEnabled() ) {
@@ -2632,7 +2708,7 @@ public abstract class Loader {
 				persistenceContext.setDefaultReadOnly( defaultReadOnlyOrig );
 			}
 
-			if ( factory.getStatistics().isStatisticsEnabled() ) {
+			if ( recordStatistics && factory.getStatistics().isStatisticsEnabled() ) {
 				if ( result == null ) {
 					factory.getStatistics().queryCacheMiss( getQueryIdentifier(), queryCache.getRegion().getName() );
 				}
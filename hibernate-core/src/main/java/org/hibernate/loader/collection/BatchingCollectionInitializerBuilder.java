@@ -26,6 +26,9 @@ public abstract class BatchingCollectionInitializerBuilder {
 			case DYNAMIC: {
 				return DynamicBatchingCollectionInitializerBuilder.INSTANCE;
 			}
+			case ARRAY: {
+				return DynamicBatchingCollectionInitializerBuilder.ARRAY_INSTANCE;
+			}
 			default: {
 				return org.hibernate.loader.collection.plan.LegacyBatchingCollectionInitializerBuilder.INSTANCE;
 				//return LegacyBatchingCollectionInitializerBuilder.INSTANCE;
@@ -24,6 +24,7 @@ import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
+import org.hibernate.loader.ArrayParameterType;
 import org.hibernate.loader.JoinWalker;
 import org.hibernate.loader.Loader;
 import org.hibernate.loader.spi.AfterLoadAction;
@@ -38,7 +39,35 @@ import org.hibernate.type.Type;
  * @author Steve Ebersole
  */
 public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollectionInitializerBuilder {
-	public static final DynamicBatchingCollectionInitializerBuilder INSTANCE = new DynamicBatchingCollectionInitializerBuilder();
+	public static final DynamicBatchingCollectionInitializerBuilder INSTANCE = new DynamicBatchingCollectionInitializerBuilder( false );
+
+	/**
+	 * Binds the keys of a batch as a single array parameter whenever possible.
+	 *
+	 * @see org.hibernate.loader.BatchFetchStyle#ARRAY
+	 */
+	public static final DynamicBatchingCollectionInitializerBuilder ARRAY_INSTANCE = new DynamicBatchingCollectionInitializerBuilder( true );
+
+	private final boolean arrayParameter;
+
+	public DynamicBatchingCollectionInitializerBuilder() {
+		this( false );
+	}
+
+	private DynamicBatchingCollectionInitializerBuilder(boolean arrayParameter) {
+		this.arrayParameter = arrayParameter;
+	}
+
+	/**
+	 * The type of the array parameter binding the keys of the given collection, or {@code null} if its keys are
+	 * bound one by one.
+	 */
+	private ArrayParameterType arrayParameterType(QueryableCollection persister, SessionFactoryImplementor factory) {
+		if ( arrayParameter && ArrayParameterType.isSupported( persister.getKeyType(), factory ) ) {
+			return new ArrayParameterType( persister.getKeyType(), factory );
+		}
+		return null;
+	}
 
 	@Override
 	protected CollectionInitializer createRealBatchingCollectionInitializer(
@@ -46,7 +75,13 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 			int maxBatchSize,
 			SessionFactoryImplementor factory,
 			LoadQueryInfluencers influencers) {
-		return new DynamicBatchingCollectionInitializer( persister, maxBatchSize, factory, influencers );
+		return new DynamicBatchingCollectionInitializer(
+				persister,
+				maxBatchSize,
+				arrayParameterType( persister, factory ),
+				factory,
+				influencers
+		);
 	}
 
 	@Override
@@ -55,7 +90,13 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 			int maxBatchSize,
 			SessionFactoryImplementor factory,
 			LoadQueryInfluencers influencers) {
-		return new DynamicBatchingCollectionInitializer( persister, maxBatchSize, factory, influencers );
+		return new DynamicBatchingCollectionInitializer(
+				persister,
+				maxBatchSize,
+				arrayParameterType( persister, factory ),
+				factory,
+				influencers
+		);
 	}
 
 	public static class DynamicBatchingCollectionInitializer extends BatchingCollectionInitializer {
@@ -68,6 +109,15 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 				int maxBatchSize,
 				SessionFactoryImplementor factory,
 				LoadQueryInfluencers influencers) {
+			this( collectionPersister, maxBatchSize, null, factory, influencers );
+		}
+
+		public DynamicBatchingCollectionInitializer(
+				QueryableCollection collectionPersister,
+				int maxBatchSize,
+				ArrayParameterType arrayType,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers influencers) {
 			super( collectionPersister );
 			this.maxBatchSize = maxBatchSize;
 
@@ -78,7 +128,7 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 				this.singleKeyLoader = new BasicCollectionLoader( collectionPersister, 1, factory, influencers );
 			}
 
-			this.batchLoader = new DynamicBatchingCollectionLoader( collectionPersister, factory, influencers );
+			this.batchLoader = new DynamicBatchingCollectionLoader( collectionPersister, arrayType, factory, influencers );
 		}
 
 		@Override
@@ -115,12 +165,19 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 
 		private final String sqlTemplate;
 		private final String alias;
+		private final ArrayParameterType arrayType;
 
+		/**
+		 * @param arrayType The type of the array parameter binding all the keys, or {@code null} to bind them one
+		 * by one in an IN list
+		 */
 		public DynamicBatchingCollectionLoader(
 				QueryableCollection collectionPersister,
+				ArrayParameterType arrayType,
 				SessionFactoryImplementor factory,
 				LoadQueryInfluencers influencers) {
 			super( collectionPersister, factory, influencers );
+			this.arrayType = arrayType;
 
 			JoinWalker walker = buildJoinWalker( collectionPersister, factory, influencers );
 			initFromWalker( walker );
@@ -149,6 +206,9 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 						if ( subselect != null ) {
 							return super.whereString( alias, columnNames, subselect, batchSize );
 						}
+						if ( arrayType != null ) {
+							return new StringBuilder( arrayType.getRestriction( alias, columnNames[0], getFactory().getDialect() ) );
+						}
 
 						return StringHelper.buildBatchFetchRestrictionFragment( alias, columnNames, getFactory().getDialect() );
 					}
@@ -161,6 +221,9 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 						if ( subselect != null ) {
 							return super.whereString( alias, columnNames, subselect, batchSize );
 						}
+						if ( arrayType != null ) {
+							return new StringBuilder( arrayType.getRestriction( alias, columnNames[0], getFactory().getDialect() ) );
+						}
 
 						return StringHelper.buildBatchFetchRestrictionFragment( alias, columnNames, getFactory().getDialect() );
 					}
@@ -180,17 +243,24 @@ public class DynamicBatchingCollectionInitializerBuilder extends BatchingCollect
 				);
 			}
 
-			final Type[] idTypes = new Type[ids.length];
-			Arrays.fill( idTypes, type );
-			final QueryParameters queryParameters = new QueryParameters( idTypes, ids, ids );
-
-			final String sql = StringHelper.expandBatchIdPlaceholder(
-					sqlTemplate,
-					ids,
-					alias,
-					collectionPersister().getKeyColumnNames(),
-					session.getJdbcServices().getJdbcEnvironment().getDialect()
-			);
+			final QueryParameters queryParameters;
+			final String sql;
+			if ( arrayType != null ) {
+				queryParameters = new QueryParameters( new Type[] { arrayType }, new Object[] { ids }, ids );
+				sql = sqlTemplate;
+			}
+			else {
+				final Type[] idTypes = new Type[ids.length];
+				Arrays.fill( idTypes, type );
+				queryParameters = new QueryParameters( idTypes, ids, ids );
+				sql = StringHelper.expandBatchIdPlaceholder(
+						sqlTemplate,
+						ids,
+						alias,
+						collectionPersister().getKeyColumnNames(),
+						session.getJdbcServices().getJdbcEnvironment().getDialect()
+				);
+			}
 
 			try {
 				final PersistenceContext persistenceContext = session.getPersistenceContext();
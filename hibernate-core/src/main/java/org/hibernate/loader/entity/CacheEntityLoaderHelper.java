@@ -7,6 +7,11 @@
 package org.hibernate.loader.entity;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
@@ -130,18 +135,38 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 			final LoadEvent event,
 			final EntityPersister persister,
 			final EntityKey entityKey) {
+		return loadFromSecondLevelCache( event, persister, entityKey, true );
+	}
 
-		final SessionImplementor source = event.getSession();
-		final boolean useCache = persister.canReadFromCache()
-				&& source.getCacheMode().isGetEnabled()
-				&& event.getLockMode().lessThan( LockMode.READ );
+	/**
+	 * Attempts to load the entity from the second-level cache again, after a miss which the statistics already
+	 * recorded, e.g. once another session loading it is done.
+	 *
+	 * @param event The load event
+	 * @param persister The persister for the entity being requested for load
+	 *
+	 * @return The entity from the second-level cache, or null.
+	 */
+	public Object reloadFromSecondLevelCache(
+			final LoadEvent event,
+			final EntityPersister persister,
+			final EntityKey entityKey) {
+		return loadFromSecondLevelCache( event, persister, entityKey, false );
+	}
 
-		if ( !useCache ) {
+	private Object loadFromSecondLevelCache(
+			final LoadEvent event,
+			final EntityPersister persister,
+			final EntityKey entityKey,
+			final boolean recordStatistics) {
+
+		final SessionImplementor source = event.getSession();
+		if ( !canReadFromSecondLevelCache( source, persister, event.getLockMode() ) ) {
 			// we can't use cache here
 			return null;
 		}
 
-		final Object ce = getFromSharedCache( event, persister, source );
+		final Object ce = getFromSharedCache( event, persister, source, recordStatistics );
 
 		if ( ce == null ) {
 			// nothing was found in cache
@@ -151,6 +176,81 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 		return processCachedEntry( event, persister, ce, source, entityKey );
 	}
 
+	/**
+	 * Reads the second-level cache entries of several entities at once, for them to be
+	 * {@link #loadFromSecondLevelCache(LoadEvent, EntityPersister, EntityKey, Map) loaded} later on.
+	 *
+	 * @param source The session
+	 * @param persister The persister for the entities being requested for load
+	 * @param lockMode The lock mode of the load
+	 * @param ids The identifiers of the entities
+	 *
+	 * @return The cache entries found, by cache key
+	 */
+	public Map<Object, Object> getFromSecondLevelCache(
+			final SessionImplementor source,
+			final EntityPersister persister,
+			final LockMode lockMode,
+			final Collection<Serializable> ids) {
+		if ( ids.isEmpty() || !canReadFromSecondLevelCache( source, persister, lockMode ) ) {
+			return Collections.emptyMap();
+		}
+
+		final EntityDataAccess cache = persister.getCacheAccessStrategy();
+		final List<Object> cacheKeys = new ArrayList<>( ids.size() );
+		for ( Serializable id : ids ) {
+			cacheKeys.add( cache.generateCacheKey( id, persister, source.getFactory(), source.getTenantIdentifier() ) );
+		}
+		return CacheHelper.fromSharedCache( source, cacheKeys, cache );
+	}
+
+	/**
+	 * Attempts to load the entity from cache entries read from the second-level cache
+	 * beforehand, by {@link #getFromSecondLevelCache}.
+	 *
+	 * @param event The load event
+	 * @param persister The persister for the entity being requested for load
+	 * @param cacheEntries The cache entries read beforehand
+	 *
+	 * @return The entity from the second-level cache, or null.
+	 */
+	public Object loadFromSecondLevelCache(
+			final LoadEvent event,
+			final EntityPersister persister,
+			final EntityKey entityKey,
+			final Map<Object, Object> cacheEntries) {
+
+		final SessionImplementor source = event.getSession();
+		if ( !canReadFromSecondLevelCache( source, persister, event.getLockMode() ) ) {
+			return null;
+		}
+
+		final EntityDataAccess cache = persister.getCacheAccessStrategy();
+		final Object ck = cache.generateCacheKey(
+				event.getEntityId(),
+				persister,
+				source.getFactory(),
+				source.getTenantIdentifier()
+		);
+		final Object ce = cacheEntries.get( ck );
+		recordSharedCacheAccess( source, persister, ce != null );
+
+		if ( ce == null ) {
+			return null;
+		}
+
+		return processCachedEntry( event, persister, ce, source, entityKey );
+	}
+
+	private boolean canReadFromSecondLevelCache(
+			final SessionImplementor source,
+			final EntityPersister persister,
+			final LockMode lockMode) {
+		return persister.canReadFromCache()
+				&& source.getCacheMode().isGetEnabled()
+				&& lockMode.lessThan( LockMode.READ );
+	}
+
 
 	private Object processCachedEntry(
 			final LoadEvent event,
@@ -192,7 +292,8 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 	private Object getFromSharedCache(
 			final LoadEvent event,
 			final EntityPersister persister,
-			SessionImplementor source) {
+			SessionImplementor source,
+			boolean recordStatistics) {
 		final EntityDataAccess cache = persister.getCacheAccessStrategy();
 		final Object ck = cache.generateCacheKey(
 				event.getEntityId(),
@@ -202,21 +303,31 @@ public class CacheEntityLoaderHelper extends AbstractLockUpgradeEventListener {
 		);
 
 		final Object ce = CacheHelper.fromSharedCache( source, ck, persister.getCacheAccessStrategy() );
+		if ( recordStatistics ) {
+			recordSharedCacheAccess( source, persister, ce != null );
+		}
+		return ce;
+	}
+
+	private void recordSharedCacheAccess(
+			final SessionImplementor source,
+			final EntityPersister persister,
+			final boolean hit) {
 		if ( source.getFactory().getStatistics().isStatisticsEnabled() ) {
-			if ( ce == null ) {
-				source.getFactory().getStatistics().entityCacheMiss(
+			final String regionName = persister.getCacheAccessStrategy().getRegion().getName();
+			if ( hit ) {
+				source.getFactory().getStatistics().entityCacheHit(
 						StatsHelper.INSTANCE.getRootEntityRole( persister ),
-						cache.getRegion().getName()
+						regionName
 				);
 			}
 			else {
-				source.getFactory().getStatistics().entityCacheHit(
+				source.getFactory().getStatistics().entityCacheMiss(
 						StatsHelper.INSTANCE.getRootEntityRole( persister ),
-						cache.getRegion().getName()
+						regionName
 				);
 			}
 		}
-		return ce;
 	}
 
 	private Object convertCacheReferenceEntryToEntity(
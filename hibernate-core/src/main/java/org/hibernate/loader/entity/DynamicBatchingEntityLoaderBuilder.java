@@ -8,15 +8,31 @@ package org.hibernate.loader.entity;
 
 import java.io.Serializable;
 import java.lang.reflect.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
+
+import org.hibernate.HibernateException;
 import org.hibernate.LockMode;
 import org.hibernate.LockOptions;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.engine.internal.BatchFetchQueueHelper;
 import org.hibernate.engine.spi.EntityEntry;
@@ -26,14 +42,18 @@ import org.hibernate.engine.spi.PersistenceContext;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.RowSelection;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.Status;
+import org.hibernate.engine.transaction.spi.IsolationDelegate;
 import org.hibernate.event.spi.EventSource;
 import org.hibernate.event.spi.LoadEvent;
 import org.hibernate.event.spi.LoadEventListener;
 import org.hibernate.internal.util.StringHelper;
 import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.internal.util.collections.CollectionHelper;
+import org.hibernate.jdbc.AbstractWork;
+import org.hibernate.loader.ArrayParameterType;
 import org.hibernate.loader.spi.AfterLoadAction;
 import org.hibernate.persister.entity.MultiLoadOptions;
 import org.hibernate.persister.entity.OuterJoinLoadable;
@@ -51,7 +71,35 @@ import org.jboss.logging.Logger;
 public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuilder {
 	private static final Logger log = Logger.getLogger( DynamicBatchingEntityLoaderBuilder.class );
 
-	public static final DynamicBatchingEntityLoaderBuilder INSTANCE = new DynamicBatchingEntityLoaderBuilder();
+	public static final DynamicBatchingEntityLoaderBuilder INSTANCE = new DynamicBatchingEntityLoaderBuilder( false );
+
+	/**
+	 * Binds the ids of a batch as a single array parameter whenever possible.
+	 *
+	 * @see org.hibernate.loader.BatchFetchStyle#ARRAY
+	 */
+	public static final DynamicBatchingEntityLoaderBuilder ARRAY_INSTANCE = new DynamicBatchingEntityLoaderBuilder( true );
+
+	private final boolean arrayParameter;
+
+	public DynamicBatchingEntityLoaderBuilder() {
+		this( false );
+	}
+
+	private DynamicBatchingEntityLoaderBuilder(boolean arrayParameter) {
+		this.arrayParameter = arrayParameter;
+	}
+
+	/**
+	 * The type of the array parameter binding the ids of the given entity, or {@code null} if its ids are bound
+	 * one by one.
+	 */
+	private ArrayParameterType arrayParameterType(OuterJoinLoadable persister, SessionFactoryImplementor factory) {
+		if ( arrayParameter && ArrayParameterType.isSupported( persister.getIdentifierType(), factory ) ) {
+			return new ArrayParameterType( persister.getIdentifierType(), factory );
+		}
+		return null;
+	}
 
 	public List multiLoad(
 			OuterJoinLoadable persister,
@@ -80,10 +128,15 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 				? new LockOptions( LockMode.NONE )
 				: loadOptions.getLockOptions();
 
+		final ArrayParameterType arrayType = arrayParameterType( persister, session.getFactory() );
 		final int maxBatchSize;
 		if ( loadOptions.getBatchSize() != null && loadOptions.getBatchSize() > 0 ) {
 			maxBatchSize = loadOptions.getBatchSize();
 		}
+		else if ( arrayType != null ) {
+			// the size of the SQL does not depend on the number of ids
+			maxBatchSize = Integer.MAX_VALUE;
+		}
 		else {
 			maxBatchSize = session.getJdbcServices().getJdbcEnvironment().getDialect().getDefaultBatchLoadSizingStrategy().determineOptimalBatchLoadSize(
 					persister.getIdentifierType().getColumnSpan( session.getFactory() ),
@@ -93,6 +146,18 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 
 		final List<Serializable> idsInBatch = new ArrayList<>();
 		final List<Integer> elementPositionsLoadedByBatch = new ArrayList<>();
+		// when pipelining, the batches are all loaded at the end
+		final List<Serializable[]> pipelinedBatches = isPipeliningEnabled( session, lockOptions )
+				? new ArrayList<>()
+				: null;
+
+		final Map<Object, Object> cacheEntries = readSecondLevelCacheEntries(
+				persister,
+				ids,
+				session,
+				loadOptions,
+				lockOptions
+		);
 
 		for ( int i = 0; i < ids.length; i++ ) {
 			final Serializable id = ids[i];
@@ -131,7 +196,8 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							persister,
-							entityKey
+							entityKey,
+							cacheEntries
 					);
 				}
 
@@ -146,7 +212,7 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 			idsInBatch.add( ids[i] );
 
 			if ( idsInBatch.size() >= maxBatchSize ) {
-				performOrderedBatchLoad( idsInBatch, lockOptions, persister, session );
+				performOrderedBatchLoad( idsInBatch, pipelinedBatches, lockOptions, persister, arrayType, session );
 			}
 
 			// Save the EntityKey instance for use later!
@@ -155,7 +221,10 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 		}
 
 		if ( !idsInBatch.isEmpty() ) {
-			performOrderedBatchLoad( idsInBatch, lockOptions, persister, session );
+			performOrderedBatchLoad( idsInBatch, pipelinedBatches, lockOptions, persister, arrayType, session );
+		}
+		if ( pipelinedBatches != null && !pipelinedBatches.isEmpty() ) {
+			performPipelinedBatchLoads( pipelinedBatches, lockOptions, persister, arrayType, session );
 		}
 
 		for ( Integer position : elementPositionsLoadedByBatch ) {
@@ -177,16 +246,54 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 		return result;
 	}
 
+	/**
+	 * Reads the second-level cache entries of the entities to load in a single call, rather than one entity at a
+	 * time; the entities already associated with the Session are left out when the Session is checked first.
+	 */
+	private Map<Object, Object> readSecondLevelCacheEntries(
+			OuterJoinLoadable persister,
+			Serializable[] ids,
+			SharedSessionContractImplementor session,
+			MultiLoadOptions loadOptions,
+			LockOptions lockOptions) {
+		if ( !loadOptions.isSecondLevelCacheCheckingEnabled() ) {
+			return Collections.emptyMap();
+		}
+
+		final List<Serializable> idsToRead = new ArrayList<>( ids.length );
+		for ( Serializable id : ids ) {
+			if ( !loadOptions.isSessionCheckingEnabled()
+					|| session.getPersistenceContext().getEntity( new EntityKey( id, persister ) ) == null ) {
+				idsToRead.add( id );
+			}
+		}
+		return CacheEntityLoaderHelper.INSTANCE.getFromSecondLevelCache(
+				(SessionImplementor) session,
+				persister,
+				lockOptions.getLockMode(),
+				idsToRead
+		);
+	}
+
 	private void performOrderedBatchLoad(
 			List<Serializable> idsInBatch,
+			List<Serializable[]> pipelinedBatches,
 			LockOptions lockOptions,
 			OuterJoinLoadable persister,
+			ArrayParameterType arrayType,
 			SharedSessionContractImplementor session) {
+		if ( pipelinedBatches != null ) {
+			pipelinedBatches.add( idsInBatch.toArray( new Serializable[ idsInBatch.size() ] ) );
+			idsInBatch.clear();
+			return;
+		}
+
 		final int batchSize =  idsInBatch.size();
 		final DynamicEntityLoader batchingLoader = new DynamicEntityLoader(
 				persister,
 				batchSize,
 				lockOptions,
+				arrayType,
 				session.getFactory(),
 				session.getLoadQueryInfluencers()
 		);
@@ -221,6 +328,13 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 			// list immediately and remove its id from the group of ids to load.
 			boolean foundAnyManagedEntities = false;
 			final List<Serializable> nonManagedIds = new ArrayList<Serializable>();
+			final Map<Object, Object> cacheEntries = readSecondLevelCacheEntries(
+					persister,
+					ids,
+					session,
+					loadOptions,
+					lockOptions
+			);
 			for ( Serializable id : ids ) {
 				final EntityKey entityKey = new EntityKey( id, persister );
 
@@ -255,7 +369,8 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 					managedEntity = CacheEntityLoaderHelper.INSTANCE.loadFromSecondLevelCache(
 							loadEvent,
 							persister,
-							entityKey
+							entityKey,
+							cacheEntries
 					);
 				}
 
@@ -287,10 +402,14 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 		}
 
 		int numberOfIdsLeft = ids.length;
+		final ArrayParameterType arrayType = arrayParameterType( persister, session.getFactory() );
 		final int maxBatchSize;
 		if ( loadOptions.getBatchSize() != null && loadOptions.getBatchSize() > 0 ) {
 			maxBatchSize = loadOptions.getBatchSize();
 		}
+		else if ( arrayType != null ) {
+			maxBatchSize = numberOfIdsLeft;
+		}
 		else {
 			maxBatchSize = session.getJdbcServices().getJdbcEnvironment().getDialect().getDefaultBatchLoadSizingStrategy().determineOptimalBatchLoadSize(
 					persister.getIdentifierType().getColumnSpan( session.getFactory() ),
@@ -298,6 +417,15 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 			);
 		}
 
+		if ( numberOfIdsLeft > maxBatchSize && isPipeliningEnabled( session, lockOptions ) ) {
+			final List<Serializable[]> batches = new ArrayList<>();
+			for ( int idPosition = 0; idPosition < ids.length; idPosition += maxBatchSize ) {
+				batches.add( Arrays.copyOfRange( ids, idPosition, Math.min( idPosition + maxBatchSize, ids.length ) ) );
+			}
+			result.addAll( performPipelinedBatchLoads( batches, lockOptions, persister, arrayType, session ) );
+			return result;
+		}
+
 		int idPosition = 0;
 		while ( numberOfIdsLeft > 0 ) {
 			int batchSize =  Math.min( numberOfIdsLeft, maxBatchSize );
@@ -305,6 +433,7 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 					persister,
 					batchSize,
 					lockOptions,
+					arrayType,
 					session.getFactory(),
 					session.getLoadQueryInfluencers()
 			);
@@ -322,6 +451,186 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 		return result;
 	}
 
+	private static boolean isPipeliningEnabled(SharedSessionContractImplementor session, LockOptions lockOptions) {
+		// the second connection would not see the uncommitted writes of the current transaction
+		return session.getFactory().getSessionFactoryOptions().isMultiLoadPipeliningEnabled()
+				&& !lockOptions.getLockMode().greaterThan( LockMode.READ )
+				&& !session.getJdbcCoordinator().hasExecutedWritesInTransaction();
+	}
+
+	/**
+	 * Loads the given batches, the rows of each batch being fetched on a second connection, from a background
+	 * thread, while those of the previous batch are loaded into the Session.  At most one batch of rows waits to be
+	 * loaded at any time, and the Session waits for each batch at most
+	 * {@link org.hibernate.boot.spi.SessionFactoryOptions#getMultiLoadPipeliningTimeout()} milliseconds.
+	 *
+	 * @return The entities loaded, in the order of the batches
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#MULTI_LOAD_PIPELINING
+	 */
+	@SuppressWarnings("unchecked")
+	private List performPipelinedBatchLoads(
+			List<Serializable[]> batches,
+			LockOptions lockOptions,
+			OuterJoinLoadable persister,
+			ArrayParameterType arrayType,
+			SharedSessionContractImplementor session) {
+		// the SQL does not depend on the size of the batch
+		final DynamicEntityLoader batchingLoader = new DynamicEntityLoader(
+				persister,
+				batches.get( 0 ).length,
+				lockOptions,
+				arrayType,
+				session.getFactory(),
+				session.getLoadQueryInfluencers()
+		);
+		if ( batches.size() == 1 ) {
+			// nothing to overlap
+			final Serializable[] ids = batches.get( 0 );
+			return batchingLoader.doEntityBatchFetch(
+					session,
+					buildMultiLoadQueryParameters( persister, ids, lockOptions ),
+					ids
+			);
+		}
+
+		// everything depending on the Session is done up front, on its own thread
+		final List<QueryParameters> parameters = new ArrayList<>( batches.size() );
+		final List<String> statements = new ArrayList<>( batches.size() );
+		for ( Serializable[] ids : batches ) {
+			final QueryParameters qp = buildMultiLoadQueryParameters( persister, ids, lockOptions );
+			statements.add( batchingLoader.prepareDisconnectedBatchFetch( session, qp, ids ) );
+			parameters.add( qp );
+		}
+		final IsolationDelegate isolationDelegate = session.getTransactionCoordinator().createIsolationDelegate();
+		final RowSetFactory rowSetFactory;
+		try {
+			rowSetFactory = RowSetProvider.newFactory();
+		}
+		catch (SQLException e) {
+			throw session.getJdbcServices().getSqlExceptionHelper().convert( e, "could not create a row set factory" );
+		}
+
+		final BlockingQueue<FetchedBatch> fetchedBatches = new ArrayBlockingQueue<>( 1 );
+		final FutureTask<Void> fetcher = new FutureTask<>( () -> {
+			try {
+				isolationDelegate.delegateWork(
+						new AbstractWork() {
+							@Override
+							public void execute(Connection connection) throws SQLException {
+								for ( int i = 0; i < batches.size(); i++ ) {
+									final ResultSet rows = batchingLoader.fetchBatch(
+											connection,
+											statements.get( i ),
+											parameters.get( i ),
+											session,
+											rowSetFactory
+									);
+									try {
+										fetchedBatches.put( new FetchedBatch( rows, null ) );
+									}
+									catch (InterruptedException e) {
+										Thread.currentThread().interrupt();
+										throw new HibernateException( "Interrupted while fetching the batches of a multi-load" );
+									}
+								}
+							}
+						},
+						true
+				);
+			}
+			catch (RuntimeException e) {
+				// the loading fails anyway, so the rows waiting to be loaded, if any, make room for the failure
+				fetchedBatches.clear();
+				fetchedBatches.offer( new FetchedBatch( null, e ) );
+				throw e;
+			}
+			return null;
+		} );
+
+		final long timeout = session.getFactory().getSessionFactoryOptions().getMultiLoadPipeliningTimeout();
+		if ( !session.getFactory().getServiceRegistry().getService( MultiLoadPipeliningExecutor.class ).tryExecute( fetcher ) ) {
+			// as many multi-loads as allowed already hold a second connection, load the batches one after the other
+			log.debugf(
+					"Too many pipelined multi-loads running, loading %s batches of %s sequentially",
+					batches.size(),
+					persister.getEntityName()
+			);
+			final List results = new ArrayList();
+			for ( Serializable[] ids : batches ) {
+				results.addAll(
+						batchingLoader.doEntityBatchFetch(
+								session,
+								buildMultiLoadQueryParameters( persister, ids, lockOptions ),
+								ids
+						)
+				);
+			}
+			return results;
+		}
+		try {
+			final List results = new ArrayList();
+			for ( int i = 0; i < batches.size(); i++ ) {
+				final FetchedBatch fetchedBatch = fetchedBatches.poll( timeout, TimeUnit.MILLISECONDS );
+				if ( fetchedBatch == null ) {
+					throw new HibernateException(
+							"Timed out after " + timeout + "ms waiting for batch " + ( i + 1 ) + " of " + batches.size()
+									+ " of a pipelined multi-load of " + persister.getEntityName()
+									+ " (see " + AvailableSettings.MULTI_LOAD_PIPELINING_TIMEOUT + ")"
+					);
+				}
+				if ( fetchedBatch.failure != null ) {
+					throw fetchedBatch.failure;
+				}
+				results.addAll(
+						batchingLoader.doEntityBatchFetch(
+								session,
+								parameters.get( i ),
+								batches.get( i ),
+								statements.get( i ),
+								fetchedBatch.rows
+						)
+				);
+			}
+			// the second connection is released before returning
+			fetcher.get( timeout, TimeUnit.MILLISECONDS );
+			return results;
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new HibernateException( "Interrupted while waiting for the batches of a multi-load" );
+		}
+		catch (ExecutionException e) {
+			if ( e.getCause() instanceof RuntimeException ) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new HibernateException( "Unable to fetch the batches of a multi-load", e.getCause() );
+		}
+		catch (TimeoutException e) {
+			throw new HibernateException(
+					"Timed out after " + timeout + "ms waiting for the second connection of a pipelined multi-load of "
+							+ persister.getEntityName() + " to be released (see "
+							+ AvailableSettings.MULTI_LOAD_PIPELINING_TIMEOUT + ")"
+			);
+		}
+		finally {
+			fetcher.cancel( true );
+		}
+	}
+
+	/**
+	 * The rows of a batch fetched ahead of their loading, or the failure to fetch them.
+	 */
+	private static final class FetchedBatch {
+		private final ResultSet rows;
+		private final RuntimeException failure;
+
+		private FetchedBatch(ResultSet rows, RuntimeException failure) {
+			this.rows = rows;
+			this.failure = failure;
+		}
+	}
+
 	public static QueryParameters buildMultiLoadQueryParameters(
 			OuterJoinLoadable persister,
 			Serializable[] ids,
@@ -347,7 +656,14 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 			LockMode lockMode,
 			SessionFactoryImplementor factory,
 			LoadQueryInfluencers influencers) {
-		return new DynamicBatchingEntityLoader( persister, batchSize, lockMode, factory, influencers );
+		return new DynamicBatchingEntityLoader(
+				persister,
+				batchSize,
+				lockMode,
+				arrayParameterType( persister, factory ),
+				factory,
+				influencers
+		);
 	}
 
 	@Override
@@ -357,7 +673,14 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 			LockOptions lockOptions,
 			SessionFactoryImplementor factory,
 			LoadQueryInfluencers influencers) {
-		return new DynamicBatchingEntityLoader( persister, batchSize, lockOptions, factory, influencers );
+		return new DynamicBatchingEntityLoader(
+				persister,
+				batchSize,
+				lockOptions,
+				arrayParameterType( persister, factory ),
+				factory,
+				influencers
+		);
 	}
 
 	public static class DynamicBatchingEntityLoader extends BatchingEntityLoader {
@@ -371,22 +694,56 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 				LockMode lockMode,
 				SessionFactoryImplementor factory,
 				LoadQueryInfluencers loadQueryInfluencers) {
+			this( persister, maxBatchSize, lockMode, null, factory, loadQueryInfluencers );
+		}
+
+		public DynamicBatchingEntityLoader(
+				OuterJoinLoadable persister,
+				int maxBatchSize,
+				LockMode lockMode,
+				ArrayParameterType arrayType,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers loadQueryInfluencers) {
 			super( persister );
 			this.maxBatchSize = maxBatchSize;
 			this.singleKeyLoader = new EntityLoader( persister, 1, lockMode, factory, loadQueryInfluencers );
-			this.dynamicLoader = new DynamicEntityLoader( persister, maxBatchSize, lockMode, factory, loadQueryInfluencers );
+			this.dynamicLoader = new DynamicEntityLoader(
+					persister,
+					maxBatchSize,
+					lockMode,
+					arrayType,
+					factory,
+					loadQueryInfluencers
+			);
+		}
+
+		public DynamicBatchingEntityLoader(
+				OuterJoinLoadable persister,
+				int maxBatchSize,
+				LockOptions lockOptions,
+				SessionFactoryImplementor factory,
+				LoadQueryInfluencers loadQueryInfluencers) {
+			this( persister, maxBatchSize, lockOptions, null, factory, loadQueryInfluencers );
 		}
 
 		public DynamicBatchingEntityLoader(
 				OuterJoinLoadable persister,
 				int maxBatchSize,
 				LockOptions lockOptions,
+				ArrayParameterType arrayType,
 				SessionFactoryImplementor factory,
 				LoadQueryInfluencers loadQueryInfluencers) {
 			super( persister );
 			this.maxBatchSize = maxBatchSize;
 			this.singleKeyLoader = new EntityLoader( persister, 1, lockOptions, factory, loadQueryInfluencers );
-			this.dynamicLoader = new DynamicEntityLoader( persister, maxBatchSize, lockOptions, factory, loadQueryInfluencers );
+			this.dynamicLoader = new DynamicEntityLoader(
+					persister,
+					maxBatchSize,
+					lockOptions,
+					arrayType,
+					factory,
+					loadQueryInfluencers
+			);
 		}
 
 		@Override
@@ -435,23 +792,31 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 
 		private final String sqlTemplate;
 		private final String alias;
+		private final ArrayParameterType arrayType;
 
 		public DynamicEntityLoader(
 				OuterJoinLoadable persister,
 				int maxBatchSize,
 				LockOptions lockOptions,
+				ArrayParameterType arrayType,
 				SessionFactoryImplementor factory,
 				LoadQueryInfluencers loadQueryInfluencers) {
-			this( persister, maxBatchSize, lockOptions.getLockMode(), factory, loadQueryInfluencers );
+			this( persister, maxBatchSize, lockOptions.getLockMode(), arrayType, factory, loadQueryInfluencers );
 		}
 
+		/**
+		 * @param arrayType The type of the array parameter binding all the ids, or {@code null} to bind them one
+		 * by one in an IN list
+		 */
 		public DynamicEntityLoader(
 				OuterJoinLoadable persister,
 				int maxBatchSize,
 				LockMode lockMode,
+				ArrayParameterType arrayType,
 				SessionFactoryImplementor factory,
 				LoadQueryInfluencers loadQueryInfluencers) {
 			super( persister, -1, lockMode, factory, loadQueryInfluencers );
+			this.arrayType = arrayType;
 
 			EntityJoinWalker walker = new EntityJoinWalker(
 					persister,
@@ -462,6 +827,9 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 					loadQueryInfluencers) {
 				@Override
 				protected StringBuilder whereString(String alias, String[] columnNames, int batchSize) {
+					if ( arrayType != null ) {
+						return new StringBuilder( arrayType.getRestriction( alias, columnNames[0], getFactory().getDialect() ) );
+					}
 					return StringHelper.buildBatchFetchRestrictionFragment(
 							alias,
 							columnNames,
@@ -499,14 +867,87 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 				SharedSessionContractImplementor session,
 				QueryParameters queryParameters,
 				Serializable[] ids) {
-			final String sql = StringHelper.expandBatchIdPlaceholder(
+			final String sql = prepareBatchFetch( session, queryParameters, ids );
+			return doEntityBatchFetch( session, queryParameters, ids, sql, null );
+		}
+
+		/**
+		 * Renders the SQL loading the given ids, and binds them to the given parameters.
+		 */
+		private String prepareBatchFetch(
+				SharedSessionContractImplementor session,
+				QueryParameters queryParameters,
+				Serializable[] ids) {
+			if ( arrayType != null ) {
+				queryParameters.setPositionalParameterTypes( new Type[] { arrayType } );
+				queryParameters.setPositionalParameterValues( new Object[] { ids } );
+				return sqlTemplate;
+			}
+			return StringHelper.expandBatchIdPlaceholder(
 					sqlTemplate,
 					ids,
 					alias,
 					persister.getKeyColumnNames(),
 					session.getJdbcServices().getJdbcEnvironment().getDialect()
 			);
+		}
 
+		/**
+		 * Renders the complete SQL statement loading the given ids, to be executed by {@link #fetchBatch}, applying
+		 * the filters, comments and statement inspector of the Session.
+		 */
+		private String prepareDisconnectedBatchFetch(
+				SharedSessionContractImplementor session,
+				QueryParameters queryParameters,
+				Serializable[] ids) {
+			queryParameters.processFilters( prepareBatchFetch( session, queryParameters, ids ), session );
+			final String sql = preprocessSQL(
+					queryParameters.getFilteredSQL(),
+					queryParameters,
+					getFactory(),
+					new ArrayList<>()
+			);
+			final String inspectedSql = session.getJdbcSessionContext().getStatementInspector().inspect( sql );
+			return inspectedSql == null ? sql : inspectedSql;
+		}
+
+		/**
+		 * Executes the given statement on the given connection, and reads all its rows into a disconnected
+		 * {@link ResultSet}.  The persistence context is not used, so this may run on another thread than the
+		 * Session's.
+		 */
+		private ResultSet fetchBatch(
+				Connection connection,
+				String sql,
+				QueryParameters queryParameters,
+				SharedSessionContractImplementor session,
+				RowSetFactory rowSetFactory) throws SQLException {
+			session.getJdbcServices().getSqlStatementLogger().logStatement( sql );
+			try ( PreparedStatement statement = connection.prepareStatement( sql ) ) {
+				bindParameterValues( statement, queryParameters, 1, session );
+				try ( ResultSet resultSet = statement.executeQuery() ) {
+					final CachedRowSet rows = rowSetFactory.createCachedRowSet();
+					rows.populate( resultSet );
+					// a CachedRowSet finds its columns by name, while they are read by their aliases
+					final RowSetMetaData metaData = (RowSetMetaData) rows.getMetaData();
+					for ( int i = 1; i <= metaData.getColumnCount(); i++ ) {
+						metaData.setColumnName( i, metaData.getColumnLabel( i ) );
+					}
+					return rows;
+				}
+			}
+		}
+
+		/**
+		 * Loads the entities of a batch, either executing the given SQL, or from the given rows fetched by
+		 * {@link #fetchBatch} if not {@code null}.
+		 */
+		private List doEntityBatchFetch(
+				SharedSessionContractImplementor session,
+				QueryParameters queryParameters,
+				Serializable[] ids,
+				String sql,
+				ResultSet rows) {
 			try {
 				final PersistenceContext persistenceContext = session.getPersistenceContext();
 				boolean defaultReadOnlyOrig = persistenceContext.isDefaultReadOnly();
@@ -524,7 +965,9 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 				List results;
 				try {
 					try {
-						results = doTheLoad( sql, queryParameters, session );
+						results = rows == null
+								? doTheLoad( sql, queryParameters, session )
+								: doTheLoad( rows, queryParameters, session );
 					}
 					finally {
 						persistenceContext.afterLoad();
@@ -551,6 +994,15 @@ public class DynamicBatchingEntityLoaderBuilder extends BatchingEntityLoaderBuil
 			}
 		}
 
+		private List doTheLoad(ResultSet rows, QueryParameters queryParameters, SharedSessionContractImplementor session) throws SQLException {
+			try {
+				return processResultSet( rows, queryParameters, session, false, null, Integer.MAX_VALUE, new ArrayList<>() );
+			}
+			finally {
+				rows.close();
+			}
+		}
+
 		private List doTheLoad(String sql, QueryParameters queryParameters, SharedSessionContractImplementor session) throws SQLException {
 			final RowSelection selection = queryParameters.getRowSelection();
 			final int maxRows = LimitHelper.hasMaxRows( selection ) ?
@@ -0,0 +1,102 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader.entity;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.hibernate.HibernateException;
+import org.hibernate.service.Service;
+import org.hibernate.service.spi.Stoppable;
+
+/**
+ * Runs the background fetches of the pipelined {@code multiLoad}s of a SessionFactory on shared daemon threads,
+ * created on first use and shut down along with the SessionFactory.
+ * <p/>
+ * Each fetch holds a second pooled connection until it completes, so at most
+ * {@link org.hibernate.cfg.AvailableSettings#MULTI_LOAD_PIPELINING_MAX_CONCURRENCY} fetches run at once; the
+ * {@code multiLoad}s started beyond that are not pipelined.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#MULTI_LOAD_PIPELINING
+ */
+public class MultiLoadPipeliningExecutor implements Service, Stoppable {
+	private final Semaphore permits;
+	private ExecutorService executor;
+	private boolean stopped;
+
+	/**
+	 * Constructs a MultiLoadPipeliningExecutor
+	 *
+	 * @param maxConcurrency The maximum number of fetches running at once
+	 */
+	public MultiLoadPipeliningExecutor(int maxConcurrency) {
+		this.permits = new Semaphore( Math.max( maxConcurrency, 0 ) );
+	}
+
+	/**
+	 * Runs the given task on one of the shared threads, unless the maximum number of tasks are already running.
+	 *
+	 * @param task The task to run
+	 *
+	 * @return {@code true} if the task was submitted, {@code false} if the caller has to do without it
+	 */
+	public boolean tryExecute(Runnable task) {
+		if ( !permits.tryAcquire() ) {
+			return false;
+		}
+		try {
+			getExecutor().execute(
+					() -> {
+						try {
+							task.run();
+						}
+						finally {
+							permits.release();
+						}
+					}
+			);
+			return true;
+		}
+		catch (RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	private synchronized ExecutorService getExecutor() {
+		if ( stopped ) {
+			throw new HibernateException( "The SessionFactory is closed, a multi-load cannot be pipelined anymore" );
+		}
+		if ( executor == null ) {
+			final AtomicInteger threadCount = new AtomicInteger();
+			// each pipelined multi-load holds a thread for its whole duration, idle threads are released after a minute;
+			// the permits bound the number of threads
+			executor = Executors.newCachedThreadPool(
+					runnable -> {
+						final Thread thread = new Thread(
+								runnable,
+								"hibernate-multi-load-" + threadCount.incrementAndGet()
+						);
+						thread.setDaemon( true );
+						return thread;
+					}
+			);
+		}
+		return executor;
+	}
+
+	@Override
+	public synchronized void stop() {
+		stopped = true;
+		if ( executor != null ) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+}
@@ -0,0 +1,59 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader.entity;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.service.spi.SessionFactoryServiceInitiator;
+import org.hibernate.service.spi.SessionFactoryServiceInitiatorContext;
+
+/**
+ * Service initiator for {@link MultiLoadPipeliningExecutor}
+ */
+public class MultiLoadPipeliningExecutorInitiator implements SessionFactoryServiceInitiator<MultiLoadPipeliningExecutor> {
+	/**
+	 * Singleton access
+	 */
+	public static final MultiLoadPipeliningExecutorInitiator INSTANCE = new MultiLoadPipeliningExecutorInitiator();
+
+	/**
+	 * The default maximum number of pipelined multi-loads fetching at once.
+	 */
+	public static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+	@Override
+	public MultiLoadPipeliningExecutor initiateService(
+			SessionFactoryImplementor sessionFactory,
+			SessionFactoryOptions sessionFactoryOptions,
+			ServiceRegistryImplementor registry) {
+		return buildExecutor( registry );
+	}
+
+	@Override
+	public MultiLoadPipeliningExecutor initiateService(SessionFactoryServiceInitiatorContext context) {
+		return buildExecutor( context.getServiceRegistry() );
+	}
+
+	private MultiLoadPipeliningExecutor buildExecutor(ServiceRegistryImplementor registry) {
+		return new MultiLoadPipeliningExecutor(
+				ConfigurationHelper.getInt(
+						AvailableSettings.MULTI_LOAD_PIPELINING_MAX_CONCURRENCY,
+						registry.getService( ConfigurationService.class ).getSettings(),
+						DEFAULT_MAX_CONCURRENCY
+				)
+		);
+	}
+
+	@Override
+	public Class<MultiLoadPipeliningExecutor> getServiceInitiated() {
+		return MultiLoadPipeliningExecutor.class;
+	}
+}
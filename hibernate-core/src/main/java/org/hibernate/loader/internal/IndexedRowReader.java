@@ -0,0 +1,193 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader.internal;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.loader.CollectionAliases;
+import org.hibernate.loader.EntityAliases;
+import org.hibernate.persister.entity.Loadable;
+
+/**
+ * The column indexes read by the rows of a SQL string executed by a {@link org.hibernate.loader.Loader}, resolved
+ * once from the aliases of the loader.
+ * <p/>
+ * The aliases are kept in the order a row usually reads them: for each entity, its key, discriminator, row id,
+ * properties and version, followed by the properties of each of its subclasses, then, for each collection, its key,
+ * identifier, index and element.  An {@link IndexedRowResultSet} reading the aliases in that order only compares
+ * each one with the next expected alias, by identity, since the loaders pass the very alias strings they hold;
+ * a row reading them in another order, such as a row of a subclass, looks them up in an open addressing table.
+ *
+ * @see org.hibernate.cfg.AvailableSettings#INDEXED_ROW_READERS
+ */
+public final class IndexedRowReader {
+	private final String[] aliases;
+	private final int[] indexes;
+	// the positions of the aliases above, plus one, so that 0 marks an empty slot
+	private final int[] slots;
+
+	private IndexedRowReader(String[] aliases, int[] indexes) {
+		this.aliases = aliases;
+		this.indexes = indexes;
+		int capacity = 8;
+		while ( capacity < aliases.length * 2 ) {
+			capacity <<= 1;
+		}
+		this.slots = new int[capacity];
+		final int mask = capacity - 1;
+		for ( int position = 0; position < aliases.length; position++ ) {
+			int slot = aliases[position].hashCode() & mask;
+			while ( slots[slot] != 0 ) {
+				slot = ( slot + 1 ) & mask;
+			}
+			slots[slot] = position + 1;
+		}
+	}
+
+	/**
+	 * Resolve the aliases of a loader against the columns of one of its result sets.
+	 *
+	 * @param rs A result set of the SQL string
+	 * @param persisters The entity persisters of the loader
+	 * @param entityAliases The aliases of their columns
+	 * @param collectionAliases The aliases of the columns of the collections of the loader, if any
+	 * @param factory The session factory
+	 *
+	 * @return The reader of the SQL string
+	 *
+	 * @throws SQLException Indicates a problem accessing the metadata of the result set
+	 */
+	public static IndexedRowReader build(
+			ResultSet rs,
+			Loadable[] persisters,
+			EntityAliases[] entityAliases,
+			CollectionAliases[] collectionAliases,
+			SessionFactoryImplementor factory) throws SQLException {
+		final ResultSetMetaData metaData = rs.getMetaData();
+		final Map<String, Integer> columns = new HashMap<>();
+		for ( int index = metaData.getColumnCount(); index > 0; index-- ) {
+			// like findColumn(), the first of the columns sharing a label wins
+			columns.put( metaData.getColumnLabel( index ).toLowerCase( Locale.ROOT ), index );
+		}
+
+		final Resolution resolution = new Resolution( columns );
+		for ( int i = 0; i < persisters.length; i++ ) {
+			final EntityAliases descriptor = entityAliases[i];
+			if ( descriptor == null ) {
+				continue;
+			}
+			resolution.add( descriptor.getSuffixedKeyAliases() );
+			resolution.add( descriptor.getSuffixedDiscriminatorAlias() );
+			resolution.add( descriptor.getRowIdAlias() );
+			for ( String[] propertyAliases : descriptor.getSuffixedPropertyAliases() ) {
+				resolution.add( propertyAliases );
+			}
+			resolution.add( descriptor.getSuffixedVersionAliases() );
+
+			if ( persisters[i].hasSubclasses() ) {
+				for ( Object subclassEntityName : persisters[i].getEntityMetamodel().getSubclassEntityNames() ) {
+					final Loadable subclass = (Loadable) factory.getMetamodel().entityPersister( (String) subclassEntityName );
+					if ( subclass != persisters[i] ) {
+						for ( String[] propertyAliases : descriptor.getSuffixedPropertyAliases( subclass ) ) {
+							resolution.add( propertyAliases );
+						}
+					}
+				}
+			}
+		}
+
+		if ( collectionAliases != null ) {
+			for ( CollectionAliases descriptor : collectionAliases ) {
+				resolution.add( descriptor.getSuffixedKeyAliases() );
+				resolution.add( descriptor.getSuffixedIdentifierAlias() );
+				resolution.add( descriptor.getSuffixedIndexAliases() );
+				resolution.add( descriptor.getSuffixedElementAliases() );
+			}
+		}
+
+		return resolution.toReader();
+	}
+
+	int size() {
+		return aliases.length;
+	}
+
+	String aliasAt(int position) {
+		return aliases[position];
+	}
+
+	int indexAt(int position) {
+		return indexes[position];
+	}
+
+	/**
+	 * @return The position of the alias, preferring the very same string to an equal one, or -1 if the alias is not
+	 * known to the reader
+	 */
+	int positionOf(String alias) {
+		final int mask = slots.length - 1;
+		int equalPosition = -1;
+		for ( int slot = alias.hashCode() & mask; ; slot = ( slot + 1 ) & mask ) {
+			final int position = slots[slot] - 1;
+			if ( position < 0 ) {
+				return equalPosition;
+			}
+			final String candidate = aliases[position];
+			if ( candidate == alias ) {
+				return position;
+			}
+			if ( equalPosition < 0 && candidate.equals( alias ) ) {
+				equalPosition = position;
+			}
+		}
+	}
+
+	private static final class Resolution {
+		private final Map<String, Integer> columns;
+		private final List<String> aliases = new ArrayList<>();
+		private final List<Integer> indexes = new ArrayList<>();
+
+		private Resolution(Map<String, Integer> columns) {
+			this.columns = columns;
+		}
+
+		private void add(String[] aliases) {
+			if ( aliases != null ) {
+				for ( String alias : aliases ) {
+					add( alias );
+				}
+			}
+		}
+
+		private void add(String alias) {
+			if ( alias != null ) {
+				final Integer index = columns.get( alias.toLowerCase( Locale.ROOT ) );
+				// the aliases of the lazy properties are not selected, for one
+				if ( index != null ) {
+					aliases.add( alias );
+					indexes.add( index );
+				}
+			}
+		}
+
+		private IndexedRowReader toReader() {
+			final int[] resolvedIndexes = new int[indexes.size()];
+			for ( int i = 0; i < resolvedIndexes.length; i++ ) {
+				resolvedIndexes[i] = indexes.get( i );
+			}
+			return new IndexedRowReader( aliases.toArray( new String[0] ), resolvedIndexes );
+		}
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.loader.internal;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.loader.CollectionAliases;
+import org.hibernate.loader.EntityAliases;
+import org.hibernate.persister.entity.Loadable;
+
+/**
+ * The {@link IndexedRowReader row readers} of a loader, one for each SQL string it executes, as the filters, the
+ * limit and the locks applied to a query may move its columns around.
+ * <p/>
+ * At most {@value #MAX_SQL_STRINGS} SQL strings are cached, like for the
+ * {@link org.hibernate.engine.jdbc.internal.ColumnNameCaches column name caches}: the result sets of any other SQL
+ * string get a reader of their own.
+ */
+public final class IndexedRowReaders {
+	private static final int MAX_SQL_STRINGS = 32;
+
+	private final ConcurrentHashMap<String, IndexedRowReader> readers = new ConcurrentHashMap<>();
+
+	/**
+	 * Get the reader of the given SQL string, building it if needed.
+	 *
+	 * @param sql The SQL string executed
+	 * @param rs The ResultSet of the SQL string
+	 * @param persisters The entity persisters of the loader
+	 * @param entityAliases The aliases of their columns
+	 * @param collectionAliases The aliases of the columns of the collections of the loader, if any
+	 * @param factory The session factory
+	 *
+	 * @return The reader of the SQL string
+	 *
+	 * @throws SQLException Indicates a problem accessing the metadata of the result set
+	 */
+	public IndexedRowReader get(
+			String sql,
+			ResultSet rs,
+			Loadable[] persisters,
+			EntityAliases[] entityAliases,
+			CollectionAliases[] collectionAliases,
+			SessionFactoryImplementor factory) throws SQLException {
+		final IndexedRowReader reader = readers.get( sql );
+		if ( reader != null ) {
+			return reader;
+		}
+		//there is no need for an atomic put, as in worst case
+		//we'll have resolved the aliases twice
+		final IndexedRowReader newReader = IndexedRowReader.build(
+				rs,
+				persisters,
+				entityAliases,
+				collectionAliases,
+				factory
+		);
+		if ( readers.size() < MAX_SQL_STRINGS ) {
+			readers.put( sql, newReader );
+		}
+		return newReader;
+	}
+}
@@ -23,7 +23,7 @@ import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.pagination.LimitHandler;
 import org.hibernate.dialect.pagination.LimitHelper;
 import org.hibernate.dialect.pagination.NoopLimitHandler;
-import org.hibernate.engine.jdbc.ColumnNameCache;
+import org.hibernate.engine.jdbc.internal.ColumnNameCaches;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.jdbc.spi.ResultSetWrapper;
 import org.hibernate.engine.spi.PersistenceContext;
@@ -53,7 +53,7 @@ public abstract class AbstractLoadPlanBasedLoader {
 
 	private final SessionFactoryImplementor factory;
 
-	private ColumnNameCache columnNameCache;
+	private final ColumnNameCaches columnNameCaches = new ColumnNameCaches();
 
 	/**
 	 * Constructs a {@link AbstractLoadPlanBasedLoader}.
@@ -188,7 +188,7 @@ public abstract class AbstractLoadPlanBasedLoader {
 				);
 
 		final PreparedStatement st = prepareQueryStatement( sql, queryParameters, limitHandler, scroll, session );
-		return new SqlStatementWrapper( st, getResultSet( st, queryParameters.getRowSelection(), limitHandler, queryParameters.hasAutoDiscoverScalarTypes(), session ) );
+		return new SqlStatementWrapper( st, getResultSet( sql, st, queryParameters.getRowSelection(), limitHandler, queryParameters.hasAutoDiscoverScalarTypes(), session ) );
 	}
 
 	/**
@@ -404,10 +404,28 @@ public abstract class AbstractLoadPlanBasedLoader {
 		}
 	}
 
+	/**
+	 * Execute given <tt>PreparedStatement</tt>, advance to the first result and return SQL <tt>ResultSet</tt>.
+	 *
+	 * @deprecated Use {@link #getResultSet(String, PreparedStatement, RowSelection, LimitHandler, boolean, SharedSessionContractImplementor)}
+	 * instead, so that the column names of each SQL statement are resolved once
+	 */
+	@Deprecated
+	protected final ResultSet getResultSet(
+			final PreparedStatement st,
+			final RowSelection selection,
+			final LimitHandler limitHandler,
+			final boolean autodiscovertypes,
+			final SharedSessionContractImplementor session)
+			throws SQLException, HibernateException {
+		return getResultSet( null, st, selection, limitHandler, autodiscovertypes, session );
+	}
+
 	/**
 	 * Execute given <tt>PreparedStatement</tt>, advance to the first result and return SQL <tt>ResultSet</tt>.
 	 */
 	protected final ResultSet getResultSet(
+			final String sql,
 			final PreparedStatement st,
 			final RowSelection selection,
 			final LimitHandler limitHandler,
@@ -417,7 +435,7 @@ public abstract class AbstractLoadPlanBasedLoader {
 
 		try {
 			ResultSet rs = session.getJdbcCoordinator().getResultSetReturn().extract( st );
-			rs = wrapResultSetIfEnabled( rs , session );
+			rs = wrapResultSetIfEnabled( sql, rs, session );
 
 			if ( !limitHandler.supportsLimitOffset() || !LimitHelper.useLimit( limitHandler, selection ) ) {
 				advance( rs, selection );
@@ -454,7 +472,10 @@ public abstract class AbstractLoadPlanBasedLoader {
 		}
 	}
 
-	private ResultSet wrapResultSetIfEnabled(final ResultSet rs, final SharedSessionContractImplementor session) {
+	private ResultSet wrapResultSetIfEnabled(
+			final String sql,
+			final ResultSet rs,
+			final SharedSessionContractImplementor session) {
 		if ( session.getFactory().getSessionFactoryOptions().isWrapResultSetsEnabled() ) {
 			try {
 				if ( log.isDebugEnabled() ) {
@@ -464,12 +485,8 @@ public abstract class AbstractLoadPlanBasedLoader {
 						.getServiceRegistry()
 						.getService( JdbcServices.class )
 						.getResultSetWrapper();
-				// synchronized to avoid multi-thread access issues
-				// Apparently the comment about this needing synchronization was introduced when AbstractLoadPlanBasedLoader first appeared
-				// in version control. Would need to investigate if it's still needed?
-				synchronized ( this ) {
-					return wrapper.wrap( rs, retreiveColumnNameToIndexCache( rs ) );
-				}
+				// the caches are thread-safe
+				return wrapper.wrap( rs, columnNameCaches.get( sql, rs ) );
 			}
 			catch(SQLException e) {
 				log.unableToWrapResultSet( e );
@@ -481,15 +498,6 @@ public abstract class AbstractLoadPlanBasedLoader {
 		}
 	}
 
-	private ColumnNameCache retreiveColumnNameToIndexCache(ResultSet rs) throws SQLException {
-		if ( columnNameCache == null ) {
-			log.trace( "Building columnName->columnIndex cache" );
-			columnNameCache = new ColumnNameCache( rs.getMetaData().getColumnCount() );
-		}
-
-		return columnNameCache;
-	}
-
 	/**
 	 * Wrapper class for {@link java.sql.Statement} and associated {@link java.sql.ResultSet}.
 	 */
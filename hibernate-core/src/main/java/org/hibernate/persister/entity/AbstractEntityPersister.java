@@ -37,6 +37,7 @@ import org.hibernate.QueryException;
 import org.hibernate.Session;
 import org.hibernate.StaleObjectStateException;
 import org.hibernate.StaleStateException;
+import org.hibernate.boot.spi.MetadataImplementor;
 import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
 import org.hibernate.bytecode.enhance.spi.interceptor.LazyAttributeDescriptor;
 import org.hibernate.bytecode.enhance.spi.interceptor.LazyAttributeLoadingInterceptor;
@@ -60,10 +61,12 @@ import org.hibernate.engine.internal.MutableEntityEntryFactory;
 import org.hibernate.engine.internal.StatefulPersistenceContext;
 import org.hibernate.engine.internal.Versioning;
 import org.hibernate.engine.jdbc.batch.internal.BasicBatchKey;
+import org.hibernate.engine.jdbc.batch.internal.EntityInsertBatchKey;
 import org.hibernate.engine.jdbc.env.spi.JdbcEnvironment;
 import org.hibernate.engine.jdbc.spi.JdbcServices;
 import org.hibernate.engine.spi.CachedNaturalIdValueSource;
 import org.hibernate.engine.spi.CascadeStyle;
+import org.hibernate.engine.spi.CascadeStyles;
 import org.hibernate.engine.spi.CascadingActions;
 import org.hibernate.engine.spi.CollectionKey;
 import org.hibernate.engine.spi.EntityEntry;
@@ -90,12 +93,15 @@ import org.hibernate.internal.util.collections.ArrayHelper;
 import org.hibernate.jdbc.Expectation;
 import org.hibernate.jdbc.Expectations;
 import org.hibernate.jdbc.TooManyRowsAffectedException;
+import org.hibernate.loader.BatchFetchStyle;
 import org.hibernate.loader.custom.sql.SQLQueryParser;
 import org.hibernate.loader.entity.BatchingEntityLoaderBuilder;
 import org.hibernate.loader.entity.CascadeEntityLoader;
 import org.hibernate.loader.entity.DynamicBatchingEntityLoaderBuilder;
 import org.hibernate.loader.entity.EntityLoader;
 import org.hibernate.loader.entity.UniqueEntityLoader;
+import org.hibernate.mapping.Any;
+import org.hibernate.mapping.Collection;
 import org.hibernate.mapping.Column;
 import org.hibernate.mapping.Component;
 import org.hibernate.mapping.Formula;
@@ -104,6 +110,8 @@ import org.hibernate.mapping.Property;
 import org.hibernate.mapping.Selectable;
 import org.hibernate.mapping.Subclass;
 import org.hibernate.mapping.Table;
+import org.hibernate.mapping.ToOne;
+import org.hibernate.mapping.Value;
 import org.hibernate.metadata.ClassMetadata;
 import org.hibernate.metamodel.model.domain.NavigableRole;
 import org.hibernate.persister.collection.CollectionPersister;
@@ -856,11 +864,20 @@ public abstract class AbstractEntityPersister
 		}
 
 		//		2)  have no associations.  Eventually we want to be a little more lenient with associations.
-		for ( Type type : getSubclassPropertyTypeClosure() ) {
-			if ( type.isAssociationType() ) {
+		//			When enabled, non-cascading to-one associations to entities which can themselves be stored
+		//			as references are accepted, since the associated instances are then shared as well.
+		if ( factory.getSessionFactoryOptions().isDirectReferenceCacheEntriesForAssociationsEnabled() ) {
+			if ( !canReferenceAssociatedEntities( persistentClass, creationContext.getMetadata(), new HashSet<>() ) ) {
 				refCacheEntries = false;
 			}
 		}
+		else {
+			for ( Type type : getSubclassPropertyTypeClosure() ) {
+				if ( type.isAssociationType() ) {
+					refCacheEntries = false;
+				}
+			}
+		}
 
 		useReferenceCacheEntries = refCacheEntries;
 
@@ -875,6 +892,55 @@ public abstract class AbstractEntityPersister
 
 	}
 
+	/**
+	 * Whether the instances of the given entity, and of the entities it is associated with, can be shared through
+	 * the second-level cache: its associations, if any, must be non-cascading to-one associations to immutable and
+	 * cached entities, themselves satisfying these conditions.
+	 */
+	private static boolean canReferenceAssociatedEntities(
+			PersistentClass persistentClass,
+			MetadataImplementor metadata,
+			Set<String> visitedEntityNames) {
+		if ( !visitedEntityNames.add( persistentClass.getEntityName() ) ) {
+			// already being checked, through a circular association
+			return true;
+		}
+		final Iterator properties = persistentClass.getSubclassPropertyClosureIterator();
+		while ( properties.hasNext() ) {
+			if ( !canReferenceAssociatedEntities( (Property) properties.next(), metadata, visitedEntityNames ) ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean canReferenceAssociatedEntities(
+			Property property,
+			MetadataImplementor metadata,
+			Set<String> visitedEntityNames) {
+		final Value value = property.getValue();
+		if ( value instanceof Component ) {
+			final Iterator properties = ( (Component) value ).getPropertyIterator();
+			while ( properties.hasNext() ) {
+				if ( !canReferenceAssociatedEntities( (Property) properties.next(), metadata, visitedEntityNames ) ) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if ( value instanceof ToOne ) {
+			if ( property.getCascadeStyle() != CascadeStyles.NONE ) {
+				return false;
+			}
+			final PersistentClass associated = metadata.getEntityBinding( ( (ToOne) value ).getReferencedEntityName() );
+			return associated != null
+					&& associated.isCached()
+					&& !associated.isMutable()
+					&& canReferenceAssociatedEntities( associated, metadata, visitedEntityNames );
+		}
+		return !( value instanceof Collection ) && !( value instanceof Any );
+	}
+
 	@SuppressWarnings("RedundantIfStatement")
 	private boolean determineWhetherToInvalidateCache(
 			PersistentClass persistentClass,
@@ -3097,7 +3163,47 @@ public abstract class AbstractEntityPersister
 				.toStatementString();
 	}
 
-	private BasicBatchKey inserBatchKey;
+	private EntityInsertBatchKey inserBatchKey;
+
+	private EntityInsertBatchKey buildInsertBatchKey(Expectation expectation) {
+		final Set<String> referencedRootEntityNames = new HashSet<>();
+		boolean dependsOnAll = collectReferencedRootEntityNames( getIdentifierType(), referencedRootEntityNames );
+		for ( Type propertyType : getPropertyTypes() ) {
+			dependsOnAll = collectReferencedRootEntityNames( propertyType, referencedRootEntityNames ) || dependsOnAll;
+		}
+		return new EntityInsertBatchKey(
+				getEntityName() + "#INSERT",
+				expectation,
+				getRootEntityName(),
+				referencedRootEntityNames,
+				dependsOnAll
+		);
+	}
+
+	/**
+	 * Collects the root entity names of the hierarchies the given type may hold a foreign key to.
+	 *
+	 * @return {@code true} if the type may reference any entity
+	 */
+	private boolean collectReferencedRootEntityNames(Type type, Set<String> referencedRootEntityNames) {
+		if ( type.isAnyType() ) {
+			return true;
+		}
+		else if ( type.isEntityType() ) {
+			final String associatedEntityName = ( (EntityType) type ).getAssociatedEntityName();
+			referencedRootEntityNames.add(
+					getFactory().getMetamodel().entityPersister( associatedEntityName ).getRootEntityName()
+			);
+		}
+		else if ( type.isComponentType() ) {
+			boolean dependsOnAll = false;
+			for ( Type subtype : ( (CompositeType) type ).getSubtypes() ) {
+				dependsOnAll = collectReferencedRootEntityNames( subtype, referencedRootEntityNames ) || dependsOnAll;
+			}
+			return dependsOnAll;
+		}
+		return false;
+	}
 
 	/**
 	 * Perform an SQL INSERT.
@@ -3139,10 +3245,7 @@ public abstract class AbstractEntityPersister
 						getIdentifierGenerator().supportsJdbcBatchInserts();
 
 		if ( useBatch && inserBatchKey == null ) {
-			inserBatchKey = new BasicBatchKey(
-					getEntityName() + "#INSERT",
-					expectation
-			);
+			inserBatchKey = buildInsertBatchKey( expectation );
 		}
 		final boolean callable = isInsertCallable( j );
 
@@ -4281,7 +4384,10 @@ public abstract class AbstractEntityPersister
 
 	@Override
 	public List multiLoad(Serializable[] ids, SharedSessionContractImplementor session, MultiLoadOptions loadOptions) {
-		return DynamicBatchingEntityLoaderBuilder.INSTANCE.multiLoad(
+		final DynamicBatchingEntityLoaderBuilder builder = getFactory().getSettings().getBatchFetchStyle() == BatchFetchStyle.ARRAY
+				? DynamicBatchingEntityLoaderBuilder.ARRAY_INSTANCE
+				: DynamicBatchingEntityLoaderBuilder.INSTANCE;
+		return builder.multiLoad(
 				this,
 				ids,
 				session,
@@ -81,7 +81,18 @@ public interface Query<R> extends TypedQuery<R>, org.hibernate.Query<R>, CommonQ
 	 * <p/>
 	 * In the initial implementation (5.2) this returns a simple sequential Stream.  The plan
 	 * is to return a a smarter stream in 6.x leveraging the SQM model.
-	 *
+	 * <p/>
+	 * The rows are fetched {@link org.hibernate.cfg.AvailableSettings#STREAM_FETCH_SIZE a batch at a time}
+	 * as the stream is consumed.  The entities of the rows stay managed by the session, unless the
+	 * {@link org.hibernate.annotations.QueryHints#DETACH_STREAMED} hint is set, in which case the entities
+	 * loaded by a row are detached as soon as the stream has read the next one: streaming any number of rows
+	 * then runs in constant memory, as long as the entities associated with them are either not loaded, or
+	 * detached along with them by a {@link javax.persistence.CascadeType#DETACH DETACH} cascade.  The
+	 * entities which were already managed when the stream was created are never detached, nor are the entities
+	 * modified or removed while their row was processed, so that their changes are still flushed.  The stream reads
+	 * a row after the previous one has been processed, except for the operations buffering rows, such as
+	 * {@link Stream#sorted()}, which should not be used on a detaching stream.  A parallel stream does not
+	 * detach the rows anymore once it is split.
 	 * <p>
 	 *
 	 * You should call {@link java.util.stream.Stream#close()} after processing the stream
@@ -52,6 +52,7 @@ import org.hibernate.engine.query.spi.HQLQueryPlan;
 import org.hibernate.engine.spi.ExceptionConverter;
 import org.hibernate.engine.spi.QueryParameters;
 import org.hibernate.engine.spi.RowSelection;
+import org.hibernate.engine.spi.SessionImplementor;
 import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import org.hibernate.engine.spi.TypedValue;
 import org.hibernate.graph.GraphSemantic;
@@ -95,6 +96,7 @@ import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 import static org.hibernate.jpa.QueryHints.HINT_CACHE_MODE;
 import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
 import static org.hibernate.jpa.QueryHints.HINT_COMMENT;
+import static org.hibernate.jpa.QueryHints.HINT_DETACH_STREAMED;
 import static org.hibernate.jpa.QueryHints.HINT_FETCHGRAPH;
 import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 import static org.hibernate.jpa.QueryHints.HINT_FLUSH_MODE;
@@ -137,6 +139,8 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 
 	private Boolean passDistinctThrough;
 
+	private boolean detachStreamed;
+
 	public AbstractProducedQuery(
 			SharedSessionContractImplementor producer,
 			ParameterMetadata parameterMetadata) {
@@ -995,6 +999,10 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			hints.put( HINT_READONLY, true );
 		}
 
+		if ( detachStreamed ) {
+			hints.put( HINT_DETACH_STREAMED, true );
+		}
+
 		if ( entityGraphQueryHint != null ) {
 			hints.put( entityGraphQueryHint.getHintName(), entityGraphQueryHint.getOriginEntityGraph() );
 		}
@@ -1098,6 +1106,9 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			else if ( QueryHints.HINT_PASS_DISTINCT_THROUGH.equals( hintName ) ) {
 				applied = applyPassDistinctThrough( ConfigurationHelper.getBoolean( value ) );
 			}
+			else if ( HINT_DETACH_STREAMED.equals( hintName ) ) {
+				applied = applyDetachStreamedHint( ConfigurationHelper.getBoolean( value ) );
+			}
 			else {
 				MSG_LOGGER.ignoringUnrecognizedQueryHint( hintName );
 			}
@@ -1325,6 +1336,16 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 		return true;
 	}
 
+	/**
+	 * Apply the detach-streamed hint.
+	 *
+	 * @param detachStreamed the entities of the rows passed by a {@link #stream()} are detached
+	 */
+	protected boolean applyDetachStreamedHint(boolean detachStreamed) {
+		this.detachStreamed = detachStreamed;
+		return true;
+	}
+
 	/**
 	 * Is the query represented here a native (SQL) query?
 	 *
@@ -1507,16 +1528,40 @@ public abstract class AbstractProducedQuery<R> implements QueryImplementor<R> {
 			final Spliterator<R> spliterator = Spliterators.emptySpliterator();
 			return StreamSupport.stream( spliterator, false );
 		}
-		final ScrollableResultsImplementor scrollableResults = scroll( ScrollMode.FORWARD_ONLY );
-		final ScrollableResultsIterator<R> iterator = new ScrollableResultsIterator<>( scrollableResults );
-		final Spliterator<R> spliterator = Spliterators.spliteratorUnknownSize( iterator, Spliterator.NONNULL );
-
-		final Stream<R> stream = StreamSupport.stream( spliterator, false );
-		stream.onClose( scrollableResults::close );
+		final ScrollableResultsImplementor scrollableResults = scrollForStream();
+		final ScrollableResultsIterator<R> iterator = new ScrollableResultsIterator<>(
+				scrollableResults,
+				detachStreamed && getProducer() instanceof SessionImplementor
+						? (SessionImplementor) getProducer()
+						: null
+		);
+		final Stream<R> stream = StreamSupport.stream( iterator.spliterator(), false );
+		stream.onClose( iterator::close );
 
 		return stream;
 	}
 
+	/**
+	 * Scroll the results of a {@link #stream()}, fetching the configured number of rows at a time unless the query
+	 * defines its own fetch size.
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#STREAM_FETCH_SIZE
+	 */
+	private ScrollableResultsImplementor scrollForStream() {
+		final Integer streamFetchSize = getProducer().getFactory().getSessionFactoryOptions().getStreamFetchSize();
+		if ( streamFetchSize == null || queryOptions.getFetchSize() != null ) {
+			return scroll( ScrollMode.FORWARD_ONLY );
+		}
+		// the statement is prepared, with its fetch size, before scroll() returns
+		queryOptions.setFetchSize( streamFetchSize );
+		try {
+			return scroll( ScrollMode.FORWARD_ONLY );
+		}
+		finally {
+			queryOptions.setFetchSize( null );
+		}
+	}
+
 	@Override
 	public Optional<R> uniqueResultOptional() {
 		return Optional.ofNullable( uniqueResult() );
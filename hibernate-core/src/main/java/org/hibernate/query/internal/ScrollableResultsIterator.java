@@ -6,7 +6,22 @@
  */
 package org.hibernate.query.internal;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
 import org.hibernate.Incubating;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.Status;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
 import org.hibernate.query.spi.CloseableIterator;
 import org.hibernate.query.spi.ScrollableResultsImplementor;
 
@@ -19,24 +34,104 @@ import org.hibernate.query.spi.ScrollableResultsImplementor;
 class ScrollableResultsIterator<T> implements CloseableIterator {
 	private final ScrollableResultsImplementor scrollableResults;
 
+	private SessionImplementor detachingSession;
+	private Set<Object> managedBeforeStream;
+	private boolean rowAddedEntities;
+	private Object[] current;
+
 	ScrollableResultsIterator(ScrollableResultsImplementor scrollableResults) {
+		this( scrollableResults, null );
+	}
+
+	/**
+	 * @param detachingSession The session the entities of each row are detached from, once the iterator has moved
+	 * past the row, or {@code null} to keep them managed.  The entities which were already managed when the
+	 * iterator was created, or when their row was read, are never detached, nor are the entities which were
+	 * modified or removed while their row was processed, so that their changes are still flushed.
+	 */
+	ScrollableResultsIterator(ScrollableResultsImplementor scrollableResults, SessionImplementor detachingSession) {
 		this.scrollableResults = scrollableResults;
+		this.detachingSession = detachingSession;
+		if ( detachingSession != null ) {
+			managedBeforeStream = Collections.newSetFromMap( new IdentityHashMap<>() );
+			for ( Object entity : detachingSession.getPersistenceContext().getEntitiesByKey().values() ) {
+				managedBeforeStream.add( entity );
+			}
+		}
+	}
+
+	/**
+	 * A spliterator over the rows, which stops detaching them once it is split: the rows handed to the other
+	 * spliterators are read ahead of their processing.
+	 */
+	Spliterator<T> spliterator() {
+		final Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize( this, Spliterator.NONNULL );
+		if ( detachingSession == null ) {
+			return spliterator;
+		}
+		return new Spliterator<T>() {
+			@Override
+			public boolean tryAdvance(Consumer<? super T> action) {
+				return spliterator.tryAdvance( action );
+			}
+
+			@Override
+			public void forEachRemaining(Consumer<? super T> action) {
+				spliterator.forEachRemaining( action );
+			}
+
+			@Override
+			public Spliterator<T> trySplit() {
+				stopDetaching();
+				return spliterator.trySplit();
+			}
+
+			@Override
+			public long estimateSize() {
+				return spliterator.estimateSize();
+			}
+
+			@Override
+			public int characteristics() {
+				return spliterator.characteristics();
+			}
+		};
 	}
 
 	@Override
 	public void close() {
-		scrollableResults.close();
+		try {
+			detachCurrent();
+		}
+		finally {
+			scrollableResults.close();
+		}
 	}
 
 	@Override
 	public boolean hasNext() {
-		return !scrollableResults.isClosed() && scrollableResults.next();
+		detachCurrent();
+		if ( scrollableResults.isClosed() ) {
+			return false;
+		}
+		if ( detachingSession == null ) {
+			return scrollableResults.next();
+		}
+		final PersistenceContext persistenceContext = detachingSession.getPersistenceContext();
+		final int managedEntities = persistenceContext.getNumberOfManagedEntities();
+		final boolean hasNext = scrollableResults.next();
+		// a row whose entities were all managed already did not add any
+		rowAddedEntities = persistenceContext.getNumberOfManagedEntities() > managedEntities;
+		return hasNext;
 	}
 
 	@Override
 	@SuppressWarnings("unchecked")
 	public T next() {
 		Object[] next = scrollableResults.get();
+		if ( detachingSession != null && rowAddedEntities ) {
+			current = next;
+		}
 		if ( next.length == 1 ) {
 			return (T) next[0];
 		}
@@ -44,4 +139,60 @@ class ScrollableResultsIterator<T> implements CloseableIterator {
 			return (T) next;
 		}
 	}
+
+	private void stopDetaching() {
+		detachingSession = null;
+		managedBeforeStream = null;
+		current = null;
+	}
+
+	private void detachCurrent() {
+		if ( current == null ) {
+			return;
+		}
+		final Object[] row = current;
+		current = null;
+		if ( !detachingSession.isOpen() ) {
+			return;
+		}
+		for ( Object element : row ) {
+			final Object entity;
+			if ( element instanceof HibernateProxy ) {
+				final LazyInitializer lazyInitializer = ( (HibernateProxy) element ).getHibernateLazyInitializer();
+				// a proxy which was not initialized by its row was not loaded by the stream
+				entity = lazyInitializer.isUninitialized() ? null : lazyInitializer.getImplementation();
+			}
+			else {
+				entity = element;
+			}
+			if ( entity != null
+					&& !managedBeforeStream.contains( entity )
+					&& detachingSession.getPersistenceContext().isEntryFor( entity )
+					&& !isModified( entity ) ) {
+				detachingSession.evict( element );
+			}
+		}
+	}
+
+	/**
+	 * Whether evicting the entity would discard changes which were not flushed yet
+	 */
+	private boolean isModified(Object entity) {
+		final EntityEntry entry = detachingSession.getPersistenceContext().getEntry( entity );
+		if ( entry.getStatus() != Status.MANAGED ) {
+			return entry.getStatus() != Status.READ_ONLY;
+		}
+		final EntityPersister persister = entry.getPersister();
+		final Object[] values = persister.getPropertyValues( entity );
+		if ( entry.requiresDirtyCheck( entity )
+				&& persister.findDirty( values, entry.getLoadedState(), entity, detachingSession ) != null ) {
+			return true;
+		}
+		for ( Object value : values ) {
+			if ( value instanceof PersistentCollection && ( (PersistentCollection) value ).isDirty() ) {
+				return true;
+			}
+		}
+		return false;
+	}
 }
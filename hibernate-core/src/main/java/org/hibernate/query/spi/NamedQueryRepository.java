@@ -6,9 +6,14 @@
  */
 package org.hibernate.query.spi;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 import org.hibernate.HibernateException;
 import org.hibernate.Incubating;
@@ -150,53 +155,108 @@ public class NamedQueryRepository {
 		// Check named HQL queries
 		log.debugf( "Checking %s named HQL queries", namedQueryDefinitionMap.size() );
 		for ( NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
-			// this will throw an error if there's something wrong.
-			try {
-				log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
-				//TODO: BUG! this currently fails for named queries for non-POJO entities
-				queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
-			}
-			catch ( HibernateException e ) {
-				errors.put( namedQueryDefinition.getName(), e );
-			}
-
-
+			checkNamedQuery( namedQueryDefinition, queryPlanCache, errors );
 		}
 
 		// Check native-sql queries
 		log.debugf( "Checking %s named SQL queries", namedSqlQueryDefinitionMap.size() );
 		for ( NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
-			// this will throw an error if there's something wrong.
-			try {
-				log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
-				// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
-				// currently not doable though because of the resultset-ref stuff...
-				NativeSQLQuerySpecification spec;
-				if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
-					ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
-					if ( definition == null ) {
-						throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
-					}
-					spec = new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							definition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
-				}
-				else {
-					spec =  new NativeSQLQuerySpecification(
-							namedSQLQueryDefinition.getQueryString(),
-							namedSQLQueryDefinition.getQueryReturns(),
-							namedSQLQueryDefinition.getQuerySpaces()
-					);
+			checkNamedSQLQuery( namedSQLQueryDefinition, queryPlanCache, errors );
+		}
+
+		return errors;
+	}
+
+	/**
+	 * Check the named queries like {@link #checkNamedQueries(QueryPlanCache)}, compiling each of them in a task
+	 * run by the given executor.
+	 *
+	 * @param queryPlanCache The query plan cache compiling the queries
+	 * @param executor The executor running the compilations
+	 *
+	 * @return The errors by query name, once all the queries are checked
+	 */
+	public CompletableFuture<Map<String,HibernateException>> checkNamedQueries(
+			QueryPlanCache queryPlanCache,
+			Executor executor) {
+		final Map<String,HibernateException> errors = new ConcurrentHashMap<String,HibernateException>();
+		final List<CompletableFuture<Void>> checks = new ArrayList<CompletableFuture<Void>>(
+				namedQueryDefinitionMap.size() + namedSqlQueryDefinitionMap.size()
+		);
+
+		log.debugf(
+				"Checking %s named HQL queries and %s named SQL queries in parallel",
+				namedQueryDefinitionMap.size(),
+				namedSqlQueryDefinitionMap.size()
+		);
+		for ( NamedQueryDefinition namedQueryDefinition : namedQueryDefinitionMap.values() ) {
+			checks.add(
+					CompletableFuture.runAsync(
+							() -> checkNamedQuery( namedQueryDefinition, queryPlanCache, errors ),
+							executor
+					)
+			);
+		}
+		for ( NamedSQLQueryDefinition namedSQLQueryDefinition : namedSqlQueryDefinitionMap.values() ) {
+			checks.add(
+					CompletableFuture.runAsync(
+							() -> checkNamedSQLQuery( namedSQLQueryDefinition, queryPlanCache, errors ),
+							executor
+					)
+			);
+		}
+
+		return CompletableFuture.allOf( checks.toArray( new CompletableFuture[checks.size()] ) )
+				.thenApply( v -> errors );
+	}
+
+	private void checkNamedQuery(
+			NamedQueryDefinition namedQueryDefinition,
+			QueryPlanCache queryPlanCache,
+			Map<String,HibernateException> errors) {
+		// this will throw an error if there's something wrong.
+		try {
+			log.debugf( "Checking named query: %s", namedQueryDefinition.getName() );
+			//TODO: BUG! this currently fails for named queries for non-POJO entities
+			queryPlanCache.getHQLQueryPlan( namedQueryDefinition.getQueryString(), false, Collections.EMPTY_MAP );
+		}
+		catch ( HibernateException e ) {
+			errors.put( namedQueryDefinition.getName(), e );
+		}
+	}
+
+	private void checkNamedSQLQuery(
+			NamedSQLQueryDefinition namedSQLQueryDefinition,
+			QueryPlanCache queryPlanCache,
+			Map<String,HibernateException> errors) {
+		// this will throw an error if there's something wrong.
+		try {
+			log.debugf( "Checking named SQL query: %s", namedSQLQueryDefinition.getName() );
+			// TODO : would be really nice to cache the spec on the query-def so as to not have to re-calc the hash;
+			// currently not doable though because of the resultset-ref stuff...
+			NativeSQLQuerySpecification spec;
+			if ( namedSQLQueryDefinition.getResultSetRef() != null ) {
+				ResultSetMappingDefinition definition = getResultSetMappingDefinition( namedSQLQueryDefinition.getResultSetRef() );
+				if ( definition == null ) {
+					throw new MappingException( "Unable to find resultset-ref definition: " + namedSQLQueryDefinition.getResultSetRef() );
 				}
-				queryPlanCache.getNativeSQLQueryPlan( spec );
+				spec = new NativeSQLQuerySpecification(
+						namedSQLQueryDefinition.getQueryString(),
+						definition.getQueryReturns(),
+						namedSQLQueryDefinition.getQuerySpaces()
+				);
 			}
-			catch ( HibernateException e ) {
-				errors.put( namedSQLQueryDefinition.getName(), e );
+			else {
+				spec =  new NativeSQLQuerySpecification(
+						namedSQLQueryDefinition.getQueryString(),
+						namedSQLQueryDefinition.getQueryReturns(),
+						namedSQLQueryDefinition.getQuerySpaces()
+				);
 			}
+			queryPlanCache.getNativeSQLQueryPlan( spec );
+		}
+		catch ( HibernateException e ) {
+			errors.put( namedSQLQueryDefinition.getName(), e );
 		}
-
-		return errors;
 	}
 }
@@ -73,4 +73,59 @@ public interface CacheRegionStatistics extends Serializable {
 	 * is returned instead.
 	 */
 	long getSizeInMemory();
+
+	/**
+	 * The number of entries evicted from the region by the cache provider, because of its size or of their
+	 * expiration.
+	 *
+	 * This is an optional value contingent upon the underlying cache provider
+	 * providing extended stats support via
+	 * {@link org.hibernate.cache.spi.ExtendedStatisticsSupport}.  If the provider
+	 * does not support extended stats, {@link #NO_EXTENDED_STAT_SUPPORT_RETURN}
+	 * is returned instead.
+	 *
+	 * @since 5.4
+	 */
+	default long getEvictionCount() {
+		return NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	/**
+	 * The number of lookups served by the near cache the cache provider keeps on this node, in front of the
+	 * region, without reaching the region itself.
+	 *
+	 * This is an optional value contingent upon the underlying cache provider
+	 * providing extended stats support via
+	 * {@link org.hibernate.cache.spi.ExtendedStatisticsSupport}.  If the provider
+	 * does not support extended stats, or keeps no near cache, {@link #NO_EXTENDED_STAT_SUPPORT_RETURN}
+	 * is returned instead.
+	 *
+	 * @since 5.4
+	 */
+	default long getNearCacheHitCount() {
+		return NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	/**
+	 * The number of lookups which missed the near cache the cache provider keeps on this node, in front of the
+	 * region, and reached the region itself.
+	 *
+	 * This is an optional value, see {@link #getNearCacheHitCount()}.
+	 *
+	 * @since 5.4
+	 */
+	default long getNearCacheMissCount() {
+		return NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	/**
+	 * The number of entries of the near cache the cache provider keeps on this node, in front of the region.
+	 *
+	 * This is an optional value, see {@link #getNearCacheHitCount()}.
+	 *
+	 * @since 5.4
+	 */
+	default long getNearCacheElementCount() {
+		return NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
 }
@@ -386,4 +386,49 @@ public interface Statistics {
 		//For backward compatibility
 		return 0;
 	}
+
+	/**
+	 * Get the global number of query plans evicted from the cache to respect its maximum size
+	 */
+	default long getQueryPlanCacheEvictionCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the global time spent compiling the query plans not found in cache, in microseconds
+	 */
+	default long getQueryPlanCompilationTotalMicroseconds() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the time spent compiling the slowest query plan to compile, in microseconds
+	 */
+	default long getQueryPlanCompilationMaxMicroseconds() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the global number of sequence values taken from those read ahead in the background
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#SEQUENCE_READ_AHEAD
+	 */
+	default long getSequenceReadAheadHitCount() {
+		//For backward compatibility
+		return 0;
+	}
+
+	/**
+	 * Get the global number of sequence values read synchronously, because no value read ahead in the background
+	 * was ready
+	 *
+	 * @see org.hibernate.cfg.AvailableSettings#SEQUENCE_READ_AHEAD
+	 */
+	default long getSequenceReadAheadMissCount() {
+		//For backward compatibility
+		return 0;
+	}
 }
@@ -74,6 +74,38 @@ public class CacheRegionStatisticsImpl implements CacheRegionStatistics, SecondL
 		return NO_EXTENDED_STAT_SUPPORT_RETURN;
 	}
 
+	@Override
+	public long getEvictionCount() {
+		if ( region instanceof ExtendedStatisticsSupport ) {
+			return ( (ExtendedStatisticsSupport) region ).getEvictionCount();
+		}
+		return NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	@Override
+	public long getNearCacheHitCount() {
+		if ( region instanceof ExtendedStatisticsSupport ) {
+			return ( (ExtendedStatisticsSupport) region ).getNearCacheHitCount();
+		}
+		return NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	@Override
+	public long getNearCacheMissCount() {
+		if ( region instanceof ExtendedStatisticsSupport ) {
+			return ( (ExtendedStatisticsSupport) region ).getNearCacheMissCount();
+		}
+		return NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	@Override
+	public long getNearCacheElementCount() {
+		if ( region instanceof ExtendedStatisticsSupport ) {
+			return ( (ExtendedStatisticsSupport) region ).getNearCacheElementCount();
+		}
+		return NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
 	void incrementHitCount() {
 		hitCount.increment();
 	}
@@ -96,6 +128,10 @@ public class CacheRegionStatisticsImpl implements CacheRegionStatistics, SecondL
 				.append( ",elementCountInMemory=" ).append( this.getElementCountInMemory() )
 				.append( ",elementCountOnDisk=" ).append( this.getElementCountOnDisk() )
 				.append( ",sizeInMemory=" ).append( this.getSizeInMemory() )
+				.append( ",evictionCount=" ).append( this.getEvictionCount() )
+				.append( ",nearCacheHitCount=" ).append( this.getNearCacheHitCount() )
+				.append( ",nearCacheMissCount=" ).append( this.getNearCacheMissCount() )
+				.append( ",nearCacheElementCount=" ).append( this.getNearCacheElementCount() )
 				.append( ']' );
 		return buf.toString();
 	}
@@ -81,6 +81,12 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 
 	private final LongAdder queryPlanCacheHitCount = new LongAdder();
 	private final LongAdder queryPlanCacheMissCount = new LongAdder();
+	private final LongAdder queryPlanCacheEvictionCount = new LongAdder();
+	private final LongAdder queryPlanCompilationTotalMicroseconds = new LongAdder();
+	private final AtomicLong queryPlanCompilationMaxMicroseconds = new AtomicLong();
+
+	private final LongAdder sequenceReadAheadHitCount = new LongAdder();
+	private final LongAdder sequenceReadAheadMissCount = new LongAdder();
 
 	private final LongAdder updateTimestampsCacheHitCount = new LongAdder();
 	private final LongAdder updateTimestampsCacheMissCount = new LongAdder();
@@ -186,6 +192,12 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 
 		queryPlanCacheHitCount.reset();
 		queryPlanCacheMissCount.reset();
+		queryPlanCacheEvictionCount.reset();
+		queryPlanCompilationTotalMicroseconds.reset();
+		queryPlanCompilationMaxMicroseconds.set( 0 );
+
+		sequenceReadAheadHitCount.reset();
+		sequenceReadAheadMissCount.reset();
 
 		startTime = System.currentTimeMillis();
 	}
@@ -826,9 +838,26 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		return queryPlanCacheMissCount.sum();
 	}
 
+	@Override
+	public long getQueryPlanCacheEvictionCount() {
+		return queryPlanCacheEvictionCount.sum();
+	}
+
+	@Override
+	public long getQueryPlanCompilationTotalMicroseconds() {
+		return queryPlanCompilationTotalMicroseconds.sum();
+	}
+
+	@Override
+	public long getQueryPlanCompilationMaxMicroseconds() {
+		return queryPlanCompilationMaxMicroseconds.get();
+	}
+
 	@Override
 	public void queryCompiled(String hql, long microseconds) {
 		queryPlanCacheMissCount.increment();
+		queryPlanCompilationTotalMicroseconds.add( microseconds );
+		queryPlanCompilationMaxMicroseconds.accumulateAndGet( microseconds, Math::max );
 
 		if ( hql != null ) {
 			getQueryStatistics( hql ).compiled( microseconds );
@@ -844,6 +873,31 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 		}
 	}
 
+	@Override
+	public void queryPlanCacheEviction() {
+		queryPlanCacheEvictionCount.increment();
+	}
+
+	@Override
+	public long getSequenceReadAheadHitCount() {
+		return sequenceReadAheadHitCount.sum();
+	}
+
+	@Override
+	public long getSequenceReadAheadMissCount() {
+		return sequenceReadAheadMissCount.sum();
+	}
+
+	@Override
+	public void sequenceReadAheadHit() {
+		sequenceReadAheadHitCount.increment();
+	}
+
+	@Override
+	public void sequenceReadAheadMiss() {
+		sequenceReadAheadMissCount.increment();
+	}
+
 	private CacheRegionStatisticsImpl getQueryRegionStats(String regionName) {
 		return l2CacheStatsMap.computeIfAbsent(
 				regionName,
@@ -1017,6 +1071,10 @@ public class StatisticsImpl implements StatisticsImplementor, Service, Manageabl
 				.append( ",max query time=" ).append( queryExecutionMaxTime )
 				.append( ",query plan cache hits=" ).append( queryPlanCacheHitCount )
 				.append( ",query plan cache misses=" ).append( queryPlanCacheMissCount )
+				.append( ",query plan cache evictions=" ).append( queryPlanCacheEvictionCount )
+				.append( ",query plan compilation time=" ).append( queryPlanCompilationTotalMicroseconds )
+				.append( ",sequence read ahead hits=" ).append( sequenceReadAheadHitCount )
+				.append( ",sequence read ahead misses=" ).append( sequenceReadAheadMissCount )
 				.append( ']' )
 				.toString();
 	}
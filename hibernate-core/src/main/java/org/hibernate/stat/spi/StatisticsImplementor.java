@@ -266,4 +266,25 @@ public interface StatisticsImplementor extends Statistics, Service {
 	default void queryCompiled(String hql, long microseconds) {
 		//For backward compatibility
 	}
+
+	/**
+	 * Callback indicating an entry was evicted from the query plan cache to respect its maximum size.
+	 */
+	default void queryPlanCacheEviction() {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating a sequence value was taken from those read ahead in the background.
+	 */
+	default void sequenceReadAheadHit() {
+		//For backward compatibility
+	}
+
+	/**
+	 * Callback indicating a sequence value was read synchronously, as no value read ahead was ready.
+	 */
+	default void sequenceReadAheadMiss() {
+		//For backward compatibility
+	}
 }
@@ -51,6 +51,8 @@ public class ComponentType extends AbstractType implements CompositeType, Proced
 	private final boolean isKey;
 	private boolean hasNotNullProperty;
 	private final boolean createEmptyCompositesEnabled;
+	// the column span of each property, resolved at the first hydration
+	private volatile int[] propertyColumnSpans;
 
 	protected final EntityMode entityMode;
 	protected final ComponentTuplizer componentTuplizer;
@@ -654,11 +656,12 @@ public class ComponentType extends AbstractType implements CompositeType, Proced
 			final Object owner)
 			throws HibernateException, SQLException {
 
+		final int[] columnSpans = getPropertyColumnSpans( session.getFactory() );
 		int begin = 0;
 		boolean notNull = false;
 		Object[] values = new Object[propertySpan];
 		for ( int i = 0; i < propertySpan; i++ ) {
-			int length = propertyTypes[i].getColumnSpan( session.getFactory() );
+			int length = columnSpans[i];
 			String[] range = ArrayHelper.slice( names, begin, length ); //cache this
 			Object val = propertyTypes[i].hydrate( rs, range, session, owner );
 			if ( val == null ) {
@@ -676,6 +679,18 @@ public class ComponentType extends AbstractType implements CompositeType, Proced
 		return notNull ? values : null;
 	}
 
+	private int[] getPropertyColumnSpans(Mapping mapping) {
+		int[] columnSpans = propertyColumnSpans;
+		if ( columnSpans == null ) {
+			columnSpans = new int[propertySpan];
+			for ( int i = 0; i < propertySpan; i++ ) {
+				columnSpans[i] = propertyTypes[i].getColumnSpan( mapping );
+			}
+			propertyColumnSpans = columnSpans;
+		}
+		return columnSpans;
+	}
+
 	@Override
 	public Object resolve(Object value, SharedSessionContractImplementor session, Object owner)
 			throws HibernateException {
@@ -0,0 +1,86 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.hibernate.internal.util.SerializationHelper;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the storage of cached query results column by column.
+ */
+public class CompactQueryResultsTest {
+
+	@Test
+	public void testRowsAreRebuilt() {
+		final String[] statuses = { "OPEN", "CLOSED", null };
+		final List<Serializable[]> rows = new ArrayList<>();
+		for ( int i = 0; i < 1000; i++ ) {
+			final Timestamp timestamp = new Timestamp( 1_500_000_000_000L + i * 1001L );
+			timestamp.setNanos( i * 1000 );
+			rows.add( new Serializable[] {
+					(long) i,
+					i % 7 == 0 ? null : i,
+					statuses[i % 3],
+					"name" + i,
+					new Date( 1_000_000_000_000L + i ),
+					timestamp,
+					new BigDecimal( i )
+			} );
+		}
+
+		final List compact = CompactQueryResults.compact( rows, false, 7 );
+		assertTrue( compact instanceof CompactQueryResults );
+		assertEquals( rows.size(), compact.size() );
+		for ( int i = 0; i < rows.size(); i++ ) {
+			final Serializable[] row = (Serializable[]) compact.get( i );
+			assertArrayEquals( rows.get( i ), row );
+			assertEquals( rows.get( i )[5], row[5] );
+		}
+		assertTrue(
+				( (CompactQueryResults) compact ).estimateWeight()
+						< LocalStorageAccess.estimateWeight( rows.toArray(), 0 )
+		);
+
+		final List deserialized = (List) SerializationHelper.deserialize(
+				SerializationHelper.serialize( (Serializable) compact )
+		);
+		assertArrayEquals( rows.get( 42 ), (Serializable[]) deserialized.get( 42 ) );
+	}
+
+	@Test
+	public void testSingleResults() {
+		final List<Serializable> ids = new ArrayList<>();
+		for ( long i = 0; i < 100; i++ ) {
+			ids.add( i );
+		}
+		final List compact = CompactQueryResults.compact( ids, true, 1 );
+		assertTrue( compact instanceof CompactQueryResults );
+		assertEquals( ids, compact );
+	}
+
+	@Test
+	public void testResultsWhichCannotBeCompactedAreLeftAlone() {
+		final List<Serializable> values = new ArrayList<>();
+		for ( int i = 0; i < 100; i++ ) {
+			values.add( i % 2 == 0 ? (Serializable) i : "value" + i );
+		}
+		assertSame( values, CompactQueryResults.compact( values, true, 1 ) );
+	}
+}
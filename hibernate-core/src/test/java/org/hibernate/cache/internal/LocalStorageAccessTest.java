@@ -0,0 +1,223 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.UUID;
+
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.entry.CollectionCacheEntry;
+import org.hibernate.cache.spi.entry.StandardCacheEntryImpl;
+import org.hibernate.cache.spi.support.AbstractReadWriteAccess;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the bounds and the expiration of the storage of the {@link LocalRegionFactory}.
+ */
+public class LocalStorageAccessTest {
+
+	@Test
+	public void testNumberOfEntriesIsBounded() {
+		final LocalStorageAccess storage = new LocalStorageAccess( 100, 0, 0 );
+		for ( int i = 0; i < 1000; i++ ) {
+			storage.putIntoCache( i, "value" + i, null );
+		}
+		assertEquals( 100, storage.getElementCount() );
+		assertEquals( 900, storage.getEvictionCount() );
+	}
+
+	@Test
+	public void testReferencedEntriesAreKept() {
+		final LocalStorageAccess storage = new LocalStorageAccess( 100, 0, 0 );
+		for ( int i = 0; i < 100; i++ ) {
+			storage.putIntoCache( i, "value" + i, null );
+		}
+		for ( int i = 0; i < 10; i++ ) {
+			assertNotNull( storage.getFromCache( i, null ) );
+		}
+		for ( int i = 100; i < 150; i++ ) {
+			storage.putIntoCache( i, "value" + i, null );
+		}
+		for ( int i = 0; i < 10; i++ ) {
+			assertEquals( "value" + i, storage.getFromCache( i, null ) );
+		}
+		// the first entries not read were evicted
+		assertNull( storage.getFromCache( 10, null ) );
+		assertEquals( 100, storage.getElementCount() );
+	}
+
+	@Test
+	public void testWeightIsBounded() {
+		final StringBuilder value = new StringBuilder();
+		for ( int i = 0; i < 1000; i++ ) {
+			value.append( 'x' );
+		}
+		final LocalStorageAccess storage = new LocalStorageAccess( 0, 20_000, 0 );
+		for ( int i = 0; i < 100; i++ ) {
+			storage.putIntoCache( i, value.toString(), null );
+		}
+		assertTrue( storage.getWeight() <= 20_000 );
+		assertTrue( storage.getElementCount() > 5 );
+		assertTrue( storage.getElementCount() < 10 );
+		assertEquals( 100, storage.getElementCount() + storage.getEvictionCount() );
+	}
+
+	@Test
+	public void testReplacedAndRemovedEntriesAreNotWeighed() {
+		final LocalStorageAccess storage = new LocalStorageAccess( 0, 0, 0 );
+		storage.putIntoCache( 1, "value", null );
+		final long weight = storage.getWeight();
+		storage.putIntoCache( 1, "value", null );
+		assertEquals( weight, storage.getWeight() );
+		storage.evictData( 1 );
+		assertEquals( 0, storage.getWeight() );
+		assertEquals( 0, storage.getElementCount() );
+		assertEquals( 0, storage.getEvictionCount() );
+	}
+
+	@Test
+	public void testEntriesExpire() throws InterruptedException {
+		final LocalStorageAccess storage = new LocalStorageAccess( 0, 0, 1 );
+		final SoftLock lock = new SoftLock() {
+		};
+		storage.putIntoCache( 1, "value", null );
+		storage.putIntoCache( 2, lock, null );
+		assertTrue( storage.contains( 1 ) );
+
+		Thread.sleep( 1100 );
+		assertFalse( storage.contains( 1 ) );
+		assertNull( storage.getFromCache( 1, null ) );
+		assertEquals( 1, storage.getEvictionCount() );
+		// soft locks do not expire
+		assertSame( lock, storage.getFromCache( 2, null ) );
+	}
+
+	@Test
+	public void testOffHeapValuesAreDecoded() {
+		final LocalStorageAccess storage = new LocalStorageAccess( 0, 0, 0, true );
+		final Timestamp timestamp = new Timestamp( 1_500_000_000_123L );
+		timestamp.setNanos( 123_456_789 );
+		final Serializable[] state = new Serializable[] {
+				null,
+				"Zürich",
+				42,
+				-7L,
+				true,
+				3.5d,
+				new BigDecimal( "-12.340" ),
+				new Date( 1_500_000_000_000L ),
+				timestamp,
+				UUID.randomUUID(),
+				new byte[] { 1, 2, 3 },
+				new Serializable[] { 1, "component" },
+				LazyPropertyInitializer.UNFETCHED_PROPERTY,
+				Thread.State.RUNNABLE
+		};
+		storage.putIntoCache(
+				1,
+				new AbstractReadWriteAccess.Item( new StandardCacheEntryImpl( state, "Customer", 3 ), 3, 1234L ),
+				null
+		);
+		storage.putIntoCache( 2, new CollectionCacheEntry( new Serializable[] { 1L, 2L } ), null );
+		assertTrue( storage.getOffHeapSize() > 0 );
+
+		final AbstractReadWriteAccess.Item item = (AbstractReadWriteAccess.Item) storage.getFromCache( 1, null );
+		assertEquals( 3, item.getVersion() );
+		assertEquals( 1234L, item.getTimestamp() );
+		final StandardCacheEntryImpl entry = (StandardCacheEntryImpl) item.getValue();
+		assertEquals( "Customer", entry.getSubclass() );
+		assertEquals( 3, entry.getVersion() );
+		assertEquals( Serializable[].class, entry.getDisassembledState().getClass() );
+		assertArrayEquals( state, entry.getDisassembledState() );
+		assertSame( LazyPropertyInitializer.UNFETCHED_PROPERTY, entry.getDisassembledState()[12] );
+		assertEquals( timestamp.getNanos(), ( (Timestamp) entry.getDisassembledState()[8] ).getNanos() );
+		// every read decodes a new copy
+		assertNotSame( entry, ( (AbstractReadWriteAccess.Item) storage.getFromCache( 1, null ) ).getValue() );
+
+		assertArrayEquals(
+				new Serializable[] { 1L, 2L },
+				( (CollectionCacheEntry) storage.getFromCache( 2, null ) ).getState()
+		);
+	}
+
+	@Test
+	public void testValuesWhichCannotBeEncodedStayOnTheHeap() {
+		final LocalStorageAccess storage = new LocalStorageAccess( 0, 0, 0, true );
+		final SoftLock lock = new SoftLock() {
+		};
+		final Object notSerializable = new Object();
+		storage.putIntoCache( 1, lock, null );
+		storage.putIntoCache( 2, new Object[] { notSerializable }, null );
+		assertSame( lock, storage.getFromCache( 1, null ) );
+		assertSame( notSerializable, ( (Object[]) storage.getFromCache( 2, null ) )[0] );
+		assertEquals( 0, storage.getOffHeapSize() );
+	}
+
+	@Test
+	public void testOffHeapMemoryIsReleased() {
+		final StringBuilder value = new StringBuilder();
+		for ( int i = 0; i < 1000; i++ ) {
+			value.append( 'x' );
+		}
+		final LocalStorageAccess storage = new LocalStorageAccess( 200, 0, 0, true );
+		for ( int i = 0; i < 100_000; i++ ) {
+			storage.putIntoCache( i, value.toString() + i, null );
+			// keep one entry per segment or so referenced, so that they are relocated instead of evicted
+			for ( int j = 0; j <= i && j < 50_000; j += 1000 ) {
+				storage.getFromCache( j, null );
+			}
+		}
+		assertEquals( 200, storage.getElementCount() );
+		for ( int j = 0; j < 50_000; j += 1000 ) {
+			assertEquals( value.toString() + j, storage.getFromCache( j, null ) );
+		}
+		// 200 entries of about 1 kB, spread over a few segments
+		assertTrue( storage.getOffHeapSize() <= 8L * OffHeapArena.SEGMENT_SIZE );
+	}
+
+	@Test
+	public void testEntriesCloseToExpiryAreDueForRefreshOnce() {
+		final LocalStorageAccess storage = new LocalStorageAccess( 0, 0, 60, false, 60, Runnable::run );
+		storage.putIntoCache( 1, "value", null );
+		assertTrue( storage.isDueForRefresh( 1 ) );
+		assertFalse( storage.isDueForRefresh( 1 ) );
+		assertFalse( storage.isDueForRefresh( 2 ) );
+
+		// the fresh entry is due again
+		storage.putIntoCache( 1, "fresh value", null );
+		assertTrue( storage.isDueForRefresh( 1 ) );
+
+		final boolean[] reloaded = new boolean[1];
+		storage.scheduleRefresh( () -> reloaded[0] = true );
+		assertTrue( reloaded[0] );
+	}
+
+	@Test
+	public void testEntriesAreNotDueForRefreshEarly() {
+		final LocalStorageAccess storage = new LocalStorageAccess( 0, 0, 60, false, 1, Runnable::run );
+		storage.putIntoCache( 1, "value", null );
+		assertFalse( storage.isDueForRefresh( 1 ) );
+
+		final LocalStorageAccess notExpiring = new LocalStorageAccess( 0, 0, 0, false, 60, Runnable::run );
+		notExpiring.putIntoCache( 1, "value", null );
+		assertFalse( notExpiring.isDueForRefresh( 1 ) );
+	}
+}
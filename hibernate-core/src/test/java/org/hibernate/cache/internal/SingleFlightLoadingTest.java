@@ -0,0 +1,71 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.cache.internal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the coordination of the threads loading the same value after a cache miss.
+ */
+public class SingleFlightLoadingTest {
+
+	@Test
+	public void testOtherThreadsWaitForTheLoadingThread() throws Exception {
+		final SingleFlightLoading loading = new SingleFlightLoading();
+		assertTrue( loading.begin( "key", 1000 ) );
+
+		final CompletableFuture<Boolean> other = CompletableFuture.supplyAsync( () -> loading.begin( "key", 30_000 ) );
+		Thread.sleep( 100 );
+		assertFalse( other.isDone() );
+
+		loading.end( "key" );
+		assertFalse( other.get( 30, TimeUnit.SECONDS ) );
+		assertEquals( 0, loading.size() );
+	}
+
+	@Test
+	public void testWaitTimesOut() throws Exception {
+		final SingleFlightLoading loading = new SingleFlightLoading();
+		assertTrue( loading.begin( "key", 1000 ) );
+
+		final long start = System.nanoTime();
+		assertFalse( CompletableFuture.supplyAsync( () -> loading.begin( "key", 50 ) ).get( 30, TimeUnit.SECONDS ) );
+		assertTrue( System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos( 50 ) );
+		assertEquals( 1, loading.size() );
+	}
+
+	@Test
+	public void testLoadingThreadDoesNotWaitForItself() {
+		final SingleFlightLoading loading = new SingleFlightLoading();
+		assertTrue( loading.begin( "key", 30_000 ) );
+		assertFalse( loading.begin( "key", 30_000 ) );
+		assertTrue( loading.begin( "other key", 30_000 ) );
+
+		loading.end( "key" );
+		loading.end( "other key" );
+		assertEquals( 0, loading.size() );
+	}
+
+	@Test
+	public void testOnlyTheLoadingThreadEndsTheLoading() throws Exception {
+		final SingleFlightLoading loading = new SingleFlightLoading();
+		assertTrue( loading.begin( "key", 1000 ) );
+		CompletableFuture.runAsync( () -> loading.end( "key" ) ).get( 30, TimeUnit.SECONDS );
+		assertEquals( 1, loading.size() );
+
+		loading.end( "key" );
+		assertEquals( 0, loading.size() );
+		assertTrue( loading.begin( "key", 1000 ) );
+	}
+}
@@ -0,0 +1,63 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.engine.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class ColumnNameCacheTest {
+
+	private static final int COLUMNS = 40;
+
+	private ResultSet resultSet;
+
+	@Before
+	public void initialize() throws SQLException {
+		resultSet = Mockito.mock( ResultSet.class );
+		for ( int i = 1; i <= COLUMNS; i++ ) {
+			when( resultSet.findColumn( eq( "col" + i + "_0_" ) ) ).thenReturn( i );
+		}
+	}
+
+	@Test
+	public void testColumnsAreResolvedOnce() throws SQLException {
+		ColumnNameCache columnNameCache = new ColumnNameCache( COLUMNS );
+
+		for ( int row = 0; row < 3; row++ ) {
+			for ( int i = 1; i <= COLUMNS; i++ ) {
+				// equal, but not identical, names
+				assertEquals( i, columnNameCache.getIndex( new String( "col" + i + "_0_" ), resultSet ) );
+			}
+		}
+
+		verify( resultSet, times( COLUMNS ) ).findColumn( anyString() );
+	}
+
+	@Test
+	public void testCacheGrowsBeyondItsColumnCount() throws SQLException {
+		ColumnNameCache columnNameCache = new ColumnNameCache( 1 );
+
+		for ( int row = 0; row < 3; row++ ) {
+			for ( int i = 1; i <= COLUMNS; i++ ) {
+				assertEquals( Integer.valueOf( i ), columnNameCache.getIndexForColumnName( "col" + i + "_0_", resultSet ) );
+			}
+		}
+
+		verify( resultSet, times( COLUMNS ) ).findColumn( anyString() );
+	}
+}
@@ -6,6 +6,7 @@
  */
 package org.hibernate.engine.jdbc;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -47,6 +48,36 @@ public class ResultSetWrapperProxyTest {
 		verify( resultSet, times( 1 ) ).getBigDecimal( 1 );
 	}
 
+	@Test
+	public void testColumnIsResolvedOnce() throws SQLException {
+		resultSetProxy.getString( "myColumn" );
+		resultSetProxy.getString( "myColumn" );
+		resultSetProxy.getInt( "myColumn" );
+
+		verify( resultSet, times( 1 ) ).findColumn( "myColumn" );
+		verify( resultSet, times( 2 ) ).getString( 1 );
+		verify( resultSet, times( 1 ) ).getInt( 1 );
+	}
+
+	@Test
+	public void testFallbackToColumnNameWhenColumnIndexMethodFails() throws SQLException {
+		when( resultSet.getInt( 1 ) ).thenThrow( new SQLException( "by index" ) );
+		when( resultSet.getInt( "myColumn" ) ).thenReturn( 5 );
+
+		assertEquals( 5, resultSetProxy.getInt( "myColumn" ) );
+
+		verify( resultSet, times( 1 ) ).getInt( 1 );
+		verify( resultSet, times( 1 ) ).getInt( "myColumn" );
+	}
+
+	@Test
+	public void testFallbackToColumnNameWhenColumnIsNotFound() throws SQLException {
+		when( resultSet.findColumn( "otherColumn" ) ).thenThrow( new SQLException( "not found" ) );
+		when( resultSet.getString( "otherColumn" ) ).thenReturn( "value" );
+
+		assertEquals( "value", resultSetProxy.getString( "otherColumn" ) );
+	}
+
 	@SuppressWarnings("deprecation")
 	@Test
 	public void testRedirectedGetMethodWithAdditionalParameters() throws SQLException {
@@ -6,6 +6,16 @@
  */
 package org.hibernate.id.enhanced;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -14,6 +24,7 @@ import org.hibernate.id.IntegralDataTypeHolder;
 import org.hibernate.testing.junit4.BaseUnitTestCase;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * {@inheritDoc}
@@ -294,6 +305,98 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 
 	}
 
+	@Test
+	public void testBasicPooledLoConcurrentOptimizerUsage() {
+		final SourceMock sequence = new SourceMock( 1, 10 );
+		final Optimizer optimizer = buildPooledLoConcurrentOptimizer( 1, 10 );
+
+		assertEquals( 0, sequence.getTimesCalled() );
+		assertEquals( -1, sequence.getCurrentValue() );
+
+		Long next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 1, next.intValue() );
+		assertEquals( 1, sequence.getTimesCalled() );
+		assertEquals( 1, sequence.getCurrentValue() );
+
+		for ( int i = 2; i <= 5; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 1, sequence.getTimesCalled() );
+
+		// the next block is fetched in the middle of the current one
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 6, next.intValue() );
+		assertEquals( 2, sequence.getTimesCalled() );
+		assertEquals( 11, sequence.getCurrentValue() );
+
+		for ( int i = 7; i <= 15; i++ ) {
+			next = ( Long ) optimizer.generate( sequence );
+			assertEquals( i, next.intValue() );
+		}
+		assertEquals( 2, sequence.getTimesCalled() );
+
+		next = ( Long ) optimizer.generate( sequence );
+		assertEquals( 16, next.intValue() );
+		assertEquals( 3, sequence.getTimesCalled() );
+		assertEquals( 21, sequence.getCurrentValue() );
+	}
+
+	@Test
+	public void testConcurrentPooledLoConcurrentOptimizerUsage() throws Exception {
+		final SourceMock sequence = new SourceMock( 1, 50 );
+		final AccessCallback callback = new AccessCallback() {
+			@Override
+			public synchronized IntegralDataTypeHolder getNextValue() {
+				return sequence.getNextValue();
+			}
+
+			@Override
+			public String getTenantIdentifier() {
+				return null;
+			}
+		};
+		final Optimizer optimizer = buildPooledLoConcurrentOptimizer( 1, 50 );
+
+		final int threads = 8;
+		final int valuesPerThread = 1000;
+		final CountDownLatch start = new CountDownLatch( 1 );
+		final ExecutorService executor = Executors.newFixedThreadPool( threads );
+		final List<Future<List<Long>>> results = new ArrayList<>();
+		try {
+			for ( int i = 0; i < threads; i++ ) {
+				results.add(
+						executor.submit( () -> {
+							start.await();
+							final List<Long> values = new ArrayList<>( valuesPerThread );
+							for ( int j = 0; j < valuesPerThread; j++ ) {
+								values.add( (Long) optimizer.generate( callback ) );
+							}
+							return values;
+						} )
+				);
+			}
+			start.countDown();
+
+			final Set<Long> values = new HashSet<>();
+			for ( Future<List<Long>> result : results ) {
+				values.addAll( result.get() );
+			}
+			assertEquals( threads * valuesPerThread, values.size() );
+			// every value fetched is used, except for the rest of the current block and the blocks waiting to become
+			// current: the one fetched ahead of time, and one fetched while an exhausted block's was still in flight
+			final int fetchedValues = 50 * sequence.getTimesCalled();
+			assertTrue( fetchedValues - values.size() < 50 * 3 );
+			for ( Long value : values ) {
+				assertTrue( value >= 1 && value <= fetchedValues );
+			}
+		}
+		finally {
+			executor.shutdown();
+			executor.awaitTermination( 10, TimeUnit.SECONDS );
+		}
+	}
+
 	private static Optimizer buildNoneOptimizer(long initial, int increment) {
 		return buildOptimizer( StandardOptimizerDescriptor.NONE, initial, increment );
 	}
@@ -314,6 +417,10 @@ public class OptimizerUnitTest extends BaseUnitTestCase {
 		return buildOptimizer( StandardOptimizerDescriptor.POOLED_LOTL, initial, increment );
 	}
 
+	private static Optimizer buildPooledLoConcurrentOptimizer(long initial, int increment) {
+		return buildOptimizer( StandardOptimizerDescriptor.POOLED_LO_CONCURRENT, initial, increment );
+	}
+
 	private static Optimizer buildOptimizer(
 			StandardOptimizerDescriptor descriptor,
 			long initial,
@@ -0,0 +1,73 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import org.hibernate.engine.jdbc.batch.internal.AdaptiveBatchSize;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the hill climbing of {@link AdaptiveBatchSize}.
+ */
+public class AdaptiveBatchSizeTest extends BaseUnitTestCase {
+
+	@Test
+	public void testGrowsWhileThroughputImproves() {
+		AdaptiveBatchSize batchSize = new AdaptiveBatchSize( "test", 8, 2, 32 );
+		int previous = batchSize.getSize();
+		for ( int i = 0; i < 10; i++ ) {
+			executeWindow( batchSize, 1_000L );
+			assertTrue( batchSize.getSize() >= previous );
+			previous = batchSize.getSize();
+		}
+		assertEquals( 32, batchSize.getSize() );
+	}
+
+	@Test
+	public void testTurnsBackWhenThroughputDrops() {
+		AdaptiveBatchSize batchSize = new AdaptiveBatchSize( "test", 8, 2, 32 );
+		// 1 row per microsecond at size 8, then grows to 10
+		executeWindow( batchSize, 1_000L );
+		assertEquals( 10, batchSize.getSize() );
+		// throughput halves at size 10, so the size shrinks back
+		executeWindow( batchSize, 2_000L );
+		assertEquals( 8, batchSize.getSize() );
+	}
+
+	@Test
+	public void testIgnoresPartialBatches() {
+		AdaptiveBatchSize batchSize = new AdaptiveBatchSize( "test", 8, 2, 32 );
+		for ( int i = 0; i < 10; i++ ) {
+			batchSize.executed( 3, 1_000_000L );
+		}
+		assertEquals( 8, batchSize.getSize() );
+	}
+
+	@Test
+	public void testStaysWithinBounds() {
+		AdaptiveBatchSize batchSize = new AdaptiveBatchSize( "test", 100, 2, 6 );
+		assertEquals( 6, batchSize.getSize() );
+		long nanosPerRow = 1_000L;
+		for ( int i = 0; i < 50; i++ ) {
+			// ever worsening throughput keeps the size moving back and forth
+			executeWindow( batchSize, nanosPerRow );
+			nanosPerRow *= 2;
+			assertTrue( batchSize.getSize() >= 2 && batchSize.getSize() <= 6 );
+		}
+	}
+
+	private void executeWindow(AdaptiveBatchSize batchSize, long nanosPerRow) {
+		int size = batchSize.getSize();
+		for ( int i = 0; i < AdaptiveBatchSize.SAMPLES_PER_ADJUSTMENT; i++ ) {
+			batchSize.executed( size, size * nanosPerRow );
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.batch.internal.AdaptiveBatchBuilderImpl;
+import org.hibernate.engine.jdbc.batch.internal.BatchBuilderImpl;
+import org.hibernate.engine.jdbc.batch.spi.BatchBuilder;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests inserts with {@link AvailableSettings#ADAPTIVE_BATCH_SIZE} enabled.
+ */
+public class AdaptiveBatchingTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Event.class, Attendee.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "5" );
+		settings.put( AvailableSettings.ADAPTIVE_BATCH_SIZE, "true" );
+		settings.put( AvailableSettings.ADAPTIVE_BATCH_SIZE_MIN, "3" );
+		settings.put( AvailableSettings.ADAPTIVE_BATCH_SIZE_MAX, "12" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Override
+	protected void cleanupTestData() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from Attendee" ).executeUpdate();
+			session.createQuery( "delete from Event" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testBatchSizesAreAdaptedWithinBounds() {
+		BatchBuilder batchBuilder = serviceRegistry().getService( BatchBuilder.class );
+		assertTrue( batchBuilder instanceof AdaptiveBatchBuilderImpl );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 200; i++ ) {
+				Event event = new Event();
+				event.name = "event " + i;
+				session.persist( event );
+			}
+		} );
+
+		Map<String, Integer> sizes = ( (AdaptiveBatchBuilderImpl) batchBuilder ).getAdaptiveJdbcBatchSizes();
+		int size = sizes.get( Event.class.getName() + "#INSERT" );
+		assertTrue( size >= 3 && size <= 12 );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 200L, session.createQuery( "select count(e) from Event e" ).uniqueResult() );
+		} );
+	}
+
+	@Test
+	public void testInterleavedInsertSizesAreAdaptedPerEntity() {
+		BatchBuilderImpl batchBuilder = (BatchBuilderImpl) serviceRegistry().getService( BatchBuilder.class );
+		batchBuilder.setInterleavedInserts( true );
+		try {
+			doInHibernate( this::sessionFactory, session -> {
+				for ( int i = 0; i < 100; i++ ) {
+					Event event = new Event();
+					event.name = "event " + i;
+					session.persist( event );
+					Attendee attendee = new Attendee();
+					attendee.event = event;
+					session.persist( attendee );
+				}
+			} );
+		}
+		finally {
+			batchBuilder.setInterleavedInserts( false );
+		}
+
+		Map<String, Integer> sizes = batchBuilder.getAdaptiveJdbcBatchSizes();
+		assertTrue( sizes.containsKey( Attendee.class.getName() + "#INSERT" ) );
+		for ( int size : sizes.values() ) {
+			assertTrue( size >= 3 && size <= 12 );
+		}
+		Map<String, Long> executionNanos = batchBuilder.getAdaptiveJdbcBatchExecutionNanos();
+		assertEquals( sizes.keySet(), executionNanos.keySet() );
+		assertTrue( executionNanos.values().stream().anyMatch( nanos -> nanos > 0 ) );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 100L, session.createQuery( "select count(a) from Attendee a" ).uniqueResult() );
+		} );
+	}
+
+	@Entity(name = "Event")
+	public static class Event {
+		@Id
+		@SequenceGenerator(name = "seq", sequenceName = "adaptive_seq")
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq")
+		private Long id;
+
+		private String name;
+	}
+
+	@Entity(name = "Attendee")
+	public static class Attendee {
+		@Id
+		@SequenceGenerator(name = "seq", sequenceName = "adaptive_seq")
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq")
+		private Long id;
+
+		@ManyToOne
+		private Event event;
+	}
+}
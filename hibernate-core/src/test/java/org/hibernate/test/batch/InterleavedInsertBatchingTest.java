@@ -0,0 +1,216 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batch;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.DialectChecks;
+import org.hibernate.testing.RequiresDialectFeature;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.test.util.jdbc.PreparedStatementSpyConnectionProvider;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests batching of interleaved inserts of several entities with
+ * {@link AvailableSettings#BATCH_INTERLEAVED_INSERTS} enabled and without ordering inserts.
+ */
+@RequiresDialectFeature(DialectChecks.SupportsJdbcDriverProxying.class)
+public class InterleavedInsertBatchingTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	private PreparedStatementSpyConnectionProvider connectionProvider = new PreparedStatementSpyConnectionProvider( true, false );
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Customer.class, Order.class, OrderLine.class, Note.class, Vehicle.class, Car.class, Truck.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.BATCH_INTERLEAVED_INSERTS, "true" );
+		settings.put( AvailableSettings.STATEMENT_BATCH_SIZE, "10" );
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@Override
+	public void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Test
+	public void testInterleavedInsertsAreBatchedTogether() throws SQLException {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 3; i++ ) {
+				Customer customer = new Customer();
+				session.persist( customer );
+				Order order = new Order();
+				order.customer = customer;
+				session.persist( order );
+				for ( int j = 0; j < 2; j++ ) {
+					OrderLine line = new OrderLine();
+					line.order = order;
+					session.persist( line );
+				}
+			}
+			connectionProvider.clear();
+		} );
+
+		PreparedStatement customerStatement = connectionProvider.getPreparedStatement(
+				"insert into Customer (id) values (?)" );
+		verify( customerStatement, times( 3 ) ).addBatch();
+		verify( customerStatement, times( 1 ) ).executeBatch();
+		PreparedStatement orderStatement = connectionProvider.getPreparedStatement(
+				"insert into CustomerOrder (customer_id, id) values (?, ?)" );
+		verify( orderStatement, times( 3 ) ).addBatch();
+		verify( orderStatement, times( 1 ) ).executeBatch();
+		PreparedStatement lineStatement = connectionProvider.getPreparedStatement(
+				"insert into OrderLine (order_id, id) values (?, ?)" );
+		verify( lineStatement, times( 6 ) ).addBatch();
+		verify( lineStatement, times( 1 ) ).executeBatch();
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals(
+					6L,
+					session.createQuery( "select count(l) from OrderLine l join l.order o join o.customer c" )
+							.uniqueResult()
+			);
+		} );
+	}
+
+	@Test
+	public void testDependencyOnLaterGroupExecutesBatch() throws SQLException {
+		doInHibernate( this::sessionFactory, session -> {
+			Note first = new Note();
+			session.persist( first );
+			Customer customer = new Customer();
+			session.persist( customer );
+			Note second = new Note();
+			second.customer = customer;
+			second.previous = first;
+			session.persist( second );
+			connectionProvider.clear();
+		} );
+
+		// the second note references a customer batched after the first note, so the first note has to be
+		// executed before the second one can be batched
+		List<PreparedStatement> noteStatements = connectionProvider.getPreparedStatements(
+				"insert into Note (customer_id, previous_id, id) values (?, ?, ?)" );
+		assertEquals( 2, noteStatements.size() );
+		for ( PreparedStatement noteStatement : noteStatements ) {
+			verify( noteStatement, times( 1 ) ).addBatch();
+			verify( noteStatement, times( 1 ) ).executeBatch();
+		}
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals(
+					1L,
+					session.createQuery( "select count(n) from Note n where n.customer is not null and n.previous is not null" )
+							.uniqueResult()
+			);
+		} );
+	}
+
+	@Test
+	public void testInterleavedJoinedSubclassesInsertRootRowFirst() throws SQLException {
+		doInHibernate( this::sessionFactory, session -> {
+			// the root table insert is shared by both subclasses and moves between their groups
+			session.persist( new Car() );
+			session.persist( new Truck() );
+			session.persist( new Car() );
+			session.persist( new Truck() );
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( 2L, session.createQuery( "select count(c) from Car c" ).uniqueResult() );
+			assertEquals( 2L, session.createQuery( "select count(t) from Truck t" ).uniqueResult() );
+			assertEquals( 4L, session.createQuery( "select count(v) from Vehicle v" ).uniqueResult() );
+		} );
+	}
+
+	@Entity(name = "Customer")
+	public static class Customer {
+		@Id
+		@SequenceGenerator(name = "seq", sequenceName = "interleaved_seq")
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq")
+		private Long id;
+	}
+
+	@Entity(name = "Order")
+	@Table(name = "CustomerOrder")
+	public static class Order {
+		@Id
+		@SequenceGenerator(name = "seq", sequenceName = "interleaved_seq")
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq")
+		private Long id;
+
+		@ManyToOne
+		private Customer customer;
+	}
+
+	@Entity(name = "OrderLine")
+	public static class OrderLine {
+		@Id
+		@SequenceGenerator(name = "seq", sequenceName = "interleaved_seq")
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq")
+		private Long id;
+
+		@ManyToOne
+		private Order order;
+	}
+
+	@Entity(name = "Note")
+	public static class Note {
+		@Id
+		@SequenceGenerator(name = "seq", sequenceName = "interleaved_seq")
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq")
+		private Long id;
+
+		@ManyToOne
+		private Customer customer;
+
+		@ManyToOne
+		private Note previous;
+	}
+
+	@Entity(name = "Vehicle")
+	@Inheritance(strategy = InheritanceType.JOINED)
+	public static class Vehicle {
+		@Id
+		@SequenceGenerator(name = "seq", sequenceName = "interleaved_seq")
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "seq")
+		private Long id;
+	}
+
+	@Entity(name = "Car")
+	public static class Car extends Vehicle {
+		private int seats;
+	}
+
+	@Entity(name = "Truck")
+	public static class Truck extends Vehicle {
+		private int payload;
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.batchfetch;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.boot.SessionFactoryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.loader.ArrayParameterType;
+import org.hibernate.type.LongType;
+
+import org.hibernate.testing.RequiresDialect;
+import org.hibernate.testing.jdbc.SQLStatementInterceptor;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link org.hibernate.loader.BatchFetchStyle#ARRAY ARRAY} batch fetch style.
+ */
+@RequiresDialect({ H2Dialect.class, PostgreSQL81Dialect.class })
+public class ArrayBatchFetchTest extends BaseNonConfigCoreFunctionalTestCase {
+	private SQLStatementInterceptor sqlStatementInterceptor;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Author.class, Book.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.BATCH_FETCH_STYLE, "ARRAY" );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "false" );
+	}
+
+	@Override
+	protected void configureSessionFactoryBuilder(SessionFactoryBuilder sfb) {
+		sqlStatementInterceptor = new SQLStatementInterceptor( sfb );
+	}
+
+	@Before
+	public void createData() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 30; i++ ) {
+				final Author author = new Author( i, "author " + i );
+				session.persist( author );
+				for ( int j = 0; j < 2; j++ ) {
+					final Book book = new Book( i * 2 + j, author );
+					author.books.add( book );
+					session.persist( book );
+				}
+			}
+		} );
+		sqlStatementInterceptor.clear();
+	}
+
+	@After
+	public void deleteData() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from Book" ).executeUpdate();
+			session.createQuery( "delete from Author" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testEntitiesAreBatchFetchedWithTheSameStatement() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Book> books = session.createQuery( "from Book order by id", Book.class ).list();
+			sqlStatementInterceptor.clear();
+
+			assertEquals( "author 0", books.get( 0 ).author.getName() );
+			// two batches of at most 25 authors load all 30 of them
+			assertEquals( "author 25", books.get( 50 ).author.getName() );
+			for ( Book book : books ) {
+				assertEquals( "author " + book.id / 2, book.author.getName() );
+			}
+
+			final List<String> sqlQueries = sqlStatementInterceptor.getSqlQueries();
+			assertEquals( 2, sqlQueries.size() );
+			assertEquals( sqlQueries.get( 0 ), sqlQueries.get( 1 ) );
+			assertEquals( 1, countParameters( sqlQueries.get( 0 ) ) );
+		} );
+	}
+
+	@Test
+	public void testCollectionsAreBatchFetchedWithTheSameStatement() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Author> authors = session.createQuery( "from Author order by id", Author.class ).list();
+			sqlStatementInterceptor.clear();
+
+			assertEquals( 2, authors.get( 0 ).books.size() );
+			assertEquals( 2, authors.get( 20 ).books.size() );
+			assertFalse( Hibernate.isInitialized( authors.get( 29 ).books ) );
+			assertEquals( 2, authors.get( 29 ).books.size() );
+
+			final List<String> sqlQueries = sqlStatementInterceptor.getSqlQueries();
+			assertEquals( 2, sqlQueries.size() );
+			assertEquals( sqlQueries.get( 0 ), sqlQueries.get( 1 ) );
+			assertEquals( 1, countParameters( sqlQueries.get( 0 ) ) );
+		} );
+	}
+
+	@Test
+	public void testMultiLoadLoadsAllIdsAtOnce() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Integer[] ids = new Integer[30];
+			for ( int i = 0; i < ids.length; i++ ) {
+				ids[i] = ids.length - 1 - i;
+			}
+			final List<Author> authors = session.byMultipleIds( Author.class ).multiLoad( ids );
+			assertEquals( 30, authors.size() );
+			for ( int i = 0; i < ids.length; i++ ) {
+				assertEquals( ids[i], authors.get( i ).id );
+			}
+
+			final List<String> sqlQueries = sqlStatementInterceptor.getSqlQueries();
+			assertEquals( 1, sqlQueries.size() );
+			assertEquals( 1, countParameters( sqlQueries.get( 0 ) ) );
+		} );
+	}
+
+	@Test
+	public void testArraysOfIdsAreReadBack() {
+		final ArrayParameterType type = new ArrayParameterType( LongType.INSTANCE, sessionFactory() );
+		final Long[] ids = { 3L, 1L, 2L };
+		doInHibernate( this::sessionFactory, session -> {
+			session.doWork( connection -> {
+				try ( PreparedStatement statement = connection.prepareStatement( "select ? as ids" ) ) {
+					type.nullSafeSet( statement, ids, 1, (SharedSessionContractImplementor) session );
+					try ( ResultSet resultSet = statement.executeQuery() ) {
+						assertTrue( resultSet.next() );
+						final Object read = type.nullSafeGet(
+								resultSet,
+								"ids",
+								(SharedSessionContractImplementor) session,
+								null
+						);
+						assertTrue( read instanceof Long[] );
+						assertArrayEquals( ids, (Long[]) read );
+					}
+				}
+			} );
+		} );
+	}
+
+	private static int countParameters(String sql) {
+		int count = 0;
+		for ( int i = 0; i < sql.length(); i++ ) {
+			if ( sql.charAt( i ) == '?' ) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Entity(name = "Author")
+	@BatchSize(size = 25)
+	public static class Author {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@OneToMany(mappedBy = "author")
+		@BatchSize(size = 25)
+		private List<Book> books = new ArrayList<>();
+
+		public Author() {
+		}
+
+		public Author(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Integer id;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Author author;
+
+		public Book() {
+		}
+
+		public Book(Integer id, Author author) {
+			this.id = id;
+			this.author = author;
+		}
+	}
+}
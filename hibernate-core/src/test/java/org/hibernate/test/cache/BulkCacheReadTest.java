@@ -0,0 +1,166 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.BaseSessionEventListener;
+import org.hibernate.CacheMode;
+import org.hibernate.Hibernate;
+import org.hibernate.Session;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests that multi-loads and batch fetches read the second-level cache in bulk.
+ */
+public class BulkCacheReadTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Parent.class, Child.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void prepareTestData() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i <= 6; i++ ) {
+				Child child = new Child( i );
+				session.persist( child );
+				session.persist( new Parent( i, child ) );
+			}
+		} );
+		sessionFactory().getCache().evictAllRegions();
+
+		// cache half of the children
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i <= 3; i++ ) {
+				session.get( Child.class, i );
+			}
+		} );
+	}
+
+	@Test
+	public void testMultiLoadReadsTheCacheOnce() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		final CacheGetCounter counter = new CacheGetCounter();
+		try ( Session session = sessionFactory().withOptions().eventListeners( counter ).openSession() ) {
+			List<Child> children = session.byMultipleIds( Child.class )
+					.with( CacheMode.NORMAL )
+					.enableSessionCheck( true )
+					.multiLoad( 1, 2, 3, 4, 5, 6 );
+			assertEquals( 6, children.size() );
+			for ( Child child : children ) {
+				assertNotNull( child );
+			}
+		}
+
+		assertEquals( 1, counter.cacheGets );
+		assertEquals( 3, statistics.getSecondLevelCacheHitCount() );
+		assertEquals( 3, statistics.getSecondLevelCacheMissCount() );
+	}
+
+	@Test
+	public void testBatchFetchReadsTheCacheInBulk() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		final CacheGetCounter counter = new CacheGetCounter();
+		try ( Session session = sessionFactory().withOptions().eventListeners( counter ).openSession() ) {
+			List<Parent> parents = session.createQuery( "select p from Parent p order by p.id", Parent.class )
+					.getResultList();
+			assertEquals( 6, parents.size() );
+			final long parentLoads = statistics.getEntityLoadCount();
+
+			final Child child = parents.get( 5 ).child;
+			assertFalse( Hibernate.isInitialized( child ) );
+			Hibernate.initialize( child );
+
+			// the load of the child itself, then the other children in one go
+			assertEquals( 2, counter.cacheGets );
+			// the cached children are left out of the batch
+			assertEquals( parentLoads + 3, statistics.getEntityLoadCount() );
+
+			for ( Parent parent : parents ) {
+				Hibernate.initialize( parent.child );
+			}
+			assertEquals( parentLoads + 3, statistics.getEntityLoadCount() );
+			assertEquals( 3, statistics.getSecondLevelCacheHitCount() );
+		}
+	}
+
+	private static class CacheGetCounter extends BaseSessionEventListener {
+		private int cacheGets;
+
+		@Override
+		public void cacheGetStart() {
+			cacheGets++;
+		}
+	}
+
+	@Entity(name = "Parent")
+	public static class Parent {
+		@Id
+		private Integer id;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Child child;
+
+		public Parent() {
+		}
+
+		public Parent(Integer id, Child child) {
+			this.id = id;
+			this.child = child;
+		}
+	}
+
+	@Entity(name = "Child")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	@BatchSize(size = 10)
+	public static class Child {
+		@Id
+		private Integer id;
+
+		public Child() {
+		}
+
+		public Child(Integer id) {
+			this.id = id;
+		}
+	}
+}
@@ -0,0 +1,200 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.CacheMode;
+import org.hibernate.EmptyInterceptor;
+import org.hibernate.Session;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests that the sessions missing the same value in the second-level cache wait for the first one to load it.
+ */
+public class CacheSingleFlightTest extends BaseNonConfigCoreFunctionalTestCase {
+	private ExecutorService executor;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Product.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.CACHE_SINGLE_FLIGHT_TIMEOUT, "30000" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void createProducts() {
+		executor = Executors.newFixedThreadPool( 2 );
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Product( 1, "pen" ) );
+			session.persist( new Product( 2, "ink" ) );
+		} );
+		sessionFactory().getCache().evictAllRegions();
+	}
+
+	@After
+	public void shutdownExecutor() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void testQueryRunsOnceForConcurrentMisses() throws Exception {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		runConcurrently( session -> session.createQuery( "from Product order by id" )
+				.setCacheable( true )
+				.list() );
+
+		assertEquals( 1, statistics.getQueryCachePutCount() );
+		// the second session reads the results cached meanwhile without counting a hit on top of its miss
+		assertEquals( 2, statistics.getQueryCacheMissCount() );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+		assertEquals( 1, statistics.getQueryExecutionCount() );
+	}
+
+	@Test
+	public void testEntityLoadsOnceForConcurrentMisses() throws Exception {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		runConcurrently( session -> session.get( Product.class, 1 ) );
+
+		assertEquals( 1, statistics.getEntityStatistics( Product.class.getName() ).getLoadCount() );
+		assertEquals( 1, statistics.getSecondLevelCachePutCount() );
+		assertEquals( 2, statistics.getSecondLevelCacheMissCount() );
+		assertEquals( 0, statistics.getSecondLevelCacheHitCount() );
+	}
+
+	@Test
+	public void testLoadingIsNotCoordinatedWhenTheCacheIsIgnored() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.setCacheMode( CacheMode.IGNORE );
+			assertEquals( "pen", session.get( Product.class, 1 ).name );
+		} );
+		assertEquals( 0, statistics.getSecondLevelCachePutCount() );
+		assertEquals( 1, statistics.getEntityStatistics( Product.class.getName() ).getLoadCount() );
+	}
+
+	/**
+	 * Runs the given work in a first session, which is blocked before its first statement until the same work,
+	 * run in a second session, waits.
+	 */
+	private void runConcurrently(Function<Session, Object> work) throws Exception {
+		final CountDownLatch firstStatement = new CountDownLatch( 1 );
+		final CountDownLatch release = new CountDownLatch( 1 );
+
+		final Future<Object> first = executor.submit( () -> {
+			try ( Session session = sessionFactory().withOptions()
+					.interceptor( new EmptyInterceptor() {
+						@Override
+						public String onPrepareStatement(String sql) {
+							firstStatement.countDown();
+							try {
+								release.await( 30, TimeUnit.SECONDS );
+							}
+							catch (InterruptedException e) {
+								Thread.currentThread().interrupt();
+							}
+							return sql;
+						}
+					} )
+					.openSession() ) {
+				return work.apply( session );
+			}
+		} );
+		assertTrue( firstStatement.await( 30, TimeUnit.SECONDS ) );
+
+		final AtomicReference<Thread> secondThread = new AtomicReference<>();
+		final Future<Object> second = executor.submit( () -> {
+			secondThread.set( Thread.currentThread() );
+			try ( Session session = openSession() ) {
+				return work.apply( session );
+			}
+		} );
+		awaitWaiting( secondThread );
+		release.countDown();
+
+		assertResult( first.get( 30, TimeUnit.SECONDS ) );
+		assertResult( second.get( 30, TimeUnit.SECONDS ) );
+	}
+
+	private static void awaitWaiting(AtomicReference<Thread> thread) throws InterruptedException {
+		final long deadline = System.currentTimeMillis() + 30_000;
+		while ( thread.get() == null || thread.get().getState() != Thread.State.TIMED_WAITING ) {
+			if ( System.currentTimeMillis() > deadline ) {
+				fail( "The second session did not wait for the first one" );
+			}
+			Thread.sleep( 10 );
+		}
+	}
+
+	private static void assertResult(Object result) {
+		if ( result instanceof List ) {
+			assertEquals( 2, ( (List) result ).size() );
+		}
+		else {
+			assertEquals( "pen", ( (Product) result ).name );
+		}
+	}
+
+	@Entity(name = "Product")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
+	public static class Product {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Product() {
+		}
+
+		public Product(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
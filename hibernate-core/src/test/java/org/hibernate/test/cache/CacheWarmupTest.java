@@ -0,0 +1,196 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Cacheable;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the warm-up of the entity and collection regions of the second-level cache.
+ */
+public class CacheWarmupTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int PRODUCTS = 250;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Product.class, Shelf.class, Supplier.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.CACHE_WARMUP_THREADS, "2" );
+	}
+
+	@Before
+	public void createProducts() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Shelf> shelves = new ArrayList<>();
+			for ( int i = 0; i < 10; i++ ) {
+				final Shelf shelf = new Shelf( i );
+				session.persist( shelf );
+				shelves.add( shelf );
+			}
+			for ( int i = 0; i < PRODUCTS; i++ ) {
+				final Product product = new Product( i, "product " + i, shelves.get( i % shelves.size() ) );
+				product.shelf.products.add( product );
+				session.persist( product );
+			}
+			session.persist( new Supplier( 1 ) );
+		} );
+		sessionFactory().getCache().evictAllRegions();
+		sessionFactory().getStatistics().clear();
+	}
+
+	@After
+	public void deleteProducts() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from Product" ).executeUpdate();
+			session.createQuery( "delete from Shelf" ).executeUpdate();
+			session.createQuery( "delete from Supplier" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testEntityRegionIsWarmedUp() {
+		cache().warmEntityData( Product.class.getName() );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		assertEquals( PRODUCTS, statistics.getSecondLevelCachePutCount() );
+		assertEquals( 1, statistics.getQueryExecutionCount() );
+
+		statistics.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < PRODUCTS; i++ ) {
+				assertEquals( "product " + i, session.get( Product.class, i ).name );
+			}
+		} );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		assertEquals( PRODUCTS, statistics.getSecondLevelCacheHitCount() );
+	}
+
+	@Test
+	public void testCollectionRegionIsWarmedUp() {
+		final String role = Shelf.class.getName() + ".products";
+		cache().warmCollectionData( role );
+
+		for ( int i = 0; i < 10; i++ ) {
+			assertTrue( cache().containsCollection( role, i ) );
+		}
+		assertEquals( 10, sessionFactory().getStatistics().getCollectionStatistics( role ).getLoadCount() );
+	}
+
+	@Test
+	public void testRegionsAreWarmedUpConcurrently() {
+		cache().warm(
+				Arrays.asList( Product.class.getName(), Shelf.class.getName() ),
+				Collections.singletonList( Shelf.class.getName() + ".products" )
+		);
+
+		for ( int i = 0; i < PRODUCTS; i++ ) {
+			assertTrue( cache().containsEntity( Product.class, i ) );
+		}
+		for ( int i = 0; i < 10; i++ ) {
+			assertTrue( cache().containsEntity( Shelf.class, i ) );
+			assertTrue( cache().containsCollection( Shelf.class.getName() + ".products", i ) );
+		}
+	}
+
+	@Test
+	public void testEntitiesWhichAreNotCachedAreIgnored() {
+		cache().warmEntityData( Supplier.class.getName() );
+
+		assertEquals( 0, sessionFactory().getStatistics().getPrepareStatementCount() );
+		assertFalse( cache().containsEntity( Supplier.class, 1 ) );
+	}
+
+	private CacheImplementor cache() {
+		return sessionFactory().getCache();
+	}
+
+	@Entity(name = "Product")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Product {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Shelf shelf;
+
+		public Product() {
+		}
+
+		public Product(Integer id, String name, Shelf shelf) {
+			this.id = id;
+			this.name = name;
+			this.shelf = shelf;
+		}
+	}
+
+	@Entity(name = "Shelf")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Shelf {
+		@Id
+		private Integer id;
+
+		@OneToMany(mappedBy = "shelf")
+		@BatchSize(size = 10)
+		@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+		private List<Product> products = new ArrayList<>();
+
+		public Shelf() {
+		}
+
+		public Shelf(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "Supplier")
+	public static class Supplier {
+		@Id
+		private Integer id;
+
+		public Supplier() {
+		}
+
+		public Supplier(Integer id) {
+			this.id = id;
+		}
+	}
+}
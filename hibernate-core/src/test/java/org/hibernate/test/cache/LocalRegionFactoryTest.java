@@ -0,0 +1,231 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.Date;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.Temporal;
+import javax.persistence.TemporalType;
+import javax.persistence.Version;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.cache.internal.LocalRegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link LocalRegionFactory}.
+ */
+public class LocalRegionFactoryTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Country.class, City.class, Currency.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.CACHE_REGION_FACTORY, LocalRegionFactory.SHORT_NAME );
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.CACHE_LOCAL_REGION_PREFIX + "countries.max_entries", "5" );
+		settings.put( AvailableSettings.CACHE_LOCAL_REGION_PREFIX + "cities.off_heap", "true" );
+		settings.put( AvailableSettings.CACHE_LOCAL_REGION_PREFIX + "currencies.time_to_live", "3600" );
+		settings.put( AvailableSettings.CACHE_LOCAL_REGION_PREFIX + "currencies.refresh_ahead_time", "3600" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Override
+	protected void cleanupTestData() throws Exception {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from Currency" ).executeUpdate();
+			session.createQuery( "delete from City" ).executeUpdate();
+			session.createQuery( "delete from Country" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testRegionIsBoundedAndReportsItsStatistics() {
+		assertTrue( sessionFactory().getCache().getRegionFactory() instanceof LocalRegionFactory );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 1; i <= 10; i++ ) {
+				session.persist( new Country( i, "Country " + i ) );
+			}
+		} );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			assertNotNull( session.get( Country.class, 10 ) );
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			assertNotNull( session.get( Country.class, 10 ) );
+		} );
+
+		final CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(
+				sessionFactory().getCache().getRegion( "countries" ).getName()
+		);
+		assertEquals( 5, regionStatistics.getElementCountInMemory() );
+		assertEquals( 5, regionStatistics.getEvictionCount() );
+		assertTrue( regionStatistics.getSizeInMemory() > 0 );
+		assertTrue( regionStatistics.getHitCount() > 0 );
+	}
+
+	@Test
+	public void testOffHeapRegion() {
+		final Date founded = new Date( 1_000_000_000_000L );
+		doInHibernate( this::sessionFactory, session -> {
+			final Country country = new Country( 1, "Switzerland" );
+			session.persist( country );
+			session.persist( new City( 1, "Zürich", new BigDecimal( "87.88" ), founded, country ) );
+		} );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			final City city = session.get( City.class, 1 );
+			assertEquals( "Zürich", city.name );
+			assertEquals( new BigDecimal( "87.88" ), city.area );
+			assertEquals( founded.getTime(), city.founded.getTime() );
+			assertEquals( 0, city.version );
+			assertEquals( "Switzerland", city.country.name );
+		} );
+		assertEquals( 1, statistics.getDomainDataRegionStatistics( "cities" ).getHitCount() );
+		assertEquals( 0, statistics.getEntityStatistics( City.class.getName() ).getLoadCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.get( City.class, 1 ).name = "Zurich";
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			final City city = session.get( City.class, 1 );
+			assertEquals( "Zurich", city.name );
+			assertEquals( 1, city.version );
+		} );
+		assertEquals( 3, statistics.getDomainDataRegionStatistics( "cities" ).getHitCount() );
+		assertEquals( 0, statistics.getEntityStatistics( City.class.getName() ).getLoadCount() );
+	}
+
+	@Test
+	public void testEntriesAreRefreshedAheadOfTheirExpiry() throws InterruptedException {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Currency( "CHF", "Swiss franc" ) );
+		} );
+		doInHibernate( this::sessionFactory, session -> {
+			session.doWork( connection -> {
+				try ( PreparedStatement statement = connection.prepareStatement(
+						"update Currency set name = 'Franc suisse' where code = 'CHF'" ) ) {
+					statement.executeUpdate();
+				}
+			} );
+		} );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		doInHibernate( this::sessionFactory, session -> {
+			// the entry was cached on insert, and is read within the refresh ahead time
+			assertEquals( "Swiss franc", session.get( Currency.class, "CHF" ).name );
+		} );
+		final long deadline = System.currentTimeMillis() + 30_000;
+		while ( statistics.getEntityStatistics( Currency.class.getName() ).getLoadCount() == 0
+				&& System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 10 );
+		}
+		assertEquals( 1, statistics.getEntityStatistics( Currency.class.getName() ).getLoadCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "Franc suisse", session.get( Currency.class, "CHF" ).name );
+		} );
+		assertEquals( 2, statistics.getDomainDataRegionStatistics( "currencies" ).getHitCount() );
+	}
+
+	@Entity(name = "Country")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "countries")
+	public static class Country {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Country() {
+		}
+
+		public Country(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "City")
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "cities")
+	public static class City {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		private BigDecimal area;
+
+		@Temporal(TemporalType.DATE)
+		private Date founded;
+
+		@ManyToOne
+		private Country country;
+
+		@Version
+		private int version;
+
+		public City() {
+		}
+
+		public City(Integer id, String name, BigDecimal area, Date founded, Country country) {
+			this.id = id;
+			this.name = name;
+			this.area = area;
+			this.founded = founded;
+			this.country = country;
+		}
+	}
+
+	@Entity(name = "Currency")
+	@Immutable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "currencies")
+	public static class Currency {
+		@Id
+		private String code;
+
+		private String name;
+
+		public Currency() {
+		}
+
+		public Currency(String code, String name) {
+			this.code = code;
+			this.name = name;
+		}
+	}
+}
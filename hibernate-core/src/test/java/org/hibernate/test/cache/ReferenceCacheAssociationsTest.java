@@ -0,0 +1,178 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.cache;
+
+import java.util.Map;
+import javax.persistence.Cacheable;
+import javax.persistence.CascadeType;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the direct reference entries of immutable entities having to-one associations.
+ */
+public class ReferenceCacheAssociationsTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Country.class, City.class, Mayor.class, District.class, Airport.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_SECOND_LEVEL_CACHE, "true" );
+		settings.put( AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES, "true" );
+		settings.put( AvailableSettings.USE_DIRECT_REFERENCE_CACHE_ENTRIES_FOR_ASSOCIATIONS, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@After
+	public void deleteData() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from City" ).executeUpdate();
+			session.createQuery( "delete from Country" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testOnlyEntitiesAssociatedWithSharableEntitiesAreStoredAsReferences() {
+		assertTrue( persister( Country.class ).canUseReferenceCacheEntries() );
+		assertFalse( persister( Country.class ).hasProxy() );
+		assertTrue( persister( City.class ).canUseReferenceCacheEntries() );
+
+		// associated with a mutable entity
+		assertFalse( persister( District.class ).canUseReferenceCacheEntries() );
+		// cascading to its association
+		assertFalse( persister( Airport.class ).canUseReferenceCacheEntries() );
+	}
+
+	@Test
+	public void testInstancesAreSharedWithTheirAssociations() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Country country = new Country( 1, "France" );
+			session.persist( country );
+			session.persist( new City( 1, "Paris", country ) );
+		} );
+		sessionFactory().getCache().evictAllRegions();
+
+		final City loaded = doInHibernate( this::sessionFactory, session -> {
+			return session.get( City.class, 1 );
+		} );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		doInHibernate( this::sessionFactory, session -> {
+			final City city = session.get( City.class, 1 );
+			assertSame( loaded, city );
+			assertSame( loaded.country, city.country );
+			assertEquals( "France", city.country.name );
+			assertSame( city.country, session.get( Country.class, 1 ) );
+		} );
+		assertEquals( 0, statistics.getPrepareStatementCount() );
+		assertEquals( 2, statistics.getSecondLevelCacheHitCount() );
+	}
+
+	private EntityPersister persister(Class<?> entityClass) {
+		return sessionFactory().getMetamodel().entityPersister( entityClass );
+	}
+
+	@Entity(name = "Country")
+	@Immutable
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+	public static class Country {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Country() {
+		}
+
+		public Country(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+
+	@Entity(name = "City")
+	@Immutable
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+	public static class City {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Country country;
+
+		public City() {
+		}
+
+		public City(Integer id, String name, Country country) {
+			this.id = id;
+			this.name = name;
+			this.country = country;
+		}
+	}
+
+	@Entity(name = "Mayor")
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+	public static class Mayor {
+		@Id
+		private Integer id;
+
+		private String name;
+	}
+
+	@Entity(name = "District")
+	@Immutable
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+	public static class District {
+		@Id
+		private Integer id;
+
+		@ManyToOne
+		private Mayor mayor;
+	}
+
+	@Entity(name = "Airport")
+	@Immutable
+	@Cacheable
+	@Cache(usage = CacheConcurrencyStrategy.READ_ONLY)
+	public static class Airport {
+		@Id
+		private Integer id;
+
+		@ManyToOne(cascade = CascadeType.PERSIST)
+		private Country country;
+	}
+}
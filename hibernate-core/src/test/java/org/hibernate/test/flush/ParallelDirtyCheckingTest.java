@@ -0,0 +1,179 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.flush;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.cfg.AvailableSettings;
+
+import org.hibernate.testing.jdbc.SQLStatementInterceptor;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests flushing with {@link AvailableSettings#PARALLEL_DIRTY_CHECKING_THRESHOLD} enabled.
+ */
+public class ParallelDirtyCheckingTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int ITEMS = 50;
+
+	private SQLStatementInterceptor sqlStatementInterceptor;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class, Category.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.PARALLEL_DIRTY_CHECKING_THRESHOLD, "10" );
+		sqlStatementInterceptor = new SQLStatementInterceptor( settings );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void createItems() {
+		doInHibernate( this::sessionFactory, session -> {
+			Category first = new Category( 1L, "first" );
+			Category second = new Category( 2L, "second" );
+			session.persist( first );
+			session.persist( second );
+			for ( long i = 0; i < ITEMS; i++ ) {
+				Item item = new Item( i, "item " + i, first );
+				item.dimensions = new Dimensions( 1, 1 );
+				session.persist( item );
+			}
+		} );
+	}
+
+	@Test
+	public void testUnmodifiedEntitiesAreNotUpdated() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "from Item" ).list();
+			sqlStatementInterceptor.clear();
+		} );
+		sqlStatementInterceptor.assertExecutedCount( 0 );
+	}
+
+	@Test
+	public void testModifiedEntitiesAreUpdated() {
+		doInHibernate( this::sessionFactory, session -> {
+			List<Item> items = session.createQuery( "from Item i order by i.id", Item.class ).list();
+			Category second = session.get( Category.class, 2L );
+			items.get( 5 ).name = "renamed";
+			items.get( 17 ).dimensions.width = 2;
+			items.get( 23 ).category = second;
+			items.get( 31 ).category = null;
+			items.get( 42 ).dimensions = null;
+			sqlStatementInterceptor.clear();
+		} );
+
+		List<String> statements = sqlStatementInterceptor.getSqlQueries();
+		assertEquals( 5, statements.size() );
+		for ( String statement : statements ) {
+			assertTrue( statement, statement.startsWith( "update Item " ) );
+		}
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "renamed", session.get( Item.class, 5L ).name );
+			assertEquals( Integer.valueOf( 2 ), session.get( Item.class, 17L ).dimensions.width );
+			assertEquals( "second", session.get( Item.class, 23L ).category.name );
+			assertNull( session.get( Item.class, 31L ).category );
+			assertNull( session.get( Item.class, 42L ).dimensions );
+			assertEquals(
+					ITEMS - 5L,
+					session.createQuery( "select count(i) from Item i where i.name like 'item %' and i.category.id = 1 and i.dimensions.width = 1" )
+							.uniqueResult()
+			);
+		} );
+	}
+
+	@Test
+	public void testEntitiesModifiedDuringTheFlushAreUpdated() {
+		doInHibernate( this::sessionFactory, session -> {
+			List<Item> items = session.createQuery( "from Item i order by i.id", Item.class ).list();
+			items.get( 3 ).name = "renamed";
+			session.flush();
+			items.get( 3 ).name = "renamed again";
+			items.get( 4 ).name = "renamed";
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertEquals( "renamed again", session.get( Item.class, 3L ).name );
+			assertEquals( "renamed", session.get( Item.class, 4L ).name );
+		} );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private Long id;
+
+		private String name;
+
+		@Embedded
+		private Dimensions dimensions;
+
+		@ManyToOne
+		private Category category;
+
+		public Item() {
+		}
+
+		public Item(Long id, String name, Category category) {
+			this.id = id;
+			this.name = name;
+			this.category = category;
+		}
+	}
+
+	@Embeddable
+	public static class Dimensions {
+		private Integer width;
+
+		private Integer height;
+
+		public Dimensions() {
+		}
+
+		public Dimensions(Integer width, Integer height) {
+			this.width = width;
+			this.height = height;
+		}
+	}
+
+	@Entity(name = "Category")
+	public static class Category {
+		@Id
+		private Long id;
+
+		private String name;
+
+		public Category() {
+		}
+
+		public Category(Long id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.idgen.enhanced.sequence;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.DialectChecks;
+import org.hibernate.testing.RequiresDialectFeature;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link AvailableSettings#SEQUENCE_READ_AHEAD}.
+ */
+@RequiresDialectFeature(DialectChecks.SupportsSequences.class)
+public class SequenceReadAheadTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Ticket.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.SEQUENCE_READ_AHEAD, "5" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testValuesAreReadAhead() throws InterruptedException {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		final Set<Long> ids = new HashSet<>();
+
+		// nothing was read ahead yet
+		ids.add( persistTicket() );
+		assertEquals( 0, statistics.getSequenceReadAheadHitCount() );
+		assertEquals( 1, statistics.getSequenceReadAheadMissCount() );
+
+		final long deadline = System.currentTimeMillis() + 10_000;
+		while ( statistics.getSequenceReadAheadHitCount() == 0 && System.currentTimeMillis() < deadline ) {
+			Thread.sleep( 50 );
+			ids.add( persistTicket() );
+		}
+		assertTrue( statistics.getSequenceReadAheadHitCount() > 0 );
+
+		for ( int i = 0; i < 20; i++ ) {
+			ids.add( persistTicket() );
+		}
+		assertEquals(
+				ids.size(),
+				statistics.getSequenceReadAheadHitCount() + statistics.getSequenceReadAheadMissCount()
+		);
+	}
+
+	private Long persistTicket() {
+		return doInHibernate( this::sessionFactory, session -> {
+			Ticket ticket = new Ticket();
+			session.persist( ticket );
+			return ticket.id;
+		} );
+	}
+
+	@javax.persistence.Entity(name = "Ticket")
+	public static class Ticket {
+		@Id
+		@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+		@SequenceGenerator(name = "ticket_seq", allocationSize = 1)
+		private Long id;
+	}
+}
@@ -0,0 +1,99 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.inheritance;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.jdbc.ColumnNameCache;
+import org.hibernate.loader.DefaultEntityAliases;
+import org.hibernate.loader.EntityAliases;
+import org.hibernate.loader.internal.IndexedRowReader;
+import org.hibernate.loader.internal.IndexedRowResultSet;
+import org.hibernate.persister.entity.Loadable;
+
+import org.junit.Test;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests the hydration of subclass instances with {@link AvailableSettings#INDEXED_ROW_READERS} enabled.
+ */
+public class IndexedSubclassHydrationTest extends SubclassHydrationTest {
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.INDEXED_ROW_READERS, "true" );
+	}
+
+	@Test
+	public void testColumnsAreReadByIndex() throws SQLException {
+		final Loadable vehicle = (Loadable) sessionFactory().getMetamodel().entityPersister( Vehicle.class );
+		final Loadable car = (Loadable) sessionFactory().getMetamodel().entityPersister( Car.class );
+		final DefaultEntityAliases aliases = new DefaultEntityAliases( vehicle, "0_" );
+
+		// the aliases read for a row of a car, in order
+		final List<String> reads = new ArrayList<>();
+		for ( String alias : aliases.getSuffixedKeyAliases() ) {
+			reads.add( alias );
+		}
+		reads.add( aliases.getSuffixedDiscriminatorAlias() );
+		for ( String[] propertyAliases : aliases.getSuffixedPropertyAliases( car ) ) {
+			for ( String alias : propertyAliases ) {
+				reads.add( alias );
+			}
+		}
+		// the drivers may not return the labels in the case of the aliases
+		final List<String> labels = new ArrayList<>();
+		for ( String alias : reads ) {
+			labels.add( alias.toUpperCase( Locale.ROOT ) );
+		}
+
+		final ResultSet rs = mock( ResultSet.class );
+		final ResultSetMetaData metaData = mock( ResultSetMetaData.class );
+		when( rs.getMetaData() ).thenReturn( metaData );
+		when( metaData.getColumnCount() ).thenReturn( labels.size() );
+		for ( int i = 0; i < labels.size(); i++ ) {
+			when( metaData.getColumnLabel( i + 1 ) ).thenReturn( labels.get( i ) );
+		}
+		when( rs.findColumn( "unknown" ) ).thenReturn( 42 );
+
+		final IndexedRowReader reader = IndexedRowReader.build(
+				rs,
+				new Loadable[] { vehicle },
+				new EntityAliases[] { aliases },
+				null,
+				sessionFactory()
+		);
+		final ResultSet indexed = new IndexedRowResultSet( rs, reader, new ColumnNameCache( labels.size() ) );
+
+		for ( int row = 0; row < 2; row++ ) {
+			indexed.next();
+			for ( String alias : reads ) {
+				indexed.getString( alias );
+			}
+			indexed.getString( "unknown" );
+		}
+
+		for ( int i = 0; i < reads.size(); i++ ) {
+			verify( rs, times( 2 ) ).getString( i + 1 );
+		}
+		verify( rs, times( 2 ) ).getString( 42 );
+		verify( rs, never() ).getString( anyString() );
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.inheritance;
+
+import java.util.List;
+import javax.persistence.Embeddable;
+import javax.persistence.Embedded;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.loader.DefaultEntityAliases;
+import org.hibernate.persister.entity.Loadable;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the hydration of subclass instances, whose column aliases are resolved once per loader.
+ */
+public class SubclassHydrationTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Vehicle.class, Car.class, Truck.class };
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Test
+	public void testSubclassAliasesAreResolvedOnce() {
+		final Loadable vehicle = persister( Vehicle.class );
+		final Loadable car = persister( Car.class );
+		final DefaultEntityAliases aliases = new DefaultEntityAliases( vehicle, "0_" );
+
+		final String[][] carAliases = aliases.getSuffixedPropertyAliases( car );
+		assertSame( carAliases, aliases.getSuffixedPropertyAliases( car ) );
+		assertEquals( car.getPropertyNames().length, carAliases.length );
+		for ( int i = 0; i < carAliases.length; i++ ) {
+			assertArrayEquals( car.getPropertyAliases( "0_", i ), carAliases[i] );
+		}
+	}
+
+	@Test
+	public void testSubclassInstancesAreHydrated() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 10; i++ ) {
+				session.persist( new Car( i * 2, "car " + i, new Engine( 100 + i, "petrol" ), 4 ) );
+				session.persist( new Truck( i * 2 + 1, "truck " + i, new Engine( 400 + i, "diesel" ), 12.5 * i ) );
+			}
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Vehicle> vehicles = session.createQuery( "from Vehicle order by id", Vehicle.class ).list();
+			assertEquals( 20, vehicles.size() );
+			for ( int i = 0; i < 10; i++ ) {
+				assertTrue( vehicles.get( i * 2 ) instanceof Car );
+				final Car car = (Car) vehicles.get( i * 2 );
+				assertEquals( "car " + i, car.name );
+				assertEquals( 100 + i, car.engine.power );
+				assertEquals( "petrol", car.engine.fuel );
+				assertEquals( 4, car.seats );
+
+				assertTrue( vehicles.get( i * 2 + 1 ) instanceof Truck );
+				final Truck truck = (Truck) vehicles.get( i * 2 + 1 );
+				assertEquals( "truck " + i, truck.name );
+				assertEquals( 400 + i, truck.engine.power );
+				assertEquals( "diesel", truck.engine.fuel );
+				assertEquals( 12.5 * i, truck.payload, 0 );
+			}
+		} );
+	}
+
+	private Loadable persister(Class<?> entityClass) {
+		return (Loadable) sessionFactory().getMetamodel().entityPersister( entityClass );
+	}
+
+	@Entity(name = "Vehicle")
+	public static class Vehicle {
+		@Id
+		private Integer id;
+
+		String name;
+
+		@Embedded
+		Engine engine;
+
+		public Vehicle() {
+		}
+
+		public Vehicle(Integer id, String name, Engine engine) {
+			this.id = id;
+			this.name = name;
+			this.engine = engine;
+		}
+	}
+
+	@Entity(name = "Car")
+	public static class Car extends Vehicle {
+		private int seats;
+
+		public Car() {
+		}
+
+		public Car(Integer id, String name, Engine engine, int seats) {
+			super( id, name, engine );
+			this.seats = seats;
+		}
+	}
+
+	@Entity(name = "Truck")
+	public static class Truck extends Vehicle {
+		private double payload;
+
+		public Truck() {
+		}
+
+		public Truck(Integer id, String name, Engine engine, double payload) {
+			super( id, name, engine );
+			this.payload = payload;
+		}
+	}
+
+	@Embeddable
+	public static class Engine {
+		private int power;
+
+		private String fuel;
+
+		public Engine() {
+		}
+
+		public Engine(int power, String fuel) {
+			this.power = power;
+			this.fuel = fuel;
+		}
+	}
+}
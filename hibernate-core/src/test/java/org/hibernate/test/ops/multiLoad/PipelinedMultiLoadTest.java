@@ -0,0 +1,273 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.ops.multiLoad;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.Hibernate;
+import org.hibernate.LockMode;
+import org.hibernate.LockOptions;
+import org.hibernate.boot.SessionFactoryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.loader.entity.MultiLoadPipeliningExecutor;
+
+import org.hibernate.testing.jdbc.SQLStatementInterceptor;
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the multi-loads fetching their batches on a second connection.
+ */
+public class PipelinedMultiLoadTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int ENTITIES = 95;
+
+	private SQLStatementInterceptor sqlStatementInterceptor;
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class, Category.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.MULTI_LOAD_PIPELINING, "true" );
+	}
+
+	@Override
+	protected void configureSessionFactoryBuilder(SessionFactoryBuilder sfb) {
+		sqlStatementInterceptor = new SQLStatementInterceptor( sfb );
+	}
+
+	@Before
+	public void createItems() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Category category = new Category( 1, "category" );
+			session.persist( category );
+			for ( int i = 1; i <= ENTITIES; i++ ) {
+				session.persist( new Item( i, "item " + i, category ) );
+			}
+		} );
+		sqlStatementInterceptor.clear();
+	}
+
+	@After
+	public void deleteItems() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "delete from Item" ).executeUpdate();
+			session.createQuery( "delete from Category" ).executeUpdate();
+		} );
+	}
+
+	@Test
+	public void testOrderedMultiLoad() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Integer> ids = ids( ENTITIES );
+			Collections.reverse( ids );
+			ids.add( 2, 500 );
+
+			final List<Item> items = session.byMultipleIds( Item.class ).withBatchSize( 10 ).multiLoad( ids );
+			assertEquals( ids.size(), items.size() );
+			for ( int i = 0; i < ids.size(); i++ ) {
+				if ( ids.get( i ) == 500 ) {
+					assertNull( items.get( i ) );
+				}
+				else {
+					assertEquals( "item " + ids.get( i ), items.get( i ).name );
+					assertTrue( session.contains( items.get( i ) ) );
+				}
+			}
+			assertEquals( 10, sqlStatementInterceptor.getSqlQueries().size() );
+
+			// the associations are resolved in the Session
+			assertFalse( Hibernate.isInitialized( items.get( 0 ).category ) );
+			assertEquals( "category", items.get( 0 ).category.getName() );
+			assertSame( items.get( 0 ).category, items.get( 1 ).category );
+		} );
+	}
+
+	@Test
+	public void testUnorderedMultiLoad() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Item managed = session.get( Item.class, 1 );
+			sqlStatementInterceptor.clear();
+
+			final List<Item> items = session.byMultipleIds( Item.class )
+					.enableOrderedReturn( false )
+					.enableSessionCheck( true )
+					.withBatchSize( 10 )
+					.multiLoad( ids( ENTITIES ) );
+			assertEquals( ENTITIES, items.size() );
+			assertTrue( items.contains( managed ) );
+			for ( Item item : items ) {
+				assertTrue( session.contains( item ) );
+			}
+			assertEquals( 10, sqlStatementInterceptor.getSqlQueries().size() );
+		} );
+	}
+
+	@Test
+	public void testLockedMultiLoadIsNotPipelined() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Item> items = session.byMultipleIds( Item.class )
+					.with( new LockOptions( LockMode.PESSIMISTIC_WRITE ) )
+					.withBatchSize( 10 )
+					.multiLoad( ids( ENTITIES ) );
+			assertEquals( ENTITIES, items.size() );
+			for ( Item item : items ) {
+				assertEquals( LockMode.PESSIMISTIC_WRITE, session.getCurrentLockMode( item ) );
+			}
+		} );
+	}
+
+	@Test
+	public void testMultiLoadAfterWritesIsNotPipelined() {
+		doInHibernate( this::sessionFactory, session -> {
+			assertFalse( ( (SessionImplementor) session ).getJdbcCoordinator().hasExecutedWritesInTransaction() );
+
+			session.get( Item.class, 3 ).name = "updated";
+			session.persist( new Item( 500, "new item", session.load( Category.class, 1 ) ) );
+			session.flush();
+			session.clear();
+			assertTrue( ( (SessionImplementor) session ).getJdbcCoordinator().hasExecutedWritesInTransaction() );
+
+			// a second connection would see neither the update nor the insert
+			final List<Integer> ids = ids( ENTITIES );
+			ids.add( 500 );
+			final List<Item> items = session.byMultipleIds( Item.class ).withBatchSize( 10 ).multiLoad( ids );
+			assertEquals( ids.size(), items.size() );
+			assertEquals( "updated", items.get( 2 ).name );
+			assertEquals( "new item", items.get( ENTITIES ).name );
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			assertFalse( ( (SessionImplementor) session ).getJdbcCoordinator().hasExecutedWritesInTransaction() );
+		} );
+	}
+
+	@Test
+	public void testMultiLoadAfterWorkIsNotPipelined() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.doWork( connection -> {
+				try ( Statement statement = connection.createStatement() ) {
+					statement.executeUpdate( "update Item set name = 'updated by work' where id = 3" );
+				}
+			} );
+			assertTrue( ( (SessionImplementor) session ).getJdbcCoordinator().hasExecutedWritesInTransaction() );
+
+			// a second connection would not see the update
+			final List<Item> items = session.byMultipleIds( Item.class ).withBatchSize( 10 ).multiLoad( ids( ENTITIES ) );
+			assertEquals( "updated by work", items.get( 2 ).name );
+		} );
+	}
+
+	@Test
+	public void testPipeliningIsBoundedByTheMaxConcurrency() throws Exception {
+		final MultiLoadPipeliningExecutor executor = new MultiLoadPipeliningExecutor( 1 );
+		try {
+			final CountDownLatch started = new CountDownLatch( 1 );
+			final CountDownLatch release = new CountDownLatch( 1 );
+			final CountDownLatch completed = new CountDownLatch( 1 );
+			assertTrue(
+					executor.tryExecute(
+							() -> {
+								started.countDown();
+								try {
+									release.await();
+								}
+								catch (InterruptedException e) {
+									Thread.currentThread().interrupt();
+								}
+								completed.countDown();
+							}
+					)
+			);
+			assertTrue( started.await( 10, TimeUnit.SECONDS ) );
+			assertFalse( executor.tryExecute( () -> {} ) );
+
+			release.countDown();
+			assertTrue( completed.await( 10, TimeUnit.SECONDS ) );
+			// the permit is released right after the task completes
+			final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos( 10 );
+			boolean executed;
+			while ( !( executed = executor.tryExecute( () -> {} ) ) && System.nanoTime() < deadline ) {
+				Thread.sleep( 10 );
+			}
+			assertTrue( executed );
+		}
+		finally {
+			executor.stop();
+		}
+	}
+
+	private static List<Integer> ids(int count) {
+		final List<Integer> ids = new ArrayList<>( count );
+		for ( int i = 1; i <= count; i++ ) {
+			ids.add( i );
+		}
+		return ids;
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Category category;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name, Category category) {
+			this.id = id;
+			this.name = name;
+			this.category = category;
+		}
+	}
+
+	@Entity(name = "Category")
+	public static class Category {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Category() {
+		}
+
+		public Category(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
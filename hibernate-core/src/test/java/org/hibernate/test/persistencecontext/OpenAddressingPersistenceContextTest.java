@@ -0,0 +1,172 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.persistencecontext;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Inheritance;
+import javax.persistence.InheritanceType;
+import javax.persistence.ManyToOne;
+import javax.persistence.OneToMany;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.internal.EntityKeyMap;
+import org.hibernate.engine.spi.EntityKey;
+import org.hibernate.engine.spi.PersistenceContext;
+import org.hibernate.engine.spi.PersistenceContextStorage;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests sessions with {@link AvailableSettings#PERSISTENCE_CONTEXT_STORAGE} set to
+ * {@link PersistenceContextStorage#OPEN_ADDRESSING}.
+ */
+public class OpenAddressingPersistenceContextTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Animal.class, Dog.class, Owner.class, Tag.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.PERSISTENCE_CONTEXT_STORAGE, "open_addressing" );
+	}
+
+	@Test
+	public void testManagedEntitiesAreFound() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 500; i++ ) {
+				Owner owner = new Owner( i );
+				session.persist( owner );
+				Dog dog = new Dog( (long) i, owner );
+				session.persist( dog );
+				session.persist( new Tag( "tag" + i ) );
+			}
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			PersistenceContext persistenceContext = ( (SessionImplementor) session ).getPersistenceContext();
+			assertTrue( persistenceContext.getEntitiesByKey() instanceof EntityKeyMap );
+
+			List<Dog> dogs = session.createQuery( "from Dog d join fetch d.owner o join fetch o.dogs", Dog.class )
+					.list();
+			session.createQuery( "from Tag", Tag.class ).list();
+			assertEquals( 1500, persistenceContext.getNumberOfManagedEntities() );
+			assertEquals( 1500, persistenceContext.getEntitiesByKey().size() );
+
+			for ( Dog dog : dogs ) {
+				// found through the root entity as well as the subclass, without hitting the database
+				assertSame( dog, session.get( Animal.class, dog.getId() ) );
+				assertSame( dog.owner, session.get( Owner.class, dog.owner.id ) );
+				assertTrue( dog.owner.dogs.contains( dog ) );
+			}
+			assertSame( session.get( Tag.class, "tag7" ), session.get( Tag.class, "tag7" ) );
+
+			Dog removed = dogs.get( 0 );
+			session.remove( removed );
+			session.flush();
+			assertEquals( 1499, persistenceContext.getEntitiesByKey().size() );
+			assertNull( session.get( Dog.class, removed.getId() ) );
+		} );
+	}
+
+	@Test
+	public void testMismatchedIdentifierType() {
+		doInHibernate( this::sessionFactory, session -> {
+			Owner owner = new Owner( 10_000 );
+			session.persist( owner );
+			session.flush();
+
+			SessionImplementor sessionImplementor = (SessionImplementor) session;
+			EntityPersister persister = sessionImplementor.getFactory().getMetamodel().entityPersister( Owner.class );
+			Map entitiesByKey = sessionImplementor.getPersistenceContext().getEntitiesByKey();
+			// like with HashMap, Long and Integer identifiers are never equal
+			assertNull( entitiesByKey.get( new EntityKey( 10_000L, persister ) ) );
+			assertSame( owner, entitiesByKey.get( new EntityKey( 10_000, persister ) ) );
+
+			session.clear();
+			assertTrue( entitiesByKey.isEmpty() );
+			assertEquals( 0, entitiesByKey.size() );
+		} );
+	}
+
+	@Entity(name = "Animal")
+	@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
+	public static class Animal {
+		@Id
+		private Long id;
+
+		public Animal() {
+		}
+
+		public Animal(Long id) {
+			this.id = id;
+		}
+
+		public Long getId() {
+			return id;
+		}
+	}
+
+	@Entity(name = "Dog")
+	public static class Dog extends Animal {
+		@ManyToOne
+		private Owner owner;
+
+		public Dog() {
+		}
+
+		public Dog(Long id, Owner owner) {
+			super( id );
+			this.owner = owner;
+			owner.dogs.add( this );
+		}
+	}
+
+	@Entity(name = "Owner")
+	public static class Owner {
+		@Id
+		private Integer id;
+
+		@OneToMany(mappedBy = "owner")
+		private Set<Dog> dogs = new HashSet<>();
+
+		public Owner() {
+		}
+
+		public Owner(Integer id) {
+			this.id = id;
+		}
+	}
+
+	@Entity(name = "Tag")
+	public static class Tag {
+		@Id
+		private String name;
+
+		public Tag() {
+		}
+
+		public Tag(String name) {
+			this.name = name;
+		}
+	}
+}
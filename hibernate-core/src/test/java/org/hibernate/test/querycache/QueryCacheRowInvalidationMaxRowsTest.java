@@ -0,0 +1,54 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.querycache;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the query cache regions invalidated row by row, with the rows of a table sharing a few timestamps.
+ */
+public class QueryCacheRowInvalidationMaxRowsTest extends QueryCacheRowInvalidationTest {
+
+	@Override
+	protected void addSettings(Map settings) {
+		super.addSettings( settings );
+		settings.put( AvailableSettings.QUERY_CACHE_ROW_INVALIDATION_MAX_ROWS, "4" );
+	}
+
+	@Test
+	public void testChangesToRowsSharingATimestampInvalidateTheResults() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Order( 5, "bob", "OPEN" ) );
+		} );
+
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		assertEquals( 2, findOrders( "alice", "orders" ) );
+
+		// the row 3 does not share the timestamp of the rows 1 and 2
+		doInHibernate( this::sessionFactory, session -> {
+			session.get( Order.class, 3 ).status = "SHIPPED";
+		} );
+		assertEquals( 2, findOrders( "alice", "orders" ) );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		// the row 5 shares the timestamp of the row 1
+		doInHibernate( this::sessionFactory, session -> {
+			session.get( Order.class, 5 ).status = "SHIPPED";
+		} );
+		assertEquals( 2, findOrders( "alice", "orders" ) );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.querycache;
+
+import java.util.List;
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the query cache regions invalidated row by row.
+ */
+public class QueryCacheRowInvalidationTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Order.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.USE_QUERY_CACHE, "true" );
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.QUERY_CACHE_ROW_INVALIDATION_REGIONS, "orders" );
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void createOrders() {
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Order( 1, "alice", "OPEN" ) );
+			session.persist( new Order( 2, "alice", "OPEN" ) );
+			session.persist( new Order( 3, "bob", "OPEN" ) );
+		} );
+	}
+
+	@Test
+	public void testChangesToOtherRowsKeepTheResultsValid() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		assertEquals( 2, findOrders( "alice", "orders" ) );
+		assertEquals( 2, findOrders( "alice", "orders" ) );
+		assertEquals( 1, statistics.getQueryCacheHitCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.get( Order.class, 3 ).status = "SHIPPED";
+		} );
+		assertEquals( 2, findOrders( "alice", "orders" ) );
+		assertEquals( 2, statistics.getQueryCacheHitCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.delete( session.get( Order.class, 3 ) );
+		} );
+		assertEquals( 2, findOrders( "alice", "orders" ) );
+		assertEquals( 3, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testChangesToTheRowsOfTheResultsInvalidateThem() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		assertEquals( 2, findOrders( "alice", "orders" ) );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.delete( session.get( Order.class, 2 ) );
+		} );
+		assertEquals( 1, findOrders( "alice", "orders" ) );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testInsertionsAndBulkOperationsInvalidateTheResults() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		assertEquals( 2, findOrders( "alice", "orders" ) );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.persist( new Order( 4, "alice", "OPEN" ) );
+		} );
+		assertEquals( 3, findOrders( "alice", "orders" ) );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.createQuery( "update Order set customer = 'alice' where id = 3" ).executeUpdate();
+		} );
+		assertEquals( 4, findOrders( "alice", "orders" ) );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+	}
+
+	@Test
+	public void testOtherRegionsAreInvalidatedByAnyChange() {
+		final Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+		assertEquals( 2, findOrders( "alice", null ) );
+
+		doInHibernate( this::sessionFactory, session -> {
+			session.get( Order.class, 3 ).status = "SHIPPED";
+		} );
+		assertEquals( 2, findOrders( "alice", null ) );
+		assertEquals( 0, statistics.getQueryCacheHitCount() );
+	}
+
+	protected int findOrders(String customer, String region) {
+		final Session session = openSession();
+		try {
+			final List<Order> orders = session.createQuery( "from Order where customer = :customer", Order.class )
+					.setParameter( "customer", customer )
+					.setCacheable( true )
+					.setCacheRegion( region )
+					.list();
+			return orders.size();
+		}
+		finally {
+			session.close();
+		}
+	}
+
+	@Entity(name = "Order")
+	@Table(name = "orders")
+	public static class Order {
+		@Id
+		private Integer id;
+
+		String customer;
+
+		String status;
+
+		public Order() {
+		}
+
+		public Order(Integer id, String customer, String status) {
+			this.id = id;
+			this.customer = customer;
+			this.status = status;
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.NamedQueries;
+import javax.persistence.NamedQuery;
+
+import org.hibernate.HibernateException;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.query.spi.HQLQueryPlan;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.tool.schema.Action;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link AvailableSettings#QUERY_STARTUP_CHECK_THREADS} and {@link AvailableSettings#QUERY_STARTUP_CHECK_ASYNC}.
+ */
+public class NamedQueryParallelCheckTest extends BaseUnitTestCase {
+
+	@Test
+	public void testNamedQueriesAreCompiledInParallel() {
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( "4", "false", Book.class ) ) {
+			assertEquals( 3, sessionFactory.getStatistics().getQueryPlanCacheMissCount() );
+
+			doInHibernate( () -> sessionFactory, session -> {
+				session.createNamedQuery( "Book.byTitle" ).setParameter( "title", "Hibernate" ).list();
+			} );
+			assertEquals( 3, sessionFactory.getStatistics().getQueryPlanCacheMissCount() );
+		}
+	}
+
+	@Test
+	public void testNamedQueryErrorsAreReported() {
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( "4", "false", Book.class, BrokenBook.class ) ) {
+			fail( "The broken named query should have been reported" );
+		}
+		catch (HibernateException e) {
+			assertTrue( e.getMessage(), e.getMessage().startsWith( "Errors in named queries: " ) );
+			assertTrue( e.getMessage(), e.getMessage().contains( "BrokenBook.broken" ) );
+		}
+	}
+
+	@Test
+	public void testNamedQueriesAreCheckedAfterBuildingTheSessionFactory() {
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( "2", "true", Book.class, BrokenBook.class ) ) {
+			doInHibernate( () -> sessionFactory, session -> {
+				session.createNamedQuery( "Book.byTitle" ).setParameter( "title", "Hibernate" ).list();
+			} );
+		}
+	}
+
+	@Test
+	public void testConcurrentGenerationsOfTheSamePlanAreShared() throws Exception {
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( "1", "false", Book.class ) ) {
+			final String query = "select b from Book b where b.title like :title order by b.id";
+			final int threads = 8;
+			final CountDownLatch start = new CountDownLatch( 1 );
+			final ExecutorService executor = Executors.newFixedThreadPool( threads );
+			try {
+				final List<Future<HQLQueryPlan>> plans = new ArrayList<>();
+				for ( int i = 0; i < threads; i++ ) {
+					plans.add(
+							executor.submit( () -> {
+								start.await();
+								return sessionFactory.getQueryPlanCache()
+										.getHQLQueryPlan( query, false, Collections.emptyMap() );
+							} )
+					);
+				}
+				start.countDown();
+				for ( Future<HQLQueryPlan> plan : plans ) {
+					assertSame( plans.get( 0 ).get(), plan.get() );
+				}
+			}
+			finally {
+				executor.shutdown();
+				executor.awaitTermination( 10, TimeUnit.SECONDS );
+			}
+			// the named queries, plus the query above
+			assertEquals( 4, sessionFactory.getStatistics().getQueryPlanCacheMissCount() );
+		}
+	}
+
+	private SessionFactoryImplementor buildSessionFactory(String threads, String async, Class... annotatedClasses) {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, Action.CREATE_DROP )
+				.applySetting( AvailableSettings.GENERATE_STATISTICS, "true" )
+				.applySetting( AvailableSettings.QUERY_STARTUP_CHECKING, "true" )
+				.applySetting( AvailableSettings.QUERY_STARTUP_CHECK_THREADS, threads )
+				.applySetting( AvailableSettings.QUERY_STARTUP_CHECK_ASYNC, async )
+				.build();
+		try {
+			final MetadataSources metadataSources = new MetadataSources( ssr );
+			for ( Class annotatedClass : annotatedClasses ) {
+				metadataSources.addAnnotatedClass( annotatedClass );
+			}
+			return (SessionFactoryImplementor) metadataSources.buildMetadata().buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+	}
+
+	@Entity(name = "Book")
+	@NamedQueries({
+			@NamedQuery(name = "Book.byTitle", query = "select b from Book b where b.title = :title"),
+			@NamedQuery(name = "Book.count", query = "select count(b) from Book b"),
+			@NamedQuery(name = "Book.titles", query = "select b.title from Book b order by b.title")
+	})
+	public static class Book {
+		@Id
+		private Long id;
+
+		private String title;
+	}
+
+	@Entity(name = "BrokenBook")
+	@NamedQuery(name = "BrokenBook.broken", query = "select b from BrokenBook b where b.missing = 1")
+	public static class BrokenBook {
+		@Id
+		private Long id;
+	}
+}
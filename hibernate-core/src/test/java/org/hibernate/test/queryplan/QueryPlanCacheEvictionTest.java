@@ -0,0 +1,77 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.Map;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.query.internal.TinyLfuQueryPlanCacheStorageFactory;
+import org.hibernate.stat.Statistics;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the eviction and compilation statistics of the query plan cache.
+ */
+public class QueryPlanCacheEvictionTest extends BaseNonConfigCoreFunctionalTestCase {
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Book.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.GENERATE_STATISTICS, "true" );
+		settings.put( AvailableSettings.QUERY_PLAN_CACHE_MAX_SIZE, "2" );
+	}
+
+	@Test
+	public void testEvictionStatistics() {
+		assertSame(
+				TinyLfuQueryPlanCacheStorageFactory.INSTANCE,
+				sessionFactory().getSessionFactoryOptions().getQueryPlanCacheStorageFactory()
+		);
+
+		Statistics statistics = sessionFactory().getStatistics();
+		statistics.clear();
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < 5; i++ ) {
+				session.createQuery( "select b from Book b where b.id = " + i ).list();
+			}
+		} );
+
+		assertEquals( 5, statistics.getQueryPlanCacheMissCount() );
+		assertEquals( 3, statistics.getQueryPlanCacheEvictionCount() );
+		assertTrue( statistics.getQueryPlanCompilationTotalMicroseconds() > 0 );
+		assertTrue( statistics.getQueryPlanCompilationMaxMicroseconds() > 0 );
+		assertTrue(
+				statistics.getQueryPlanCompilationMaxMicroseconds() <= statistics.getQueryPlanCompilationTotalMicroseconds()
+		);
+
+		statistics.clear();
+		assertEquals( 0, statistics.getQueryPlanCacheEvictionCount() );
+		assertEquals( 0, statistics.getQueryPlanCompilationTotalMicroseconds() );
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Long id;
+
+		private String title;
+	}
+}
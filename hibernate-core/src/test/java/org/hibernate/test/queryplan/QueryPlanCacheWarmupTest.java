@@ -0,0 +1,177 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.Statistics;
+import org.hibernate.tool.schema.Action;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests {@link AvailableSettings#QUERY_PLAN_CACHE_WARMUP_FILE}.
+ */
+public class QueryPlanCacheWarmupTest extends BaseUnitTestCase {
+	private static final String FIRST_QUERY = "select b from Book b where b.title = :title";
+	private static final String SECOND_QUERY = "select count(b) from Book b";
+
+	private File file;
+
+	@Before
+	public void createFile() throws IOException {
+		file = File.createTempFile( "query-plans", ".bin" );
+		Files.delete( file.toPath() );
+	}
+
+	@After
+	public void deleteFile() throws IOException {
+		Files.deleteIfExists( file.toPath() );
+	}
+
+	@Test
+	public void testRecordedQueriesAreCompiledAtStartup() {
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( Book.class ) ) {
+			doInHibernate( () -> sessionFactory, session -> {
+				session.createQuery( FIRST_QUERY ).setParameter( "title", "Hibernate" ).list();
+				session.createQuery( SECOND_QUERY ).uniqueResult();
+			} );
+		}
+		assertTrue( file.exists() );
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( Book.class ) ) {
+			Statistics statistics = sessionFactory.getStatistics();
+			assertEquals( 2, statistics.getQueryPlanCacheMissCount() );
+			assertEquals( 0, statistics.getQueryPlanCacheHitCount() );
+
+			doInHibernate( () -> sessionFactory, session -> {
+				session.createQuery( FIRST_QUERY ).setParameter( "title", "Hibernate" ).list();
+				session.createQuery( SECOND_QUERY ).uniqueResult();
+			} );
+			assertEquals( 2, statistics.getQueryPlanCacheMissCount() );
+			assertTrue( statistics.getQueryPlanCacheHitCount() > 0 );
+		}
+	}
+
+	@Test
+	public void testQueriesRecordedWithOtherMappingsAreIgnored() {
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( Book.class ) ) {
+			doInHibernate( () -> sessionFactory, session -> {
+				session.createQuery( SECOND_QUERY ).uniqueResult();
+			} );
+		}
+		assertTrue( file.exists() );
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( Book.class, Author.class ) ) {
+			assertEquals( 0, sessionFactory.getStatistics().getQueryPlanCacheMissCount() );
+		}
+	}
+
+	@Test
+	public void testQueriesNotCompiledYetAreRecordedAgain() {
+		final int queries = 200;
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( Book.class ) ) {
+			doInHibernate( () -> sessionFactory, session -> {
+				for ( int i = 0; i < queries; i++ ) {
+					session.createQuery( "select b from Book b where b.id = " + i ).list();
+				}
+			} );
+		}
+
+		// closed while the warmup is most likely still running
+		buildSessionFactory( 1, Book.class ).close();
+
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( Book.class ) ) {
+			assertEquals( queries, sessionFactory.getStatistics().getQueryPlanCacheMissCount() );
+		}
+	}
+
+	@Test
+	public void testCorruptFileIsIgnored() throws IOException {
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( Book.class ) ) {
+			doInHibernate( () -> sessionFactory, session -> {
+				session.createQuery( SECOND_QUERY ).uniqueResult();
+			} );
+		}
+		assertTrue( file.exists() );
+
+		// magic, version, then the fingerprint: its length and 64 hexadecimal digits
+		final long countOffset = 4 + 4 + 2 + 64;
+		try ( RandomAccessFile content = new RandomAccessFile( file, "rw" ) ) {
+			content.seek( countOffset + 4 + 1 );
+			content.writeInt( -1 );
+		}
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( Book.class ) ) {
+			assertEquals( 0, sessionFactory.getStatistics().getQueryPlanCacheMissCount() );
+		}
+
+		try ( RandomAccessFile content = new RandomAccessFile( file, "rw" ) ) {
+			content.seek( countOffset );
+			content.writeInt( Integer.MAX_VALUE );
+		}
+		try ( SessionFactoryImplementor sessionFactory = buildSessionFactory( Book.class ) ) {
+			assertEquals( 0, sessionFactory.getStatistics().getQueryPlanCacheMissCount() );
+		}
+	}
+
+	private SessionFactoryImplementor buildSessionFactory(Class... annotatedClasses) {
+		return buildSessionFactory( 0, annotatedClasses );
+	}
+
+	private SessionFactoryImplementor buildSessionFactory(int warmupThreads, Class... annotatedClasses) {
+		final StandardServiceRegistry ssr = new StandardServiceRegistryBuilder()
+				.applySetting( AvailableSettings.HBM2DDL_AUTO, Action.CREATE_DROP )
+				.applySetting( AvailableSettings.GENERATE_STATISTICS, "true" )
+				.applySetting( AvailableSettings.QUERY_PLAN_CACHE_WARMUP_FILE, file.getAbsolutePath() )
+				.applySetting( AvailableSettings.QUERY_PLAN_CACHE_WARMUP_THREADS, warmupThreads )
+				.build();
+		try {
+			final MetadataSources metadataSources = new MetadataSources( ssr );
+			for ( Class annotatedClass : annotatedClasses ) {
+				metadataSources.addAnnotatedClass( annotatedClass );
+			}
+			return (SessionFactoryImplementor) metadataSources.buildMetadata().buildSessionFactory();
+		}
+		catch (RuntimeException e) {
+			StandardServiceRegistryBuilder.destroy( ssr );
+			throw e;
+		}
+	}
+
+	@Entity(name = "Book")
+	public static class Book {
+		@Id
+		private Long id;
+
+		private String title;
+	}
+
+	@Entity(name = "Author")
+	public static class Author {
+		@Id
+		private Long id;
+
+		private String name;
+	}
+}
@@ -0,0 +1,124 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.queryplan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.query.internal.TinyLfuQueryPlanCacheStorage;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link TinyLfuQueryPlanCacheStorage}
+ */
+public class TinyLfuQueryPlanCacheStorageTest extends BaseUnitTestCase {
+
+	@Test
+	public void testPutIfAbsent() {
+		TinyLfuQueryPlanCacheStorage<String, String> storage = new TinyLfuQueryPlanCacheStorage<>( 10, key -> {} );
+		assertNull( storage.putIfAbsent( "a", "first" ) );
+		assertEquals( "first", storage.putIfAbsent( "a", "second" ) );
+		assertEquals( "first", storage.get( "a" ) );
+		assertNull( storage.get( "b" ) );
+		assertEquals( 1, storage.size() );
+	}
+
+	@Test
+	public void testSizeIsBounded() {
+		List<Integer> evicted = new ArrayList<>();
+		TinyLfuQueryPlanCacheStorage<Integer, String> storage = new TinyLfuQueryPlanCacheStorage<>( 100, evicted::add );
+		for ( int i = 0; i < 1000; i++ ) {
+			storage.putIfAbsent( i, "plan " + i );
+		}
+		assertEquals( 100, storage.size() );
+		assertEquals( 900, evicted.size() );
+		for ( Integer key : evicted ) {
+			assertNull( storage.get( key ) );
+		}
+	}
+
+	@Test
+	public void testFrequentlyUsedEntriesSurviveScans() {
+		TinyLfuQueryPlanCacheStorage<String, String> storage = new TinyLfuQueryPlanCacheStorage<>( 100, key -> {} );
+		for ( int round = 0; round < 20; round++ ) {
+			for ( int i = 0; i < 50; i++ ) {
+				if ( storage.get( "hot" + i ) == null ) {
+					storage.putIfAbsent( "hot" + i, "plan" );
+				}
+			}
+		}
+		// a burst of queries executed only once
+		for ( int i = 0; i < 10_000; i++ ) {
+			storage.putIfAbsent( "cold" + i, "plan" );
+		}
+		int hits = 0;
+		for ( int i = 0; i < 50; i++ ) {
+			if ( storage.get( "hot" + i ) != null ) {
+				hits++;
+			}
+		}
+		assertTrue( "Only " + hits + " frequently used entries were kept", hits >= 45 );
+	}
+
+	@Test
+	public void testClear() {
+		List<Integer> evicted = new ArrayList<>();
+		TinyLfuQueryPlanCacheStorage<Integer, String> storage = new TinyLfuQueryPlanCacheStorage<>( 10, evicted::add );
+		for ( int i = 0; i < 10; i++ ) {
+			storage.putIfAbsent( i, "plan " + i );
+		}
+		storage.clear();
+		assertEquals( 0, storage.size() );
+		assertTrue( evicted.isEmpty() );
+		for ( int i = 0; i < 20; i++ ) {
+			storage.putIfAbsent( i, "plan " + i );
+		}
+		assertEquals( 10, storage.size() );
+		assertEquals( 10, evicted.size() );
+	}
+
+	@Test
+	public void testConcurrentAccess() throws Exception {
+		TinyLfuQueryPlanCacheStorage<Integer, Integer> storage = new TinyLfuQueryPlanCacheStorage<>( 50, key -> {} );
+		ExecutorService executor = Executors.newFixedThreadPool( 8 );
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for ( int t = 0; t < 8; t++ ) {
+				final int seed = t;
+				futures.add( executor.submit( () -> {
+					for ( int i = 0; i < 20_000; i++ ) {
+						int key = ( i * ( seed + 1 ) ) % 200;
+						Integer value = storage.get( key );
+						if ( value == null ) {
+							storage.putIfAbsent( key, key );
+						}
+						else {
+							assertEquals( key, value.intValue() );
+						}
+					}
+				} ) );
+			}
+			for ( Future<?> future : futures ) {
+				future.get( 1, TimeUnit.MINUTES );
+			}
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		assertTrue( storage.size() <= 50 );
+	}
+}
@@ -0,0 +1,251 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.stream.detached;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.Entity;
+import javax.persistence.FetchType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+
+import org.hibernate.annotations.QueryHints;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+
+import org.hibernate.testing.junit4.BaseNonConfigCoreFunctionalTestCase;
+import org.hibernate.test.util.jdbc.PreparedStatementSpyConnectionProvider;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hibernate.testing.transaction.TransactionUtil.doInHibernate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the streams detaching their entities once passed, and their fetch size.
+ */
+public class DetachedStreamTest extends BaseNonConfigCoreFunctionalTestCase {
+	private static final int ITEMS = 50;
+
+	private PreparedStatementSpyConnectionProvider connectionProvider = new PreparedStatementSpyConnectionProvider(
+			true,
+			false
+	);
+
+	@Override
+	protected Class[] getAnnotatedClasses() {
+		return new Class[] { Item.class, Category.class };
+	}
+
+	@Override
+	protected void addSettings(Map settings) {
+		settings.put( AvailableSettings.CONNECTION_PROVIDER, connectionProvider );
+	}
+
+	@Override
+	protected void releaseResources() {
+		super.releaseResources();
+		connectionProvider.stop();
+	}
+
+	@Override
+	protected boolean isCleanupTestDataRequired() {
+		return true;
+	}
+
+	@Before
+	public void createItems() {
+		doInHibernate( this::sessionFactory, session -> {
+			for ( int i = 0; i < ITEMS; i++ ) {
+				final Category category = new Category( i, "category " + i );
+				session.persist( category );
+				session.persist( new Item( i, "item " + i, category ) );
+			}
+		} );
+		connectionProvider.clear();
+	}
+
+	@Test
+	public void testEntitiesAreDetachedOncePassed() {
+		doInHibernate( this::sessionFactory, session -> {
+			final Item managed = session.get( Item.class, 0 );
+			final List<Item> passed = new ArrayList<>();
+
+			try ( Stream<Item> stream = session.createQuery( "from Item order by id", Item.class )
+					.setHint( QueryHints.DETACH_STREAMED, true )
+					.stream() ) {
+				stream.forEach( item -> {
+					// the current row is managed, and its lazy associations can be initialized
+					assertTrue( session.contains( item ) );
+					assertEquals( "category " + item.id, item.category.getName() );
+					for ( Item previous : passed ) {
+						assertEquals( previous == managed, session.contains( previous ) );
+					}
+					passed.add( item );
+				} );
+			}
+
+			assertEquals( ITEMS, passed.size() );
+			for ( Item item : passed ) {
+				// the item managed before the stream stays managed
+				assertEquals( item == managed, session.contains( item ) );
+			}
+			assertTrue( session.contains( managed ) );
+		} );
+	}
+
+	@Test
+	public void testModifiedEntitiesStayManaged() {
+		doInHibernate( this::sessionFactory, session -> {
+			try ( Stream<Item> stream = session.createQuery( "from Item order by id", Item.class )
+					.setHint( QueryHints.DETACH_STREAMED, true )
+					.stream() ) {
+				final List<Item> passed = new ArrayList<>();
+				stream.forEach( item -> {
+					if ( item.id % 2 == 0 ) {
+						item.name = "renamed " + item.id;
+					}
+					else if ( item.id % 5 == 0 ) {
+						session.remove( item );
+					}
+					passed.add( item );
+				} );
+
+				for ( Item item : passed ) {
+					// a removed item is no longer contained, but stays in the persistence context until flushed
+					assertEquals(
+							item.id % 2 == 0 || item.id % 5 == 0,
+							( (SessionImplementor) session ).getPersistenceContext().isEntryFor( item )
+					);
+				}
+			}
+		} );
+
+		doInHibernate( this::sessionFactory, session -> {
+			for ( Item item : session.createQuery( "from Item", Item.class ).list() ) {
+				assertTrue( item.id % 2 == 0 || item.id % 5 != 0 );
+				assertEquals( item.id % 2 == 0 ? "renamed " + item.id : "item " + item.id, item.name );
+			}
+			assertEquals( ITEMS - 5L, session.createQuery( "select count(i) from Item i" ).uniqueResult() );
+		} );
+	}
+
+	@Test
+	public void testEntitiesAreNotDetachedOnceSplit() {
+		doInHibernate( this::sessionFactory, session -> {
+			try ( Stream<Item> stream = session.createQuery( "from Item order by id", Item.class )
+					.setHint( QueryHints.DETACH_STREAMED, true )
+					.stream() ) {
+				final Spliterator<Item> spliterator = stream.spliterator();
+				final Spliterator<Item> split = spliterator.trySplit();
+				final List<Item> items = new ArrayList<>();
+				split.forEachRemaining( items::add );
+				spliterator.forEachRemaining( items::add );
+
+				// the rows are read ahead of their processing, so they are not detached
+				assertEquals( ITEMS, items.size() );
+				for ( Item item : items ) {
+					assertTrue( session.contains( item ) );
+				}
+			}
+		} );
+	}
+
+	@Test
+	public void testEntitiesStayManagedByDefault() {
+		doInHibernate( this::sessionFactory, session -> {
+			final List<Item> items;
+			try ( Stream<Item> stream = session.createQuery( "from Item order by id", Item.class ).stream() ) {
+				items = stream.collect( Collectors.toList() );
+			}
+
+			assertEquals( ITEMS, items.size() );
+			for ( Item item : items ) {
+				assertTrue( session.contains( item ) );
+			}
+		} );
+	}
+
+	@Test
+	public void testScalarsAreStreamedWithTheHint() {
+		doInHibernate( this::sessionFactory, session -> {
+			try ( Stream<Object[]> stream = session.createQuery( "select i.id, i.name from Item i order by i.id" )
+					.setHint( QueryHints.DETACH_STREAMED, true )
+					.stream() ) {
+				assertEquals( ITEMS, stream.filter( row -> row[1].equals( "item " + row[0] ) ).count() );
+			}
+		} );
+	}
+
+	@Test
+	public void testStreamFetchSize() throws Exception {
+		doInHibernate( this::sessionFactory, session -> {
+			try ( Stream<Item> stream = session.createQuery( "from Item", Item.class ).stream() ) {
+				assertEquals( ITEMS, stream.count() );
+			}
+			try ( Stream<Item> stream = session.createQuery( "from Item", Item.class ).setFetchSize( 10 ).stream() ) {
+				assertEquals( ITEMS, stream.count() );
+			}
+			assertEquals( ITEMS, session.createQuery( "from Item", Item.class ).list().size() );
+		} );
+
+		final List<PreparedStatement> statements = connectionProvider.getPreparedStatements();
+		assertEquals( 3, statements.size() );
+		verify( statements.get( 0 ) ).setFetchSize( 100 );
+		verify( statements.get( 1 ) ).setFetchSize( 10 );
+		verify( statements.get( 2 ), never() ).setFetchSize( anyInt() );
+	}
+
+	@Entity(name = "Item")
+	public static class Item {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		@ManyToOne(fetch = FetchType.LAZY)
+		private Category category;
+
+		public Item() {
+		}
+
+		public Item(Integer id, String name, Category category) {
+			this.id = id;
+			this.name = name;
+			this.category = category;
+		}
+	}
+
+	@Entity(name = "Category")
+	public static class Category {
+		@Id
+		private Integer id;
+
+		private String name;
+
+		public Category() {
+		}
+
+		public Category(Integer id, String name) {
+			this.id = id;
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+	}
+}
@@ -0,0 +1,102 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ * See the lgpl.txt file in the root directory or <http://www.gnu.org/licenses/lgpl-2.1.html>.
+ */
+package org.hibernate.test.util;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import org.hibernate.internal.util.collections.OpenAddressingHashMap;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests {@link OpenAddressingHashMap} against {@link HashMap}.
+ */
+public class OpenAddressingHashMapTest extends BaseUnitTestCase {
+
+	@Test
+	public void testRandomOperationsMatchHashMap() {
+		Map<Integer, String> expected = new HashMap<>();
+		Map<Integer, String> actual = new OpenAddressingHashMap<>();
+		Random random = new Random( 42 );
+		for ( int i = 0; i < 100_000; i++ ) {
+			// colliding hash codes, to exercise probing over removed slots
+			Integer key = random.nextInt( 2_000 ) * 1024;
+			switch ( random.nextInt( 3 ) ) {
+				case 0:
+					assertEquals( expected.remove( key ), actual.remove( key ) );
+					break;
+				case 1:
+					assertEquals( expected.get( key ), actual.get( key ) );
+					break;
+				default:
+					assertEquals( expected.put( key, "value " + i ), actual.put( key, "value " + i ) );
+			}
+			assertEquals( expected.size(), actual.size() );
+		}
+		assertEquals( expected, actual );
+		assertEquals( actual, expected );
+		assertEquals( expected.keySet(), actual.keySet() );
+	}
+
+	@Test
+	public void testIteratorRemove() {
+		Map<Integer, Integer> map = new OpenAddressingHashMap<>();
+		for ( int i = 0; i < 100; i++ ) {
+			map.put( i, i );
+		}
+		for ( Iterator<Integer> keys = map.keySet().iterator(); keys.hasNext(); ) {
+			if ( keys.next() % 2 == 0 ) {
+				keys.remove();
+			}
+		}
+		assertEquals( 50, map.size() );
+		for ( int i = 0; i < 100; i++ ) {
+			assertEquals( i % 2 == 0 ? null : (Integer) i, map.get( i ) );
+		}
+
+		map.values().removeIf( value -> value > 10 );
+		assertEquals( 5, map.size() );
+		map.clear();
+		assertEquals( 0, map.size() );
+		assertNull( map.get( 1 ) );
+		assertFalse( map.entrySet().iterator().hasNext() );
+	}
+
+	@Test
+	public void testEntrySetValueWritesThrough() {
+		Map<String, Integer> map = new OpenAddressingHashMap<>();
+		map.put( "a", 1 );
+		map.entrySet().iterator().next().setValue( 2 );
+		assertEquals( Integer.valueOf( 2 ), map.get( "a" ) );
+	}
+
+	@Test
+	public void testIteratorFailsFast() {
+		Map<Integer, Integer> map = new OpenAddressingHashMap<>();
+		map.put( 1, 1 );
+		map.put( 2, 2 );
+		Iterator<Integer> values = map.values().iterator();
+		values.next();
+		map.put( 3, 3 );
+		try {
+			values.next();
+			fail( "Expecting ConcurrentModificationException" );
+		}
+		catch (ConcurrentModificationException expected) {
+		}
+	}
+}
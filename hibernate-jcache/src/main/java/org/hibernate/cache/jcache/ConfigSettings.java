@@ -44,4 +44,16 @@ public interface ConfigSettings {
 	 * @see javax.cache.spi.CachingProvider#getCacheManager(URI, ClassLoader)
 	 */
 	String CONFIG_URI = PROP_PREFIX + "uri";
+
+	/**
+	 * The maximum number of entries of the near cache kept by each node in front of each entity, collection and
+	 * natural id region: a map of the entries read on this node, which serves them again without reaching the
+	 * JCache {@link javax.cache.Cache}.  The near cache is kept correct by a JCache listener of the updates and
+	 * removals of the entries, which the provider must notify to every node.
+	 *
+	 * Default value is {@code 0}, meaning no near cache.
+	 *
+	 * @since 5.4
+	 */
+	String NEAR_CACHE_MAX_ENTRIES = PROP_PREFIX + "near_cache_max_entries";
 }
@@ -12,6 +12,7 @@ import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
 import org.hibernate.cache.cfg.spi.EntityDataCachingConfig;
 import org.hibernate.cache.cfg.spi.NaturalIdDataCachingConfig;
 import org.hibernate.cache.spi.CacheKeysFactory;
+import org.hibernate.cache.spi.ExtendedStatisticsSupport;
 import org.hibernate.cache.spi.SecondLevelCacheLogger;
 import org.hibernate.cache.spi.access.AccessType;
 import org.hibernate.cache.spi.access.CollectionDataAccess;
@@ -20,11 +21,12 @@ import org.hibernate.cache.spi.access.NaturalIdDataAccess;
 import org.hibernate.cache.spi.support.DomainDataRegionImpl;
 import org.hibernate.cache.spi.support.DomainDataStorageAccess;
 import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.stat.CacheRegionStatistics;
 
 /**
  * @author Vlad Mihalcea
  */
-public class JCacheDomainDataRegionImpl extends DomainDataRegionImpl {
+public class JCacheDomainDataRegionImpl extends DomainDataRegionImpl implements ExtendedStatisticsSupport {
 
 	public JCacheDomainDataRegionImpl(
 			DomainDataRegionConfig regionConfig,
@@ -64,4 +66,43 @@ public class JCacheDomainDataRegionImpl extends DomainDataRegionImpl {
 		);
 		return super.generateTransactionalCollectionDataAccess( accessConfig );
 	}
+
+	@Override
+	public long getElementCountInMemory() {
+		return CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	@Override
+	public long getElementCountOnDisk() {
+		return CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	@Override
+	public long getSizeInMemory() {
+		return CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN;
+	}
+
+	@Override
+	public long getNearCacheHitCount() {
+		final JCacheNearCacheAccessImpl nearCache = getNearCache();
+		return nearCache == null ? CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN : nearCache.getHitCount();
+	}
+
+	@Override
+	public long getNearCacheMissCount() {
+		final JCacheNearCacheAccessImpl nearCache = getNearCache();
+		return nearCache == null ? CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN : nearCache.getMissCount();
+	}
+
+	@Override
+	public long getNearCacheElementCount() {
+		final JCacheNearCacheAccessImpl nearCache = getNearCache();
+		return nearCache == null ? CacheRegionStatistics.NO_EXTENDED_STAT_SUPPORT_RETURN : nearCache.getElementCount();
+	}
+
+	private JCacheNearCacheAccessImpl getNearCache() {
+		return getCacheStorageAccess() instanceof JCacheNearCacheAccessImpl
+				? (JCacheNearCacheAccessImpl) getCacheStorageAccess()
+				: null;
+	}
 }
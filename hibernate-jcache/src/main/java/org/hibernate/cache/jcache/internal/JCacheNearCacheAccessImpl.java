@@ -0,0 +1,227 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.cache.jcache.internal;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.cache.Cache;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryExpiredListener;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryRemovedListener;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * A {@link JCacheAccessImpl} keeping a small, bounded map of the entries read on this node in front of the JCache
+ * {@link Cache}, so that hits on these entries neither reach a remote node nor deserialize them.
+ * <p/>
+ * The near cache is kept correct by a listener of the updates, removals and expirations of the JCache entries,
+ * including the ones made by other nodes when the provider notifies them.  A value read from the JCache
+ * {@link Cache} is only kept if no entry was invalidated meanwhile, so that a concurrent invalidation cannot be
+ * overtaken by the value it invalidates.  Soft locks are never kept, since they are modified by their readers.
+ * When the near cache is full, arbitrary entries are evicted.
+ *
+ * @see org.hibernate.cache.jcache.ConfigSettings#NEAR_CACHE_MAX_ENTRIES
+ */
+@SuppressWarnings("unchecked")
+public class JCacheNearCacheAccessImpl extends JCacheAccessImpl {
+	private final int maxEntries;
+
+	private final ConcurrentHashMap<Object, Object> nearCache = new ConcurrentHashMap<>();
+	private final AtomicLong invalidationCount = new AtomicLong();
+	private final LongAdder hitCount = new LongAdder();
+	private final LongAdder missCount = new LongAdder();
+	private final CacheEntryListenerConfiguration listenerConfiguration;
+
+	public JCacheNearCacheAccessImpl(Cache underlyingCache, int maxEntries) {
+		super( underlyingCache );
+		this.maxEntries = maxEntries;
+		this.listenerConfiguration = new MutableCacheEntryListenerConfiguration(
+				new FactoryBuilder.SingletonFactory( new InvalidationListener() ),
+				null,
+				false,
+				true
+		);
+		underlyingCache.registerCacheEntryListener( listenerConfiguration );
+	}
+
+	@Override
+	public boolean contains(Object key) {
+		return nearCache.containsKey( key ) || super.contains( key );
+	}
+
+	@Override
+	public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+		final Object nearValue = nearCache.get( key );
+		if ( nearValue != null ) {
+			hitCount.increment();
+			return nearValue;
+		}
+		missCount.increment();
+		final long invalidations = invalidationCount.get();
+		final Object value = super.getFromCache( key, session );
+		keep( key, value, invalidations );
+		return value;
+	}
+
+	@Override
+	public Map<Object, Object> getAllFromCache(Collection<?> keys, SharedSessionContractImplementor session) {
+		final Map<Object, Object> values = new HashMap<>();
+		final Set<Object> missedKeys = new HashSet<>();
+		for ( Object key : keys ) {
+			final Object nearValue = nearCache.get( key );
+			if ( nearValue != null ) {
+				values.put( key, nearValue );
+			}
+			else {
+				missedKeys.add( key );
+			}
+		}
+		hitCount.add( values.size() );
+		missCount.add( missedKeys.size() );
+		if ( !missedKeys.isEmpty() ) {
+			final long invalidations = invalidationCount.get();
+			final Map<Object, Object> farValues = super.getAllFromCache( missedKeys, session );
+			for ( Map.Entry<Object, Object> entry : farValues.entrySet() ) {
+				keep( entry.getKey(), entry.getValue(), invalidations );
+			}
+			values.putAll( farValues );
+		}
+		return values;
+	}
+
+	@Override
+	public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+		super.putIntoCache( key, value, session );
+		// kept again by the next read; the listener may be notified asynchronously
+		invalidate( key );
+	}
+
+	@Override
+	public void putAllIntoCache(Map<?, ?> items, SharedSessionContractImplementor session) {
+		super.putAllIntoCache( items, session );
+		for ( Object key : items.keySet() ) {
+			invalidate( key );
+		}
+	}
+
+	@Override
+	public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+		super.removeFromCache( key, session );
+		invalidate( key );
+	}
+
+	@Override
+	public void evictData(Object key) {
+		super.evictData( key );
+		invalidate( key );
+	}
+
+	@Override
+	public void clearCache(SharedSessionContractImplementor session) {
+		super.clearCache( session );
+		invalidateAll();
+	}
+
+	@Override
+	public void evictData() {
+		super.evictData();
+		invalidateAll();
+	}
+
+	@Override
+	public void release() {
+		try {
+			getUnderlyingCache().deregisterCacheEntryListener( listenerConfiguration );
+		}
+		finally {
+			invalidateAll();
+			super.release();
+		}
+	}
+
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	public long getElementCount() {
+		return nearCache.size();
+	}
+
+	private void keep(Object key, Object value, long invalidations) {
+		if ( value == null || value instanceof SoftLock ) {
+			return;
+		}
+		nearCache.put( key, value );
+		if ( invalidationCount.get() != invalidations ) {
+			// an entry was invalidated while reading this value, which may be stale
+			nearCache.remove( key, value );
+			return;
+		}
+		if ( nearCache.size() > maxEntries ) {
+			final Iterator<Object> keys = nearCache.keySet().iterator();
+			while ( nearCache.size() > maxEntries && keys.hasNext() ) {
+				final Object evictedKey = keys.next();
+				if ( !evictedKey.equals( key ) ) {
+					keys.remove();
+				}
+			}
+		}
+	}
+
+	private void invalidate(Object key) {
+		invalidationCount.incrementAndGet();
+		nearCache.remove( key );
+	}
+
+	private void invalidateAll() {
+		invalidationCount.incrementAndGet();
+		nearCache.clear();
+	}
+
+	private class InvalidationListener
+			implements CacheEntryUpdatedListener, CacheEntryRemovedListener, CacheEntryExpiredListener {
+
+		@Override
+		public void onUpdated(Iterable events) throws CacheEntryListenerException {
+			invalidateKeys( events );
+		}
+
+		@Override
+		public void onRemoved(Iterable events) throws CacheEntryListenerException {
+			invalidateKeys( events );
+		}
+
+		@Override
+		public void onExpired(Iterable events) throws CacheEntryListenerException {
+			invalidateKeys( events );
+		}
+
+		private void invalidateKeys(Iterable<CacheEntryEvent> events) {
+			for ( CacheEntryEvent event : events ) {
+				invalidate( event.getKey() );
+			}
+		}
+	}
+}
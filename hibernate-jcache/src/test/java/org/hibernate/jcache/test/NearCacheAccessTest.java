@@ -0,0 +1,134 @@
+/*
+ * Hibernate, Relational Persistence for Idiomatic Java
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later
+ * See the lgpl.txt file in the root directory or http://www.gnu.org/licenses/lgpl-2.1.html
+ */
+package org.hibernate.jcache.test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import javax.cache.Cache;
+import javax.cache.configuration.CacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryUpdatedListener;
+
+import org.hibernate.cache.jcache.internal.JCacheNearCacheAccessImpl;
+import org.hibernate.cache.spi.access.SoftLock;
+
+import org.hibernate.testing.junit4.BaseUnitTestCase;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests around {@link JCacheNearCacheAccessImpl}
+ */
+@SuppressWarnings("unchecked")
+public class NearCacheAccessTest extends BaseUnitTestCase {
+	private Cache cache;
+	private JCacheNearCacheAccessImpl access;
+	private CacheEntryListenerConfiguration listenerConfiguration;
+
+	@Before
+	public void createAccess() {
+		cache = mock( Cache.class );
+		access = new JCacheNearCacheAccessImpl( cache, 2 );
+		final ArgumentCaptor<CacheEntryListenerConfiguration> captor =
+				ArgumentCaptor.forClass( CacheEntryListenerConfiguration.class );
+		verify( cache ).registerCacheEntryListener( captor.capture() );
+		listenerConfiguration = captor.getValue();
+	}
+
+	@Test
+	public void testHitsAreServedByTheNearCache() {
+		final Object value = new Object();
+		when( cache.get( "key" ) ).thenReturn( value );
+
+		assertSame( value, access.getFromCache( "key", null ) );
+		assertSame( value, access.getFromCache( "key", null ) );
+		verify( cache, times( 1 ) ).get( "key" );
+		assertEquals( 1, access.getHitCount() );
+		assertEquals( 1, access.getMissCount() );
+		assertEquals( 1, access.getElementCount() );
+	}
+
+	@Test
+	public void testWritesInvalidateTheNearCache() {
+		when( cache.get( "key" ) ).thenReturn( "value" );
+		access.getFromCache( "key", null );
+
+		access.putIntoCache( "key", "new value", null );
+		verify( cache ).put( "key", "new value" );
+		assertEquals( 0, access.getElementCount() );
+
+		when( cache.get( "key" ) ).thenReturn( "new value" );
+		assertEquals( "new value", access.getFromCache( "key", null ) );
+
+		access.removeFromCache( "key", null );
+		assertEquals( 0, access.getElementCount() );
+	}
+
+	@Test
+	public void testUpdatesNotifiedByTheListenerInvalidateTheNearCache() {
+		when( cache.get( "key" ) ).thenReturn( "value" );
+		access.getFromCache( "key", null );
+		assertEquals( 1, access.getElementCount() );
+
+		final CacheEntryEvent event = mock( CacheEntryEvent.class );
+		when( event.getKey() ).thenReturn( "key" );
+		final CacheEntryUpdatedListener listener =
+				(CacheEntryUpdatedListener) listenerConfiguration.getCacheEntryListenerFactory().create();
+		listener.onUpdated( Collections.singletonList( event ) );
+		assertEquals( 0, access.getElementCount() );
+
+		when( cache.get( "key" ) ).thenReturn( "updated value" );
+		assertEquals( "updated value", access.getFromCache( "key", null ) );
+	}
+
+	@Test
+	public void testSoftLocksAreNotKept() {
+		final SoftLock lock = new SoftLock() {
+		};
+		when( cache.get( "key" ) ).thenReturn( lock );
+		access.getFromCache( "key", null );
+		access.getFromCache( "key", null );
+		verify( cache, times( 2 ) ).get( "key" );
+		assertEquals( 0, access.getElementCount() );
+	}
+
+	@Test
+	public void testNearCacheIsBounded() {
+		when( cache.getAll( new HashSet<>( Arrays.asList( "a", "b", "c" ) ) ) )
+				.thenReturn( map( "a", 1, "b", 2, "c", 3 ) );
+		final Map<Object, Object> values = access.getAllFromCache( Arrays.asList( "a", "b", "c" ), null );
+		assertEquals( 3, values.size() );
+		assertEquals( 2, access.getElementCount() );
+		assertEquals( 3, access.getMissCount() );
+	}
+
+	@Test
+	public void testListenerIsDeregisteredOnRelease() {
+		access.release();
+		verify( cache ).deregisterCacheEntryListener( listenerConfiguration );
+		verify( cache ).close();
+	}
+
+	private static Map<Object, Object> map(Object... keysAndValues) {
+		final Map<Object, Object> map = new HashMap<>();
+		for ( int i = 0; i < keysAndValues.length; i += 2 ) {
+			map.put( keysAndValues[i], keysAndValues[i + 1] );
+		}
+		return map;
+	}
+}